@@ -1,19 +1,42 @@
 package io.jmix.appsettings.impl;
 
 import io.jmix.appsettings.AppSettings;
+import io.jmix.appsettings.AppSettingsProperties;
 import io.jmix.appsettings.AppSettingsTools;
 import io.jmix.appsettings.entity.AppSettingsEntity;
+import io.jmix.core.MetadataTools;
 import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.cluster.ClusterApplicationEvent;
+import io.jmix.core.cluster.ClusterApplicationEventPublisher;
+import io.jmix.core.cluster.MergeableClusterApplicationEvent;
 import io.jmix.core.entity.EntityValues;
+import io.jmix.core.event.BulkEntityChangedEvent;
+import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.core.event.EntitySavingEvent;
 import io.jmix.core.metamodel.datatype.DatatypeRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Loaded settings entities with applied default values are cached per entity class. The cache entry is invalidated
+ * on all application instances of a cluster when a settings entity is saved by any means, including saving through
+ * {@code DataManager}, and when it is deleted or changed by a bulk operation. Cached entities are never returned
+ * directly, each {@link #load(Class)} returns a copy.
+ * <p>
+ * The cache is not used if security permissions are checked for settings entities, because the loaded state
+ * can depend on the current user.
+ */
 @Component("appset_AppSettings")
 public class AppSettingsImpl implements AppSettings {
 
@@ -28,15 +51,39 @@ public class AppSettingsImpl implements AppSettings {
     @Autowired
     protected AppSettingsTools appSettingsTools;
 
+    @Autowired
+    protected AppSettingsProperties appSettingsProperties;
+
+    @Autowired
+    protected MetadataTools metadataTools;
+
+    @Autowired
+    protected ClusterApplicationEventPublisher clusterApplicationEventPublisher;
+
+    protected Map<Class<?>, AppSettingsEntity> settingsCache = new ConcurrentHashMap<>();
+
+    // incremented on each invalidation, so a value loaded concurrently with saving is not put to the cache
+    protected AtomicLong cacheGeneration = new AtomicLong();
+
     @Override
+    @SuppressWarnings("unchecked")
     public <T extends AppSettingsEntity> T load(Class<T> clazz) {
         log.debug("load application settings entity by class [{}]", clazz);
 
-        T settingsEntity = getAppSettingsEntity(clazz);
+        if (!isCacheEnabled()) {
+            return loadWithDefaultValues(clazz);
+        }
 
-        setDefaultValuesForMissingProperties(settingsEntity, getPropertyNames(clazz));
+        T settingsEntity = (T) settingsCache.get(clazz);
+        if (settingsEntity == null) {
+            long generation = cacheGeneration.get();
+            settingsEntity = loadWithDefaultValues(clazz);
+            if (generation == cacheGeneration.get()) {
+                settingsCache.put(clazz, settingsEntity);
+            }
+        }
 
-        return settingsEntity;
+        return metadataTools.deepCopy(settingsEntity);
     }
 
     @Override
@@ -49,9 +96,91 @@ public class AppSettingsImpl implements AppSettings {
 
         updatePropertyValues(settingsEntityToSave, settingsEntity, getPropertyNames(clazz));
 
+        // the cache is invalidated by onEntitySaving() listener
         saveAppSettingsEntity(settingsEntity);
     }
 
+    /**
+     * Removes cached settings entity of the given class on this application instance.
+     *
+     * @param clazz class of settings entity
+     */
+    public void invalidateCache(Class<? extends AppSettingsEntity> clazz) {
+        cacheGeneration.incrementAndGet();
+        settingsCache.remove(clazz);
+    }
+
+    /**
+     * Removes all cached settings entities on this application instance.
+     */
+    public void invalidateCache() {
+        cacheGeneration.incrementAndGet();
+        settingsCache.clear();
+    }
+
+    @EventListener
+    public void onEntitySaving(EntitySavingEvent<? extends AppSettingsEntity> event) {
+        invalidateCacheOnSave(event.getEntity().getClass());
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent<? extends AppSettingsEntity> event) {
+        if (event.getType() == EntityChangedEvent.Type.DELETED) {
+            invalidateCacheOnSave(event.getEntityId().getEntityClass());
+        }
+    }
+
+    @EventListener
+    public void onBulkEntityChanged(BulkEntityChangedEvent<? extends AppSettingsEntity> event) {
+        event.getEntityIds().stream()
+                .findFirst()
+                .ifPresent(id -> invalidateCacheOnSave(id.getEntityClass()));
+    }
+
+    @EventListener
+    public void onAppSettingsChanged(AppSettingsChangedEvent event) {
+        log.debug("invalidate cached application settings entity [{}]", event.getEntityClassName());
+
+        settingsCache.keySet().removeIf(clazz -> clazz.getName().equals(event.getEntityClassName()));
+        cacheGeneration.incrementAndGet();
+    }
+
+    protected boolean isCacheEnabled() {
+        return !Boolean.TRUE.equals(appSettingsProperties.isCheckPermissionsForAppSettingsEntity());
+    }
+
+    protected <T extends AppSettingsEntity> T loadWithDefaultValues(Class<T> clazz) {
+        T settingsEntity = getAppSettingsEntity(clazz);
+
+        setDefaultValuesForMissingProperties(settingsEntity, getPropertyNames(clazz));
+
+        return settingsEntity;
+    }
+
+    /**
+     * Invalidates the cached settings entity right away and once more after completion of the current transaction,
+     * if any, then notifies other application instances.
+     */
+    protected void invalidateCacheOnSave(Class<? extends AppSettingsEntity> clazz) {
+        invalidateCache(clazz);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateCache(clazz);
+                    publishAppSettingsChangedEvent(clazz);
+                }
+            });
+        } else {
+            publishAppSettingsChangedEvent(clazz);
+        }
+    }
+
+    protected void publishAppSettingsChangedEvent(Class<? extends AppSettingsEntity> clazz) {
+        clusterApplicationEventPublisher.publish(new AppSettingsChangedEvent(this, clazz.getName()));
+    }
+
     protected <T extends AppSettingsEntity> T getAppSettingsEntity(Class<T> clazz) {
         return appSettingsTools.loadAppSettingsEntityFromDataStore(clazz);
     }
@@ -101,4 +230,33 @@ public class AppSettingsImpl implements AppSettings {
         }
     }
 
+    /**
+     * Event that is sent to all application instances of a cluster when settings entity is saved.
+     */
+    public static class AppSettingsChangedEvent extends ClusterApplicationEvent
+            implements MergeableClusterApplicationEvent {
+
+        protected String entityClassName;
+
+        public AppSettingsChangedEvent(Object source, String entityClassName) {
+            super(source);
+            this.entityClassName = entityClassName;
+        }
+
+        public String getEntityClassName() {
+            return entityClassName;
+        }
+
+        @Override
+        public Object getMergeKey() {
+            return entityClassName;
+        }
+
+        @Override
+        public String toString() {
+            return "AppSettingsChangedEvent{" +
+                    "entityClassName='" + entityClassName + '\'' +
+                    '}';
+        }
+    }
 }
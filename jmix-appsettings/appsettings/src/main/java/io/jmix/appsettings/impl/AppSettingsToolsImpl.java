@@ -20,7 +20,10 @@ import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Field;
 import java.text.ParseException;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Component("appset_AppSettingsTools")
@@ -46,6 +49,9 @@ public class AppSettingsToolsImpl implements AppSettingsTools {
     @Autowired
     protected AppSettingsProperties appSettingsProperties;
 
+    // parsed default values by settings entity class and property name
+    protected Map<Class<?>, Map<String, Object>> defaultValuesCache = new ConcurrentHashMap<>();
+
     @Override
     public <T extends AppSettingsEntity> T loadAppSettingsEntityFromDataStore(Class<T> clazz) {
         //only one record for T can exist at the same time in database with default identifier
@@ -62,6 +68,32 @@ public class AppSettingsToolsImpl implements AppSettingsTools {
     @Nullable
     @Override
     public Object getDefaultPropertyValue(Class<? extends AppSettingsEntity> clazz, String propertyName) {
+        Map<String, Object> defaultValues = defaultValuesCache.computeIfAbsent(clazz, c -> new ConcurrentHashMap<>());
+        Object defaultValue = defaultValues.get(propertyName);
+        if (defaultValue == null) {
+            defaultValue = parseDefaultPropertyValue(clazz, propertyName);
+            defaultValues.put(propertyName, defaultValue);
+        }
+
+        if (defaultValue instanceof NoDefaultValue) {
+            return null;
+        } else if (defaultValue instanceof ReferenceDefaultValue) {
+            ReferenceDefaultValue referenceDefaultValue = (ReferenceDefaultValue) defaultValue;
+            return dataManager.load(referenceDefaultValue.entityClass)
+                    .id(referenceDefaultValue.id)
+                    .optional().orElse(null);
+        } else if (defaultValue instanceof Date) {
+            // Date is mutable, so each settings entity gets its own instance
+            return ((Date) defaultValue).clone();
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Parses the default value annotation of the given property. Reference defaults are represented by
+     * {@link ReferenceDefaultValue} and loaded on each request, missing or invalid defaults by {@link NoDefaultValue}.
+     */
+    protected Object parseDefaultPropertyValue(Class<? extends AppSettingsEntity> clazz, String propertyName) {
         Field field = ReflectionHelper.findField(clazz, propertyName);
         if (field == null) {
             throw new IllegalArgumentException("Unable to find property " + propertyName + " for class " + clazz);
@@ -80,8 +112,9 @@ public class AppSettingsToolsImpl implements AppSettingsTools {
             Range range = metadata.getClass(clazz).getProperty(propertyName).getRange();
 
             try {
+                Object value = null;
                 if (range.isEnum()) {
-                    return range.asEnumeration().parse(annotationValue);
+                    value = range.asEnumeration().parse(annotationValue);
                 } else if (range.isClass() && !range.getCardinality().isMany()) {
                     MetaClass metaClass = range.asClass();
                     MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(metaClass);
@@ -94,20 +127,17 @@ public class AppSettingsToolsImpl implements AppSettingsTools {
                     if (pkValue == null) {
                         throw new RuntimeException("Primary key property value cannot be null");
                     }
-                    return dataManager.load(metaClass.getJavaClass())
-                            .id(pkValue)
-                            .optional().orElse(null);
+                    value = new ReferenceDefaultValue(metaClass.getJavaClass(), pkValue);
                 } else if (range.isDatatype()) {
-                    return datatypeRegistry.get(range.asDatatype().getId()).parse(annotationValue);
-                } else {
-                    return null;
+                    value = datatypeRegistry.get(range.asDatatype().getId()).parse(annotationValue);
                 }
+                return value != null ? value : NoDefaultValue.INSTANCE;
             } catch (ParseException e) {
                 log.warn("Unable to get default value for property {} and class {} due to exception :\n{}", propertyName, clazz, e.getMessage());
             }
         }
 
-        return null;
+        return NoDefaultValue.INSTANCE;
     }
 
     protected UnconstrainedDataManager getDataManagerForAppSettingsEntity() {
@@ -121,4 +151,19 @@ public class AppSettingsToolsImpl implements AppSettingsTools {
                 .map(MetadataObject::getName)
                 .collect(Collectors.toList());
     }
+
+    protected enum NoDefaultValue {
+        INSTANCE
+    }
+
+    protected static class ReferenceDefaultValue {
+
+        protected final Class<?> entityClass;
+        protected final Object id;
+
+        public ReferenceDefaultValue(Class<?> entityClass, Object id) {
+            this.entityClass = entityClass;
+            this.id = id;
+        }
+    }
 }
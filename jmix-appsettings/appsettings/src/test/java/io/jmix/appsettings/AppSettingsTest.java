@@ -90,4 +90,36 @@ class AppSettingsTest {
         Assertions.assertEquals("access granted", loadedTestAppSettingsEntity.getTestStringValue());
     }
 
+    @Test
+    void testCachedAppSettingsAreCopied() {
+        TestAppSettingsEntity testAppSettingsEntity = appSettings.load(TestAppSettingsEntity.class);
+        testAppSettingsEntity.setTestStringValue("notSaved");
+
+        //ensure changes of the loaded entity don't affect cached settings
+        TestAppSettingsEntity loadedTestAppSettingsEntity = appSettings.load(TestAppSettingsEntity.class);
+        Assertions.assertNotSame(testAppSettingsEntity, loadedTestAppSettingsEntity);
+        Assertions.assertNotEquals("notSaved", loadedTestAppSettingsEntity.getTestStringValue());
+
+        //ensure saved values are returned after saving
+        loadedTestAppSettingsEntity.setTestStringValue("saved");
+        appSettings.save(loadedTestAppSettingsEntity);
+        loadedTestAppSettingsEntity = appSettings.load(TestAppSettingsEntity.class);
+        Assertions.assertEquals("saved", loadedTestAppSettingsEntity.getTestStringValue());
+    }
+
+    @Test
+    void testCachedAppSettingsAreInvalidatedOnSavingThroughDataManager() {
+        TestAppSettingsEntity testAppSettingsEntity = appSettings.load(TestAppSettingsEntity.class);
+        testAppSettingsEntity.setTestStringValue("savedByAppSettings");
+        appSettings.save(testAppSettingsEntity);
+
+        //fill the cache
+        Assertions.assertEquals("savedByAppSettings", appSettings.load(TestAppSettingsEntity.class).getTestStringValue());
+
+        TestAppSettingsEntity storedEntity = dataManager.load(TestAppSettingsEntity.class).id(1).one();
+        storedEntity.setTestStringValue("savedByDataManager");
+        dataManager.save(storedEntity);
+
+        Assertions.assertEquals("savedByDataManager", appSettings.load(TestAppSettingsEntity.class).getTestStringValue());
+    }
 }
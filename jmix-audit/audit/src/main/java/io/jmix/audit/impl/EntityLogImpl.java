@@ -149,6 +149,15 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
         }
     }
 
+    @Override
+    public boolean isBulkOperationAllowed(MetaClass metaClass) {
+        if (!isEnabled()) {
+            return true;
+        }
+        String entityName = extendedEntities.getOriginalOrThisMetaClass(metaClass).getName();
+        return getLoggedAttributes(entityName, true) == null;
+    }
+
     @Override
     public void onFlush(String storeName) {
         flush(storeName);
@@ -1,8 +1,10 @@
 import io.jmix.audit.entity.EntityLogItem
+import io.jmix.core.BulkOperationContext
 import io.jmix.core.DataManager
 import io.jmix.core.Entity
 import io.jmix.core.entity.EntityValues
 import io.jmix.core.event.AttributeChanges
+import io.jmix.core.querycondition.PropertyCondition
 import io.jmix.data.AttributeChangesProvider
 import org.springframework.beans.factory.annotation.Autowired
 import test_support.testmodel.IdentityEntity
@@ -143,6 +145,32 @@ class EntityLogTest extends AbstractEntityLogTest {
     }
 
 
+    def "Bulk update of a logged entity is rejected"() {
+
+        given:
+
+        def identityEntity = new IdentityEntity(name: 'test1')
+
+        and:
+
+        saveEntity(identityEntity)
+
+        when:
+
+        dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(IdentityEntity), BulkOperationContext.Type.UPDATE)
+                .setValue('name', 'test2')
+                .setCondition(PropertyCondition.equal('id', identityEntity.id)))
+
+        then:
+
+        thrown(UnsupportedOperationException)
+        dataManager.load(IdentityEntity).id(identityEntity.id).one().name == 'test1'
+
+        cleanup:
+
+        clearEntityById(identityEntity, 'TEST_IDENTITY')
+    }
+
     def "Logging is working for a creation of a BaseIntIdentityIdEntity"() {
 
         when:
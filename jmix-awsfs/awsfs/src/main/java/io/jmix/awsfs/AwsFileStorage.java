@@ -18,6 +18,7 @@ package io.jmix.awsfs;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Maps;
+import io.jmix.core.FileAttributes;
 import io.jmix.core.FileRef;
 import io.jmix.core.FileStorage;
 import io.jmix.core.FileStorageException;
@@ -25,7 +26,9 @@ import io.jmix.core.TimeSource;
 import io.jmix.core.UuidProvider;
 import io.jmix.core.annotation.Internal;
 import io.jmix.core.common.util.Preconditions;
+import jakarta.annotation.PreDestroy;
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,22 +53,39 @@ import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.URI;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -75,6 +95,7 @@ public class AwsFileStorage implements FileStorage {
 
     private static final Logger log = LoggerFactory.getLogger(AwsFileStorage.class);
     private static final String DEFAULT_STORAGE_NAME = "s3";
+    private static final int INVALID_RANGE_STATUS_CODE = 416;
 
     protected String storageName;
 
@@ -88,6 +109,7 @@ public class AwsFileStorage implements FileStorage {
     protected String region;
     protected String bucket;
     protected int chunkSize;
+    protected int multipartUploadThreads = 4;
     protected String endpointUrl;
     protected boolean usePathStyleBucketAddressing;
 
@@ -96,6 +118,9 @@ public class AwsFileStorage implements FileStorage {
 
     protected AtomicReference<S3Client> s3ClientReference = new AtomicReference<>();
 
+    // shared by all multipart uploads of the storage, created on first use
+    protected volatile ExecutorService uploadExecutor;
+
     public AwsFileStorage() {
         this(DEFAULT_STORAGE_NAME);
     }
@@ -131,6 +156,7 @@ public class AwsFileStorage implements FileStorage {
             this.region = properties.getRegion();
             this.bucket = properties.getBucket();
             this.chunkSize = properties.getChunkSize();
+            this.multipartUploadThreads = properties.getMultipartUploadThreads();
             this.endpointUrl = properties.getEndpointUrl();
             this.usePathStyleBucketAddressing = properties.getUsePathStyleBucketAddressing();
         }
@@ -200,10 +226,11 @@ public class AwsFileStorage implements FileStorage {
         Map<String, String> fileRefParameters = Maps.toMap(parameters.keySet(), key -> parameters.get(key).toString());
         FileRef fileRef = new FileRef(getStorageName(), fileKey, fileName, fileRefParameters);
 
-        try (BufferedInputStream bos = new BufferedInputStream(inputStream, s3ChunkSizeBytes)) {
+        S3Client s3Client = s3ClientReference.get();
+        String uploadId = null;
+        try {
             byte[] chunkBytes = new byte[s3ChunkSizeBytes];
-            int nBytes = bos.read(chunkBytes);
-            S3Client s3Client = s3ClientReference.get();
+            int nBytes = IOUtils.read(inputStream, chunkBytes);
             if (nBytes < s3ChunkSizeBytes) {
                 s3Client.putObject(objectBuilder -> objectBuilder
                         .bucket(bucket)
@@ -215,43 +242,187 @@ public class AwsFileStorage implements FileStorage {
             CreateMultipartUploadResponse response = s3Client.createMultipartUpload(uploadBuilder -> uploadBuilder
                     .bucket(bucket)
                     .key(fileKey));
+            uploadId = response.uploadId();
 
-            List<CompletedPart> completedParts = new ArrayList<>();
-            UploadPartRequest.Builder partBuilder = UploadPartRequest.builder()
-                    .bucket(bucket)
-                    .key(fileKey)
-                    .uploadId(response.uploadId());
-            for (int partNumber = 1; 0 < nBytes; partNumber++) {
-                UploadPartResponse partResponse = s3Client.uploadPart(partBuilder
-                        .partNumber(partNumber)
-                        .build(), fromBytes(chunkBytes, nBytes));
-                CompletedPart completedPart = CompletedPart.builder()
-                        .partNumber(partNumber)
-                        .eTag(partResponse.eTag())
-                        .build();
-                completedParts.add(completedPart);
-                nBytes = bos.read(chunkBytes);
-            }
+            List<CompletedPart> completedParts = uploadParts(s3Client, bucket, fileKey, uploadId,
+                    inputStream, chunkBytes, nBytes);
 
+            String completedUploadId = uploadId;
             s3Client.completeMultipartUpload(completeBuilder -> completeBuilder
                     .bucket(bucket)
                     .key(fileKey)
-                    .uploadId(response.uploadId())
+                    .uploadId(completedUploadId)
                     .multipartUpload(multipartBuilder -> multipartBuilder.parts(completedParts)));
             return fileRef;
         } catch (IOException | SdkException e) {
+            if (uploadId != null) {
+                abortMultipartUpload(s3Client, bucket, fileKey, uploadId);
+            }
             log.error("Error saving file to S3 storage", e);
             String message = String.format("Could not save file %s.", fileName);
             throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, message);
         }
     }
 
+    /**
+     * Uploads parts of a multipart upload on the executor shared by all uploads of the storage, which has
+     * {@link #multipartUploadThreads} threads. Chunks are read into a bounded pool of buffers that are reused after
+     * their parts are uploaded, so reading of the input stream waits while all buffers are being uploaded.
+     *
+     * @param firstChunk       buffer containing the first chunk which is already read
+     * @param firstChunkLength length of the first chunk
+     * @return completed parts ordered by part number
+     */
+    protected List<CompletedPart> uploadParts(S3Client s3Client, String bucket, String fileKey, String uploadId,
+                                              InputStream inputStream, byte[] firstChunk, int firstChunkLength)
+            throws IOException {
+        int threads = Math.max(1, multipartUploadThreads);
+        // one more buffer than threads, so the next chunk is read while all threads are uploading
+        int maxBuffers = threads + 1;
+        BlockingQueue<byte[]> freeBuffers = new ArrayBlockingQueue<>(maxBuffers);
+        int allocatedBuffers = 1;
+
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<CompletedPart>> futures = new ArrayList<>();
+        ExecutorService executor = getUploadExecutor();
+        boolean completed = false;
+        try {
+            byte[] buffer = firstChunk;
+            int nBytes = firstChunkLength;
+            for (int partNumber = 1; 0 < nBytes && !failed.get(); partNumber++) {
+                UploadPartRequest partRequest = UploadPartRequest.builder()
+                        .bucket(bucket)
+                        .key(fileKey)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .build();
+                byte[] partBuffer = buffer;
+                int partLength = nBytes;
+                futures.add(executor.submit(() -> {
+                    try {
+                        if (failed.get()) {
+                            return null;
+                        }
+                        UploadPartResponse partResponse = s3Client.uploadPart(partRequest,
+                                fromBuffer(partBuffer, partLength));
+                        return CompletedPart.builder()
+                                .partNumber(partRequest.partNumber())
+                                .eTag(partResponse.eTag())
+                                .build();
+                    } catch (RuntimeException e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        freeBuffers.offer(partBuffer);
+                    }
+                }));
+
+                buffer = freeBuffers.poll();
+                if (buffer == null) {
+                    if (allocatedBuffers < maxBuffers) {
+                        buffer = new byte[firstChunk.length];
+                        allocatedBuffers++;
+                    } else {
+                        buffer = freeBuffers.take();
+                    }
+                }
+                nBytes = IOUtils.read(inputStream, buffer);
+            }
+
+            List<CompletedPart> completedParts = new ArrayList<>(futures.size());
+            Throwable failure = null;
+            for (Future<CompletedPart> future : futures) {
+                try {
+                    CompletedPart completedPart = future.get();
+                    if (completedPart != null) {
+                        completedParts.add(completedPart);
+                    }
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+            if (failure instanceof SdkException) {
+                throw (SdkException) failure;
+            } else if (failure != null) {
+                throw new IOException("Unable to upload part of file " + fileKey, failure);
+            }
+            completed = true;
+            return completedParts;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Upload of file " + fileKey + " is interrupted");
+        } finally {
+            if (!completed) {
+                failed.set(true);
+                for (Future<CompletedPart> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    protected ExecutorService getUploadExecutor() {
+        ExecutorService executor = uploadExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = uploadExecutor;
+                if (executor == null) {
+                    int threads = Math.max(1, multipartUploadThreads);
+                    executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(), createUploadThreadFactory());
+                    ((ThreadPoolExecutor) executor).allowCoreThreadTimeOut(true);
+                    uploadExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    @PreDestroy
+    protected void destroy() {
+        ExecutorService executor = uploadExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    protected ThreadFactory createUploadThreadFactory() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "awsfs-upload-" + storageName + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    protected void abortMultipartUpload(S3Client s3Client, String bucket, String fileKey, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(abortBuilder -> abortBuilder
+                    .bucket(bucket)
+                    .key(fileKey)
+                    .uploadId(uploadId));
+        } catch (SdkException e) {
+            log.warn("Unable to abort multipart upload of file {} to S3 storage", fileKey, e);
+        }
+    }
+
     protected RequestBody fromBytes(byte[] buffer, int length) {
         length = Math.max(0, length);
         byte[] bytes = Arrays.copyOf(buffer, length);
         return RequestBody.fromContentProvider(() -> new ByteArrayInputStream(bytes), length, Mimetype.MIMETYPE_OCTET_STREAM);
     }
 
+    /**
+     * Creates a request body reading the buffer without copying. The buffer must not be changed until the request
+     * is completed.
+     */
+    protected RequestBody fromBuffer(byte[] buffer, int length) {
+        return RequestBody.fromContentProvider(() -> new ByteArrayInputStream(buffer, 0, length), length,
+                Mimetype.MIMETYPE_OCTET_STREAM);
+    }
+
     @Override
     public InputStream openStream(FileRef reference) {
         InputStream is;
@@ -270,6 +441,64 @@ public class AwsFileStorage implements FileStorage {
         return is;
     }
 
+    /**
+     * Loads only the requested range of the file using an HTTP range request. Like the default implementation,
+     * returns an empty stream if the range starts after the end of the file.
+     */
+    @Override
+    public InputStream openStream(FileRef reference, long offset, @Nullable Long length) {
+        if (offset < 0 || (length != null && length < 0)) {
+            throw new IllegalArgumentException("Invalid range: offset " + offset + ", length " + length);
+        }
+        if (length != null && length == 0) {
+            return InputStream.nullInputStream();
+        }
+
+        String range = "bytes=" + offset + "-" + (length != null ? String.valueOf(offset + length - 1) : "");
+        try {
+            S3Client s3Client = s3ClientReference.get();
+            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(reference.getPath())
+                    .range(range)
+                    .build();
+            return s3Client.getObject(getObjectRequest, ResponseTransformer.toInputStream());
+        } catch (S3Exception e) {
+            if (e.statusCode() == INVALID_RANGE_STATUS_CODE) {
+                return InputStream.nullInputStream();
+            }
+            log.error("Error loading file from S3 storage", e);
+            String message = String.format("Could not load file %s.", reference.getFileName());
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, message);
+        } catch (SdkException e) {
+            log.error("Error loading file from S3 storage", e);
+            String message = String.format("Could not load file %s.", reference.getFileName());
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, message);
+        }
+    }
+
+    @Nullable
+    @Override
+    public FileAttributes getFileAttributes(FileRef reference) {
+        try {
+            S3Client s3Client = s3ClientReference.get();
+            HeadObjectRequest headObjectRequest = HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(reference.getPath())
+                    .build();
+            HeadObjectResponse headObjectResponse = s3Client.headObject(headObjectRequest);
+            Instant lastModified = headObjectResponse.lastModified();
+            return new FileAttributes(headObjectResponse.contentLength(),
+                    lastModified != null ? Date.from(lastModified) : null);
+        } catch (NoSuchKeyException e) {
+            return null;
+        } catch (SdkException e) {
+            log.error("Error loading file attributes from S3 storage", e);
+            String message = String.format("Could not load attributes of file %s.", reference.getFileName());
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, message);
+        }
+    }
+
     @Override
     public void removeFile(FileRef reference) {
         try {
@@ -321,6 +550,10 @@ public class AwsFileStorage implements FileStorage {
         this.chunkSize = chunkSize;
     }
 
+    public void setMultipartUploadThreads(int multipartUploadThreads) {
+        this.multipartUploadThreads = multipartUploadThreads;
+    }
+
     public void setEndpointUrl(@Nullable String endpointUrl) {
         this.endpointUrl = endpointUrl;
     }
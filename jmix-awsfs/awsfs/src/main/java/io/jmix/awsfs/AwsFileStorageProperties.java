@@ -31,6 +31,11 @@ public class AwsFileStorageProperties {
      */
     int chunkSize;
 
+    /**
+     * Number of threads uploading parts of multipart uploads. The threads are shared by all uploads of the storage.
+     */
+    int multipartUploadThreads;
+
     /**
      * Custom S3 storage endpoint URL.
      */
@@ -47,6 +52,7 @@ public class AwsFileStorageProperties {
             String region,
             String bucket,
             @DefaultValue("8192") int chunkSize,
+            @DefaultValue("4") int multipartUploadThreads,
             @DefaultValue("") String endpointUrl,
             @DefaultValue("false") boolean usePathStyleBucketAddressing) {
         this.accessKey = accessKey;
@@ -54,6 +60,7 @@ public class AwsFileStorageProperties {
         this.region = region;
         this.bucket = bucket;
         this.chunkSize = chunkSize;
+        this.multipartUploadThreads = multipartUploadThreads;
         this.endpointUrl = endpointUrl;
         this.usePathStyleBucketAddressing = usePathStyleBucketAddressing;
     }
@@ -93,6 +100,13 @@ public class AwsFileStorageProperties {
         return chunkSize;
     }
 
+    /**
+     * @see #multipartUploadThreads
+     */
+    public int getMultipartUploadThreads() {
+        return multipartUploadThreads;
+    }
+
     /**
      * @see #endpointUrl
      */
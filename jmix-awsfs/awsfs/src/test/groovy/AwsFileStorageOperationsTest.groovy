@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import io.jmix.awsfs.AwsFileStorage
+import io.jmix.awsfs.AwsFileStorageConfiguration
+import io.jmix.core.CoreConfiguration
+import io.jmix.core.FileRef
+import io.jmix.core.FileStorageException
+import io.jmix.core.TimeSource
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.ContextConfiguration
+import spock.lang.Specification
+import test_support.AwsFileStorageTestConfiguration
+import test_support.InMemoryS3Client
+import test_support.TestContextInititalizer
+
+@ContextConfiguration(
+        classes = [CoreConfiguration, AwsFileStorageConfiguration, AwsFileStorageTestConfiguration],
+        initializers = [TestContextInititalizer]
+)
+class AwsFileStorageOperationsTest extends Specification {
+
+    static final int CHUNK_SIZE_KB = 1
+    static final int CHUNK_SIZE = CHUNK_SIZE_KB * 1024
+
+    @Autowired
+    TimeSource timeSource
+
+    AwsFileStorage storage
+    InMemoryS3Client s3Client
+
+    void setup() {
+        storage = new AwsFileStorage("test", "accessKey", "secretKey", "us-east-1", "bucket", CHUNK_SIZE_KB, null)
+        storage.timeSource = timeSource
+        storage.multipartUploadThreads = 3
+
+        s3Client = new InMemoryS3Client()
+        storage.s3ClientReference.set(s3Client)
+    }
+
+    void cleanup() {
+        storage.destroy()
+    }
+
+    def "small file is saved by single request"() {
+        def content = content(100)
+
+        when:
+        def fileRef = storage.saveStream("small.txt", new ByteArrayInputStream(content), [:])
+
+        then:
+        s3Client.uploadedParts.isEmpty()
+        s3Client.objects[fileRef.path] == content
+    }
+
+    def "large file is saved by multipart upload with ordered parts"() {
+        def content = content(CHUNK_SIZE * 7 + 10)
+
+        when:
+        def fileRef = storage.saveStream("large.txt", new ByteArrayInputStream(content), [:])
+
+        then:
+        s3Client.uploadedParts.sort() == (1..8).toList()
+        s3Client.objects[fileRef.path] == content
+        s3Client.uploads.isEmpty()
+        s3Client.abortedUploads.isEmpty()
+    }
+
+    def "input stream returning short reads doesn't produce undersized parts"() {
+        def content = content(CHUNK_SIZE * 3)
+        def inputStream = new FilterInputStream(new ByteArrayInputStream(content)) {
+            @Override
+            int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 100))
+            }
+        }
+
+        when:
+        def fileRef = storage.saveStream("short-reads.txt", inputStream, [:])
+
+        then:
+        s3Client.uploadedParts.sort() == [1, 2, 3]
+        s3Client.objects[fileRef.path] == content
+    }
+
+    def "multipart upload is aborted if a part fails"() {
+        s3Client.failPart(3)
+
+        when:
+        storage.saveStream("failed.txt", new ByteArrayInputStream(content(CHUNK_SIZE * 6)), [:])
+
+        then:
+        thrown(FileStorageException)
+        s3Client.abortedUploads.size() == 1
+        s3Client.uploads.isEmpty()
+        s3Client.objects.isEmpty()
+    }
+
+    def "concurrent uploads share the upload executor"() {
+        def contents = (1..4).collect { content(CHUNK_SIZE * 4 + it) }
+
+        when:
+        def fileRefs = contents.withIndex()
+                .collect { byte[] content, int i ->
+                    Thread.start { storage.saveStream("file${i}.txt", new ByteArrayInputStream(content), [:]) }
+                }
+                .collect { Thread thread -> thread.join(); thread }
+        def storedFiles = s3Client.objects.values().toList()
+
+        then:
+        fileRefs.size() == 4
+        storedFiles.size() == 4
+        contents.every { expected -> storedFiles.any { Arrays.equals(it, expected) } }
+    }
+
+    def "range of a file is read"() {
+        def content = content(CHUNK_SIZE * 2)
+        FileRef fileRef = storage.saveStream("range.txt", new ByteArrayInputStream(content), [:])
+
+        expect:
+        storage.openStream(fileRef, offset, length).bytes == Arrays.copyOfRange(content, from, to)
+
+        where:
+        offset | length | from | to
+        0      | 10     | 0    | 10
+        100    | 200    | 100  | 300
+        2000   | null   | 2000 | 2048
+        2040   | 100    | 2040 | 2048
+        0      | 0      | 0    | 0
+    }
+
+    def "range starting after the end of a file is empty"() {
+        FileRef fileRef = storage.saveStream("range.txt", new ByteArrayInputStream(content(100)), [:])
+
+        expect:
+        storage.openStream(fileRef, 100, null).bytes.length == 0
+        storage.openStream(fileRef, 500, 10).bytes.length == 0
+    }
+
+    private static byte[] content(int size) {
+        byte[] bytes = new byte[size]
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i % 251)
+        }
+        return bytes
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test_support;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * S3 client keeping objects in memory. Supports operations used by {@code AwsFileStorage}.
+ */
+public class InMemoryS3Client implements S3Client {
+
+    protected final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    protected final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    protected final List<String> abortedUploads = Collections.synchronizedList(new ArrayList<>());
+    protected final AtomicInteger uploadIdSequence = new AtomicInteger();
+    protected final List<Integer> uploadedParts = Collections.synchronizedList(new ArrayList<>());
+
+    protected volatile int failingPartNumber = -1;
+
+    public Map<String, byte[]> getObjects() {
+        return objects;
+    }
+
+    public Map<String, Map<Integer, byte[]>> getUploads() {
+        return uploads;
+    }
+
+    public List<String> getAbortedUploads() {
+        return abortedUploads;
+    }
+
+    public List<Integer> getUploadedParts() {
+        return uploadedParts;
+    }
+
+    /**
+     * Makes uploading of the part with the given number fail.
+     */
+    public void failPart(int partNumber) {
+        this.failingPartNumber = partNumber;
+    }
+
+    @Override
+    public PutObjectResponse putObject(PutObjectRequest request, RequestBody requestBody) {
+        objects.put(request.key(), readBody(requestBody));
+        return PutObjectResponse.builder().build();
+    }
+
+    @Override
+    public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+        String uploadId = String.valueOf(uploadIdSequence.incrementAndGet());
+        uploads.put(uploadId, new ConcurrentHashMap<>());
+        return CreateMultipartUploadResponse.builder()
+                .bucket(request.bucket())
+                .key(request.key())
+                .uploadId(uploadId)
+                .build();
+    }
+
+    @Override
+    public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody requestBody) {
+        if (request.partNumber() == failingPartNumber) {
+            throw (S3Exception) S3Exception.builder()
+                    .statusCode(500)
+                    .message("Part " + request.partNumber() + " failed")
+                    .build();
+        }
+        Map<Integer, byte[]> parts = uploads.get(request.uploadId());
+        if (parts == null) {
+            throw NoSuchUploadException.builder().statusCode(404).build();
+        }
+        parts.put(request.partNumber(), readBody(requestBody));
+        uploadedParts.add(request.partNumber());
+        return UploadPartResponse.builder()
+                .eTag("etag-" + request.partNumber())
+                .build();
+    }
+
+    @Override
+    public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        Map<Integer, byte[]> parts = uploads.remove(request.uploadId());
+        if (parts == null) {
+            throw NoSuchUploadException.builder().statusCode(404).build();
+        }
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        int expectedPartNumber = 1;
+        for (CompletedPart part : request.multipartUpload().parts()) {
+            if (part.partNumber() != expectedPartNumber++ || !parts.containsKey(part.partNumber())) {
+                throw (S3Exception) S3Exception.builder()
+                        .statusCode(400)
+                        .message("Invalid part order")
+                        .build();
+            }
+            content.writeBytes(parts.get(part.partNumber()));
+        }
+        objects.put(request.key(), content.toByteArray());
+        return CompleteMultipartUploadResponse.builder()
+                .bucket(request.bucket())
+                .key(request.key())
+                .build();
+    }
+
+    @Override
+    public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+        uploads.remove(request.uploadId());
+        abortedUploads.add(request.uploadId());
+        return AbortMultipartUploadResponse.builder().build();
+    }
+
+    @Override
+    public <ReturnT> ReturnT getObject(GetObjectRequest request,
+                                       ResponseTransformer<GetObjectResponse, ReturnT> responseTransformer) {
+        byte[] content = getContent(request.key());
+        int from = 0;
+        int to = content.length;
+        if (request.range() != null) {
+            String[] range = request.range().substring("bytes=".length()).split("-", -1);
+            from = Integer.parseInt(range[0]);
+            if (from >= content.length) {
+                throw (S3Exception) S3Exception.builder()
+                        .statusCode(416)
+                        .message("The requested range is not satisfiable")
+                        .build();
+            }
+            if (!range[1].isEmpty()) {
+                to = Math.min(content.length, Integer.parseInt(range[1]) + 1);
+            }
+        }
+
+        GetObjectResponse response = GetObjectResponse.builder()
+                .contentLength((long) (to - from))
+                .build();
+        InputStream inputStream = new ByteArrayInputStream(content, from, to - from);
+        try {
+            return responseTransformer.transform(response, AbortableInputStream.create(inputStream));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+        return getObject(request, ResponseTransformer.toInputStream());
+    }
+
+    @Override
+    public HeadObjectResponse headObject(HeadObjectRequest request) {
+        byte[] content = getContent(request.key());
+        return HeadObjectResponse.builder()
+                .contentLength((long) content.length)
+                .lastModified(Instant.now())
+                .build();
+    }
+
+    @Override
+    public DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+        objects.remove(request.key());
+        return DeleteObjectResponse.builder().build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    protected byte[] getContent(String key) {
+        byte[] content = objects.get(key);
+        if (content == null) {
+            throw NoSuchKeyException.builder().statusCode(404).build();
+        }
+        return content;
+    }
+
+    protected byte[] readBody(RequestBody requestBody) {
+        try (InputStream inputStream = requestBody.contentStreamProvider().newStream()) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
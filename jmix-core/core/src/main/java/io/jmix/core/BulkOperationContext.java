@@ -0,0 +1,186 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.core;
+
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.constraint.AccessConstraint;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.querycondition.Condition;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Defines a set-based update or deletion of all instances of an entity matching a condition.
+ * <p>
+ * Instances are changed by the data store without loading them, so entity listeners and {@code EntityChangedEvent}
+ * are not invoked for them. Instead, a single {@link io.jmix.core.event.BulkEntityChangedEvent} is sent with
+ * identifiers of all affected instances.
+ *
+ * @see UnconstrainedDataManager#update(Class)
+ * @see UnconstrainedDataManager#delete(Class)
+ */
+public class BulkOperationContext implements Serializable {
+
+    private static final long serialVersionUID = -2406519238743627011L;
+
+    /**
+     * Type of the bulk operation.
+     */
+    public enum Type {
+        UPDATE,
+        DELETE
+    }
+
+    protected MetaClass entityMetaClass;
+    protected Type type;
+    protected Map<String, Object> values = new LinkedHashMap<>();
+    protected Condition condition;
+    protected boolean joinTransaction = true;
+    protected List<AccessConstraint<?>> accessConstraints;
+    protected Map<String, Serializable> hints;
+
+    /**
+     * @param entityMetaClass metaclass of the changed entity
+     * @param type            operation type
+     */
+    public BulkOperationContext(MetaClass entityMetaClass, Type type) {
+        Preconditions.checkNotNullArgument(entityMetaClass, "entityMetaClass is null");
+        Preconditions.checkNotNullArgument(type, "type is null");
+        this.entityMetaClass = entityMetaClass;
+        this.type = type;
+    }
+
+    /**
+     * @return metaclass of the changed entity
+     */
+    public MetaClass getEntityMetaClass() {
+        return entityMetaClass;
+    }
+
+    /**
+     * @return operation type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return new values of entity attributes for the {@link Type#UPDATE} operation
+     */
+    public Map<String, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Sets a new value of the entity attribute for the {@link Type#UPDATE} operation.
+     *
+     * @param property attribute name
+     * @param value    new value
+     * @return this instance for chaining
+     */
+    public BulkOperationContext setValue(String property, @Nullable Object value) {
+        values.put(property, value);
+        return this;
+    }
+
+    /**
+     * @return condition which restricts the affected instances
+     */
+    @Nullable
+    public Condition getCondition() {
+        return condition;
+    }
+
+    /**
+     * Sets a condition which restricts the affected instances.
+     *
+     * @return this instance for chaining
+     */
+    public BulkOperationContext setCondition(@Nullable Condition condition) {
+        this.condition = condition;
+        return this;
+    }
+
+    /**
+     * @return custom hints which are used by the data store
+     */
+    public Map<String, Serializable> getHints() {
+        return hints == null ? Collections.emptyMap() : Collections.unmodifiableMap(hints);
+    }
+
+    /**
+     * Sets custom hint that should be used by the data store.
+     */
+    public BulkOperationContext setHint(String hintName, Serializable value) {
+        if (hints == null) {
+            hints = new HashMap<>();
+        }
+        hints.put(hintName, value);
+        return this;
+    }
+
+    /**
+     * Sets custom hints that should be used by the data store.
+     */
+    public BulkOperationContext setHints(Map<String, Serializable> hints) {
+        this.hints = hints;
+        return this;
+    }
+
+    /**
+     * Returns the list of access constraints.
+     */
+    public List<AccessConstraint<?>> getAccessConstraints() {
+        return this.accessConstraints == null ? Collections.emptyList() : this.accessConstraints;
+    }
+
+    /**
+     * Sets the list of access constraints.
+     */
+    public BulkOperationContext setAccessConstraints(List<AccessConstraint<?>> accessConstraints) {
+        this.accessConstraints = accessConstraints;
+        return this;
+    }
+
+    /**
+     * @return whether to join existing transaction or always start a new one
+     */
+    public boolean isJoinTransaction() {
+        return joinTransaction;
+    }
+
+    /**
+     * Sets whether to join existing transaction or always start a new one.
+     */
+    public BulkOperationContext setJoinTransaction(boolean joinTransaction) {
+        this.joinTransaction = joinTransaction;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkOperationContext{" +
+                "entityMetaClass=" + entityMetaClass +
+                ", type=" + type +
+                ", values=" + values.keySet() +
+                ", condition=" + condition +
+                '}';
+    }
+}
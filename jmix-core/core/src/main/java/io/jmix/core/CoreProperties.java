@@ -106,6 +106,28 @@ public class CoreProperties {
      */
     boolean skipNullOrEmptyConditionsByDefault;
 
+    /**
+     * Whether cluster application events implementing {@link io.jmix.core.cluster.MergeableClusterApplicationEvent}
+     * are buffered, de-duplicated and sent to other cluster members in batches.
+     */
+    boolean clusterEventsCoalescingEnabled;
+
+    /**
+     * Time during which mergeable cluster application events are buffered before sending.
+     */
+    Duration clusterEventsCoalescingWindow;
+
+    /**
+     * Maximum number of events in a batch of coalesced cluster application events.
+     */
+    int clusterEventsMaxBatchSize;
+
+    /**
+     * Maximum number of entities imported by {@link io.jmix.core.impl.importexport.EntityImportExportImpl} in a single
+     * save. Larger collections are split into chunks, each saved in its own transaction. 0 means no splitting.
+     */
+    int entityImportChunkSize;
+
     public CoreProperties(
             String webHostName,
             String webPort,
@@ -126,7 +148,11 @@ public class CoreProperties {
             @DefaultValue("true") boolean triggerFilesEnabled,
             @DefaultValue("5000") Duration triggerFilesProcessInterval,
             @DefaultValue("true") boolean roundDecimalValueByFormat,
-            @DefaultValue("false") boolean skipNullOrEmptyConditionsByDefault) {
+            @DefaultValue("false") boolean skipNullOrEmptyConditionsByDefault,
+            @DefaultValue("false") boolean clusterEventsCoalescingEnabled,
+            @DefaultValue("100ms") Duration clusterEventsCoalescingWindow,
+            @DefaultValue("1000") int clusterEventsMaxBatchSize,
+            @DefaultValue("0") int entityImportChunkSize) {
         this.webHostName = webHostName;
         this.webPort = webPort;
         this.confDir = confDir;
@@ -156,6 +182,10 @@ public class CoreProperties {
         this.triggerFilesProcessInterval = triggerFilesProcessInterval;
         this.roundDecimalValueByFormat = roundDecimalValueByFormat;
         this.skipNullOrEmptyConditionsByDefault = skipNullOrEmptyConditionsByDefault;
+        this.clusterEventsCoalescingEnabled = clusterEventsCoalescingEnabled;
+        this.clusterEventsCoalescingWindow = clusterEventsCoalescingWindow;
+        this.clusterEventsMaxBatchSize = clusterEventsMaxBatchSize;
+        this.entityImportChunkSize = entityImportChunkSize;
     }
 
     public String getWebHostName() {
@@ -266,4 +296,32 @@ public class CoreProperties {
     public boolean isSkipNullOrEmptyConditionsByDefault() {
         return skipNullOrEmptyConditionsByDefault;
     }
+
+    /**
+     * @see #clusterEventsCoalescingEnabled
+     */
+    public boolean isClusterEventsCoalescingEnabled() {
+        return clusterEventsCoalescingEnabled;
+    }
+
+    /**
+     * @see #clusterEventsCoalescingWindow
+     */
+    public Duration getClusterEventsCoalescingWindow() {
+        return clusterEventsCoalescingWindow;
+    }
+
+    /**
+     * @see #clusterEventsMaxBatchSize
+     */
+    public int getClusterEventsMaxBatchSize() {
+        return clusterEventsMaxBatchSize;
+    }
+
+    /**
+     * @see #entityImportChunkSize
+     */
+    public int getEntityImportChunkSize() {
+        return entityImportChunkSize;
+    }
 }
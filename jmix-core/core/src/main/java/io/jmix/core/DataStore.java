@@ -84,4 +84,15 @@ public interface DataStore {
      * @return number of key-value pairs in the data store
      */
     long getCount(ValueLoadContext context);
+
+    /**
+     * Updates or deletes all entity instances matching the condition of the given context by set-based
+     * operations, without loading the instances.
+     *
+     * @return number of affected instances
+     * @throws UnsupportedOperationException if the data store does not support bulk operations
+     */
+    default int executeBulkOperation(BulkOperationContext context) {
+        throw new UnsupportedOperationException("Bulk operations are not supported by data store " + getName());
+    }
 }
@@ -20,6 +20,7 @@ import io.jmix.core.entity.*;
 import io.jmix.core.entity.annotation.JmixGeneratedValue;
 import io.jmix.core.entity.annotation.JmixId;
 import io.jmix.core.impl.EntityInternals;
+import io.jmix.core.metamodel.model.MetaProperty;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Id;
 import org.springframework.lang.Nullable;
@@ -77,6 +78,23 @@ public interface EntityEntry extends Serializable {
 
     void setAttributeValue(String name, @Nullable Object value, boolean checkEquals);
 
+    /**
+     * Returns an attribute value. Implementations may use the ordinal of the property instead of its name to
+     * locate the getter.
+     */
+    @Nullable
+    default <T> T getAttributeValue(MetaProperty property) {
+        return getAttributeValue(property.getName());
+    }
+
+    /**
+     * Sets an attribute value. Implementations may use the ordinal of the property instead of its name to
+     * locate the setter.
+     */
+    default void setAttributeValue(MetaProperty property, @Nullable Object value, boolean checkEquals) {
+        setAttributeValue(property.getName(), value, checkEquals);
+    }
+
     default boolean isEmbeddable() {
         return false;
     }
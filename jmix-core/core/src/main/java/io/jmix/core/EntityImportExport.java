@@ -103,6 +103,12 @@ public interface EntityImportExport {
      * <p>
      * If the import plan contains a property for composition attribute then all composition collection members that are
      * absent in the passed entity will be removed.
+     * <p>
+     * If the number of entities exceeds the {@code jmix.core.entity-import-chunk-size} application property, the
+     * entities are split into chunks, and each chunk is saved in its own transaction. If importing of a chunk fails,
+     * only the previous chunks remain committed. A reference is resolved only if its target is in the same chunk or
+     * in a previous one, so with {@link ReferenceImportBehaviour#IGNORE_MISSING} a reference to an entity imported
+     * in a later chunk is not imported.
      *
      * @param importPlan {@code EntityImportPlan} with the rules that describes how entities should be persisted.
      * @param validate   whether the passed entities should be validated by the bean validation mechanism before
@@ -118,6 +124,8 @@ public interface EntityImportExport {
      * <p>
      * If the import plan contains a property for composition attribute then all composition collection members that are
      * absent in the passed entity will be removed.
+     * <p>
+     * Large collections are imported in chunks as described in {@link #importEntities(Collection, EntityImportPlan, boolean)}.
      *
      * @param importPlan        {@link EntityImportPlan} with the rules that describes how entities should be
      *                          persisted.
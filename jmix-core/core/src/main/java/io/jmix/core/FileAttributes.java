@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import org.springframework.lang.Nullable;
+
+import java.nio.file.Path;
+import java.util.Date;
+
+/**
+ * Attributes of a file located in {@link FileStorage}.
+ *
+ * @see FileStorage#getFileAttributes(FileRef)
+ */
+public class FileAttributes {
+
+    private final long size;
+    private final Date lastModified;
+    private final Path localFile;
+
+    /**
+     * Creates attributes of a file which is not available in the local file system.
+     */
+    public FileAttributes(long size, @Nullable Date lastModified) {
+        this(size, lastModified, null);
+    }
+
+    /**
+     * Creates file attributes.
+     *
+     * @param size         file size in bytes
+     * @param lastModified time of the last modification of the file, or null if unknown
+     * @param localFile    location of the file in the local file system, or null if the file is not stored locally
+     */
+    public FileAttributes(long size, @Nullable Date lastModified, @Nullable Path localFile) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.localFile = localFile;
+    }
+
+    /**
+     * Returns file size in bytes.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns time of the last modification of the file, or null if unknown.
+     */
+    @Nullable
+    public Date getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Returns location of the file in the local file system, or null if the file is not stored locally.
+     * It allows transferring the file contents without reading it by the application.
+     */
+    @Nullable
+    public Path getLocalFile() {
+        return localFile;
+    }
+
+    @Override
+    public String toString() {
+        return "FileAttributes{" +
+                "size=" + size +
+                ", lastModified=" + lastModified +
+                ", localFile=" + localFile +
+                '}';
+    }
+}
@@ -16,6 +16,11 @@
 
 package io.jmix.core;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.Map;
@@ -68,6 +73,57 @@ public interface FileStorage {
      */
     InputStream openStream(FileRef reference);
 
+    /**
+     * Returns an input stream to load a range of a file contents.
+     * <p>
+     * The default implementation skips leading bytes of the whole file stream. Storages that are able to read
+     * a part of a file override it to avoid transferring the skipped bytes. If the range starts after the end
+     * of the file, an empty stream is returned.
+     *
+     * @param reference file reference
+     * @param offset    index of the first byte to load
+     * @param length    number of bytes to load, or null to load up to the end of the file
+     * @return input stream, must be closed after use
+     * @throws IllegalArgumentException if arguments are incorrect
+     * @throws FileStorageException     if something goes wrong
+     */
+    default InputStream openStream(FileRef reference, long offset, @Nullable Long length) {
+        if (offset < 0 || (length != null && length < 0)) {
+            throw new IllegalArgumentException("Invalid range: offset " + offset + ", length " + length);
+        }
+
+        InputStream inputStream = openStream(reference);
+        try {
+            // the stream is empty if the file is shorter than offset
+            IOUtils.skip(inputStream, offset);
+            if (length == null) {
+                return inputStream;
+            }
+            return BoundedInputStream.builder()
+                    .setInputStream(inputStream)
+                    .setMaxCount(length)
+                    .get();
+        } catch (IOException e) {
+            IOUtils.closeQuietly(inputStream);
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, reference.getFileName(), e);
+        }
+    }
+
+    /**
+     * Returns attributes of a file: its size, time of the last modification and location in the local file system.
+     * <p>
+     * The default implementation returns null, which means that the storage doesn't provide file attributes.
+     *
+     * @param reference file reference
+     * @return file attributes, or null if the file doesn't exist or the storage doesn't provide its attributes
+     * @throws IllegalArgumentException if file reference is invalid
+     * @throws FileStorageException     if something goes wrong
+     */
+    @Nullable
+    default FileAttributes getFileAttributes(FileRef reference) {
+        return null;
+    }
+
     /**
      * Removes a file from the file storage.
      *
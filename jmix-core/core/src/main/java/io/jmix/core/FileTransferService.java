@@ -32,6 +32,21 @@ public interface FileTransferService {
                                   Boolean attachment,
                                   HttpServletResponse response) throws FileTransferException;
 
+    /**
+     * Writes a file to the response taking into account the request headers: responds with a part of the file
+     * to {@code Range} requests and with {@code 304 Not Modified} to conditional requests if the file
+     * has not changed.
+     * <p>
+     * The default implementation ignores the request headers and writes the whole file.
+     */
+    default void downloadAndWriteResponse(FileRef fileReference,
+                                          String fileStorageName,
+                                          Boolean attachment,
+                                          HttpServletRequest request,
+                                          HttpServletResponse response) throws FileTransferException {
+        downloadAndWriteResponse(fileReference, fileStorageName, attachment, response);
+    }
+
     ResponseEntity<FileInfoResponse> multipartFileUpload(MultipartFile file,
                                                          String name,
                                                          String fileStorageName,
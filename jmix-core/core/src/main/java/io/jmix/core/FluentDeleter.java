@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.core;
+
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.querycondition.Condition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fluent API for deleting all instances of an entity matching a condition by a single set-based operation.
+ * Soft-deletable instances are marked as deleted unless soft deletion is turned off by the hint.
+ *
+ * @see UnconstrainedDataManager#delete(Class)
+ */
+@Component("core_FluentDeleter")
+@Scope(BeanDefinition.SCOPE_PROTOTYPE)
+public class FluentDeleter<E> {
+
+    private Class<E> entityClass;
+
+    private UnconstrainedDataManager dataManager;
+
+    private Condition condition;
+    private boolean joinTransaction = true;
+    private Map<String, Serializable> hints = new HashMap<>();
+
+    @Autowired
+    private Metadata metadata;
+
+    public FluentDeleter(Class<E> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    public void setDataManager(UnconstrainedDataManager dataManager) {
+        this.dataManager = dataManager;
+    }
+
+    /**
+     * Sets a condition which restricts the deleted instances.
+     */
+    public FluentDeleter<E> condition(Condition condition) {
+        this.condition = condition;
+        return this;
+    }
+
+    /**
+     * Indicates that the operation must be performed in an existing transaction if it exists. True by default.
+     */
+    public FluentDeleter<E> joinTransaction(boolean join) {
+        this.joinTransaction = join;
+        return this;
+    }
+
+    /**
+     * Adds custom hint that should be used by the data store.
+     */
+    public FluentDeleter<E> hint(String hintName, Serializable value) {
+        hints.put(hintName, value);
+        return this;
+    }
+
+    /**
+     * Deletes the instances.
+     *
+     * @return number of deleted instances
+     */
+    public int execute() {
+        Preconditions.checkNotNullArgument(condition, "condition is not set");
+        BulkOperationContext context = new BulkOperationContext(metadata.getClass(entityClass), BulkOperationContext.Type.DELETE)
+                .setCondition(condition)
+                .setJoinTransaction(joinTransaction)
+                .setHints(hints);
+        return dataManager.executeBulkOperation(context);
+    }
+}
@@ -108,6 +108,24 @@ public interface UnconstrainedDataManager {
      */
     <E> void remove(Id<E> entityId);
 
+    /**
+     * Updates or deletes all entity instances matching the condition of the given context by set-based
+     * operations, without loading the instances.
+     * <p>Entity listeners and {@code EntityChangedEvent} are not invoked for the affected instances, a single
+     * {@link io.jmix.core.event.BulkEntityChangedEvent} is sent instead.</p>
+     * <p>The data store selects identifiers of all matching instances into memory first and then changes them
+     * in batches, so the operation is not suitable for an unlimited number of instances. If access constraints
+     * define in-memory update or delete predicates, the matching instances are loaded to evaluate them.</p>
+     *
+     * @param context {@link BulkOperationContext} object, defining the operation
+     * @return number of affected instances
+     * @throws UnsupportedOperationException if the implementation does not support bulk operations or the entity
+     *                                       is tracked by a component relying on per-instance changes, like entity log
+     */
+    default int executeBulkOperation(BulkOperationContext context) {
+        throw new UnsupportedOperationException("Bulk operations are not supported by " + getClass().getName());
+    }
+
     /**
      * Loads list of key-value pairs.
      *
@@ -194,6 +212,45 @@ public interface UnconstrainedDataManager {
      */
     <T> FluentValueLoader<T> loadValue(String queryString, Class<T> valueClass);
 
+    /**
+     * Entry point to the fluent API for updating entities matching a condition by a single set-based operation.
+     * Identifiers of the matching instances are loaded into memory first, see
+     * {@link #executeBulkOperation(BulkOperationContext)}.
+     * <p>
+     * Usage example:
+     * <pre>
+     * int count = dataManager.update(Order.class)
+     *      .set("status", OrderStatus.ARCHIVED)
+     *      .condition(PropertyCondition.less("date", someDate))
+     *      .execute();
+     * </pre>
+     *
+     * @param entityClass class of the updated entity
+     * @throws UnsupportedOperationException if the implementation does not support bulk operations
+     */
+    default <E> FluentUpdater<E> update(Class<E> entityClass) {
+        throw new UnsupportedOperationException("Bulk operations are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Entry point to the fluent API for deleting entities matching a condition by a single set-based operation.
+     * Identifiers of the matching instances are loaded into memory first, see
+     * {@link #executeBulkOperation(BulkOperationContext)}.
+     * <p>
+     * Usage example:
+     * <pre>
+     * int count = dataManager.delete(Order.class)
+     *      .condition(PropertyCondition.equal("status", OrderStatus.ARCHIVED))
+     *      .execute();
+     * </pre>
+     *
+     * @param entityClass class of the deleted entity
+     * @throws UnsupportedOperationException if the implementation does not support bulk operations
+     */
+    default <E> FluentDeleter<E> delete(Class<E> entityClass) {
+        throw new UnsupportedOperationException("Bulk operations are not supported by " + getClass().getName());
+    }
+
     /**
      * Creates a new entity instance in memory. This is a shortcut to {@code Metadata.create()}.
      *
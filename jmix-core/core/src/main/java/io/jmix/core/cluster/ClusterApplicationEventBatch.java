@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.cluster;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Event containing coalesced {@link MergeableClusterApplicationEvent}s sent to the cluster in a single message.
+ * It is unpacked by the receiving {@link ClusterApplicationEventPublisher}, so listeners receive the contained
+ * events.
+ */
+public class ClusterApplicationEventBatch extends ClusterApplicationEvent {
+
+    private static final long serialVersionUID = 4619128519846234563L;
+
+    protected final List<ClusterApplicationEvent> events;
+
+    public ClusterApplicationEventBatch(Object source, List<ClusterApplicationEvent> events) {
+        super(source);
+        this.events = new ArrayList<>(events);
+    }
+
+    public List<ClusterApplicationEvent> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    @Override
+    public String toString() {
+        return "ClusterApplicationEventBatch{" +
+                "events=" + events.size() +
+                '}';
+    }
+}
@@ -16,8 +16,11 @@
 
 package io.jmix.core.cluster;
 
+import io.jmix.core.CoreProperties;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
@@ -26,8 +29,22 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 /**
- * A component that allows to publish application events to application instances of a cluster
+ * A component that allows to publish application events to application instances of a cluster.
+ * <p>
+ * If the {@code jmix.core.cluster-events-coalescing-enabled} property is true, events implementing
+ * {@link MergeableClusterApplicationEvent} are not sent immediately but buffered during the
+ * {@code jmix.core.cluster-events-coalescing-window} time. Buffered events are de-duplicated by their merge keys
+ * and sent in {@link ClusterApplicationEventBatch} messages.
  */
 @Component("core_ClusterApplicationEventPublisher")
 public class ClusterApplicationEventPublisher {
@@ -37,10 +54,35 @@ public class ClusterApplicationEventPublisher {
     protected ApplicationEventPublisher applicationEventPublisher;
     protected ClusterApplicationEventChannelSupplier appEventChannelSupplier;
 
+    protected boolean coalescingEnabled;
+    protected long coalescingWindowMillis;
+    protected int maxBatchSize;
+
+    protected final Object bufferLock = new Object();
+    protected Map<Object, ClusterApplicationEvent> bufferedEvents = new LinkedHashMap<>();
+    protected ScheduledFuture<?> flushFuture;
+    protected ScheduledExecutorService flushExecutor;
+
+    /**
+     * Creates a publisher sending each event immediately, without coalescing.
+     */
     public ClusterApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher,
                                             ClusterApplicationEventChannelSupplier appEventChannelSupplier) {
         this.applicationEventPublisher = applicationEventPublisher;
         this.appEventChannelSupplier = appEventChannelSupplier;
+        this.coalescingEnabled = false;
+        this.maxBatchSize = 1;
+    }
+
+    @Autowired
+    public ClusterApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher,
+                                            ClusterApplicationEventChannelSupplier appEventChannelSupplier,
+                                            CoreProperties coreProperties) {
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.appEventChannelSupplier = appEventChannelSupplier;
+        this.coalescingEnabled = coreProperties.isClusterEventsCoalescingEnabled();
+        this.coalescingWindowMillis = coreProperties.getClusterEventsCoalescingWindow().toMillis();
+        this.maxBatchSize = Math.max(1, coreProperties.getClusterEventsMaxBatchSize());
     }
 
     @EventListener
@@ -51,9 +93,18 @@ public class ClusterApplicationEventPublisher {
     protected void onAppEventMessage(Message<?> message) {
         ApplicationEvent event = (ApplicationEvent) message.getPayload();
 
-        log.debug("Receiving event {}", event);
+        if (event instanceof ClusterApplicationEventBatch batch) {
+            log.debug("Receiving batch of {} events", batch.getEvents().size());
 
-        applicationEventPublisher.publishEvent(event);
+            for (ClusterApplicationEvent batchEvent : batch.getEvents()) {
+                log.debug("Receiving event {}", batchEvent);
+                applicationEventPublisher.publishEvent(batchEvent);
+            }
+        } else {
+            log.debug("Receiving event {}", event);
+
+            applicationEventPublisher.publishEvent(event);
+        }
     }
 
     /**
@@ -63,10 +114,96 @@ public class ClusterApplicationEventPublisher {
      * @param event an event to publish
      */
     public void publish(ClusterApplicationEvent event) {
+        if (coalescingEnabled && event instanceof MergeableClusterApplicationEvent mergeableEvent) {
+            addToBuffer(List.of(event.getClass(), mergeableEvent.getMergeKey()), event);
+            return;
+        }
+
+        send(event);
+    }
+
+    /**
+     * Immediately sends buffered mergeable events.
+     */
+    public void flush() {
+        List<ClusterApplicationEvent> events;
+        synchronized (bufferLock) {
+            events = takeBufferedEvents();
+        }
+        sendBatches(events);
+    }
+
+    protected void addToBuffer(Object key, ClusterApplicationEvent event) {
+        List<ClusterApplicationEvent> events = null;
+        synchronized (bufferLock) {
+            // the last event replaces the previous one with the same key
+            bufferedEvents.remove(key);
+            bufferedEvents.put(key, event);
+
+            if (bufferedEvents.size() >= maxBatchSize) {
+                events = takeBufferedEvents();
+            } else if (flushFuture == null) {
+                flushFuture = getFlushExecutor().schedule(this::flushSafely, coalescingWindowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (events != null) {
+            sendBatches(events);
+        }
+    }
+
+    protected List<ClusterApplicationEvent> takeBufferedEvents() {
+        List<ClusterApplicationEvent> events = new ArrayList<>(bufferedEvents.values());
+        bufferedEvents = new LinkedHashMap<>();
+        if (flushFuture != null) {
+            flushFuture.cancel(false);
+            flushFuture = null;
+        }
+        return events;
+    }
+
+    protected void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Unable to send buffered cluster application events", e);
+        }
+    }
+
+    protected ScheduledExecutorService getFlushExecutor() {
+        if (flushExecutor == null) {
+            flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ClusterEventsFlusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return flushExecutor;
+    }
+
+    protected void sendBatches(List<ClusterApplicationEvent> events) {
+        for (int i = 0; i < events.size(); i += maxBatchSize) {
+            List<ClusterApplicationEvent> batch = events.subList(i, Math.min(i + maxBatchSize, events.size()));
+            if (batch.size() == 1) {
+                send(batch.get(0));
+            } else {
+                send(new ClusterApplicationEventBatch(this, batch));
+            }
+        }
+    }
+
+    protected void send(ClusterApplicationEvent event) {
         Message<?> message = MessageBuilder.withPayload(event).build();
 
         log.debug("Publishing event {}", event);
 
         appEventChannelSupplier.get().send(message);
     }
+
+    @PreDestroy
+    protected void destroy() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+        }
+        flushSafely();
+    }
 }
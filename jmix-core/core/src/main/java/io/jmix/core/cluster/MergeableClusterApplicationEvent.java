@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.cluster;
+
+/**
+ * Marks a {@link ClusterApplicationEvent} which can be coalesced with other events before sending to the cluster.
+ * <p>
+ * If coalescing is enabled by the {@code jmix.core.cluster-events-coalescing-enabled} property, such events
+ * are buffered during a short time window, de-duplicated by
+ * {@link #getMergeKey()} and sent in a single message. Only the last of the events of the same class having equal
+ * merge keys is delivered, so the event must be an idempotent notification, e.g. a cache invalidation.
+ * <p>
+ * Note that coalesced events can be delivered after events published later without coalescing.
+ *
+ * @see ClusterApplicationEventPublisher
+ */
+public interface MergeableClusterApplicationEvent {
+
+    /**
+     * Returns the key of the event. Events of the same class with equal keys published within one buffering
+     * window are delivered once.
+     */
+    Object getMergeKey();
+}
@@ -102,7 +102,7 @@ public abstract class BaseEntityAttributesEraser implements EntityAttributesEras
 
     @SuppressWarnings({"rawtypes", "unchecked"})
     protected void restoreCollectionAttribute(Object entity, MetaProperty metaProperty, Collection ids) {
-        Collection items = EntityValues.getValue(entity, metaProperty.getName());
+        Collection items = EntityValues.getValue(entity, metaProperty);
         if (items == null) {
             throw new RuntimeException(
                     format("Could not restore erased values for property %s because current value because is null. Entity %s.",
@@ -120,7 +120,7 @@ public abstract class BaseEntityAttributesEraser implements EntityAttributesEras
         Object id = Iterables.getFirst(ids, null);
         assert id != null;
         Object reference = getEntityReference(metaProperty.getRange().asClass(), id);
-        EntityValues.setValue(entity, metaProperty.getName(), reference);
+        EntityValues.setValue(entity, metaProperty, reference);
     }
 
     protected void traverseEntities(Object entity, Set<Object> visited, Visitor visitor) {
@@ -132,7 +132,7 @@ public abstract class BaseEntityAttributesEraser implements EntityAttributesEras
 
         for (MetaProperty property : metadata.getClass(entity).getProperties()) {
             if (isPropertyToCheck(property) && entityStates.isLoaded(entity, property.getName())) {
-                Object value = EntityValues.getValue(entity, property.getName());
+                Object value = EntityValues.getValue(entity, property);
                 if (value instanceof Collection<?>) {
                     //noinspection unchecked
                     for (Object item : (Collection<Object>) value) {
@@ -24,6 +24,8 @@ import io.jmix.core.annotation.Internal;
 import io.jmix.core.common.util.ReflectionHelper;
 import io.jmix.core.entity.annotation.JmixGeneratedValue;
 import io.jmix.core.entity.annotation.JmixId;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.metamodel.model.impl.MetaPropertyImpl;
 import io.jmix.core.metamodel.model.utils.MethodsCache;
 import io.jmix.core.metamodel.model.utils.RelatedPropertiesCache;
 import org.springframework.lang.NonNull;
@@ -109,6 +111,52 @@ public abstract class BaseEntityEntry implements EntityEntry, Cloneable {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T getAttributeValue(@NonNull MetaProperty property) {
+        int ordinal = getAttributeOrdinal(property);
+        if (ordinal < 0) {
+            return getAttributeValue(property.getName());
+        }
+        return (T) ((JmixIndexedAccessorsEnhanced) getSource()).__getByIndex(ordinal);
+    }
+
+    @Override
+    public void setAttributeValue(@NonNull MetaProperty property, Object value, boolean checkEquals) {
+        int ordinal = getAttributeOrdinal(property);
+        if (ordinal < 0) {
+            setAttributeValue(property.getName(), value, checkEquals);
+        } else {
+            JmixIndexedAccessorsEnhanced source = (JmixIndexedAccessorsEnhanced) getSource();
+            if (!checkEquals || !EntityValues.propertyValueEquals(source.__getByIndex(ordinal), value)) {
+                source.__setByIndex(ordinal, value);
+            }
+        }
+    }
+
+    /**
+     * @return ordinal of the property if it can be accessed through indexed accessors of the source entity,
+     * -1 otherwise
+     */
+    protected int getAttributeOrdinal(MetaProperty property) {
+        if (!(property instanceof MetaPropertyImpl)
+                || !(getSource() instanceof JmixIndexedAccessorsEnhanced)) {
+            return -1;
+        }
+        int ordinal = ((MetaPropertyImpl) property).getOrdinal();
+        if (ordinal < 0 || !property.getDeclaringClass().isInstance(getSource())) {
+            return -1;
+        }
+        if (entityValuesProviders != null) {
+            for (EntityValuesProvider valuesProvider : entityValuesProviders.values()) {
+                if (valuesProvider.supportAttribute(property.getName())) {
+                    return -1;
+                }
+            }
+        }
+        return ordinal;
+    }
+
     @Override
     public boolean isNew() {
         return (state & NEW) == NEW;
@@ -18,6 +18,7 @@ package io.jmix.core.entity;
 
 import io.jmix.core.Entity;
 import io.jmix.core.annotation.Internal;
+import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.PropertyPath;
 import org.apache.commons.lang3.ArrayUtils;
 
@@ -89,6 +90,41 @@ public class EntityValues {
         getEntityEntry(entity).setAttributeValue(name, value, checkEquals);
     }
 
+    /**
+     * Set an attribute value using enhancer-generated indexed accessors if they are available for the property.
+     *
+     * @param property attribute meta-property
+     * @param value    attribute value
+     * @see #setValue(Object, String, Object)
+     */
+    public static void setValue(Object entity, MetaProperty property, Object value) {
+        getEntityEntry(entity).setAttributeValue(property, value, true);
+    }
+
+    /**
+     * Set an attribute value using enhancer-generated indexed accessors if they are available for the property.
+     *
+     * @param property    attribute meta-property
+     * @param value       attribute value
+     * @param checkEquals check equals for previous and new value.
+     *                    If flag is true and objects equals, then setter will not be invoked
+     * @see #setValue(Object, String, Object, boolean)
+     */
+    public static void setValue(Object entity, MetaProperty property, Object value, boolean checkEquals) {
+        getEntityEntry(entity).setAttributeValue(property, value, checkEquals);
+    }
+
+    /**
+     * Get an attribute value using enhancer-generated indexed accessors if they are available for the property.
+     *
+     * @param property attribute meta-property
+     * @return attribute value
+     */
+    @Nullable
+    public static <T> T getValue(Object entity, MetaProperty property) {
+        return getEntityEntry(entity).getAttributeValue(property);
+    }
+
     /**
      * Get an attribute value.
      *
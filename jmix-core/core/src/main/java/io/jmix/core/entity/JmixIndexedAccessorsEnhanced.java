@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.entity;
+
+import io.jmix.core.annotation.Internal;
+import org.springframework.lang.Nullable;
+
+/**
+ * Implemented by entity classes by enhancing process. Provides access to entity attributes by their ordinals
+ * without string-keyed lookups of getters and setters.
+ * <p>
+ * Ordinals are stable across the entity hierarchy: attributes of a superclass have the same ordinals in all its
+ * subclasses. Attribute names ordered by ordinals are stored in the static {@link #INDEXED_PROPERTIES_FIELD} field
+ * of each enhanced class.
+ */
+@Internal
+public interface JmixIndexedAccessorsEnhanced {
+
+    String INDEXED_PROPERTIES_FIELD = "__jmixIndexedProperties";
+
+    @Nullable
+    Object __getByIndex(int index);
+
+    void __setByIndex(int index, @Nullable Object value);
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.core.event;
+
+import io.jmix.core.Id;
+import io.jmix.core.annotation.Internal;
+import io.jmix.core.metamodel.model.MetaClass;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A Spring application event that is sent after instances of an entity are updated or deleted by a set-based
+ * operation, see {@link io.jmix.core.UnconstrainedDataManager#update(Class)} and
+ * {@link io.jmix.core.UnconstrainedDataManager#delete(Class)}.
+ * <p>
+ * {@link EntityChangedEvent} is not sent for instances affected by such operations, so components maintaining caches,
+ * audit records or search indexes should handle this event as well. Like {@code EntityChangedEvent}, it can be
+ * handled by {@code @EventListener} inside the transaction or by {@code @TransactionalEventListener} after commit.
+ *
+ * @param <E> entity type
+ */
+public class BulkEntityChangedEvent<E> extends ApplicationEvent implements ResolvableTypeProvider {
+
+    private List<Id<E>> entityIds;
+    private EntityChangedEvent.Type type;
+    private Set<String> changedAttributes;
+    private MetaClass originalMetaClass;
+
+    /**
+     * INTERNAL.
+     */
+    @Internal
+    public BulkEntityChangedEvent(Object source, List<Id<E>> entityIds, EntityChangedEvent.Type type,
+                                  Set<String> changedAttributes, MetaClass originalMetaClass) {
+        super(source);
+        this.entityIds = entityIds;
+        this.type = type;
+        this.changedAttributes = changedAttributes;
+        this.originalMetaClass = originalMetaClass;
+    }
+
+    /**
+     * Returns ids of all affected instances.
+     */
+    public List<Id<E>> getEntityIds() {
+        return Collections.unmodifiableList(entityIds);
+    }
+
+    /**
+     * Returns the event type: {@link EntityChangedEvent.Type#UPDATED} or {@link EntityChangedEvent.Type#DELETED}.
+     */
+    public EntityChangedEvent.Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns names of the attributes set by the update operation, including system attributes like
+     * last modified date and user. For soft deletion, contains the deleted date and deleted by attributes.
+     * Empty for hard deletion.
+     */
+    public Set<String> getChangedAttributes() {
+        return Collections.unmodifiableSet(changedAttributes);
+    }
+
+    /**
+     * INTERNAL.
+     */
+    @Internal
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(),
+                ResolvableType.forClass(originalMetaClass.getJavaClass()));
+    }
+
+    @Override
+    public String toString() {
+        return "BulkEntityChangedEvent{" +
+                "entity=" + originalMetaClass.getName() +
+                ", type=" + type +
+                ", count=" + entityIds.size() +
+                ", changedAttributes=" + changedAttributes +
+                '}';
+    }
+}
@@ -26,9 +26,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -38,8 +41,15 @@ import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
 import java.util.Objects;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -49,6 +59,11 @@ public class FileTransferServiceImpl implements FileTransferService {
 
     private static final Logger log = LoggerFactory.getLogger(FileTransferServiceImpl.class);
 
+    private static final String SENDFILE_SUPPORTED_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
     @Autowired
     private FileStorageLocator fileStorageLocator;
 
@@ -57,17 +72,39 @@ public class FileTransferServiceImpl implements FileTransferService {
                                          String fileStorageName,
                                          Boolean attachment,
                                          HttpServletResponse response) throws FileTransferException {
+        downloadAndWriteResponse(fileReference, fileStorageName, attachment, null, response);
+    }
+
+    @Override
+    public void downloadAndWriteResponse(FileRef fileReference,
+                                         String fileStorageName,
+                                         Boolean attachment,
+                                         @Nullable HttpServletRequest request,
+                                         HttpServletResponse response) throws FileTransferException {
         FileStorage fileStorage = getFileStorageByNameOrDefault(fileStorageName);
 
-        if (!fileStorage.fileExists(fileReference)) {
+        // attributes are returned only for existing files, so a storage providing them is asked once,
+        // e.g. by a single HEAD request to S3
+        FileAttributes fileAttributes = getFileAttributes(fileStorage, fileReference);
+        if (fileAttributes == null && !fileStorage.fileExists(fileReference)) {
             throw new FileTransferException("File not found", "File not found. File reference: " +
                     fileReference, HttpStatus.NOT_FOUND);
         }
 
         try {
-            response.setHeader("Cache-Control", "no-cache");
-            response.setHeader("Pragma", "no-cache");
-            response.setDateHeader("Expires", 0);
+            Date lastModified = fileAttributes != null ? fileAttributes.getLastModified() : null;
+            String eTag = createETag(fileReference, fileAttributes);
+
+            // the response can be stored by the browser, but must be revalidated using ETag and Last-Modified
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+            if (request != null && new ServletWebRequest(request, response)
+                    .checkNotModified(eTag, lastModified != null ? lastModified.getTime() : -1)) {
+                return;
+            }
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            if (lastModified != null) {
+                response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified.getTime());
+            }
             response.setHeader("Content-Type", fileReference.getContentType());
 
             String filename = fileReference.getFileName();
@@ -77,17 +114,137 @@ public class FileTransferServiceImpl implements FileTransferService {
             }
             response.setHeader("Content-Disposition", contentDisposition);
 
-            ServletOutputStream os = response.getOutputStream();
-            InputStream is = fileStorage.openStream(fileReference);
-            IOUtils.copy(is, os);
-            os.flush();
+            if (fileAttributes == null) {
+                response.setHeader(HttpHeaders.ACCEPT_RANGES, "none");
+                writeContent(fileStorage, fileReference, null, 0, null, request, response);
+                return;
+            }
+
+            long size = fileAttributes.getSize();
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
 
+            HttpRange range = request != null ? getRequestedRange(request, eTag, lastModified) : null;
+            if (range == null) {
+                response.setContentLengthLong(size);
+                writeContent(fileStorage, fileReference, fileAttributes, 0, size, request, response);
+                return;
+            }
+
+            long start;
+            long end;
+            try {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+
+            long length = end - start + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            response.setContentLengthLong(length);
+            writeContent(fileStorage, fileReference, fileAttributes, start, length, request, response);
         } catch (Exception e) {
             log.error("Error on downloading the file {}", fileReference, e);
             throw new FileTransferException("Error on downloading the file", "", HttpStatus.INTERNAL_SERVER_ERROR, e);
         }
     }
 
+    @Nullable
+    private FileAttributes getFileAttributes(FileStorage fileStorage, FileRef fileReference) {
+        try {
+            return fileStorage.getFileAttributes(fileReference);
+        } catch (Exception e) {
+            log.error("Error on downloading the file {}", fileReference, e);
+            throw new FileTransferException("Error on downloading the file", "", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    /**
+     * Returns the range requested by the {@code Range} header, or null if the whole file should be sent:
+     * the header is absent or invalid, multiple ranges are requested or the {@code If-Range} condition fails.
+     */
+    @Nullable
+    private HttpRange getRequestedRange(HttpServletRequest request, String eTag, @Nullable Date lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !isIfRangeSatisfied(ifRange, eTag, lastModified)) {
+            return null;
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring invalid Range header '{}': {}", rangeHeader, e.getMessage());
+            return null;
+        }
+        // multipart responses are not supported, the whole file is sent instead
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private boolean isIfRangeSatisfied(String ifRange, String eTag, @Nullable Date lastModified) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range requires strong comparison
+            return ifRange.equals(eTag);
+        }
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            long ifRangeTime = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+            return ifRangeTime / 1000 == lastModified.getTime() / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private String createETag(FileRef fileReference, @Nullable FileAttributes fileAttributes) {
+        // files are not modified in place, so the reference identifies the contents;
+        // size and modification time protect from files overwritten using the same reference
+        String value = fileReference.toString();
+        if (fileAttributes != null) {
+            Date lastModified = fileAttributes.getLastModified();
+            value += ":" + fileAttributes.getSize() + ":" + (lastModified != null ? lastModified.getTime() : "");
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(value.getBytes(UTF_8)) + "\"";
+    }
+
+    private void writeContent(FileStorage fileStorage,
+                              FileRef fileReference,
+                              @Nullable FileAttributes fileAttributes,
+                              long offset,
+                              @Nullable Long length,
+                              @Nullable HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        Path localFile = fileAttributes != null ? fileAttributes.getLocalFile() : null;
+        if (localFile != null && length != null && length > 0
+                && request != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTRIBUTE))) {
+            // the servlet container transfers the file by the operating system without copying it to the heap
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, localFile.toRealPath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, offset);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, offset + length);
+            return;
+        }
+
+        boolean wholeFile = offset == 0
+                && (length == null || fileAttributes != null && length == fileAttributes.getSize());
+        ServletOutputStream os = response.getOutputStream();
+        try (InputStream is = wholeFile
+                ? fileStorage.openStream(fileReference)
+                : fileStorage.openStream(fileReference, offset, length)) {
+            IOUtils.copyLarge(is, os);
+        }
+        os.flush();
+    }
+
     private String getContentDispositionFilename(String filename) {
         String encodedFilename = rfc5987Encode(filename);
 
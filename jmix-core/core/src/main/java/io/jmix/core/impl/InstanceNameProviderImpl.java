@@ -30,6 +30,7 @@ import io.jmix.core.metamodel.datatype.DatatypeRegistry;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import jakarta.annotation.Nonnull;
+import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,6 +38,9 @@ import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -78,6 +82,17 @@ public class InstanceNameProviderImpl implements InstanceNameProvider {
                         }
                     });
 
+    // formatters compiled from InstanceNameRec
+    protected LoadingCache<MetaClass, Optional<InstanceNameFormatter>> instanceNameFormatterCache =
+            CacheBuilder.newBuilder()
+                    .build(new CacheLoader<MetaClass, Optional<InstanceNameFormatter>>() {
+                        @Override
+                        public Optional<InstanceNameFormatter> load(@Nonnull MetaClass metaClass) {
+                            return instanceNameRecCache.getUnchecked(metaClass)
+                                    .map(rec -> compileFormatter(metaClass, rec));
+                        }
+                    });
+
     public static class InstanceNameRec {
         /**
          * Name pattern string format
@@ -124,31 +139,12 @@ public class InstanceNameProviderImpl implements InstanceNameProvider {
 
         MetaClass metaClass = metadata.getClass(instance);
 
-        Optional<InstanceNameRec> optional = instanceNameRecCache.getUnchecked(metaClass);
+        Optional<InstanceNameFormatter> optional = instanceNameFormatterCache.getUnchecked(metaClass);
         if (!optional.isPresent()) {
             return instance.toString();
         }
 
-        InstanceNameRec rec = optional.get();
-
-        if (rec.method != null) {
-            try {
-                Object result = rec.method.invoke(instance, methodArgumentsProvider.getMethodArgumentValues(rec.method));
-                return (String) result;
-            } catch (Exception e) {
-                throw new RuntimeException("Error getting instance name", e);
-            }
-        }
-
-        Object[] values = new Object[rec.nameProperties.length];
-        for (int i = 0; i < rec.nameProperties.length; i++) {
-            MetaProperty property = rec.nameProperties[i];
-
-            Object value = EntityValues.getValue(instance, property.getName());
-            values[i] = metadataTools.format(value, property);
-        }
-
-        return String.format(rec.format, values);
+        return optional.get().format(instance);
     }
 
     @Override
@@ -164,7 +160,8 @@ public class InstanceNameProviderImpl implements InstanceNameProvider {
     }
 
     protected Collection<MetaProperty> getInstanceNameProperties(MetaClass metaClass, @Nullable Method nameMethod, @Nullable MetaProperty nameProperty) {
-        final Collection<MetaProperty> properties = new HashSet<>();
+        // name property goes first as it is the one used in the name pattern
+        final Collection<MetaProperty> properties = new LinkedHashSet<>();
         if (nameMethod != null) {
             return getPropertiesFromAnnotation(metaClass, nameMethod.getAnnotation(DependsOnProperties.class));
         }
@@ -218,6 +215,100 @@ public class InstanceNameProviderImpl implements InstanceNameProvider {
                         .toArray(MetaProperty[]::new));
     }
 
+    /**
+     * Compiles the instance name record into a formatter that avoids reflective calls on each invocation.
+     */
+    protected InstanceNameFormatter compileFormatter(MetaClass metaClass, InstanceNameRec rec) {
+        if (rec.method != null) {
+            return new MethodInstanceNameFormatter(rec.method);
+        }
+        return new PatternInstanceNameFormatter(rec.format, rec.nameProperties);
+    }
+
+    /**
+     * Formats instance name of an entity.
+     */
+    protected interface InstanceNameFormatter {
+
+        String format(Object instance);
+    }
+
+    /**
+     * Invokes the {@link InstanceName}-annotated method through a method handle.
+     */
+    protected class MethodInstanceNameFormatter implements InstanceNameFormatter {
+
+        protected final Method method;
+        protected final MethodHandle handle;
+
+        public MethodInstanceNameFormatter(Method method) {
+            this.method = method;
+            this.handle = unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        }
+
+        protected MethodHandle unreflect(Method method) {
+            try {
+                return MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException e) {
+                // e.g. public method declared in a non-public superclass
+                method.setAccessible(true);
+                try {
+                    return MethodHandles.lookup().unreflect(method);
+                } catch (IllegalAccessException ex) {
+                    throw new RuntimeException("Unable to access instance name method " + method, ex);
+                }
+            }
+        }
+
+        @Override
+        public String format(Object instance) {
+            Object[] args = method.getParameterCount() == 0 ?
+                    ArrayUtils.EMPTY_OBJECT_ARRAY : methodArgumentsProvider.getMethodArgumentValues(method);
+            try {
+                Object result = handle.invokeExact(instance, args);
+                return (String) result;
+            } catch (Throwable e) {
+                throw new RuntimeException("Error getting instance name", e);
+            }
+        }
+    }
+
+    /**
+     * Formats values of the name properties by {@link MetadataTools#format(Object, MetaProperty)} and substitutes
+     * them into the name pattern. The default {@code %s} pattern is applied without {@link String#format}.
+     */
+    protected class PatternInstanceNameFormatter implements InstanceNameFormatter {
+
+        protected final String format;
+        protected final MetaProperty[] nameProperties;
+        protected final boolean singleValue;
+
+        public PatternInstanceNameFormatter(String format, MetaProperty[] nameProperties) {
+            this.format = format;
+            this.nameProperties = nameProperties;
+            this.singleValue = "%s".equals(format) && nameProperties.length > 0;
+        }
+
+        @Override
+        public String format(Object instance) {
+            if (singleValue) {
+                return formatValue(instance, nameProperties[0]);
+            }
+
+            Object[] values = new Object[nameProperties.length];
+            for (int i = 0; i < nameProperties.length; i++) {
+                values[i] = formatValue(instance, nameProperties[i]);
+            }
+            return String.format(format, values);
+        }
+
+        protected String formatValue(Object instance, MetaProperty property) {
+            return metadataTools.format(EntityValues.getValue(instance, property), property);
+        }
+    }
+
     private void validateInstanceNameAnnotation(MetaClass metaClass,
                                                 List<Method> instanceNameMethods,
                                                 List<MetaProperty> nameProperties,
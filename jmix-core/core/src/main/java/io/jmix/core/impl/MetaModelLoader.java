@@ -27,6 +27,7 @@ import io.jmix.core.annotation.DeletedBy;
 import io.jmix.core.annotation.DeletedDate;
 import io.jmix.core.annotation.TenantId;
 import io.jmix.core.common.util.ReflectionHelper;
+import io.jmix.core.entity.JmixIndexedAccessorsEnhanced;
 import io.jmix.core.entity.annotation.JmixEmbedded;
 import io.jmix.core.entity.annotation.JmixGeneratedValue;
 import io.jmix.core.entity.annotation.JmixId;
@@ -415,6 +416,7 @@ public class MetaModelLoader {
         property.setReadOnly(!setterExists(field));
         property.setAnnotatedElement(field);
         property.setDeclaringClass(field.getDeclaringClass());
+        property.setOrdinal(getPropertyOrdinal(field));
 
         MetadataObjectInfo<Range> info = loadRange(session, property, type, map);
         Range range = info.getObject();
@@ -494,6 +496,7 @@ public class MetaModelLoader {
 
         property.setAnnotatedElement(field);
         property.setDeclaringClass(field.getDeclaringClass());
+        property.setOrdinal(getPropertyOrdinal(field));
         property.setJavaType(field.getType());
 
         MetadataObjectInfo<Range> info = loadRange(session, property, type, map);
@@ -889,6 +892,34 @@ public class MetaModelLoader {
         return annotation != null && !annotation.value().equals("") ? datatypes.get(annotation.value()) : null;
     }
 
+    /**
+     * Returns the ordinal of the field in indexed accessors generated by the enhancer for the declaring class.
+     *
+     * @return ordinal or -1 if the declaring class has no indexed accessors for the field
+     * @see JmixIndexedAccessorsEnhanced
+     */
+    protected int getPropertyOrdinal(Field field) {
+        Class<?> declaringClass = field.getDeclaringClass();
+        if (!JmixIndexedAccessorsEnhanced.class.isAssignableFrom(declaringClass)) {
+            return -1;
+        }
+        try {
+            Field namesField = declaringClass.getDeclaredField(JmixIndexedAccessorsEnhanced.INDEXED_PROPERTIES_FIELD);
+            if (!Modifier.isStatic(namesField.getModifiers())) {
+                return -1;
+            }
+            namesField.setAccessible(true);
+            String[] names = (String[]) namesField.get(null);
+            return ArrayUtils.indexOf(names, field.getName());
+        } catch (NoSuchFieldException e) {
+            // class is enhanced by a previous version of the enhancer or its superclass only is enhanced
+            return -1;
+        } catch (IllegalAccessException | ClassCastException e) {
+            log.warn("Unable to read indexed properties of {}", declaringClass.getName(), e);
+            return -1;
+        }
+    }
+
     protected boolean setterExists(Field field) {
         List<String> setterNames = buildSetterNames(field);
         Method[] methods = field.getDeclaringClass().getDeclaredMethods();
@@ -73,6 +73,12 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
     @Autowired
     protected ObjectProvider<FluentValuesLoader> fluentValuesLoaderProvider;
 
+    @Autowired
+    protected ObjectProvider<FluentUpdater> fluentUpdaterProvider;
+
+    @Autowired
+    protected ObjectProvider<FluentDeleter> fluentDeleterProvider;
+
     @Autowired
     protected ObjectProvider<CrossDataStoreReferenceLoader> crossDataStoreReferenceLoaderProvider;
 
@@ -265,6 +271,16 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         return dataStore.save(context);
     }
 
+    @Override
+    public int executeBulkOperation(BulkOperationContext context) {
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+        DataStore storage = dataStoreFactory.get(getStoreName(metaClass));
+
+        context.setAccessConstraints(mergeConstraints(context.getAccessConstraints()));
+
+        return storage.executeBulkOperation(context);
+    }
+
     @Override
     public List<KeyValueEntity> loadValues(ValueLoadContext context) {
         DataStore store = dataStoreFactory.get(getStoreName(context.getStoreName()));
@@ -310,6 +326,22 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         return fluentValueLoader;
     }
 
+    @Override
+    public <E> FluentUpdater<E> update(Class<E> entityClass) {
+        //noinspection unchecked
+        FluentUpdater<E> fluentUpdater = fluentUpdaterProvider.getObject(entityClass);
+        fluentUpdater.setDataManager(this);
+        return fluentUpdater;
+    }
+
+    @Override
+    public <E> FluentDeleter<E> delete(Class<E> entityClass) {
+        //noinspection unchecked
+        FluentDeleter<E> fluentDeleter = fluentDeleterProvider.getObject(entityClass);
+        fluentDeleter.setDataManager(this);
+        return fluentDeleter;
+    }
+
     protected SaveContext createSaveContext(SaveContext context) {
         SaveContext newCtx = new SaveContext();
         newCtx.setHints(context.getHints());
@@ -16,6 +16,7 @@
 
 package io.jmix.core.impl.importexport;
 
+import com.google.common.collect.Iterables;
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.InMemoryCrudEntityContext;
 import io.jmix.core.common.datastruct.Pair;
@@ -50,7 +51,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Stream;
 import java.util.zip.CRC32;
 
 import static io.jmix.core.entity.EntitySystemAccess.getSecurityState;
@@ -59,6 +59,8 @@ import static java.lang.String.format;
 @Component("core_EntityImportExport")
 public class EntityImportExportImpl implements EntityImportExport {
 
+    protected static final int LOAD_IDS_BATCH_SIZE = 1000;
+
     @Autowired
     protected EntitySerialization entitySerialization;
 
@@ -222,39 +224,48 @@ public class EntityImportExportImpl implements EntityImportExport {
 
     @Override
     public Collection<Object> importEntities(Collection<?> entities, EntityImportPlan importPlan, boolean validate, boolean optimisticLocking, boolean additionComposition) {
+        int chunkSize = coreProperties.getEntityImportChunkSize();
+        if (chunkSize <= 0 || entities.size() <= chunkSize) {
+            return importEntitiesChunk(entities, importPlan, validate, optimisticLocking, additionComposition);
+        }
+
+        //each chunk is saved separately, so entities imported in previous chunks are already in the database
+        //and references to them are resolved as references to existing entities
+        List<Object> result = new ArrayList<>(entities.size());
+        for (List<?> chunk : Iterables.partition(entities, chunkSize)) {
+            result.addAll(importEntitiesChunk(chunk, importPlan, validate, optimisticLocking, additionComposition));
+        }
+        return EntitySet.of(result);
+    }
+
+    /**
+     * Imports the given entities and saves them with a single {@link SaveContext}.
+     */
+    protected Collection<Object> importEntitiesChunk(Collection<?> entities, EntityImportPlan importPlan, boolean validate,
+                                                     boolean optimisticLocking, boolean additionComposition) {
         List<ReferenceInfo> referenceInfoList = new ArrayList<>();
         SaveContext saveContext = new SaveContext();
         saveContext.setHint("jmix.softDeletion", false);
 
+        FetchPlan fetchPlan = constructFetchPlanFromImportPlan(importPlan).build();
+        Map<Object, Object> dstEntities = loadExistingEntities(entities, fetchPlan);
+
         //import is performed in two steps. We have to do so, because imported entity may have a reference to
         //the reference that is imported in the same batch.
         //
         //1. entities that should be persisted are processed first, fields that should be references to existing entities
         //are stored in the referenceInfoList variable
         for (Object srcEntity : entities) {
-            EntityPreconditions.checkEntityType(srcEntity);
-            FetchPlan fetchPlan = constructFetchPlanFromImportPlan(importPlan).build();
-            //set softDeletion to false because we can import deleted entity, so we'll restore it and update
-
-            Object dstEntity = null;
-            Object entityId = EntityValues.getId(srcEntity);
-            if (entityId != null) {
-                LoadContext<?> ctx = new LoadContext<>(metadata.getClass(srcEntity))
-                        .setFetchPlan(fetchPlan)
-                        .setHint("jmix.dynattr", true)
-                        .setHint("jmix.softDeletion", false)
-                        .setId(entityId)
-                        .setAccessConstraints(accessConstraintsRegistry.getConstraints());
-                dstEntity = dataManager.load(ctx);
-            }
+            Object dstEntity = dstEntities.get(srcEntity);
             importEntity(srcEntity, dstEntity, importPlan, fetchPlan, saveContext, referenceInfoList, optimisticLocking, additionComposition);
         }
 
         //2. references to existing entities are processed
 
-        //store a list of loaded entities in the collection to prevent unnecessary database requests for searching the
+        //store loaded and imported entities in the map to prevent unnecessary database requests for searching the
         //same instance
-        Set<Object> loadedEntities = new HashSet<>();
+        Map<Object, Object> loadedEntities = createLoadedEntities(saveContext);
+        loadReferences(referenceInfoList, loadedEntities);
         for (ReferenceInfo referenceInfo : referenceInfoList) {
             processReferenceInfo(referenceInfo, saveContext, loadedEntities);
         }
@@ -312,7 +323,8 @@ public class EntityImportExportImpl implements EntityImportExport {
 
         importEntity(srcEntity, dstEntity, importPlan, fetchPlan, saveContext, referenceInfoList, optimisticLocking, additionComposition);
 
-        Set<Object> loadedEntities = new HashSet<>();
+        Map<Object, Object> loadedEntities = createLoadedEntities(saveContext);
+        loadReferences(referenceInfoList, loadedEntities);
         for (ReferenceInfo referenceInfo : referenceInfoList) {
             processReferenceInfo(referenceInfo, saveContext, loadedEntities);
         }
@@ -345,7 +357,7 @@ public class EntityImportExportImpl implements EntityImportExport {
                 if (metaProperty.getRange().isClass()
                         && !metadataTools.isMethodBased(metaProperty)
                         && metadataTools.isAnnotationPresent(entity, metaProperty.getName(), Valid.class)) {
-                    Object validated = EntityValues.getValue(entity, metaProperty.getName());
+                    Object validated = EntityValues.getValue(entity, metaProperty);
                     if (validated != null && !(validated instanceof Collection)) {
                         validated = Collections.singletonList(validated);
                     }
@@ -415,12 +427,12 @@ public class EntityImportExportImpl implements EntityImportExport {
 
             if (metaProperty.getRange().isDatatype()) {
                 if (!"version".equals(metaProperty.getName())) {
-                    EntityValues.setValue(dstEntity, propertyName, EntityValues.getValue(srcEntity, propertyName));
+                    EntityValues.setValue(dstEntity, metaProperty, EntityValues.getValue(srcEntity, metaProperty));
                 } else if (optimisticLocking) {
-                    EntityValues.setValue(dstEntity, propertyName, EntityValues.getValue(srcEntity, propertyName));
+                    EntityValues.setValue(dstEntity, metaProperty, EntityValues.getValue(srcEntity, metaProperty));
                 }
             } else if (metaProperty.getRange().isEnum()) {
-                EntityValues.setValue(dstEntity, propertyName, EntityValues.getValue(srcEntity, propertyName));
+                EntityValues.setValue(dstEntity, metaProperty, EntityValues.getValue(srcEntity, metaProperty));
             } else if (metaProperty.getRange().isClass()) {
                 FetchPlanProperty fetchPlanProperty = fetchPlan.getProperty(propertyName);
                 FetchPlan propertyFetchPlan = fetchPlanProperty != null ? fetchPlanProperty.getFetchPlan() : null;
@@ -502,7 +514,7 @@ public class EntityImportExportImpl implements EntityImportExport {
                         Object result = importEntity(e, null, importPlanProperty.getPlan(), fetchPlan,
                                 saveContext, referenceInfoList, optimisticLocking, additionalComposition);
                         if (inverseMetaProperty != null) {
-                            EntityValues.setValue(result, inverseMetaProperty.getName(), dstEntity);
+                            EntityValues.setValue(result, inverseMetaProperty, dstEntity);
                         }
                         newCollectionValue.add(result);
                     }
@@ -512,7 +524,7 @@ public class EntityImportExportImpl implements EntityImportExport {
                         Object result = importEntity(src, dst, importPlanProperty.getPlan(), fetchPlan,
                                 saveContext, referenceInfoList, optimisticLocking, additionalComposition);
                         if (inverseMetaProperty != null) {
-                            EntityValues.setValue(result, inverseMetaProperty.getName(), dstEntity);
+                            EntityValues.setValue(result, inverseMetaProperty, dstEntity);
                         }
                         newCollectionValue.add(result);
                     }
@@ -533,7 +545,7 @@ public class EntityImportExportImpl implements EntityImportExport {
                     }
                 })
                 .compare(collectionValue, prevCollectionValue);
-        EntityValues.setValue(dstEntity, metaProperty.getName(), newCollectionValue);
+        EntityValues.setValue(dstEntity, metaProperty, newCollectionValue);
     }
 
     protected void importManyToManyCollectionAttribute(Object srcEntity,
@@ -577,7 +589,7 @@ public class EntityImportExportImpl implements EntityImportExport {
                         }
                     })
                     .compare(collectionValue, prevCollectionValue);
-            EntityValues.setValue(dstEntity, metaProperty.getName(), newCollectionValue);
+            EntityValues.setValue(dstEntity, metaProperty, newCollectionValue);
         } else {
             //create ReferenceInfo objects - they will be parsed later
             ReferenceInfo referenceInfo = new ReferenceInfo(dstEntity, getSecurityState(srcEntity), importPlanProperty, collectionValue, prevCollectionValue);
@@ -635,7 +647,7 @@ public class EntityImportExportImpl implements EntityImportExport {
      * Method finds and set a reference value to the entity or throws EntityImportException if ERROR_ON_MISSING policy
      * is violated
      */
-    protected void processReferenceInfo(ReferenceInfo referenceInfo, SaveContext saveContext, Set<Object> loadedEntities) {
+    protected void processReferenceInfo(ReferenceInfo referenceInfo, SaveContext saveContext, Map<Object, Object> loadedEntities) {
         Object entity = referenceInfo.getEntity();
         EntityImportPlanProperty importPlanProperty = referenceInfo.getPlanProperty();
         MetaProperty metaProperty = metadata.getClass(entity).getProperty(importPlanProperty.getName());
@@ -649,7 +661,7 @@ public class EntityImportExportImpl implements EntityImportExport {
             @SuppressWarnings("unchecked")
             Collection<Object> prevCollectionValue = (Collection<Object>) referenceInfo.getPrevPropertyValue();
             if (collectionValue == null && srcFilteredIds.isEmpty()) {
-                EntityValues.setValue(entity, metaProperty.getName(), createNewCollection(metaProperty));
+                EntityValues.setValue(entity, metaProperty, createNewCollection(metaProperty));
                 return;
             }
             Collection<Object> newCollectionValue = createNewCollection(metaProperty);
@@ -680,14 +692,14 @@ public class EntityImportExportImpl implements EntityImportExport {
                         }
                     })
                     .compare(collectionValue, prevCollectionValue);
-            EntityValues.setValue(entity, metaProperty.getName(), newCollectionValue);
+            EntityValues.setValue(entity, metaProperty, newCollectionValue);
             //end of many-to-many processing block
         } else {
             //all other reference types (except many-to-many)
             Object entityValue = referenceInfo.getPropertyValue();
             if (entityValue == null) {
                 if (dstFilteredIds.isEmpty()) {
-                    EntityValues.setValue(entity, metaProperty.getName(), null);
+                    EntityValues.setValue(entity, metaProperty, null);
 //                    entity.setValue(metaProperty.getName(), null);
                     //in case of NULL value we must delete COMPOSITION entities
                     if (metaProperty.getType() == MetaProperty.Type.COMPOSITION) {
@@ -701,7 +713,7 @@ public class EntityImportExportImpl implements EntityImportExport {
                 if (dstFilteredIds.isEmpty()) {
                     Object result = findReferenceEntity(entityValue, importPlanProperty, saveContext, loadedEntities);
                     if (result != null) {
-                        EntityValues.setValue(entity, metaProperty.getName(), result);
+                        EntityValues.setValue(entity, metaProperty, result);
                     }
                 }
             }
@@ -752,14 +764,13 @@ public class EntityImportExportImpl implements EntityImportExport {
 
     @Nullable
     protected Object findReferenceEntity(Object entity, EntityImportPlanProperty importPlanProperty, SaveContext saveContext,
-                                         Set<Object> loadedEntities) {
+                                         Map<Object, Object> loadedEntities) {
         if (!isStored(entity)) {
             return entity;
         }
-        Object result = Stream.concat(loadedEntities.stream(), saveContext.getEntitiesToSave().stream())
-                .filter(item -> item.equals(entity))
-                .findFirst().orElse(null);
-        if (result == null) {
+        Object result = loadedEntities.get(entity);
+        //null value means that the entity has already been searched for and is missing
+        if (result == null && !loadedEntities.containsKey(entity)) {
             Object id = EntityValues.getId(entity);
             Preconditions.checkNotNullArgument(id, "entity id is null");
             LoadContext<?> ctx = new LoadContext<>(metadata.getClass(entity))
@@ -767,18 +778,142 @@ public class EntityImportExportImpl implements EntityImportExport {
                     .setFetchPlan(fetchPlanRepository.getFetchPlan(metadata.getClass(entity).getJavaClass(), FetchPlan.INSTANCE_NAME))
                     .setId(id);
             result = dataManager.load(ctx);
-            if (result == null) {
-                if (importPlanProperty.getReferenceImportBehaviour() == ReferenceImportBehaviour.ERROR_ON_MISSING) {
-                    throw new EntityImportException(String.format("Referenced entity for property '%s' is missing",
-                            importPlanProperty.getName()));
+            loadedEntities.put(entity, result);
+        }
+        if (result == null
+                && importPlanProperty.getReferenceImportBehaviour() == ReferenceImportBehaviour.ERROR_ON_MISSING) {
+            throw new EntityImportException(String.format("Referenced entity for property '%s' is missing",
+                    importPlanProperty.getName()));
+        }
+        return result;
+    }
+
+    /**
+     * Loads existing instances of the imported entities, grouping them by entity class and loading each group
+     * by batches of identifiers.
+     *
+     * @return map of source entities to loaded instances, compared by identity
+     */
+    protected Map<Object, Object> loadExistingEntities(Collection<?> srcEntities, FetchPlan fetchPlan) {
+        Map<MetaClass, Set<Object>> idsByMetaClass = new LinkedHashMap<>();
+        for (Object srcEntity : srcEntities) {
+            EntityPreconditions.checkEntityType(srcEntity);
+            Object entityId = EntityValues.getId(srcEntity);
+            if (entityId != null) {
+                idsByMetaClass.computeIfAbsent(metadata.getClass(srcEntity), k -> new LinkedHashSet<>()).add(entityId);
+            }
+        }
+
+        Map<MetaClass, Map<Object, Object>> loadedById = new HashMap<>();
+        for (Map.Entry<MetaClass, Set<Object>> entry : idsByMetaClass.entrySet()) {
+            //set softDeletion to false because we can import deleted entity, so we'll restore it and update
+            LoadContext<?> ctx = new LoadContext<>(entry.getKey())
+                    .setFetchPlan(fetchPlan)
+                    .setHint("jmix.dynattr", true)
+                    .setHint("jmix.softDeletion", false)
+                    .setAccessConstraints(accessConstraintsRegistry.getConstraints());
+            Map<Object, Object> entitiesById = new HashMap<>();
+            for (Object entity : loadEntitiesByIds(ctx, entry.getValue())) {
+                entitiesById.put(EntityValues.getId(entity), entity);
+            }
+            loadedById.put(entry.getKey(), entitiesById);
+        }
+
+        Map<Object, Object> result = new IdentityHashMap<>();
+        for (Object srcEntity : srcEntities) {
+            Object entityId = EntityValues.getId(srcEntity);
+            if (entityId != null) {
+                Object dstEntity = loadedById.get(metadata.getClass(srcEntity)).get(entityId);
+                if (dstEntity != null) {
+                    result.put(srcEntity, dstEntity);
                 }
-            } else {
-                loadedEntities.add(result);
             }
         }
         return result;
     }
 
+    /**
+     * Creates a map used by {@link #findReferenceEntity} to look up referenced entities, filled with the entities
+     * to be saved.
+     */
+    protected Map<Object, Object> createLoadedEntities(SaveContext saveContext) {
+        Map<Object, Object> loadedEntities = new HashMap<>();
+        for (Object entity : saveContext.getEntitiesToSave()) {
+            loadedEntities.putIfAbsent(entity, entity);
+        }
+        return loadedEntities;
+    }
+
+    /**
+     * Loads the existing entities referenced by the imported ones, so they are not loaded one by one
+     * in {@link #findReferenceEntity}. References that are not found are put to the map with null values.
+     */
+    protected void loadReferences(Collection<ReferenceInfo> referenceInfoList, Map<Object, Object> loadedEntities) {
+        Map<MetaClass, Set<Object>> idsByMetaClass = new LinkedHashMap<>();
+        List<Object> requestedReferences = new ArrayList<>();
+        for (ReferenceInfo referenceInfo : referenceInfoList) {
+            Object value = referenceInfo.getPropertyValue();
+            Collection<?> references = value instanceof Collection
+                    ? (Collection<?>) value
+                    : value != null ? Collections.singletonList(value) : Collections.emptyList();
+            for (Object reference : references) {
+                if (reference == null || !isStored(reference) || loadedEntities.containsKey(reference)) {
+                    continue;
+                }
+                Object id = EntityValues.getId(reference);
+                if (id != null) {
+                    idsByMetaClass.computeIfAbsent(metadata.getClass(reference), k -> new LinkedHashSet<>()).add(id);
+                    requestedReferences.add(reference);
+                }
+            }
+        }
+
+        for (Map.Entry<MetaClass, Set<Object>> entry : idsByMetaClass.entrySet()) {
+            MetaClass metaClass = entry.getKey();
+            LoadContext<?> ctx = new LoadContext<>(metaClass)
+                    .setHint("jmix.softDeletion", false)
+                    .setFetchPlan(fetchPlanRepository.getFetchPlan(metaClass.getJavaClass(), FetchPlan.INSTANCE_NAME));
+            for (Object entity : loadEntitiesByIds(ctx, entry.getValue())) {
+                loadedEntities.putIfAbsent(entity, entity);
+            }
+        }
+
+        for (Object reference : requestedReferences) {
+            if (!loadedEntities.containsKey(reference)) {
+                loadedEntities.put(reference, null);
+            }
+        }
+    }
+
+    /**
+     * Loads entities with the given identifiers using parameters of the passed context. JPA entities with a simple
+     * primary key are loaded by a query with the {@code in} condition, other entities are loaded one by one.
+     */
+    protected List<Object> loadEntitiesByIds(LoadContext<?> loadContext, Collection<Object> ids) {
+        MetaClass metaClass = loadContext.getEntityMetaClass();
+        String primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
+        List<Object> result = new ArrayList<>(ids.size());
+
+        if (!metadataTools.isJpaEntity(metaClass) || metadataTools.hasCompositePrimaryKey(metaClass)
+                || primaryKeyName == null) {
+            for (Object id : ids) {
+                Object entity = dataManager.load(loadContext.copy().setId(id));
+                if (entity != null) {
+                    result.add(entity);
+                }
+            }
+            return result;
+        }
+
+        String queryString = format("select e from %s e where e.%s in :ids", metaClass.getName(), primaryKeyName);
+        for (List<Object> batch : Iterables.partition(ids, LOAD_IDS_BATCH_SIZE)) {
+            LoadContext<?> ctx = loadContext.copy();
+            ctx.setQuery(new LoadContext.Query(queryString).setParameter("ids", batch));
+            result.addAll(dataManager.loadList(ctx));
+        }
+        return result;
+    }
+
     private boolean isStored(Object entity) {
         Store store = metadata.getClass(entity).getStore();
         return !store.getName().equals(Stores.NOOP) && !store.getName().equals(Stores.UNDEFINED);
@@ -21,4 +21,23 @@ import org.springframework.core.type.classreading.MetadataReader;
 public interface ClasspathScanCandidateDetector {
 
     boolean isCandidate(MetadataReader metadataReader);
+
+    /**
+     * Returns true if the detector can select candidates using the classes index generated at build time,
+     * see {@link #isCandidate(IndexedClass)}. If at least one detector doesn't support the index,
+     * class files are scanned.
+     */
+    default boolean isClassesIndexSupported() {
+        return false;
+    }
+
+    /**
+     * Checks a class described by the classes index. Must return the same result as
+     * {@link #isCandidate(MetadataReader)} for the class.
+     * <p>
+     * Called only if {@link #isClassesIndexSupported()} returns true. The default implementation selects nothing.
+     */
+    default boolean isCandidate(IndexedClass indexedClass) {
+        return false;
+    }
 }
@@ -27,4 +27,14 @@ public class EntityDetector implements ClasspathScanCandidateDetector {
     public boolean isCandidate(MetadataReader metadataReader) {
         return metadataReader.getAnnotationMetadata().hasAnnotation(JmixEntity.class.getName());
     }
+
+    @Override
+    public boolean isClassesIndexSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isCandidate(IndexedClass indexedClass) {
+        return indexedClass.hasAnnotation(JmixEntity.class.getName());
+    }
 }
@@ -29,4 +29,14 @@ public class EnumDetector implements ClasspathScanCandidateDetector {
     public boolean isCandidate(MetadataReader metadataReader) {
         return Arrays.asList(metadataReader.getClassMetadata().getInterfaceNames()).contains(EnumClass.class.getName());
     }
+
+    @Override
+    public boolean isClassesIndexSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isCandidate(IndexedClass indexedClass) {
+        return indexedClass.getInterfaceNames().contains(EnumClass.class.getName());
+    }
 }
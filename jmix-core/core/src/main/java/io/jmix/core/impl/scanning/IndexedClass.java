@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.impl.scanning;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Description of a class stored in the classes index generated at build time. Contains the same data as
+ * the class file metadata used by {@link ClasspathScanCandidateDetector}s, so candidates can be detected
+ * without reading class files.
+ * <p>
+ * An index entry is a line of the following format:
+ * <pre>
+ * className|superClassName|flags|interfaceName1,interfaceName2|annotationType1,annotationType2
+ * </pre>
+ * where flags contain {@code i} for interfaces and {@code a} for abstract classes.
+ *
+ * @see JmixModulesClasspathScanner
+ */
+public class IndexedClass {
+
+    public static final String INDEX_RESOURCE_NAME = "jmix-classes.idx";
+
+    protected final String className;
+    protected final String superClassName;
+    protected final boolean isInterface;
+    protected final boolean isAbstract;
+    protected final Set<String> interfaceNames;
+    protected final Set<String> annotationTypes;
+
+    public IndexedClass(String className,
+                        @Nullable String superClassName,
+                        boolean isInterface,
+                        boolean isAbstract,
+                        Set<String> interfaceNames,
+                        Set<String> annotationTypes) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.isInterface = isInterface;
+        this.isAbstract = isAbstract;
+        this.interfaceNames = interfaceNames;
+        this.annotationTypes = annotationTypes;
+    }
+
+    /**
+     * Parses a line of the classes index.
+     *
+     * @throws IllegalArgumentException if the line has invalid format
+     */
+    public static IndexedClass parse(String line) {
+        String[] parts = line.split("\\|", -1);
+        if (parts.length != 5 || parts[0].isEmpty()) {
+            throw new IllegalArgumentException("Invalid classes index entry: " + line);
+        }
+        return new IndexedClass(parts[0],
+                parts[1].isEmpty() ? null : parts[1],
+                parts[2].indexOf('i') >= 0,
+                parts[2].indexOf('a') >= 0,
+                splitNames(parts[3]),
+                splitNames(parts[4]));
+    }
+
+    protected static Set<String> splitNames(String names) {
+        return names.isEmpty() ? Collections.emptySet() : new HashSet<>(Arrays.asList(names.split(",")));
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    @Nullable
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    public boolean isInterface() {
+        return isInterface;
+    }
+
+    /**
+     * Returns true for abstract classes and interfaces.
+     */
+    public boolean isAbstract() {
+        return isAbstract;
+    }
+
+    public Set<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * Returns types of annotations directly present on the class.
+     */
+    public Set<String> getAnnotationTypes() {
+        return annotationTypes;
+    }
+
+    public boolean hasAnnotation(String annotationType) {
+        return annotationTypes.contains(annotationType);
+    }
+
+    @Override
+    public String toString() {
+        return className;
+    }
+}
@@ -23,11 +23,20 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ResourceUtils;
 
 import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -37,12 +46,20 @@ import java.util.stream.Collectors;
  * <p>
  * Detected class names are stored and available through the {@link #getClassNames(Class)} method. This method
  * accepts a {@code ClasspathScanCandidateDetector} type and returns names of classes selected by this detector.
+ * <p>
+ * If a module jar contains the classes index generated by the Jmix Gradle plugin (see {@link IndexedClass}) and all
+ * detectors support it, classes of the module package are detected using the index instead of reading class files.
  */
 @Component("core_JmixModulesClasspathScanner")
 public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
 
     private static final Logger log = LoggerFactory.getLogger(JmixModulesClasspathScanner.class);
 
+    /**
+     * Whether the classes index generated by the build is used instead of scanning class files.
+     */
+    public static final String CLASSES_INDEX_ENABLED_PROPERTY = "jmix.core.classes-index-enabled";
+
     protected MetadataReaderFactory metadataReaderFactory;
 
     protected List<String> basePackages = Collections.emptyList();
@@ -72,9 +89,24 @@ public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
         log.trace("Scanning packages {} using detectors {}", basePackages, candidateDetectors);
         long startTime = System.currentTimeMillis();
 
-        basePackages.stream()
-                .flatMap(this::scanPackage)
-                .forEach(metadataReader -> {
+        boolean classesIndexSupported = isClassesIndexEnabled() && candidateDetectors.stream()
+                .allMatch(ClasspathScanCandidateDetector::isClassesIndexSupported);
+
+        for (String basePackage : basePackages) {
+            List<IndexedClass> indexedClasses = classesIndexSupported ? loadClassesIndex(basePackage) : null;
+            if (indexedClasses != null) {
+                log.trace("Using classes index of package {}", basePackage);
+                for (IndexedClass indexedClass : indexedClasses) {
+                    for (ClasspathScanCandidateDetector detector : candidateDetectors) {
+                        if (detector.isCandidate(indexedClass)) {
+                            Set<String> classNames = detectedClasses.computeIfAbsent(
+                                    detector.getClass(), aClass -> new HashSet<>());
+                            classNames.add(indexedClass.getClassName());
+                        }
+                    }
+                }
+            } else {
+                scanPackage(basePackage).forEach(metadataReader -> {
                     for (ClasspathScanCandidateDetector detector : candidateDetectors) {
                         if (detector.isCandidate(metadataReader)) {
                             Set<String> classNames = detectedClasses.computeIfAbsent(
@@ -83,10 +115,69 @@ public class JmixModulesClasspathScanner extends AbstractClasspathScanner {
                         }
                     }
                 });
+            }
+        }
 
         log.info("Classpath scan completed in {} ms", System.currentTimeMillis() - startTime);
     }
 
+    protected boolean isClassesIndexEnabled() {
+        return getEnvironment().getProperty(CLASSES_INDEX_ENABLED_PROPERTY, Boolean.class, true);
+    }
+
+    /**
+     * Loads the classes index generated at build time for the given package.
+     * <p>
+     * Each classpath root containing the package must have its own index, otherwise classes of the roots
+     * without an index would be missed.
+     *
+     * @return indexed classes, or null if the package must be scanned: some root of the package has no index
+     * or is located outside a jar, e.g. in a build directory where classes could be recompiled without
+     * regenerating the index
+     */
+    @Nullable
+    protected List<IndexedClass> loadClassesIndex(String basePackage) {
+        String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + resolveBasePackage(basePackage) + '/';
+        ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver(getResourceLoader());
+        try {
+            Resource[] packageRoots = resourcePatternResolver.getResources(packageSearchPath);
+            if (packageRoots.length == 0) {
+                return null;
+            }
+
+            List<IndexedClass> indexedClasses = new ArrayList<>();
+            for (Resource packageRoot : packageRoots) {
+                if (!ResourceUtils.isJarURL(packageRoot.getURL())) {
+                    log.debug("Package root {} is not located in a jar, package {} will be scanned", packageRoot, basePackage);
+                    return null;
+                }
+                Resource index = packageRoot.createRelative(IndexedClass.INDEX_RESOURCE_NAME);
+                if (!index.exists()) {
+                    log.debug("Package root {} has no classes index, package {} will be scanned", packageRoot, basePackage);
+                    return null;
+                }
+                readClassesIndex(index, indexedClasses);
+            }
+            return indexedClasses;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Unable to load classes index of package {}, it will be scanned", basePackage, e);
+            return null;
+        }
+    }
+
+    protected void readClassesIndex(Resource index, List<IndexedClass> indexedClasses) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(index.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    indexedClasses.add(IndexedClass.parse(line));
+                }
+            }
+        }
+    }
+
     /**
      * Returns the set of class names selected by a detector of the given type.
      */
@@ -28,4 +28,14 @@ public class JpaConverterDetector implements ClasspathScanCandidateDetector {
     public boolean isCandidate(MetadataReader metadataReader) {
         return metadataReader.getAnnotationMetadata().hasAnnotation(Converter.class.getName());
     }
+
+    @Override
+    public boolean isClassesIndexSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isCandidate(IndexedClass indexedClass) {
+        return indexedClass.hasAnnotation(Converter.class.getName());
+    }
 }
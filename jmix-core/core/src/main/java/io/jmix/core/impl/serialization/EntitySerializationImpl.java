@@ -324,7 +324,7 @@ public class EntitySerializationImpl implements EntitySerialization {
 
                 Object fieldValue;
                 try {
-                    fieldValue = EntityValues.getValue(entity, metaProperty.getName());
+                    fieldValue = EntityValues.getValue(entity, metaProperty);
                 } catch (EntityValueAccessException e) {
                     continue;
                 }
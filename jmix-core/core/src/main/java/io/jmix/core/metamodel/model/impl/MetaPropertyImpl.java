@@ -39,6 +39,7 @@ public class MetaPropertyImpl extends MetadataObjectImpl implements MetaProperty
     private AnnotatedElement annotatedElement;
     private Class<?> javaType;
     private Class<?> declaringClass;
+    private int ordinal = -1;
 
     public MetaPropertyImpl(MetaClass domain, String name) {
         this.domain = domain;
@@ -62,6 +63,7 @@ public class MetaPropertyImpl extends MetadataObjectImpl implements MetaProperty
         annotatedElement = prototype.annotatedElement;
         javaType = prototype.javaType;
         declaringClass = prototype.declaringClass;
+        ordinal = prototype.ordinal;
     }
 
     @Override
@@ -138,6 +140,20 @@ public class MetaPropertyImpl extends MetadataObjectImpl implements MetaProperty
 
     }
 
+    /**
+     * @return ordinal of the property in the enhancer-generated indexed accessors of the declaring class,
+     * or -1 if the property cannot be accessed by ordinal
+     * @see io.jmix.core.entity.JmixIndexedAccessorsEnhanced
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+        withClones(clone -> clone.ordinal = ordinal);
+    }
+
     @Override
     public Type getType() {
         return type;
@@ -18,6 +18,7 @@ package io.jmix.core.security.impl;
 
 import io.jmix.core.accesscontext.SpecificOperationAccessContext;
 import io.jmix.core.impl.scanning.ClasspathScanCandidateDetector;
+import io.jmix.core.impl.scanning.IndexedClass;
 import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.stereotype.Component;
 
@@ -28,4 +29,14 @@ public class SpecificOperationAccessContextDetector implements ClasspathScanCand
     public boolean isCandidate(MetadataReader metadataReader) {
         return SpecificOperationAccessContext.class.getName().equals(metadataReader.getClassMetadata().getSuperClassName());
     }
+
+    @Override
+    public boolean isClassesIndexSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isCandidate(IndexedClass indexedClass) {
+        return SpecificOperationAccessContext.class.getName().equals(indexedClass.getSuperClassName());
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cluster_events
+
+import io.jmix.core.CoreProperties
+import io.jmix.core.cluster.ClusterApplicationEvent
+import io.jmix.core.cluster.ClusterApplicationEventBatch
+import io.jmix.core.cluster.ClusterApplicationEventChannelSupplier
+import io.jmix.core.cluster.ClusterApplicationEventPublisher
+import io.jmix.core.cluster.MergeableClusterApplicationEvent
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.messaging.Message
+import org.springframework.messaging.MessageHandler
+import org.springframework.messaging.support.ExecutorSubscribableChannel
+import spock.lang.Specification
+
+class ClusterEventsCoalescingTest extends Specification {
+
+    ExecutorSubscribableChannel channel = new ExecutorSubscribableChannel()
+    List<Message<?>> messages = []
+    List<Object> receivedEvents = []
+
+    ClusterApplicationEventPublisher publisher
+
+    void setup() {
+        channel.subscribe({ message -> messages.add(message) } as MessageHandler)
+
+        publisher = new ClusterApplicationEventPublisher(
+                { event -> receivedEvents.add(event) } as ApplicationEventPublisher,
+                { channel } as ClusterApplicationEventChannelSupplier,
+                coreProperties([
+                        'jmix.core.cluster-events-coalescing-enabled': 'true',
+                        'jmix.core.cluster-events-coalescing-window' : '1m',
+                        'jmix.core.cluster-events-max-batch-size'    : '3'
+                ]))
+        publisher.onApplicationStarted(null)
+    }
+
+    void cleanup() {
+        publisher.destroy()
+    }
+
+    def "mergeable events are de-duplicated and sent in one message"() {
+        when:
+        publisher.publish(new TestMergeableEvent('a', 1))
+        publisher.publish(new TestMergeableEvent('a', 2))
+        publisher.publish(new TestMergeableEvent('b', 1))
+
+        then: "events are buffered"
+        messages.isEmpty()
+
+        when:
+        publisher.flush()
+
+        then:
+        messages.size() == 1
+        messages[0].payload instanceof ClusterApplicationEventBatch
+        receivedEvents.collect { "$it.key$it.version" } == ['a2', 'b1']
+    }
+
+    def "batch is sent when maximum size is reached"() {
+        when:
+        (1..4).each { publisher.publish(new TestMergeableEvent("key$it", 1)) }
+
+        then:
+        messages.size() == 1
+        receivedEvents.size() == 3
+
+        when:
+        publisher.flush()
+
+        then: "single event is sent without batch"
+        messages.size() == 2
+        messages[1].payload instanceof TestMergeableEvent
+        receivedEvents.size() == 4
+    }
+
+    def "not mergeable events are sent immediately"() {
+        when:
+        publisher.publish(new TestEvent())
+
+        then:
+        messages.size() == 1
+        receivedEvents.size() == 1
+    }
+
+    static CoreProperties coreProperties(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate('jmix.core', CoreProperties)
+    }
+
+    static class TestEvent extends ClusterApplicationEvent {
+        TestEvent() {
+            super('test')
+        }
+    }
+
+    static class TestMergeableEvent extends ClusterApplicationEvent implements MergeableClusterApplicationEvent {
+        String key
+        int version
+
+        TestMergeableEvent(String key, int version) {
+            super('test')
+            this.key = key
+            this.version = version
+        }
+
+        @Override
+        Object getMergeKey() {
+            return key
+        }
+    }
+}
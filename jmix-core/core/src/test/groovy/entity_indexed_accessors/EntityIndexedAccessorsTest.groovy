@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package entity_indexed_accessors
+
+import io.jmix.core.CoreConfiguration
+import io.jmix.core.Metadata
+import io.jmix.core.entity.EntityValues
+import io.jmix.core.entity.JmixIndexedAccessorsEnhanced
+import io.jmix.core.metamodel.model.impl.MetaPropertyImpl
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.ContextConfiguration
+import spock.lang.Specification
+import test_support.addon1.TestAddon1Configuration
+import test_support.app.TestAppConfiguration
+import test_support.app.entity.sales.OrderLine
+import test_support.app.entity.sales.OrderLineA
+import test_support.app.entity.sales.Product
+import test_support.base.TestBaseConfiguration
+
+@ContextConfiguration(classes = [CoreConfiguration, TestBaseConfiguration, TestAddon1Configuration, TestAppConfiguration])
+class EntityIndexedAccessorsTest extends Specification {
+
+    @Autowired
+    Metadata metadata
+
+    def "entities are enhanced with indexed accessors"() {
+        expect:
+        JmixIndexedAccessorsEnhanced.isAssignableFrom(OrderLine)
+        JmixIndexedAccessorsEnhanced.isAssignableFrom(OrderLineA)
+    }
+
+    def "properties of superclass have the same ordinals in subclasses"() {
+        def baseProperty = metadata.getClass(OrderLine).getProperty('quantity')
+        def extProperty = metadata.getClass(OrderLineA).getProperty('quantity')
+
+        expect:
+        ((MetaPropertyImpl) baseProperty).ordinal >= 0
+        ((MetaPropertyImpl) baseProperty).ordinal == ((MetaPropertyImpl) extProperty).ordinal
+        ((MetaPropertyImpl) metadata.getClass(OrderLineA).getProperty('param1')).ordinal >= 0
+    }
+
+    def "values accessed by meta-property are the same as accessed by name"() {
+        def product = metadata.create(Product)
+        def line = metadata.create(OrderLineA)
+        line.quantity = 10
+        line.param1 = 'p1'
+
+        def metaClass = metadata.getClass(OrderLineA)
+
+        when:
+        EntityValues.setValue(line, metaClass.getProperty('product'), product)
+
+        then:
+        line.product == product
+        EntityValues.getValue(line, metaClass.getProperty('quantity')) == 10
+        EntityValues.getValue(line, metaClass.getProperty('param1')) == 'p1'
+        EntityValues.getValue(line, metaClass.getProperty('id')) == EntityValues.getValue(line, 'id')
+    }
+
+    def "setting equal value by meta-property does not fire listeners"() {
+        def line = metadata.create(OrderLine)
+        line.quantity = 10
+        def events = []
+        line.__getEntityEntry().addPropertyChangeListener({ events.add(it) }, false)
+
+        when:
+        EntityValues.setValue(line, metadata.getClass(OrderLine).getProperty('quantity'), 10)
+
+        then:
+        events.isEmpty()
+
+        when:
+        EntityValues.setValue(line, metadata.getClass(OrderLine).getProperty('quantity'), 11)
+
+        then:
+        events.size() == 1
+        line.quantity == 11
+    }
+}
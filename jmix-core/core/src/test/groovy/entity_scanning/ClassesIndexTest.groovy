@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package entity_scanning
+
+import io.jmix.core.impl.scanning.EntityDetector
+import io.jmix.core.impl.scanning.EnumDetector
+import io.jmix.core.impl.scanning.IndexedClass
+import spock.lang.Specification
+
+class ClassesIndexTest extends Specification {
+
+    def "index entry is parsed"() {
+
+        when:
+
+        def indexedClass = IndexedClass.parse(
+                'test_support.entity.Foo|test_support.entity.Base|a|java.io.Serializable|io.jmix.core.metamodel.annotation.JmixEntity,jakarta.persistence.Entity')
+
+        then:
+
+        indexedClass.className == 'test_support.entity.Foo'
+        indexedClass.superClassName == 'test_support.entity.Base'
+        !indexedClass.isInterface()
+        indexedClass.isAbstract()
+        indexedClass.interfaceNames == ['java.io.Serializable'] as Set
+        indexedClass.hasAnnotation('jakarta.persistence.Entity')
+
+        new EntityDetector().isCandidate(indexedClass)
+        !new EnumDetector().isCandidate(indexedClass)
+    }
+
+    def "index entry of interface without annotations is parsed"() {
+
+        when:
+
+        def indexedClass = IndexedClass.parse('test_support.Bar||ia||')
+
+        then:
+
+        indexedClass.superClassName == null
+        indexedClass.isInterface()
+        indexedClass.interfaceNames.isEmpty()
+        indexedClass.annotationTypes.isEmpty()
+    }
+
+    def "invalid index entry is rejected"() {
+
+        when:
+
+        IndexedClass.parse('test_support.Bar|java.lang.Object')
+
+        then:
+
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package entity_scanning
+
+import io.jmix.core.impl.scanning.AnnotationScanMetadataReaderFactory
+import io.jmix.core.impl.scanning.ClasspathScanCandidateDetector
+import io.jmix.core.impl.scanning.EntityDetector
+import io.jmix.core.impl.scanning.IndexedClass
+import io.jmix.core.impl.scanning.JmixModulesClasspathScanner
+import org.springframework.context.support.GenericApplicationContext
+import org.springframework.core.env.MapPropertySource
+import org.springframework.core.type.classreading.MetadataReader
+import spock.lang.Specification
+import spock.lang.TempDir
+import test_support.addon1.entity.TestAddon1Entity
+
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+
+class JmixModulesClasspathScannerIndexTest extends Specification {
+
+    static final String PACKAGE = 'test_indexed'
+    static final String INDEXED_ENTITY = 'test_indexed.IndexedEntity'
+
+    @TempDir
+    File tempDir
+
+    def "classes are detected using the index of a jar"() {
+
+        when:
+
+        def scanner = createScanner([createIndexedJar()])
+
+        then:
+
+        scanner.getClassNames(EntityDetector) == [INDEXED_ENTITY] as Set
+    }
+
+    def "package is scanned if some root has no index"() {
+
+        when:
+
+        def scanner = createScanner([createIndexedJar(), createClassesDir()])
+
+        then:
+
+        scanner.getClassNames(EntityDetector) == [TestAddon1Entity.name] as Set
+    }
+
+    def "package is scanned if index is disabled"() {
+
+        when:
+
+        def scanner = createScanner([createIndexedJar()], [new EntityDetector()],
+                [(JmixModulesClasspathScanner.CLASSES_INDEX_ENABLED_PROPERTY): 'false'])
+
+        then:
+
+        scanner.getClassNames(EntityDetector).isEmpty()
+    }
+
+    def "package is scanned if some detector doesn't support index"() {
+
+        when:
+
+        def scanner = createScanner([createIndexedJar()], [new EntityDetector(), new NotIndexedDetector()])
+
+        then:
+
+        scanner.getClassNames(EntityDetector).isEmpty()
+        scanner.getClassNames(NotIndexedDetector).isEmpty()
+    }
+
+    private JmixModulesClasspathScanner createScanner(List<File> classpath,
+                                                      List<ClasspathScanCandidateDetector> detectors = [new EntityDetector()],
+                                                      Map<String, Object> properties = [:]) {
+        def context = new GenericApplicationContext()
+        context.classLoader = new URLClassLoader(classpath.collect { it.toURI().toURL() } as URL[], (ClassLoader) null)
+        context.environment.propertySources.addFirst(new MapPropertySource('test', properties))
+
+        def scanner = new JmixModulesClasspathScanner()
+        scanner.applicationContext = context
+        scanner.metadataReaderFactory = new AnnotationScanMetadataReaderFactory(context)
+        scanner.candidateDetectors = detectors
+        scanner.basePackages = [PACKAGE]
+        scanner.init()
+        return scanner
+    }
+
+    private File createIndexedJar() {
+        File jar = new File(tempDir, 'indexed.jar')
+        jar.withOutputStream { os ->
+            new JarOutputStream(os).withCloseable { jos ->
+                jos.putNextEntry(new JarEntry("$PACKAGE/"))
+                jos.closeEntry()
+                jos.putNextEntry(new JarEntry("$PACKAGE/$IndexedClass.INDEX_RESOURCE_NAME"))
+                jos.write("$INDEXED_ENTITY|java.lang.Object|||io.jmix.core.metamodel.annotation.JmixEntity\n".getBytes('UTF-8'))
+                jos.closeEntry()
+            }
+        }
+        return jar
+    }
+
+    private File createClassesDir() {
+        File classesDir = new File(tempDir, 'classes')
+        File packageDir = new File(classesDir, PACKAGE)
+        packageDir.mkdirs()
+        // the class file is read by the scanner as is, its location doesn't matter
+        new File(packageDir, 'CopiedEntity.class').bytes =
+                getClass().getResourceAsStream("/${TestAddon1Entity.name.replace('.', '/')}.class").bytes
+        return classesDir
+    }
+
+    static class NotIndexedDetector implements ClasspathScanCandidateDetector {
+
+        @Override
+        boolean isCandidate(MetadataReader metadataReader) {
+            return false
+        }
+    }
+}
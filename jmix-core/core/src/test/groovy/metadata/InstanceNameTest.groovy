@@ -19,6 +19,9 @@ package metadata
 import io.jmix.core.CoreConfiguration
 import io.jmix.core.InstanceNameProvider
 import io.jmix.core.Metadata
+import io.jmix.core.MetadataTools
+import io.jmix.core.entity.EntityValues
+import io.jmix.core.impl.InstanceNameProviderImpl
 import io.jmix.core.metamodel.annotation.InstanceName
 import io.jmix.core.metamodel.model.MetaProperty
 import io.jmix.core.security.ClientDetails
@@ -34,12 +37,18 @@ import test_support.addon1.TestAddon1Configuration
 import test_support.app.TestAppConfiguration
 import test_support.app.entity.Address
 import test_support.app.entity.Owner
+import test_support.app.entity.instance_name.DeviceWithDateName
+import test_support.app.entity.instance_name.DeviceWithEnumName
+import test_support.app.entity.instance_name.DeviceWithFieldName
+import test_support.app.entity.instance_name.DeviceWithReferenceName
 import test_support.app.entity.instance_name.GPSDeviceWithFieldName
 import test_support.app.entity.instance_name.GPSDeviceWithMethodName
 import test_support.app.entity.instance_name.GPSDeviceWithOverridedMethodName
 import test_support.app.entity.instance_name_inheritance.ExtExtEntity
+import test_support.app.entity.sales.Status
 import test_support.base.TestBaseConfiguration
 
+import java.time.LocalDate
 import java.util.stream.Collectors
 
 @ContextConfiguration(classes = [CoreConfiguration, TestBaseConfiguration, TestAddon1Configuration, TestAppConfiguration])
@@ -57,6 +66,9 @@ class InstanceNameTest extends Specification {
     @Autowired
     SystemAuthenticator authenticator
 
+    @Autowired
+    MetadataTools metadataTools
+
     def "instance name method with injected Locale"() {
 
         def address = metadata.create(Address)
@@ -159,4 +171,48 @@ class InstanceNameTest extends Specification {
         cleanup:
         authenticator.end()
     }
+
+    def "compiled instance name is the same as formatted by the name definition"() {
+        authenticator.begin()
+        def instance = metadata.create(entityClass)
+        values.each { name, value -> EntityValues.setValue(instance, name, value) }
+
+        expect:
+        instanceNameProvider.getInstanceName(instance) == formatByNameDefinition(instance)
+        expected == null || instanceNameProvider.getInstanceName(instance) == expected
+
+        cleanup:
+        authenticator.end()
+
+        where:
+        entityClass             | values                                      | expected
+        Address                 | [city: 'Samara', zip: '443011']             | 'City: Samara, zip: 443011'
+        GPSDeviceWithMethodName | [name: 'gps']                               | 'device:gps'
+        DeviceWithFieldName     | [name: 'gps']                               | 'gps'
+        DeviceWithFieldName     | [name: null]                                | ''
+        DeviceWithEnumName      | [status: Status.OK]                         | null
+        DeviceWithDateName      | [productionDate: LocalDate.of(2024, 3, 15)] | null
+        DeviceWithReferenceName | [device: device('nested')]                  | 'nested'
+        DeviceWithReferenceName | [device: null]                              | ''
+    }
+
+    private static DeviceWithFieldName device(String name) {
+        def device = new DeviceWithFieldName()
+        device.name = name
+        return device
+    }
+
+    /**
+     * Formats the instance name directly from the parsed name definition, the way it was done before
+     * name definitions were compiled into formatters.
+     */
+    private String formatByNameDefinition(Object instance) {
+        InstanceNameProviderImpl provider = (InstanceNameProviderImpl) instanceNameProvider
+        def rec = provider.parseNamePattern(metadata.getClass(instance))
+        if (rec.method != null) {
+            return (String) rec.method.invoke(instance, provider.methodArgumentsProvider.getMethodArgumentValues(rec.method))
+        }
+        Object[] values = rec.nameProperties.collect { metadataTools.format(EntityValues.getValue(instance, it.name), it) }
+        return String.format(rec.format, values)
+    }
 }
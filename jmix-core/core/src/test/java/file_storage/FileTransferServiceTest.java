@@ -0,0 +1,168 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package file_storage;
+
+import io.jmix.core.CoreConfiguration;
+import io.jmix.core.FileRef;
+import io.jmix.core.FileTransferException;
+import io.jmix.core.FileTransferService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import test_support.addon1.TestAddon1Configuration;
+import test_support.app.TestAppConfiguration;
+import test_support.app.TestFileStorage;
+
+import java.io.ByteArrayInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {CoreConfiguration.class, TestAddon1Configuration.class, TestAppConfiguration.class})
+public class FileTransferServiceTest {
+
+    private static final String CONTENT = "0123456789";
+
+    @Autowired
+    TestFileStorage fileStorage;
+
+    @Autowired
+    FileTransferService fileTransferService;
+
+    FileRef fileRef;
+
+    @BeforeEach
+    void setUp() {
+        fileRef = fileStorage.saveStream("transfer.txt", new ByteArrayInputStream(CONTENT.getBytes()));
+    }
+
+    @Test
+    void testWholeFile() throws Exception {
+        MockHttpServletResponse response = download(new MockHttpServletRequest("GET", "/files"));
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals(CONTENT.length(), response.getContentLengthLong());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals(TestFileStorage.LAST_MODIFIED.getTime(), response.getDateHeader(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void testRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getContentLengthLong());
+        assertEquals("2345", response.getContentAsString());
+    }
+
+    @Test
+    void testSuffixRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files");
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals("bytes 7-9/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("789", response.getContentAsString());
+    }
+
+    @Test
+    void testUnsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files");
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value(), response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void testNotModified() throws Exception {
+        String eTag = download(new MockHttpServletRequest("GET", "/files")).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void testIfRangeWithMatchingETag() throws Exception {
+        String eTag = download(new MockHttpServletRequest("GET", "/files")).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, eTag);
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+    }
+
+    @Test
+    void testIfRangeWithChangedETag() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"outdated\"");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    void testFileNotFound() {
+        FileRef missingFileRef = new FileRef("testFs", "missing.txt", "missing.txt");
+
+        FileTransferException exception = assertThrows(FileTransferException.class,
+                () -> download(missingFileRef, new MockHttpServletRequest("GET", "/files")));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+    }
+
+    private MockHttpServletResponse download(MockHttpServletRequest request) {
+        return download(fileRef, request);
+    }
+
+    private MockHttpServletResponse download(FileRef fileRef, MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileTransferService.downloadAndWriteResponse(fileRef, "testFs", false, request, response);
+        return response;
+    }
+}
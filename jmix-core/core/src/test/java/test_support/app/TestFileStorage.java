@@ -18,6 +18,7 @@ package test_support.app;
 
 import com.google.common.collect.Maps;
 import com.google.common.io.ByteStreams;
+import io.jmix.core.FileAttributes;
 import io.jmix.core.FileRef;
 import io.jmix.core.FileStorage;
 import io.jmix.core.FileStorageException;
@@ -25,11 +26,14 @@ import io.jmix.core.FileStorageException;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
 public class TestFileStorage implements FileStorage {
 
+    public static final Date LAST_MODIFIED = new Date(1704067200000L);
+
     private Map<FileRef, byte[]> files = new HashMap<>();
     private String storageName;
 
@@ -69,6 +73,12 @@ public class TestFileStorage implements FileStorage {
         return new ByteArrayInputStream(bytes);
     }
 
+    @Override
+    public FileAttributes getFileAttributes(FileRef reference) {
+        byte[] bytes = files.get(reference);
+        return bytes != null ? new FileAttributes(bytes.length, LAST_MODIFIED) : null;
+    }
+
     @Override
     public void removeFile(FileRef reference) {
         files.remove(reference);
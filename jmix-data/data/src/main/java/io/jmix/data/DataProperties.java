@@ -33,17 +33,29 @@ public class DataProperties {
     String uniqueConstraintViolationPattern;
     boolean useUserLocaleForRelativeDateTimeMoments;
 
+    /**
+     * Whether delete policies may delete or unlink referencing entities by bulk SQL statements instead of removing
+     * or updating them one by one. Bulk statements are used only for entities that are not soft-deletable, have
+     * no delete policies and entity listeners, are not cacheable and are not tracked by lifecycle listeners like
+     * entity log.
+     * EntityChangedEvent is not published for such entities. Unlinking increments the numeric {@code @Version}
+     * attribute of the updated rows; entities with non-numeric versions are processed one by one.
+     */
+    boolean deletePolicyBulkOperationsEnabled;
+
     public DataProperties(
             @DefaultValue("true") boolean useReadOnlyTransactionForLoad,
             @DefaultValue("100") int numberIdCacheSize,
             boolean useEntityDataStoreForIdSequence,
             @Nullable String uniqueConstraintViolationPattern,
-            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments) {
+            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments,
+            @DefaultValue("false") boolean deletePolicyBulkOperationsEnabled) {
         this.useReadOnlyTransactionForLoad = useReadOnlyTransactionForLoad;
         this.numberIdCacheSize = numberIdCacheSize;
         this.useEntityDataStoreForIdSequence = useEntityDataStoreForIdSequence;
         this.uniqueConstraintViolationPattern = uniqueConstraintViolationPattern;
         this.useUserLocaleForRelativeDateTimeMoments = useUserLocaleForRelativeDateTimeMoments;
+        this.deletePolicyBulkOperationsEnabled = deletePolicyBulkOperationsEnabled;
     }
 
     public boolean isUseReadOnlyTransactionForLoad() {
@@ -69,4 +81,11 @@ public class DataProperties {
     public boolean isUseUserLocaleForRelativeDateTimeMoments() {
         return useUserLocaleForRelativeDateTimeMoments;
     }
+
+    /**
+     * @see #deletePolicyBulkOperationsEnabled
+     */
+    public boolean isDeletePolicyBulkOperationsEnabled() {
+        return deletePolicyBulkOperationsEnabled;
+    }
 }
@@ -15,6 +15,8 @@
  */
 package io.jmix.data.impl;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import io.jmix.core.*;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.entity.annotation.OnDelete;
@@ -22,6 +24,7 @@ import io.jmix.core.entity.annotation.OnDeleteInverse;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.Range;
+import io.jmix.data.DataProperties;
 import io.jmix.data.StoreAwareLocator;
 import io.jmix.data.persistence.DbmsSpecifics;
 import org.slf4j.Logger;
@@ -35,9 +38,18 @@ import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import org.springframework.lang.Nullable;
+import jakarta.persistence.Cache;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
 import jakarta.persistence.Query;
+import jakarta.persistence.Version;
 import javax.sql.DataSource;
+import java.lang.reflect.AnnotatedElement;
 import java.util.*;
 
 @Component("data_DeletePolicyProcessor")
@@ -46,7 +58,10 @@ public class DeletePolicyProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(DeletePolicyProcessor.class);
 
+    protected static final int MAX_IDS_IN_QUERY = 1000;
+
     protected Object entity;
+    protected List<Object> entities;
     protected MetaClass metaClass;
     protected String primaryKeyName;
 
@@ -68,6 +83,15 @@ public class DeletePolicyProcessor {
     @Autowired
     protected EntityStates entityStates;
 
+    @Autowired
+    protected DataProperties dataProperties;
+
+    @Autowired
+    protected EntityListenerManager entityListenerManager;
+
+    @Autowired(required = false)
+    protected List<JpaLifecycleListener> lifecycleListeners = new ArrayList<>();
+
     protected EntityManager entityManager;
 
     public Object getEntity() {
@@ -75,7 +99,21 @@ public class DeletePolicyProcessor {
     }
 
     public void setEntity(Object entity) {
-        this.entity = entity;
+        setEntities(Collections.singletonList(entity));
+    }
+
+    public List<Object> getEntities() {
+        return Collections.unmodifiableList(entities);
+    }
+
+    /**
+     * Sets instances of the same entity deleted in the current transaction. Delete policies of referencing
+     * entities are processed for all instances at once by queries with batches of identifiers.
+     */
+    public void setEntities(Collection<?> entities) {
+        Preconditions.checkArgument(!entities.isEmpty(), "entities collection is empty");
+        this.entities = new ArrayList<>(entities);
+        this.entity = this.entities.get(0);
         this.metaClass = metadata.getClass(entity);
         primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
 
@@ -95,8 +133,12 @@ public class DeletePolicyProcessor {
             processOnDeleteInverse(properties);
 
         fillProperties(properties, OnDelete.class.getName());
-        if (!properties.isEmpty())
-            processOnDelete(properties);
+        if (!properties.isEmpty()) {
+            for (Object e : entities) {
+                entity = e;
+                processOnDelete(properties);
+            }
+        }
     }
 
     protected void fillProperties(List<MetaProperty> properties, String annotationName) {
@@ -239,6 +281,37 @@ public class DeletePolicyProcessor {
         });
     }
 
+    protected void executeBulkOperation(MetaClass refMetaClass, String sqlTemplate) {
+        List<Object> ids = new ArrayList<>(entities.size());
+        for (Object e : entities) {
+            ids.add(dbmsSpecifics.getDbTypeConverter().getSqlObject(EntityValues.getId(e)));
+        }
+        EntityManager em = entityManager;
+        Cache cache = em.getEntityManagerFactory().getCache();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCompletion() {
+                try {
+                    // changes of the referencing entities made in this transaction must reach the database first
+                    em.flush();
+                    for (List<Object> batch : Lists.partition(ids, MAX_IDS_IN_QUERY)) {
+                        String sql = String.format(sqlTemplate, String.join(", ", Collections.nCopies(batch.size(), "?")));
+                        log.debug("Process delete policy in bulk: {}, bind: {}", sql, batch);
+                        getJdbcTemplate().update(sql, batch.toArray());
+                    }
+                } catch (DataAccessException e) {
+                    throw new RuntimeException("Error processing deletion of " + metaClass.getName() + " instances", e);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                // rows changed bypassing JPA must not be served from the shared cache
+                cache.evict(refMetaClass.getJavaClass());
+            }
+        });
+    }
+
     protected JdbcTemplate getJdbcTemplate() {
         return storeAwareLocator.getJdbcTemplate(metaClass.getStore().getName());
     }
@@ -364,15 +437,14 @@ public class DeletePolicyProcessor {
     }
 
     protected boolean referenceExists(String entityName, MetaProperty property) {
-        String template = property.getRange().getCardinality().isMany() ?
-                "select count(e) from %s e join e.%s c where c." + primaryKeyName + "= ?1" :
-                "select count(e) from %s e where e.%s." + primaryKeyName + " = ?1";
-        String qstr = String.format(template, entityName, property.getName());
-        Query query = entityManager.createQuery(qstr);
-        query.setParameter(1, EntityValues.getId(entity));
-        query.setMaxResults(1);
-        Long count = (Long) query.getSingleResult();
-        return count > 0;
+        for (List<Object> ids : getIdBatches()) {
+            Query query = createReferenceQuery("count(e)", entityName, property, ids);
+            query.setMaxResults(1);
+            Long count = (Long) query.getSingleResult();
+            if (count > 0)
+                return true;
+        }
+        return false;
     }
 
     protected boolean isPersistent(MetaClass metaClass) {
@@ -380,34 +452,40 @@ public class DeletePolicyProcessor {
     }
 
     protected void cascade(String entityName, MetaProperty property) {
-        String template = property.getRange().getCardinality().isMany() ?
-                "select e from %s e join e.%s c where c." + primaryKeyName + " = ?1" :
-                "select e from %s e where e.%s." + primaryKeyName + " = ?1";
-        String qstr = String.format(template, entityName, property.getName());
-        Query query = entityManager.createQuery(qstr);
-        query.setParameter(1, EntityValues.getId(entity));
-        @SuppressWarnings("unchecked")
-        List<Object> list = query.getResultList();
-        for (Object e : list) {
+        MetaClass refMetaClass = metadata.getClass(entityName);
+        if (isBulkDeleteAllowed(refMetaClass, property)) {
+            executeBulkOperation(refMetaClass, "delete from " + metadataTools.getDatabaseTable(refMetaClass)
+                    + " where " + metadataTools.getDatabaseColumn(property) + " in (%s)");
+            return;
+        }
+        for (Object e : getReferencingEntities(entityName, property)) {
             entityManager.remove(e);
         }
     }
 
     protected void unlink(String entityName, MetaProperty property) {
         if (metadataTools.isOwningSide(property)) {
-            String template = property.getRange().getCardinality().isMany() ?
-                    "select e from %s e join e.%s c where c." + primaryKeyName + " = ?1" :
-                    "select e from %s e where e.%s." + primaryKeyName + " = ?1";
-            String qstr = String.format(template, entityName, property.getName());
-            Query query = entityManager.createQuery(qstr);
-            query.setParameter(1, EntityValues.getId(entity));
-            @SuppressWarnings("unchecked")
-            List<Object> list = query.getResultList();
-            for (Object e : list) {
+            MetaClass refMetaClass = metadata.getClass(entityName);
+            if (isBulkOperationAllowed(refMetaClass, property)) {
+                String column = metadataTools.getDatabaseColumn(property);
+                StringBuilder sb = new StringBuilder("update ").append(metadataTools.getDatabaseTable(refMetaClass))
+                        .append(" set ").append(column).append(" = null");
+                MetaProperty versionProperty = findVersionProperty(refMetaClass);
+                if (versionProperty != null) {
+                    // keep optimistic locking of the unlinked entities working
+                    String versionColumn = metadataTools.getDatabaseColumn(versionProperty);
+                    sb.append(", ").append(versionColumn).append(" = ").append(versionColumn).append(" + 1");
+                }
+                sb.append(" where ").append(column).append(" in (%s)");
+                executeBulkOperation(refMetaClass, sb.toString());
+                return;
+            }
+            Set<Object> deletedEntities = new HashSet<>(entities);
+            for (Object e : getReferencingEntities(entityName, property)) {
                 if (property.getRange().getCardinality().isMany()) {
                     Collection<?> collection = EntityValues.getValue(e, property.getName());
                     if (collection != null) {
-                        collection.removeIf(o -> entity.equals(o));
+                        collection.removeIf(deletedEntities::contains);
                     }
                 } else {
                     setReferenceNull(e, property);
@@ -416,8 +494,156 @@ public class DeletePolicyProcessor {
         } else {
             MetaProperty inverseProp = property.getInverse();
             if (inverseProp != null && inverseProp.getDomain().equals(metaClass)) {
-                setReferenceNull(entity, inverseProp);
+                for (Object e : entities) {
+                    setReferenceNull(e, inverseProp);
+                }
             }
         }
     }
+
+    protected Collection<Object> getReferencingEntities(String entityName, MetaProperty property) {
+        // an entity can reference several deleted instances through a collection
+        Set<Object> result = new LinkedHashSet<>();
+        for (List<Object> ids : getIdBatches()) {
+            Query query = createReferenceQuery("e", entityName, property, ids);
+            @SuppressWarnings("unchecked")
+            List<Object> list = query.getResultList();
+            result.addAll(list);
+        }
+        return result;
+    }
+
+    protected Query createReferenceQuery(String select, String entityName, MetaProperty property, List<Object> ids) {
+        String template = property.getRange().getCardinality().isMany() ?
+                "select %s from %s e join e.%s c where c." + primaryKeyName :
+                "select %s from %s e where e.%s." + primaryKeyName;
+        String qstr = String.format(template, select, entityName, property.getName());
+        Query query;
+        if (ids.size() == 1) {
+            query = entityManager.createQuery(qstr + " = ?1");
+            query.setParameter(1, ids.get(0));
+        } else {
+            query = entityManager.createQuery(qstr + " in ?1");
+            query.setParameter(1, ids);
+        }
+        return query;
+    }
+
+    protected List<List<Object>> getIdBatches() {
+        List<Object> ids = new ArrayList<>(entities.size());
+        for (Object e : entities) {
+            ids.add(EntityValues.getId(e));
+        }
+        // composite identifiers cannot be used in the IN condition, so they are queried one by one
+        return Lists.partition(ids, metadataTools.hasCompositePrimaryKey(metaClass) ? 1 : MAX_IDS_IN_QUERY);
+    }
+
+    /**
+     * Returns whether the referencing entities can be unlinked by a single SQL statement instead of loading
+     * and updating them one by one. See {@link DataProperties#isDeletePolicyBulkOperationsEnabled()}.
+     */
+    protected boolean isBulkOperationAllowed(MetaClass refMetaClass, MetaProperty property) {
+        if (!dataProperties.isDeletePolicyBulkOperationsEnabled()
+                || property.getRange().getCardinality().isMany()
+                || metadataTools.getDatabaseColumn(property) == null
+                || metadataTools.hasCompositePrimaryKey(metaClass)
+                || metadataTools.isCacheable(refMetaClass)
+                || hasPersistentInheritance(refMetaClass)
+                || entityListenerManager.hasListeners(refMetaClass.getJavaClass())
+                || !hasNumericVersion(refMetaClass)) {
+            return false;
+        }
+        for (JpaLifecycleListener listener : lifecycleListeners) {
+            if (!listener.isBulkOperationAllowed(refMetaClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the referencing entities can be deleted by a single SQL statement. It is not possible
+     * if deletion of an entity requires processing of its own references.
+     */
+    protected boolean isBulkDeleteAllowed(MetaClass refMetaClass, MetaProperty property) {
+        return isBulkOperationAllowed(refMetaClass, property)
+                && !metadataTools.isSoftDeletable(refMetaClass.getJavaClass())
+                && !hasDeletePolicies(refMetaClass)
+                && !hasDependentData(refMetaClass);
+    }
+
+    @Nullable
+    protected MetaProperty findVersionProperty(MetaClass metaClass) {
+        for (MetaProperty property : metaClass.getProperties()) {
+            AnnotatedElement element = property.getAnnotatedElement();
+            if (element != null && element.isAnnotationPresent(Version.class)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns false if the entity has a version that cannot be incremented by a bulk statement, e.g. a timestamp.
+     */
+    protected boolean hasNumericVersion(MetaClass metaClass) {
+        MetaProperty versionProperty = findVersionProperty(metaClass);
+        if (versionProperty == null) {
+            return true;
+        }
+        Class<?> type = versionProperty.getJavaType();
+        return (Number.class.isAssignableFrom(type) || type == int.class || type == long.class)
+                && metadataTools.getDatabaseColumn(versionProperty) != null;
+    }
+
+    protected boolean hasPersistentInheritance(MetaClass metaClass) {
+        if (!metaClass.getDescendants().isEmpty())
+            return true;
+        for (MetaClass ancestor : metaClass.getAncestors()) {
+            if (metadataTools.isJpaEntity(ancestor))
+                return true;
+        }
+        return false;
+    }
+
+    protected boolean hasDeletePolicies(MetaClass metaClass) {
+        List<MetaClass> metaClasses = new ArrayList<>();
+        metaClasses.add(metaClass);
+        metaClasses.addAll(metaClass.getAncestors());
+        for (MetaClass aClass : metaClasses) {
+            Map<String, Object> annotations = aClass.getAnnotations();
+            if (annotations.get(OnDelete.class.getName()) != null
+                    || annotations.get(OnDeleteInverse.class.getName()) != null)
+                return true;
+        }
+        return false;
+    }
+
+    protected boolean hasDependentData(MetaClass metaClass) {
+        for (MetaProperty property : metaClass.getProperties()) {
+            AnnotatedElement element = property.getAnnotatedElement();
+            if (element == null)
+                continue;
+            if (element.isAnnotationPresent(ElementCollection.class) || element.isAnnotationPresent(ManyToMany.class))
+                return true;
+            OneToMany oneToMany = element.getAnnotation(OneToMany.class);
+            if (oneToMany != null && (oneToMany.orphanRemoval() || isCascadeRemove(oneToMany.cascade())))
+                return true;
+            OneToOne oneToOne = element.getAnnotation(OneToOne.class);
+            if (oneToOne != null && (oneToOne.orphanRemoval() || isCascadeRemove(oneToOne.cascade())))
+                return true;
+            ManyToOne manyToOne = element.getAnnotation(ManyToOne.class);
+            if (manyToOne != null && isCascadeRemove(manyToOne.cascade()))
+                return true;
+        }
+        return false;
+    }
+
+    protected boolean isCascadeRemove(CascadeType[] cascadeTypes) {
+        for (CascadeType cascadeType : cascadeTypes) {
+            if (cascadeType == CascadeType.REMOVE || cascadeType == CascadeType.ALL)
+                return true;
+        }
+        return false;
+    }
 }
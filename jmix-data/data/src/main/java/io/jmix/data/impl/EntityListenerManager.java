@@ -197,6 +197,18 @@ public class EntityListenerManager {
         }
     }
 
+    /**
+     * @return true if any entity listeners are registered for the entity class or its superclasses
+     */
+    public boolean hasListeners(Class<?> entityClass) {
+        lock.readLock().lock();
+        try {
+            return !getDeclaredListeners(entityClass).isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public void fireListener(Object entity, EntityListenerType type, String storeName) {
         if (!enabled)
@@ -17,6 +17,7 @@
 package io.jmix.data.impl;
 
 import io.jmix.core.event.AttributeChanges;
+import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.EntityOp;
 
 import org.springframework.lang.Nullable;
@@ -45,4 +46,14 @@ public interface JpaLifecycleListener {
      */
     default void onFlush(String storeName) {
     }
+
+    /**
+     * Returns whether instances of the given entity can be deleted or updated by bulk statements which bypass
+     * this listener, e.g. when processing delete policies or executing {@code DataManager} bulk operations.
+     *
+     * @param metaClass entity meta-class
+     */
+    default boolean isBulkOperationAllowed(MetaClass metaClass) {
+        return false;
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.eclipselink.impl;
+
+import io.jmix.eclipselink.persistence.AdditionalCriteriaProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Holds {@link AdditionalCriteriaProvider} beans of the application, so they are looked up in the bean factory
+ * only once instead of for each entity manager and query.
+ */
+@Component("eclipselink_AdditionalCriteriaProviders")
+public class AdditionalCriteriaProviders {
+
+    @Autowired
+    protected ObjectProvider<AdditionalCriteriaProvider> additionalCriteriaProviders;
+
+    protected volatile List<AdditionalCriteriaProvider> providers;
+
+    /**
+     * @return all additional criteria providers
+     */
+    public List<AdditionalCriteriaProvider> getProviders() {
+        List<AdditionalCriteriaProvider> result = providers;
+        if (result == null) {
+            result = additionalCriteriaProviders.stream().collect(Collectors.toUnmodifiableList());
+            providers = result;
+        }
+        return result;
+    }
+
+    /**
+     * Collects current values of criteria parameters of all providers.
+     * {@link AdditionalCriteriaProvider#getCriteriaParameters()} is invoked once for each provider.
+     *
+     * @return map of parameter names to values
+     */
+    public Map<String, Object> getCriteriaParameters() {
+        Map<String, Object> parameters = new HashMap<>();
+        for (AdditionalCriteriaProvider acp : getProviders()) {
+            Map<String, Object> criteriaParameters = acp.getCriteriaParameters();
+            if (criteriaParameters != null) {
+                parameters.putAll(criteriaParameters);
+            }
+        }
+        return parameters;
+    }
+}
@@ -296,6 +296,8 @@ public class EclipselinkPersistenceSupport implements ApplicationContextAware {
             }
             possiblyChanged = result || possiblyChanged;
         }
+        visitor.afterVisit();
+
         if (!possiblyChanged)
             return;
 
@@ -380,6 +382,12 @@ public class EclipselinkPersistenceSupport implements ApplicationContextAware {
 
     public interface EntityVisitor {
         boolean visit(Object entity);
+
+        /**
+         * Invoked after all instances of the current processing round are visited.
+         */
+        default void afterVisit() {
+        }
     }
 
     public static class ContainerResourceHolder extends ResourceHolderSupport {
@@ -647,6 +655,8 @@ public class EclipselinkPersistenceSupport implements ApplicationContextAware {
 
         private String transactionManagerKey;
 
+        protected Map<MetaClass, List<Object>> softDeletedEntities = new LinkedHashMap<>();
+
         public OnSaveEntityVisitor(String transactionManagerKey) {
             this.transactionManagerKey = transactionManagerKey;
         }
@@ -678,7 +688,7 @@ public class EclipselinkPersistenceSupport implements ApplicationContextAware {
                 fireEntityChange(entity, EntityOp.DELETE, null);
 
                 if (EntityValues.isSoftDeletionSupported(entity))
-                    processDeletePolicy(entity);
+                    softDeletedEntities.computeIfAbsent(metadata.getClass(entity), k -> new ArrayList<>()).add(entity);
 
                 jpaCacheSupport.evictMasterEntity(entity, null);
                 return true;
@@ -708,9 +718,19 @@ public class EclipselinkPersistenceSupport implements ApplicationContextAware {
             return false;
         }
 
-        protected void processDeletePolicy(Object entity) {
+        @Override
+        public void afterVisit() {
+            // delete policies are processed for all deleted instances of an entity at once,
+            // the entities affected by them are visited in the next round
+            for (List<Object> entities : softDeletedEntities.values()) {
+                processDeletePolicy(entities);
+            }
+            softDeletedEntities.clear();
+        }
+
+        protected void processDeletePolicy(Collection<Object> entities) {
             DeletePolicyProcessor processor = deletePolicyProcessorProvider.getObject(); // prototype
-            processor.setEntity(entity);
+            processor.setEntities(entities);
             processor.process();
         }
     }
@@ -57,12 +57,19 @@ import org.springframework.lang.Nullable;
 import java.time.ZoneId;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
 
     private static final Logger log = LoggerFactory.getLogger(JmixEclipseLinkQuery.class);
 
+    /**
+     * Prefix of the names under which parameters of {@link AdditionalCriteriaProvider#getQueryCriteria} are bound.
+     */
+    private static final String QUERY_CRITERIA_PARAM_PREFIX = "jmix_criteria_";
+
     private final EntityManager entityManager;
     private Class<E> resultClass;
 
@@ -83,6 +90,7 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
     protected Collection<QueryMacroHandler> macroHandlers;
     protected Collection<QueryConstantHandler> constantHandlers;
     protected List<AdditionalCriteriaProvider> additionalCriteriaProviders;
+    protected Map<String, Object> additionalCriteriaParameters;
     protected QueryParamValuesManager queryParamValuesManager;
 
     protected JpaQuery query;
@@ -122,7 +130,11 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
         dbmsSpecifics = beanFactory.getBean(DbmsSpecifics.class);
         macroHandlers = beanFactory.getBeanProvider(QueryMacroHandler.class).stream().collect(Collectors.toList());
         constantHandlers = beanFactory.getBeanProvider(QueryConstantHandler.class).stream().collect(Collectors.toList());
-        additionalCriteriaProviders = beanFactory.getBeanProvider(AdditionalCriteriaProvider.class).stream().collect(Collectors.toList());
+        AdditionalCriteriaProviders criteriaProviders = beanFactory.getBean(AdditionalCriteriaProviders.class);
+        additionalCriteriaProviders = criteriaProviders.getProviders();
+        // parameter values, e.g. the current tenant, are collected for each query, as they can change
+        // during the lifetime of an entity manager
+        additionalCriteriaParameters = criteriaProviders.getCriteriaParameters();
         queryParamValuesManager = beanFactory.getBean(QueryParamValuesManager.class);
     }
 
@@ -593,6 +605,16 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
 
         result = replaceParams(result, parser);
 
+        if (isSelectQuery(result)) {
+            String queryCriteria = getQueryCriteria(effectiveClass);
+            if (queryCriteria != null) {
+                QueryTransformer transformer = queryTransformerFactory.transformer(result);
+                transformer.addWhere(queryCriteria);
+                result = transformer.getResult();
+                rebuildParser = true;
+            }
+        }
+
         if (rebuildParser) {
             parser = queryTransformerFactory.parser(result);
         }
@@ -848,16 +870,42 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
         return result;
     }
 
-    private Map<String, Object> getAdditionalCriteriaParameters() {
-        Map<String, Object> parameters = new HashMap<>();
+    private boolean isSelectQuery(String queryString) {
+        return queryString.trim().regionMatches(true, 0, "select", 0, "select".length());
+    }
+
+    /**
+     * Collects context-dependent criteria of the additional criteria providers and adds their parameters to the query.
+     */
+    @Nullable
+    private String getQueryCriteria(Class<?> entityClass) {
+        List<String> criteria = new ArrayList<>();
         for (AdditionalCriteriaProvider acp : additionalCriteriaProviders) {
-            if (acp.getCriteriaParameters() != null) {
-                for (Map.Entry<String, Object> entry : acp.getCriteriaParameters().entrySet()) {
-                    parameters.put(entry.getKey(), entry.getValue());
+            if (!acp.requiresAdditionalCriteria(entityClass)) {
+                continue;
+            }
+            String queryCriteria = acp.getQueryCriteria(entityClass, additionalCriteriaParameters);
+            if (queryCriteria != null) {
+                // criteria parameters are renamed, so they don't collide with parameters of the query
+                for (Map.Entry<String, Object> entry : additionalCriteriaParameters.entrySet()) {
+                    Matcher matcher = Pattern.compile(":" + Pattern.quote(entry.getKey()) + "(?![\\w$.])")
+                            .matcher(queryCriteria);
+                    if (matcher.find()) {
+                        String paramName = QUERY_CRITERIA_PARAM_PREFIX + entry.getKey();
+                        queryCriteria = matcher.replaceAll(Matcher.quoteReplacement(":" + paramName));
+                        if (params.stream().noneMatch(param -> paramName.equals(param.name))) {
+                            params.add(new Param(paramName, convertParamValue(entry.getValue())));
+                        }
+                    }
                 }
+                criteria.add("(" + queryCriteria + ")");
             }
         }
-        return parameters;
+        return criteria.isEmpty() ? null : String.join(" and ", criteria);
+    }
+
+    private Map<String, Object> getAdditionalCriteriaParameters() {
+        return additionalCriteriaParameters;
     }
 
     private void checkState() {
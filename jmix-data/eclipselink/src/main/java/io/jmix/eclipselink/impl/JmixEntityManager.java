@@ -29,7 +29,6 @@ import io.jmix.data.PersistenceHints;
 import io.jmix.data.impl.EntityListenerManager;
 import io.jmix.data.impl.EntityListenerType;
 import io.jmix.data.impl.converters.AuditConversionService;
-import io.jmix.eclipselink.persistence.AdditionalCriteriaProvider;
 import org.springframework.lang.Nullable;
 import jakarta.persistence.*;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -66,6 +65,7 @@ public class JmixEntityManager implements EntityManager {
     private TimeSource timeSource;
     private AuditInfoProvider auditInfoProvider;
     private AuditConversionService auditConverter;
+    private AdditionalCriteriaProviders additionalCriteriaProviders;
 
     private static final Logger log = LoggerFactory.getLogger(JmixEntityManager.class);
 
@@ -83,6 +83,7 @@ public class JmixEntityManager implements EntityManager {
         timeSource = beanFactory.getBean(TimeSource.class);
         auditInfoProvider = beanFactory.getBean(AuditInfoProvider.class);
         auditConverter = beanFactory.getBean(AuditConversionService.class);
+        additionalCriteriaProviders = beanFactory.getBean(AdditionalCriteriaProviders.class);
 
         setAdditionalProperties();
     }
@@ -598,12 +599,8 @@ public class JmixEntityManager implements EntityManager {
     }
 
     protected void setAdditionalProperties() {
-        for (AdditionalCriteriaProvider acp : beanFactory.getBeansOfType(AdditionalCriteriaProvider.class).values()) {
-            if (acp.getCriteriaParameters() != null) {
-                for (Map.Entry<String, Object> entry : acp.getCriteriaParameters().entrySet()) {
-                    this.delegate.setProperty(entry.getKey(), entry.getValue());
-                }
-            }
+        for (Map.Entry<String, Object> entry : additionalCriteriaProviders.getCriteriaParameters().entrySet()) {
+            this.delegate.setProperty(entry.getKey(), entry.getValue());
         }
     }
 }
@@ -20,11 +20,19 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import io.jmix.core.Id;
 import io.jmix.core.*;
+import io.jmix.core.accesscontext.CrudEntityContext;
+import io.jmix.core.accesscontext.EntityAttributeContext;
+import io.jmix.core.accesscontext.InMemoryCrudEntityContext;
 import io.jmix.core.datastore.AbstractDataStore;
 import io.jmix.core.entity.EntityValues;
+import io.jmix.core.entity.annotation.OnDelete;
+import io.jmix.core.entity.annotation.OnDeleteInverse;
+import io.jmix.core.event.BulkEntityChangedEvent;
 import io.jmix.core.event.EntityChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.security.AccessDeniedException;
+import io.jmix.data.AuditInfoProvider;
 import io.jmix.data.DataProperties;
 import io.jmix.data.PersistenceHints;
 import io.jmix.data.QueryTransformerFactory;
@@ -33,7 +41,9 @@ import io.jmix.data.accesscontext.ReadEntityQueryContext;
 import io.jmix.data.exception.UniqueConstraintViolationException;
 import io.jmix.data.impl.EntityChangedEventInfo;
 import io.jmix.data.impl.EntityEventManager;
+import io.jmix.data.impl.JpaLifecycleListener;
 import io.jmix.data.impl.JpqlQueryBuilder;
+import io.jmix.data.impl.converters.AuditConversionService;
 import io.jmix.data.persistence.DbmsSpecifics;
 import io.jmix.eclipselink.impl.lazyloading.LazyLoadingContext;
 import jakarta.persistence.NoResultException;
@@ -47,6 +57,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Scope;
+import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -54,6 +65,9 @@ import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
@@ -75,6 +89,8 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
     public static final String LOAD_TX_PREFIX = "JpaDataStore-load-";
     public static final String SAVE_TX_PREFIX = "JpaDataStore-save-";
 
+    protected static final int BULK_OPERATION_BATCH_SIZE = 1000;
+
     private static final Logger log = LoggerFactory.getLogger(JpaDataStore.class);
 
     @Autowired
@@ -119,6 +135,18 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
     @Autowired
     protected FetchPlanRepository fetchPlanRepository;
 
+    @Autowired
+    protected TimeSource timeSource;
+
+    @Autowired
+    protected AuditInfoProvider auditInfoProvider;
+
+    @Autowired
+    protected AuditConversionService auditConverter;
+
+    @Autowired(required = false)
+    protected List<JpaLifecycleListener> lifecycleListeners = new ArrayList<>();
+
     protected String storeName;
 
     protected static final AtomicLong txCount = new AtomicLong();
@@ -347,6 +375,254 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         return result;
     }
 
+    @Override
+    public int executeBulkOperation(BulkOperationContext context) {
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+        log.debug("executeBulkOperation: store={}, metaClass={}, type={}, values={}, condition={}",
+                storeName, metaClass, context.getType(), context.getValues().keySet(), context.getCondition());
+
+        checkBulkOperation(metaClass, context);
+
+        int count = 0;
+        Object transaction = beginSaveTransaction(context.isJoinTransaction());
+        try {
+            EntityManager em = storeAwareLocator.getEntityManager(storeName);
+            boolean softDeletionBefore = PersistenceHints.isSoftDeletion(em);
+            List<Object> ids;
+            Map<String, Object> values;
+            try {
+                em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
+
+                ids = loadBulkOperationIds(em, metaClass, context);
+                checkBulkOperationPredicates(em, metaClass, context, ids);
+
+                boolean hardDelete = context.getType() == BulkOperationContext.Type.DELETE
+                        && (!metadataTools.isSoftDeletable(metaClass.getJavaClass()) || !PersistenceHints.isSoftDeletion(em));
+                values = hardDelete ? Collections.emptyMap() : createBulkOperationValues(metaClass, context);
+
+                for (List<Object> batch : Lists.partition(ids, getBulkOperationBatchSize())) {
+                    Query query = createBulkOperationQuery(em, metaClass, values, hardDelete);
+                    query.setParameter("entityIds", batch);
+                    count += query.executeUpdate();
+                }
+            } finally {
+                em.setProperty(PersistenceHints.SOFT_DELETION, softDeletionBefore);
+            }
+
+            if (!ids.isEmpty()) {
+                publishBulkEntityChangedEvent(metaClass, context, ids, values.keySet());
+            }
+            commitTransaction(transaction);
+        } finally {
+            LazyLoadingContext.setEnabled();
+            rollbackTransaction(transaction);
+        }
+        return count;
+    }
+
+    protected void checkBulkOperation(MetaClass metaClass, BulkOperationContext context) {
+        if (metadataTools.hasCompositePrimaryKey(metaClass)) {
+            throw new UnsupportedOperationException("Bulk operations are not supported for entities with composite " +
+                    "primary key: " + metaClass.getName());
+        }
+
+        for (JpaLifecycleListener listener : lifecycleListeners) {
+            if (!listener.isBulkOperationAllowed(metaClass)) {
+                throw new UnsupportedOperationException("Bulk operations are not allowed by " +
+                        listener.getClass().getName() + " for entity: " + metaClass.getName());
+            }
+        }
+
+        if (context.getType() == BulkOperationContext.Type.DELETE) {
+            List<MetaClass> metaClasses = new ArrayList<>(metaClass.getAncestors());
+            metaClasses.add(metaClass);
+            for (MetaClass aClass : metaClasses) {
+                if (aClass.getAnnotations().get(OnDelete.class.getName()) != null
+                        || aClass.getAnnotations().get(OnDeleteInverse.class.getName()) != null) {
+                    throw new UnsupportedOperationException("Bulk deletion is not supported for entities with " +
+                            "delete policies: " + metaClass.getName());
+                }
+            }
+        } else {
+            if (context.getValues().isEmpty()) {
+                throw new IllegalArgumentException("No attribute values are set for bulk update of " + metaClass.getName());
+            }
+            for (String propertyName : context.getValues().keySet()) {
+                MetaProperty property = metaClass.getProperty(propertyName);
+                if (!metadataTools.isJpa(property)
+                        || metadataTools.isEmbedded(property)
+                        || metadataTools.isSystem(property)
+                        || property.getRange().getCardinality().isMany()) {
+                    throw new IllegalArgumentException("Attribute " + metaClass.getName() + "." + propertyName
+                            + " cannot be changed by bulk update");
+                }
+            }
+        }
+
+        if (context.getAccessConstraints().isEmpty()) {
+            return;
+        }
+
+        CrudEntityContext entityContext = new CrudEntityContext(metaClass);
+        accessManager.applyConstraints(entityContext, context.getAccessConstraints());
+        if (context.getType() == BulkOperationContext.Type.DELETE) {
+            if (!entityContext.isDeletePermitted()) {
+                throw new AccessDeniedException("entity", metaClass.getName(), "delete");
+            }
+        } else {
+            if (!entityContext.isUpdatePermitted()) {
+                throw new AccessDeniedException("entity", metaClass.getName(), "update");
+            }
+            for (String propertyName : context.getValues().keySet()) {
+                EntityAttributeContext attributeContext = new EntityAttributeContext(metaClass, propertyName);
+                accessManager.applyConstraints(attributeContext, context.getAccessConstraints());
+                if (!attributeContext.canModify()) {
+                    throw new AccessDeniedException("entityAttribute", metaClass.getName() + "." + propertyName, "modify");
+                }
+            }
+        }
+    }
+
+    /**
+     * Selects ids of the affected instances. The query is restricted by row-level read constraints, as well as
+     * soft deletion and other additional criteria applied to all JPQL queries.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<Object> loadBulkOperationIds(EntityManager em, MetaClass metaClass, BulkOperationContext context) {
+        String primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
+
+        JpqlQueryBuilder<JmixEclipseLinkQuery<?>> queryBuilder = jpqlQueryBuilderProvider.getObject();
+        queryBuilder.setEntityName(metaClass.getName())
+                .setQueryString(String.format("select e.%s from %s e", primaryKeyName, metaClass.getName()))
+                .setQueryParameters(new HashMap<>());
+        if (context.getCondition() != null) {
+            queryBuilder.setCondition(context.getCondition());
+        }
+
+        JmixEclipseLinkQuery<?> query = queryBuilder.getQuery(em);
+        for (Map.Entry<String, Serializable> hint : context.getHints().entrySet()) {
+            query.setHint(hint.getKey(), hint.getValue());
+        }
+
+        ReadEntityQueryContext queryContext = new ReadEntityQueryContext(query, metaClass, queryTransformerFactory);
+        accessManager.applyConstraints(queryContext, context.getAccessConstraints());
+
+        return (List<Object>) queryContext.getResultQuery().getResultList();
+    }
+
+    /**
+     * Checks in-memory update or delete predicates of access constraints. If there are such predicates, the affected
+     * instances are loaded and the whole operation is rejected if any of them is not permitted.
+     */
+    protected void checkBulkOperationPredicates(EntityManager em, MetaClass metaClass, BulkOperationContext context,
+                                                List<Object> ids) {
+        if (context.getAccessConstraints().isEmpty() || ids.isEmpty()) {
+            return;
+        }
+
+        InMemoryCrudEntityContext entityContext = new InMemoryCrudEntityContext(metaClass, applicationContext);
+        accessManager.applyConstraints(entityContext, context.getAccessConstraints());
+
+        boolean delete = context.getType() == BulkOperationContext.Type.DELETE;
+        if ((delete ? entityContext.deletePredicate() : entityContext.updatePredicate()) == null) {
+            return;
+        }
+
+        String queryString = String.format("select e from %s e where e.%s in :entityIds",
+                metaClass.getName(), metadataTools.getPrimaryKeyName(metaClass));
+        for (List<Object> batch : Lists.partition(ids, getBulkOperationBatchSize())) {
+            Query query = em.createQuery(queryString);
+            query.setParameter("entityIds", batch);
+            for (Object entity : query.getResultList()) {
+                if (delete ? !entityContext.isDeletePermitted(entity) : !entityContext.isUpdatePermitted(entity)) {
+                    throw new AccessDeniedException("entity", entity.toString(), delete ? "delete" : "update");
+                }
+            }
+        }
+    }
+
+    protected int getBulkOperationBatchSize() {
+        Integer batchSize = dbmsSpecifics.getDbmsFeatures(storeName).getMaxIdsBatchSize();
+        return batchSize == null ? BULK_OPERATION_BATCH_SIZE : batchSize;
+    }
+
+    protected Map<String, Object> createBulkOperationValues(MetaClass metaClass, BulkOperationContext context) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        Class<?> javaClass = metaClass.getJavaClass();
+        if (context.getType() == BulkOperationContext.Type.DELETE) {
+            setAuditValue(values, metaClass, metadataTools.findDeletedDateProperty(javaClass), timeSource.currentTimestamp());
+            setAuditValue(values, metaClass, metadataTools.findDeletedByProperty(javaClass), auditInfoProvider.getCurrentUser());
+        } else {
+            values.putAll(context.getValues());
+            setAuditValue(values, metaClass, metadataTools.findLastModifiedDateProperty(javaClass), timeSource.currentTimestamp());
+            setAuditValue(values, metaClass, findPropertyByAnnotation(metaClass, LastModifiedBy.class), auditInfoProvider.getCurrentUser());
+        }
+        return values;
+    }
+
+    protected void setAuditValue(Map<String, Object> values, MetaClass metaClass, @Nullable String propertyName,
+                                 @Nullable Object value) {
+        if (propertyName != null && !values.containsKey(propertyName)) {
+            values.put(propertyName, auditConverter.convert(value, metaClass.getProperty(propertyName).getJavaType()));
+        }
+    }
+
+    @Nullable
+    protected String findPropertyByAnnotation(MetaClass metaClass, Class<? extends Annotation> annotationClass) {
+        for (MetaProperty property : metaClass.getProperties()) {
+            AnnotatedElement element = property.getAnnotatedElement();
+            if (element != null && element.isAnnotationPresent(annotationClass)) {
+                return property.getName();
+            }
+        }
+        return null;
+    }
+
+    protected Query createBulkOperationQuery(EntityManager em, MetaClass metaClass, Map<String, Object> values,
+                                             boolean hardDelete) {
+        String primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
+        if (hardDelete) {
+            return em.createQuery(String.format("delete from %s e where e.%s in :entityIds",
+                    metaClass.getName(), primaryKeyName));
+        }
+
+        StringBuilder sb = new StringBuilder("update ").append(metaClass.getName()).append(" e set ");
+        List<Object> parameters = new ArrayList<>(values.size());
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (!parameters.isEmpty()) {
+                sb.append(", ");
+            }
+            sb.append("e.").append(entry.getKey()).append(" = :value").append(parameters.size());
+            parameters.add(entry.getValue());
+        }
+        String versionProperty = findPropertyByAnnotation(metaClass, Version.class);
+        if (versionProperty != null) {
+            sb.append(", e.").append(versionProperty).append(" = e.").append(versionProperty).append(" + 1");
+        }
+        sb.append(" where e.").append(primaryKeyName).append(" in :entityIds");
+
+        Query query = em.createQuery(sb.toString());
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter("value" + i, parameters.get(i));
+        }
+        return query;
+    }
+
+    protected void publishBulkEntityChangedEvent(MetaClass metaClass, BulkOperationContext context, List<Object> ids,
+                                                 Set<String> changedAttributes) {
+        @SuppressWarnings("unchecked")
+        Class<Object> entityClass = (Class<Object>) metaClass.getJavaClass();
+        List<Id<Object>> entityIds = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            entityIds.add(Id.of(id, entityClass));
+        }
+
+        EntityChangedEvent.Type type = context.getType() == BulkOperationContext.Type.DELETE ?
+                EntityChangedEvent.Type.DELETED : EntityChangedEvent.Type.UPDATED;
+        applicationContext.publishEvent(new BulkEntityChangedEvent<>(this, entityIds, type,
+                new LinkedHashSet<>(changedAttributes), extendedEntities.getOriginalOrThisMetaClass(metaClass)));
+    }
+
     @Override
     protected List<Object> loadAllValues(ValueLoadContext context) {
         EntityManager em = storeAwareLocator.getEntityManager(storeName);
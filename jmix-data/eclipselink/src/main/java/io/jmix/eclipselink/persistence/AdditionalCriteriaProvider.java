@@ -39,6 +39,29 @@ public interface AdditionalCriteriaProvider {
      */
     String getAdditionalCriteria(Class<?> entityClass);
 
+    /**
+     * Returns the criteria which is added to the where clause of JPQL select queries on the given entity in the current
+     * context, in addition to {@link #getAdditionalCriteria(Class)}.
+     * <p>
+     * The additional criteria is compiled once for the entity descriptor and is the same in all contexts, while this
+     * criteria may vary and is absent if {@code null} is returned. It allows adding a plain selective condition that
+     * the database can use for index access, e.g. an equality for the current tenant.
+     * Main entity alias is specified by the {@code {E}} placeholder.
+     * <p>
+     * The criteria can reference parameters returned by {@link #getCriteriaParameters()} by their names. The query
+     * binds them under reserved names, so they don't collide with parameters of the query itself.
+     *
+     * @param entityClass        entity class
+     * @param criteriaParameters values of criteria parameters of all providers used by the query, which are collected
+     *                           when the entity manager is created. The criteria must be based on these values rather
+     *                           than on the current context, because the context may have changed since then.
+     * @return the criteria or null if no criteria is required
+     */
+    @Nullable
+    default String getQueryCriteria(Class<?> entityClass, Map<String, Object> criteriaParameters) {
+        return null;
+    }
+
     /**
      * Returns parameters of the additional criteria.
      *
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package data_manager
+
+import io.jmix.core.BulkOperationContext
+import io.jmix.core.DataManager
+import io.jmix.core.Id
+import io.jmix.core.Metadata
+import io.jmix.core.accesscontext.InMemoryCrudEntityContext
+import io.jmix.core.constraint.AccessConstraint
+import io.jmix.core.querycondition.PropertyCondition
+import io.jmix.core.security.AccessDeniedException
+import io.jmix.data.PersistenceHints
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Status
+
+import java.util.function.BiPredicate
+
+class DataManagerBulkOperationTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    @Autowired
+    Metadata metadata
+
+    Customer customer1, customer2, customer3
+
+    void setup() {
+        customer1 = dataManager.save(createCustomer('bulk-1', Status.OK))
+        customer2 = dataManager.save(createCustomer('bulk-2', Status.OK))
+        customer3 = dataManager.save(createCustomer('other', Status.OK))
+    }
+
+    void cleanup() {
+        jdbcTemplate.update('delete from SALES_CUSTOMER')
+    }
+
+    def "update by condition"() {
+        when:
+        def count = dataManager.update(Customer)
+                .set('status', Status.NOT_OK)
+                .condition(PropertyCondition.startsWith('name', 'bulk'))
+                .execute()
+
+        then:
+        count == 2
+        dataManager.load(Id.of(customer1)).one().status == Status.NOT_OK
+        dataManager.load(Id.of(customer2)).one().status == Status.NOT_OK
+        dataManager.load(Id.of(customer3)).one().status == Status.OK
+        dataManager.load(Id.of(customer1)).one().version == customer1.version + 1
+    }
+
+    def "soft and hard delete by condition"() {
+        when:
+        def count = dataManager.delete(Customer)
+                .condition(PropertyCondition.startsWith('name', 'bulk'))
+                .execute()
+
+        then:
+        count == 2
+        !dataManager.load(Id.of(customer1)).optional().isPresent()
+        dataManager.load(Id.of(customer1)).hint(PersistenceHints.SOFT_DELETION, false).one().deleteTs != null
+        dataManager.load(Id.of(customer3)).optional().isPresent()
+
+        when:
+        count = dataManager.delete(Customer)
+                .condition(PropertyCondition.startsWith('name', 'bulk'))
+                .hint(PersistenceHints.SOFT_DELETION, false)
+                .execute()
+
+        then:
+        count == 2
+        !dataManager.load(Id.of(customer1)).hint(PersistenceHints.SOFT_DELETION, false).optional().isPresent()
+    }
+
+    def "update is rejected if in-memory predicate denies any affected instance"() {
+        def constraint = new UpdatePredicateConstraint({ Customer customer, ctx -> customer.name != 'bulk-2' })
+
+        when:
+        dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(Customer), BulkOperationContext.Type.UPDATE)
+                .setValue('status', Status.NOT_OK)
+                .setCondition(PropertyCondition.startsWith('name', 'bulk'))
+                .setAccessConstraints([constraint]))
+
+        then:
+        thrown(AccessDeniedException)
+        dataManager.load(Id.of(customer1)).one().status == Status.OK
+        dataManager.load(Id.of(customer2)).one().status == Status.OK
+
+        when:
+        def count = dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(Customer), BulkOperationContext.Type.UPDATE)
+                .setValue('status', Status.NOT_OK)
+                .setCondition(PropertyCondition.equal('name', 'bulk-1'))
+                .setAccessConstraints([constraint]))
+
+        then:
+        count == 1
+        dataManager.load(Id.of(customer1)).one().status == Status.NOT_OK
+    }
+
+    private Customer createCustomer(String name, Status status) {
+        def customer = dataManager.create(Customer)
+        customer.name = name
+        customer.status = status
+        return customer
+    }
+
+    static class UpdatePredicateConstraint implements AccessConstraint<InMemoryCrudEntityContext> {
+
+        private BiPredicate predicate
+
+        UpdatePredicateConstraint(BiPredicate predicate) {
+            this.predicate = predicate
+        }
+
+        @Override
+        Class<InMemoryCrudEntityContext> getContextType() {
+            return InMemoryCrudEntityContext
+        }
+
+        @Override
+        void applyTo(InMemoryCrudEntityContext context) {
+            context.addUpdatePredicate(predicate)
+        }
+    }
+}
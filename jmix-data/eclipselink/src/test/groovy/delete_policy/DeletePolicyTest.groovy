@@ -0,0 +1,155 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package delete_policy
+
+import ch.qos.logback.classic.Level
+import ch.qos.logback.classic.Logger
+import ch.qos.logback.classic.LoggerContext
+import io.jmix.core.DataManager
+import io.jmix.core.SaveContext
+import io.jmix.data.DataProperties
+import io.jmix.data.impl.DeletePolicyProcessor
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.TestAppender
+import test_support.entity.delete_policy.DeletePolicyCachedDetail
+import test_support.entity.delete_policy.DeletePolicyCascadeDetail
+import test_support.entity.delete_policy.DeletePolicyMaster
+import test_support.entity.delete_policy.DeletePolicyUnlinkDetail
+
+class DeletePolicyTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    DataProperties dataProperties
+
+    private Logger logger
+    private Level loggerLevel
+    private TestAppender appender
+
+    private DeletePolicyMaster master
+
+    @Override
+    void setup() {
+        master = dataManager.create(DeletePolicyMaster)
+        master.name = 'master'
+        dataManager.save(master)
+
+        appender = new TestAppender()
+        appender.start()
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory()
+        logger = context.getLogger(DeletePolicyProcessor.name)
+        loggerLevel = logger.level
+        logger.setLevel(Level.DEBUG)
+        logger.addAppender(appender)
+    }
+
+    @Override
+    void cleanup() {
+        logger.detachAppender(appender)
+        logger.setLevel(loggerLevel)
+
+        jdbc.update('delete from TEST_DELETE_POLICY_CASCADE_DETAIL')
+        jdbc.update('delete from TEST_DELETE_POLICY_UNLINK_DETAIL')
+        jdbc.update('delete from TEST_DELETE_POLICY_CACHED_DETAIL')
+        jdbc.update('delete from TEST_DELETE_POLICY_MASTER')
+    }
+
+    def "cascade deletes referencing entities"() {
+        saveDetails(DeletePolicyCascadeDetail, 3)
+
+        when:
+        dataManager.remove(master)
+
+        then:
+        count('TEST_DELETE_POLICY_CASCADE_DETAIL') == 0
+        bulkStatements() == (dataProperties.deletePolicyBulkOperationsEnabled ? 1 : 0)
+    }
+
+    def "unlink clears references of referencing entities"() {
+        saveDetails(DeletePolicyUnlinkDetail, 3)
+
+        when:
+        dataManager.remove(master)
+
+        then:
+        count('TEST_DELETE_POLICY_UNLINK_DETAIL') == 3
+        count('TEST_DELETE_POLICY_UNLINK_DETAIL', 'MASTER_ID is not null') == 0
+        bulkStatements() == (dataProperties.deletePolicyBulkOperationsEnabled ? 1 : 0)
+    }
+
+    def "unlink increments version of referencing entities"() {
+        def details = saveDetails(DeletePolicyUnlinkDetail, 2)
+
+        when:
+        dataManager.remove(master)
+
+        then:
+        details.every { dataManager.load(DeletePolicyUnlinkDetail).id(it.id).one().version == it.version + 1 }
+    }
+
+    def "cascade and unlink apply to referencing entities saved in the same transaction"() {
+        def cascadeDetail = dataManager.create(DeletePolicyCascadeDetail)
+        cascadeDetail.master = master
+        def unlinkDetail = dataManager.create(DeletePolicyUnlinkDetail)
+        unlinkDetail.master = master
+
+        when:
+        dataManager.save(new SaveContext()
+                .saving(cascadeDetail, unlinkDetail)
+                .removing(master))
+
+        then:
+        count('TEST_DELETE_POLICY_CASCADE_DETAIL') == 0
+        count('TEST_DELETE_POLICY_UNLINK_DETAIL') == 1
+        count('TEST_DELETE_POLICY_UNLINK_DETAIL', 'MASTER_ID is not null') == 0
+    }
+
+    def "cacheable referencing entities are unlinked one by one"() {
+        def details = saveDetails(DeletePolicyCachedDetail, 2)
+        details.each { dataManager.load(DeletePolicyCachedDetail).id(it.id).one() }
+
+        when:
+        dataManager.remove(master)
+
+        then:
+        count('TEST_DELETE_POLICY_CACHED_DETAIL', 'MASTER_ID is not null') == 0
+        details.every { dataManager.load(DeletePolicyCachedDetail).id(it.id).one().version == it.version + 1 }
+        bulkStatements() == 0
+    }
+
+    private <T> List<T> saveDetails(Class<T> detailClass, int count) {
+        List<T> details = (1..count).collect {
+            T detail = dataManager.create(detailClass)
+            detail.name = "detail-$it"
+            detail.master = master
+            detail
+        }
+        return dataManager.save(details as Object[]).getAll(detailClass).toList()
+    }
+
+    private int count(String table, String condition = '1 = 1') {
+        return jdbc.queryForObject("select count(*) from $table where $condition".toString(), Integer)
+    }
+
+    private long bulkStatements() {
+        return appender.filterMessages { it.startsWith('Process delete policy in bulk') }.count()
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package importexport;
+
+import io.jmix.core.*;
+import io.jmix.core.impl.importexport.EntityImportException;
+import io.jmix.data.DataConfiguration;
+import io.jmix.eclipselink.EclipselinkConfiguration;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+import test_support.DataTestConfiguration;
+import test_support.TestContextInititalizer;
+import test_support.entity.importexport.PricingRegion;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(
+        classes = {CoreConfiguration.class, DataConfiguration.class, EclipselinkConfiguration.class, DataTestConfiguration.class},
+        initializers = {TestContextInititalizer.class}
+)
+@TestPropertySource(properties = {"jmix.core.entity-import-chunk-size=2"})
+public class EntityImportExportChunkTest {
+
+    @Autowired
+    EntityImportExport entityImportExport;
+    @Autowired
+    EntityImportPlans entityImportPlans;
+    @Autowired
+    Metadata metadata;
+    @Autowired
+    JdbcTemplate jdbc;
+    @Autowired
+    TransactionTemplate transaction;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("update TESTIMPORTEXPORT_PRICING_REGION set PARENT_ID = null");
+        jdbc.update("delete from TESTIMPORTEXPORT_PRICING_REGION");
+    }
+
+    @Test
+    void testReferencesToPreviousChunksAreResolved() {
+        PricingRegion existingRegion = createRegion("existing", null);
+        transaction.executeWithoutResult(transactionStatus -> em.persist(existingRegion));
+        existingRegion.setName("modified");
+
+        List<PricingRegion> regions = new ArrayList<>();
+        regions.add(existingRegion);
+        for (int i = 1; i <= 4; i++) {
+            regions.add(createRegion("region" + i, regions.get(i - 1)));
+        }
+
+        Collection<Object> importedEntities = entityImportExport.importEntities(regions, createImportPlan(ReferenceImportBehaviour.ERROR_ON_MISSING));
+
+        assertEquals(5, importedEntities.size());
+        transaction.executeWithoutResult(transactionStatus -> {
+            assertEquals("modified", em.find(PricingRegion.class, existingRegion.getId()).getName());
+            for (int i = 1; i <= 4; i++) {
+                PricingRegion reloadedRegion = em.find(PricingRegion.class, regions.get(i).getId());
+                assertNotNull(reloadedRegion);
+                assertEquals(regions.get(i - 1).getId(), reloadedRegion.getParent().getId());
+            }
+        });
+    }
+
+    @Test
+    void testReferencesToLaterChunksAreIgnored() {
+        PricingRegion parentRegion = createRegion("parent", null);
+        PricingRegion childRegion = createRegion("child", parentRegion);
+        PricingRegion otherRegion = createRegion("other", null);
+
+        entityImportExport.importEntities(List.of(childRegion, otherRegion, parentRegion),
+                createImportPlan(ReferenceImportBehaviour.IGNORE_MISSING));
+
+        transaction.executeWithoutResult(transactionStatus -> {
+            PricingRegion reloadedChild = em.find(PricingRegion.class, childRegion.getId());
+            assertNotNull(reloadedChild);
+            assertNull(reloadedChild.getParent());
+            assertNotNull(em.find(PricingRegion.class, parentRegion.getId()));
+        });
+    }
+
+    @Test
+    void testFailedChunkKeepsPreviousChunks() {
+        PricingRegion region1 = createRegion("region1", null);
+        PricingRegion region2 = createRegion("region2", null);
+        PricingRegion region3 = createRegion("region3", createRegion("missing", null));
+
+        assertThrows(EntityImportException.class, () ->
+                entityImportExport.importEntities(List.of(region1, region2, region3),
+                        createImportPlan(ReferenceImportBehaviour.ERROR_ON_MISSING)));
+
+        transaction.executeWithoutResult(transactionStatus -> {
+            assertNotNull(em.find(PricingRegion.class, region1.getId()));
+            assertNotNull(em.find(PricingRegion.class, region2.getId()));
+            assertNull(em.find(PricingRegion.class, region3.getId()));
+        });
+    }
+
+    private PricingRegion createRegion(String name, PricingRegion parent) {
+        PricingRegion region = metadata.create(PricingRegion.class);
+        region.setName(name);
+        region.setParent(parent);
+        return region;
+    }
+
+    private EntityImportPlan createImportPlan(ReferenceImportBehaviour referenceImportBehaviour) {
+        return entityImportPlans.builder(PricingRegion.class)
+                .addLocalProperties()
+                .addManyToOneProperty("parent", referenceImportBehaviour)
+                .build();
+    }
+}
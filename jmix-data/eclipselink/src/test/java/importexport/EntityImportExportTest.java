@@ -630,6 +630,51 @@ public class EntityImportExportTest {
         });
     }
 
+    @Test
+    void testImportExistingAndNewEntitiesWithManyToManyReferences() {
+        Plant plant2 = metadata.create(Plant.class);
+        plant2.setName("Plant2");
+
+        transaction.executeWithoutResult(transactionStatus -> {
+            em.persist(model1);
+            em.persist(model2);
+            em.persist(plant);
+            em.persist(plant2);
+        });
+
+        Plant plant3 = metadata.create(Plant.class);
+        plant3.setName("Plant3");
+
+        plant.setName("Modified plant");
+        plant.setModels(new HashSet<>(List.of(model1, model2)));
+        plant2.setModels(new HashSet<>(List.of(model2)));
+        plant3.setModels(new HashSet<>(List.of(model1)));
+
+        EntityImportPlan importView = entityImportPlans.builder(Plant.class)
+                .addLocalProperty("name")
+                .addManyToManyProperty("models",
+                        ReferenceImportBehaviour.ERROR_ON_MISSING,
+                        CollectionImportPolicy.REMOVE_ABSENT_ITEMS)
+                .build();
+
+        entityImportExport.importEntities(List.of(plant, plant2, plant3), importView);
+
+        transaction.executeWithoutResult(transactionStatus -> {
+            Plant reloadedPlant = em.find(Plant.class, plant.getId());
+            assertEquals("Modified plant", reloadedPlant.getName());
+            assertEquals(2, reloadedPlant.getModels().size());
+
+            Plant reloadedPlant2 = em.find(Plant.class, plant2.getId());
+            assertEquals(1, reloadedPlant2.getModels().size());
+            assertEquals(model2.getName(), reloadedPlant2.getModels().iterator().next().getName());
+
+            Plant reloadedPlant3 = em.find(Plant.class, plant3.getId());
+            assertNotNull(reloadedPlant3);
+            assertEquals(1, reloadedPlant3.getModels().size());
+            assertEquals(model1.getName(), reloadedPlant3.getModels().iterator().next().getName());
+        });
+    }
+
     @Test
     void testImportDeletedEntity() {
         transaction.executeWithoutResult(transactionStatus -> {
@@ -21,7 +21,9 @@ import io.jmix.dataimport.configuration.UniqueEntityConfiguration;
 import io.jmix.dataimport.extractor.data.ImportedData;
 
 import org.springframework.lang.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -69,4 +71,27 @@ public interface DuplicateEntityManager {
      */
     @Nullable
     Object load(Class entityClass, Map<String, Object> propertyValues, @Nullable FetchPlan fetchPlan);
+
+    /**
+     * Loads the entities having the same property values as any of the specified property value maps. Unlike
+     * {@link #load(Class, Map, FetchPlan)}, the entities for all maps are loaded by a single query (or by a few queries
+     * for a large number of maps).
+     * <br>
+     * Default implementation loads the entity for each map separately.
+     *
+     * @param entityClass        class of entities to load
+     * @param propertyValuesList property values of the entities to load
+     * @param fetchPlan          fetch plan
+     * @return loaded entities
+     */
+    default List<Object> loadAll(Class entityClass, Collection<Map<String, Object>> propertyValuesList, @Nullable FetchPlan fetchPlan) {
+        List<Object> entities = new ArrayList<>();
+        for (Map<String, Object> propertyValues : propertyValuesList) {
+            Object entity = load(entityClass, propertyValues, fetchPlan);
+            if (entity != null && !entities.contains(entity)) {
+                entities.add(entity);
+            }
+        }
+        return entities;
+    }
 }
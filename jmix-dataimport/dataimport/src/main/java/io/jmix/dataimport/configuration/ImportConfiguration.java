@@ -40,6 +40,9 @@ import java.util.function.Predicate;
  *     <li>Entity initializer: a consumer that is executed after pre-import check and allows to make additional changes with extracted entity before import.</li>
  *     <li>Input data charset: this parameter is required if CSV is input data format. Default value: UTF-8.</li>
  *     <li>Unique entity configurations: list of {@link UniqueEntityConfiguration}.</li>
+ *     <li>Streaming extraction: whether the input data is read incrementally during the import instead of being parsed
+ *     completely before the import. It is actual for input stream import if {@link ImportTransactionStrategy#TRANSACTION_PER_BATCH}
+ *     or {@link ImportTransactionStrategy#TRANSACTION_PER_ENTITY} is used. By default, false.</li>
  * </ol>
  * <br>
  * Import configuration can be created by constructor or by {@link ImportConfigurationBuilder}.
@@ -83,6 +86,7 @@ public class ImportConfiguration {
 
     protected ImportTransactionStrategy transactionStrategy;
     protected int importBatchSize = 100;
+    protected boolean streamingExtraction;
 
     protected String inputDataFormat;
 
@@ -175,6 +179,30 @@ public class ImportConfiguration {
         return this;
     }
 
+    /**
+     * Gets whether the input data is read incrementally during the import.
+     *
+     * @return true if the input data is read incrementally
+     */
+    public boolean isStreamingExtraction() {
+        return streamingExtraction;
+    }
+
+    /**
+     * Sets whether the input data is read incrementally during the import. In this case, only the items of the current
+     * batch are kept in memory.
+     * <br>
+     * Note: it is actual if the input data is passed as an input stream and {@link ImportTransactionStrategy#TRANSACTION_PER_BATCH}
+     * or {@link ImportTransactionStrategy#TRANSACTION_PER_ENTITY} is used.
+     *
+     * @param streamingExtraction whether the input data is read incrementally
+     * @return current instance of import configuration
+     */
+    public ImportConfiguration setStreamingExtraction(boolean streamingExtraction) {
+        this.streamingExtraction = streamingExtraction;
+        return this;
+    }
+
     /**
      * Gets a class of entity to import.
      *
@@ -42,6 +42,7 @@ import java.util.function.Predicate;
  *     <li>Entity initializer: a consumer that is executed after pre-import check and allows to make additional changes with extracted entity before import.</li>
  *     <li>Input data charset: this parameter is required if CSV is input data format. Default value: UTF-8</li>
  *     <li>Unique entity configurations: list of {@link UniqueEntityConfiguration}.</li>
+ *     <li>Streaming extraction: whether the input data is read incrementally during the import. By default, false.</li>
  * </ol>
  */
 public class ImportConfigurationBuilder {
@@ -50,6 +51,7 @@ public class ImportConfigurationBuilder {
 
     private ImportTransactionStrategy transactionStrategy;
     private int importBatchSize = 100;
+    private boolean streamingExtraction;
 
     private String inputDataFormat;
 
@@ -154,6 +156,20 @@ public class ImportConfigurationBuilder {
         return this;
     }
 
+    /**
+     * Sets whether the input data is read incrementally during the import.
+     * <br>
+     * Note: it is actual if the input data is passed as an input stream and {@link ImportTransactionStrategy#TRANSACTION_PER_BATCH}
+     * or {@link ImportTransactionStrategy#TRANSACTION_PER_ENTITY} is used.
+     *
+     * @param streamingExtraction whether the input data is read incrementally
+     * @return current instance of builder
+     */
+    public ImportConfigurationBuilder withStreamingExtraction(boolean streamingExtraction) {
+        this.streamingExtraction = streamingExtraction;
+        return this;
+    }
+
     /**
      * Creates and adds a property mapping for the reference property mapped by one data field.
      *
@@ -249,6 +265,7 @@ public class ImportConfigurationBuilder {
                 .setBooleanFalseValue(booleanFalseValue)
                 .setTransactionStrategy(this.transactionStrategy)
                 .setImportBatchSize(importBatchSize)
+                .setStreamingExtraction(streamingExtraction)
                 .setPropertyMappings(propertyMappings)
                 .setInputDataCharset(this.inputDataCharset)
                 .setPreImportPredicate(this.preImportPredicate)
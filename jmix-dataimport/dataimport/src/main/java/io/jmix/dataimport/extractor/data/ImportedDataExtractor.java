@@ -20,6 +20,7 @@ package io.jmix.dataimport.extractor.data;
 import io.jmix.dataimport.configuration.ImportConfiguration;
 
 import java.io.InputStream;
+import java.util.function.Consumer;
 
 /**
  * Parses the data from source and returns an instance of {@link ImportedData} containing list of {@link ImportedDataItem} with raw values
@@ -44,6 +45,20 @@ public interface ImportedDataExtractor {
      */
     ImportedData extract(ImportConfiguration importConfiguration, byte[] inputData);
 
+    /**
+     * Parses input data specified as input stream and passes each {@link ImportedDataItem} to the given consumer as soon
+     * as it is read, so that the whole input data is not kept in memory.
+     * <br>
+     * Default implementation parses the whole input data using {@link #extract(ImportConfiguration, InputStream)}.
+     *
+     * @param importConfiguration import configuration
+     * @param inputStream input data
+     * @param itemConsumer consumer of the read data items
+     */
+    default void extract(ImportConfiguration importConfiguration, InputStream inputStream, Consumer<ImportedDataItem> itemConsumer) {
+        extract(importConfiguration, inputStream).getItems().forEach(itemConsumer);
+    }
+
     /**
      * @return supported format of input data
      */
@@ -30,6 +30,7 @@ import org.springframework.stereotype.Component;
 import java.io.*;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Component("datimp_CsvDataExtractor")
 public class CsvDataExtractor implements ImportedDataExtractor {
@@ -56,6 +57,25 @@ public class CsvDataExtractor implements ImportedDataExtractor {
         return getImportedData(csvReader);
     }
 
+    @Override
+    public void extract(ImportConfiguration importConfiguration, InputStream inputStream, Consumer<ImportedDataItem> itemConsumer) {
+        try {
+            CSVReader csvReader = new CSVReader(new InputStreamReader(inputStream, importConfiguration.getInputDataCharset()));
+            String[] headerLine = csvReader.readNext();
+            if (headerLine == null) {
+                return;
+            }
+            List<String> columnNames = Arrays.asList(headerLine);
+            int itemIndex = 1;
+            String[] values;
+            while ((values = csvReader.readNext()) != null) {
+                itemConsumer.accept(createImportedDataItem(columnNames, values, itemIndex++));
+            }
+        } catch (IOException | CsvException e) {
+            throw new ImportException(e, "Unable to read lines from CSV: " + e.getMessage());
+        }
+    }
+
     @Override
     public String getSupportedDataFormat() {
         return InputDataFormat.CSV;
@@ -73,16 +93,19 @@ public class CsvDataExtractor implements ImportedDataExtractor {
             List<String> columnNames = Arrays.asList(strings.get(0));
             importedData.setDataFieldNames(columnNames);
             for (int i = 1; i < strings.size(); i++) {
-                ImportedDataItem importedDataItem = new ImportedDataItem();
-                importedDataItem.setItemIndex(i);
-                String[] values = strings.get(i);
-                for (int j = 0; j < values.length; j++) {
-                    importedDataItem.addRawValue(columnNames.get(j), values[j]);
-                }
-                importedData.addItem(importedDataItem);
+                importedData.addItem(createImportedDataItem(columnNames, strings.get(i), i));
             }
 
         }
         return importedData;
     }
+
+    protected ImportedDataItem createImportedDataItem(List<String> columnNames, String[] values, int itemIndex) {
+        ImportedDataItem importedDataItem = new ImportedDataItem();
+        importedDataItem.setItemIndex(itemIndex);
+        for (int j = 0; j < values.length; j++) {
+            importedDataItem.addRawValue(columnNames.get(j), values[j]);
+        }
+        return importedDataItem;
+    }
 }
@@ -22,14 +22,31 @@ import io.jmix.dataimport.exception.ImportException;
 import io.jmix.dataimport.extractor.data.ImportedData;
 import io.jmix.dataimport.extractor.data.ImportedDataExtractor;
 import io.jmix.dataimport.extractor.data.ImportedDataItem;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.springframework.stereotype.Component;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Component("datimp_ExcelDataExtractor")
 public class ExcelDataExtractor implements ImportedDataExtractor {
@@ -56,6 +73,45 @@ public class ExcelDataExtractor implements ImportedDataExtractor {
         return getImportedData(workbook);
     }
 
+    /**
+     * Reads the rows of XLSX document by the SAX parser without loading the whole workbook. Documents in the legacy
+     * binary format are parsed completely.
+     */
+    @Override
+    public void extract(ImportConfiguration importConfiguration, InputStream inputStream, Consumer<ImportedDataItem> itemConsumer) {
+        try {
+            InputStream dataStream = FileMagic.prepareToCheckMagic(inputStream);
+            if (FileMagic.valueOf(dataStream) != FileMagic.OOXML) {
+                getImportedData(WorkbookFactory.create(dataStream)).getItems().forEach(itemConsumer);
+                return;
+            }
+
+            OPCPackage opcPackage = OPCPackage.open(dataStream);
+            try {
+                XSSFReader xssfReader = new XSSFReader(opcPackage);
+                ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(opcPackage);
+                StylesTable styles = xssfReader.getStylesTable();
+                Iterator<InputStream> sheets = xssfReader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    return;
+                }
+                try (InputStream sheetStream = sheets.next()) {
+                    XMLReader sheetParser = XMLHelper.newXMLReader();
+                    sheetParser.setContentHandler(new XSSFSheetXMLHandler(styles, null, sharedStrings,
+                            new SheetRowsHandler(itemConsumer), new DataFormatter(), false));
+                    sheetParser.parse(new InputSource(sheetStream));
+                }
+            } finally {
+                // the package is opened only for reading, so its changes are not saved
+                opcPackage.revert();
+            }
+        } catch (IOException e) {
+            throw new ImportException(e, "I/O error occurs during Excel data reading:" + e.getMessage());
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new ImportException(e, "Unable to read Excel data: " + e.getMessage());
+        }
+    }
+
     @Override
     public String getSupportedDataFormat() {
         return InputDataFormat.XLSX;
@@ -90,4 +146,53 @@ public class ExcelDataExtractor implements ImportedDataExtractor {
 
         return importedData;
     }
+
+    /**
+     * Creates {@link ImportedDataItem}s from the rows of the sheet: the first row contains column names,
+     * each next row is passed to the consumer as soon as it is parsed.
+     */
+    protected static class SheetRowsHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        protected final Consumer<ImportedDataItem> itemConsumer;
+        protected final List<String> columnNames = new ArrayList<>();
+        protected boolean headerRow = true;
+        protected String[] rowValues;
+
+        public SheetRowsHandler(Consumer<ImportedDataItem> itemConsumer) {
+            this.itemConsumer = itemConsumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            if (!headerRow) {
+                rowValues = new String[columnNames.size()];
+                Arrays.fill(rowValues, "");
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (headerRow) {
+                headerRow = false;
+                return;
+            }
+            ImportedDataItem dataItem = new ImportedDataItem();
+            dataItem.setItemIndex(rowNum);
+            for (int i = 0; i < columnNames.size(); i++) {
+                dataItem.addRawValue(columnNames.get(i), rowValues[i]);
+            }
+            itemConsumer.accept(dataItem);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (headerRow) {
+                columnNames.add(formattedValue);
+                return;
+            }
+            int columnIndex = new CellReference(cellReference).getCol();
+            if (columnIndex < rowValues.length) {
+                rowValues[columnIndex] = formattedValue;
+            }
+        }
+    }
 }
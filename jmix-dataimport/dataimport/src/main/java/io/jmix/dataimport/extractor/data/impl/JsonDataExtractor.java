@@ -16,7 +16,9 @@
 
 package io.jmix.dataimport.extractor.data.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jmix.dataimport.InputDataFormat;
@@ -31,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Component("datimp_JsonDataExtractor")
 public class JsonDataExtractor implements ImportedDataExtractor {
@@ -61,6 +64,30 @@ public class JsonDataExtractor implements ImportedDataExtractor {
         }
     }
 
+    @Override
+    public void extract(ImportConfiguration importConfiguration, InputStream inputStream, Consumer<ImportedDataItem> itemConsumer) {
+        ObjectMapper mapper = new ObjectMapper();
+        try (JsonParser parser = mapper.createParser(inputStream)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                int itemIndex = 1;
+                while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                    JsonNode entityJsonNode = mapper.readTree(parser);
+                    itemConsumer.accept(createImportedDataItem(entityJsonNode, itemIndex));
+                    itemIndex++;
+                }
+            } else if (token == JsonToken.START_OBJECT) {
+                JsonNode rootNode = mapper.readTree(parser);
+                itemConsumer.accept(createImportedDataItem(rootNode, 1));
+            }
+        } catch (JsonProcessingException e) {
+            throw new ImportException(e, "Error while parsing JSON: " + e.getMessage());
+        } catch (IOException e) {
+            throw new ImportException(e, "I/O error: " + e.getMessage());
+        }
+    }
+
     @Override
     public String getSupportedDataFormat() {
         return InputDataFormat.JSON;
@@ -31,13 +31,16 @@ import io.jmix.dataimport.configuration.mapping.PropertyMapping;
 import io.jmix.dataimport.configuration.mapping.ReferenceMultiFieldPropertyMapping;
 import io.jmix.dataimport.configuration.mapping.ReferencePropertyMapping;
 import io.jmix.dataimport.configuration.mapping.SimplePropertyMapping;
+import io.jmix.dataimport.exception.ImportException;
 import io.jmix.dataimport.exception.ImportUniqueAbortException;
 import io.jmix.dataimport.extractor.data.ImportedData;
+import io.jmix.dataimport.extractor.data.ImportedDataExtractor;
 import io.jmix.dataimport.extractor.data.ImportedDataItem;
 import io.jmix.dataimport.extractor.entity.EntityExtractionResult;
 import io.jmix.dataimport.extractor.entity.EntityExtractor;
 import io.jmix.dataimport.property.populator.EntityInfo;
 import io.jmix.dataimport.property.populator.EntityPropertiesPopulator;
+import io.jmix.dataimport.property.populator.impl.ReferenceValueProvider;
 import io.jmix.dataimport.result.EntityImportError;
 import io.jmix.dataimport.result.EntityImportErrorType;
 import io.jmix.dataimport.result.ImportResult;
@@ -51,14 +54,20 @@ import org.springframework.stereotype.Component;
 
 import org.springframework.lang.Nullable;
 import jakarta.persistence.PersistenceException;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Executes import for a given import configuration and {@link ImportedData}.
+ * <br>
+ * Instead of {@link ImportedData}, the executor can be created for an input stream and {@link ImportedDataExtractor}:
+ * in this case, the data items are read from the input stream during the import, and only the items of the current
+ * batch are kept in memory.
+ * <br>
+ * Duplicates of the entities of one batch are loaded by one query for each {@link UniqueEntityConfiguration}.
+ * Existing references are loaded by one query for each reference property mapping and cached until the end of the import.
  */
 @Component("datimp_DataImportExecutor")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
@@ -83,38 +92,80 @@ public class DataImportExecutor {
     protected EntityPropertiesPopulator entityPropertiesPopulator;
     @Autowired
     protected EntityExtractor entityExtractor;
+    @Autowired
+    protected ReferenceValueProvider referenceValueProvider;
 
     protected ImportResult importResult = new ImportResult();
 
     protected ImportConfiguration importConfiguration;
     protected ImportedData importedData;
 
+    protected ImportedDataExtractor dataExtractor;
+    protected InputStream inputStream;
+
     public DataImportExecutor(ImportConfiguration importConfiguration, ImportedData importedData) {
         this.importConfiguration = importConfiguration;
         this.importedData = importedData;
     }
 
+    public DataImportExecutor(ImportConfiguration importConfiguration, ImportedDataExtractor dataExtractor, InputStream inputStream) {
+        this.importConfiguration = importConfiguration;
+        this.dataExtractor = dataExtractor;
+        this.inputStream = inputStream;
+    }
+
     public ImportResult importData() {
         if (importConfiguration == null) {
             throw new IllegalStateException("Import configuration is not set to execute data import");
         }
 
-        if (importConfiguration.getTransactionStrategy() == ImportTransactionStrategy.SINGLE_TRANSACTION) {
-            importInOneTransaction();
-        } else if (importConfiguration.getTransactionStrategy() == ImportTransactionStrategy.TRANSACTION_PER_BATCH) {
-            importByBatches();
-        } else {
-            importInMultipleTransactions();
+        // the reference cache belongs to this import, it is bound to the thread only while the import is running
+        ReferenceValueProvider.ReferenceCache previousReferenceCache = referenceValueProvider.getCurrentReferenceCache();
+        referenceValueProvider.setCurrentReferenceCache(referenceValueProvider.createReferenceCache());
+        try {
+            if (importConfiguration.getTransactionStrategy() == ImportTransactionStrategy.SINGLE_TRANSACTION) {
+                importInOneTransaction();
+            } else if (importConfiguration.getTransactionStrategy() == ImportTransactionStrategy.TRANSACTION_PER_BATCH) {
+                importByBatches();
+            } else {
+                importInMultipleTransactions();
+            }
+        } catch (ImportException e) {
+            createErrorResult(e, "Input data reading failed: " + e.getMessage());
+        } finally {
+            referenceValueProvider.setCurrentReferenceCache(previousReferenceCache);
         }
 
         return importResult;
     }
 
+    protected ImportedData getImportedData() {
+        if (importedData == null) {
+            ImportedData extractedData = new ImportedData();
+            dataExtractor.extract(importConfiguration, inputStream, extractedData::addItem);
+            importedData = extractedData;
+        }
+        return importedData;
+    }
+
+    /**
+     * Passes the data items to the consumer: the items are read from the input stream if the executor is created
+     * for the input stream, or taken from {@link ImportedData} otherwise.
+     */
+    protected void forEachDataItem(Consumer<ImportedDataItem> itemConsumer) {
+        if (importedData == null && dataExtractor != null) {
+            dataExtractor.extract(importConfiguration, inputStream, itemConsumer);
+        } else {
+            importedData.getItems().forEach(itemConsumer);
+        }
+    }
+
     protected void importInOneTransaction() {
         try {
             List<EntityExtractionResult> extractionResults = null;
             try {
-                extractionResults = entityExtractor.extractEntities(importConfiguration, importedData);
+                referenceValueProvider.preloadReferences(importConfiguration, getImportedData().getItems());
+                extractionResults = entityExtractor.extractEntities(importConfiguration, getImportedData());
             } catch (Exception e) {
                 createErrorResult(e, "Entities extraction failed: " + e.getMessage());
             }
@@ -134,25 +185,23 @@ public class DataImportExecutor {
     }
 
     protected void importByBatches() {
-        int offset = 0;
         int batchSize = importConfiguration.getImportBatchSize();
-        List<ImportedDataItem> allItems = importedData.getItems();
-        while (true) {
-            int end = offset + batchSize;
-            List<ImportedDataItem> importedDataItemsBatch = allItems.subList(offset, Math.min(end, allItems.size()));
-            try {
+        List<ImportedDataItem> importedDataItemsBatch = new ArrayList<>(batchSize);
+        try {
+            forEachDataItem(dataItem -> {
+                importedDataItemsBatch.add(dataItem);
+                if (importedDataItemsBatch.size() >= batchSize) {
+                    processBatch(new ArrayList<>(importedDataItemsBatch));
+                    importedDataItemsBatch.clear();
+                }
+            });
+            if (!importedDataItemsBatch.isEmpty()) {
                 processBatch(importedDataItemsBatch);
-            } catch (ImportUniqueAbortException e) {
-                createErrorResult(e, String.format("Unique violation occurred with Unique Policy ABORT for entity: '%s' with data item: '%s'. Found entity: '%s'",
-                        e.getCreatedEntity(), e.getImportedDataItem(),
-                        e.getExistingEntity()));
-                break;
-            }
-            if (end >= allItems.size()) {
-                break;
-            } else {
-                offset += batchSize;
             }
+        } catch (ImportUniqueAbortException e) {
+            createErrorResult(e, String.format("Unique violation occurred with Unique Policy ABORT for entity: '%s' with data item: '%s'. Found entity: '%s'",
+                    e.getCreatedEntity(), e.getImportedDataItem(),
+                    e.getExistingEntity()));
         }
     }
 
@@ -160,6 +209,7 @@ public class DataImportExecutor {
         List<EntityExtractionResult> extractionResults = null;
         try {
             try {
+                referenceValueProvider.preloadReferences(importConfiguration, importedDataItemsBatch);
                 extractionResults = entityExtractor.extractEntities(importConfiguration, importedDataItemsBatch);
             } catch (Exception e) {
                 importResult.setSuccess(false);
@@ -194,7 +244,7 @@ public class DataImportExecutor {
     protected void importInMultipleTransactions() {
         try {
             importResult.setSuccess(true);
-            importedData.getItems().forEach(dataItem -> {
+            forEachDataItem(dataItem -> {
                 EntityExtractionResult extractionResult = null;
                 try {
                     extractionResult = entityExtractor.extractEntity(importConfiguration, dataItem);
@@ -223,8 +273,9 @@ public class DataImportExecutor {
 
     protected List<Object> checkExtractionResults(List<EntityExtractionResult> extractionResults) {
         List<EntityExtractionResult> processedResults = new ArrayList<>(); //to search duplicates
+        Map<UniqueEntityConfiguration, ExistingEntities> existingEntities = loadExistingEntities(extractionResults);
         return extractionResults.stream()
-                .filter(extractionResult -> checkEntityDuplicate(extractionResult, processedResults))
+                .filter(extractionResult -> checkEntityDuplicate(extractionResult, processedResults, existingEntities))
                 .filter(this::checkPreImportPredicate)
                 .map(EntityExtractionResult::getEntity)
                 .distinct()
@@ -275,11 +326,16 @@ public class DataImportExecutor {
     }
 
     protected boolean checkEntityDuplicate(EntityExtractionResult entityExtractionResult, List<EntityExtractionResult> processedResults) {
+        return checkEntityDuplicate(entityExtractionResult, processedResults, Collections.emptyMap());
+    }
+
+    protected boolean checkEntityDuplicate(EntityExtractionResult entityExtractionResult, List<EntityExtractionResult> processedResults,
+                                           Map<UniqueEntityConfiguration, ExistingEntities> existingEntities) {
         boolean needToImport = true;
         if (CollectionUtils.isNotEmpty(importConfiguration.getUniqueEntityConfigurations())) {
             Object extractedEntity = entityExtractionResult.getEntity();
             for (UniqueEntityConfiguration configuration : importConfiguration.getUniqueEntityConfigurations()) {
-                Object existingEntity = getDuplicateEntity(extractedEntity, configuration, processedResults);
+                Object existingEntity = getDuplicateEntity(extractedEntity, configuration, processedResults, existingEntities.get(configuration));
                 if (existingEntity != null) {
                     needToImport = processExistingEntity(entityExtractionResult, configuration, existingEntity);
                 }
@@ -291,8 +347,24 @@ public class DataImportExecutor {
 
     @Nullable
     protected Object getDuplicateEntity(Object extractedEntity, UniqueEntityConfiguration configuration, @Nullable List<EntityExtractionResult> processedResults) {
-        FetchPlan fetchPlan = getFetchPlanBuilder(createEntityImportPlan(extractedEntity)).build();
-        Object existingEntity = duplicateEntityManager.load(extractedEntity, configuration, fetchPlan);
+        return getDuplicateEntity(extractedEntity, configuration, processedResults, null);
+    }
+
+    @Nullable
+    protected Object getDuplicateEntity(Object extractedEntity, UniqueEntityConfiguration configuration,
+                                        @Nullable List<EntityExtractionResult> processedResults,
+                                        @Nullable ExistingEntities existingEntities) {
+        Object existingEntity = null;
+        boolean loaded = false;
+        if (existingEntities != null) {
+            Map<String, Object> propertyValues = getUniquePropertyValues(extractedEntity, configuration);
+            existingEntity = existingEntities.entitiesByValues.get(propertyValues);
+            loaded = existingEntity != null || (existingEntities.complete && isBatchLoadSupported(propertyValues));
+        }
+        if (!loaded) {
+            FetchPlan fetchPlan = getFetchPlanBuilder(createEntityImportPlan(extractedEntity)).build();
+            existingEntity = duplicateEntityManager.load(extractedEntity, configuration, fetchPlan);
+        }
         if (existingEntity == null) {
             if (processedResults != null) {
                 EntityExtractionResult duplicateResult = processedResults.stream()
@@ -307,6 +379,66 @@ public class DataImportExecutor {
         return existingEntity;
     }
 
+    /**
+     * Loads existing duplicates of the extracted entities by one query for each unique entity configuration.
+     * The entities which unique properties contain empty values are not processed here and are checked separately.
+     */
+    protected Map<UniqueEntityConfiguration, ExistingEntities> loadExistingEntities(List<EntityExtractionResult> extractionResults) {
+        if (CollectionUtils.isEmpty(importConfiguration.getUniqueEntityConfigurations()) || extractionResults.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        FetchPlanBuilder fetchPlanBuilder = fetchPlans.builder(importConfiguration.getEntityClass());
+        extractionResults.forEach(extractionResult ->
+                fetchPlanBuilder.merge(getFetchPlanBuilder(createEntityImportPlan(extractionResult.getEntity())).build()));
+        // unique property values of the loaded entities are compared with the extracted ones
+        importConfiguration.getUniqueEntityConfigurations().forEach(configuration ->
+                configuration.getEntityPropertyNames().forEach(fetchPlanBuilder::add));
+        FetchPlan fetchPlan = fetchPlanBuilder.build();
+
+        Map<UniqueEntityConfiguration, ExistingEntities> existingEntitiesByConfiguration = new HashMap<>();
+        for (UniqueEntityConfiguration configuration : importConfiguration.getUniqueEntityConfigurations()) {
+            Set<Map<String, Object>> propertyValuesToLoad = new LinkedHashSet<>();
+            extractionResults.forEach(extractionResult -> {
+                Map<String, Object> propertyValues = getUniquePropertyValues(extractionResult.getEntity(), configuration);
+                if (isBatchLoadSupported(propertyValues)) {
+                    propertyValuesToLoad.add(propertyValues);
+                }
+            });
+
+            ExistingEntities existingEntities = new ExistingEntities();
+            if (!propertyValuesToLoad.isEmpty()) {
+                List<Object> loadedEntities = duplicateEntityManager.loadAll(importConfiguration.getEntityClass(), propertyValuesToLoad, fetchPlan);
+                for (Object loadedEntity : loadedEntities) {
+                    Map<String, Object> propertyValues = getUniquePropertyValues(loadedEntity, configuration);
+                    if (propertyValuesToLoad.contains(propertyValues)) {
+                        existingEntities.entitiesByValues.putIfAbsent(propertyValues, loadedEntity);
+                    } else {
+                        // values loaded from the database differ from the imported ones (e.g. in case-insensitive collations),
+                        // so the entities that are not found are checked separately
+                        existingEntities.complete = false;
+                    }
+                }
+            }
+            existingEntitiesByConfiguration.put(configuration, existingEntities);
+        }
+        return existingEntitiesByConfiguration;
+    }
+
+    protected Map<String, Object> getUniquePropertyValues(Object entity, UniqueEntityConfiguration configuration) {
+        Map<String, Object> propertyValues = new HashMap<>();
+        configuration.getEntityPropertyNames().forEach(propertyName ->
+                propertyValues.put(propertyName, EntityValues.getValueEx(entity, propertyName)));
+        return propertyValues;
+    }
+
+    protected boolean isBatchLoadSupported(Map<String, Object> propertyValues) {
+        return !propertyValues.isEmpty() && propertyValues.values().stream()
+                .noneMatch(value -> value == null
+                        || (value instanceof CharSequence && ((CharSequence) value).length() == 0)
+                        || (value instanceof Entity && entityStates.isNew(value)));
+    }
+
     protected boolean checkPreImportPredicate(EntityExtractionResult entityExtractionResult) {
         if (importConfiguration.getPreImportPredicate() != null) {
             boolean needToImport = importConfiguration.getPreImportPredicate().test(entityExtractionResult);
@@ -467,4 +599,12 @@ public class DataImportExecutor {
                 break;
         }
     }
-}
+
+    /**
+     * Existing duplicates loaded for a batch by values of the properties from a unique entity configuration.
+     */
+    protected static class ExistingEntities {
+        protected final Map<Map<String, Object>, Object> entitiesByValues = new HashMap<>();
+        protected boolean complete = true;
+    }
+}
\ No newline at end of file
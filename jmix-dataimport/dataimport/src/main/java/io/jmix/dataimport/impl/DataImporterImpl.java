@@ -18,6 +18,7 @@ package io.jmix.dataimport.impl;
 
 import io.jmix.dataimport.DataImporter;
 import io.jmix.dataimport.configuration.ImportConfiguration;
+import io.jmix.dataimport.configuration.ImportTransactionStrategy;
 import io.jmix.dataimport.extractor.data.ImportedData;
 import io.jmix.dataimport.extractor.data.ImportedDataExtractor;
 import io.jmix.dataimport.extractor.data.ImportedDataExtractors;
@@ -61,6 +62,11 @@ public class DataImporterImpl implements DataImporter {
         try {
             importConfigurationValidator.validate(configuration);
             ImportedDataExtractor dataExtractor = importedDataExtractors.getExtractor(configuration.getInputDataFormat());
+            if (configuration.isStreamingExtraction()
+                    && configuration.getTransactionStrategy() != ImportTransactionStrategy.SINGLE_TRANSACTION) {
+                DataImportExecutor dataImportExecutor = dataImportExecutors.getObject(configuration, dataExtractor, inputStream);
+                return dataImportExecutor.importData();
+            }
             ImportedData importedData = dataExtractor.extract(configuration, inputStream);
             return importData(configuration, importedData);
         } catch (Exception e) {
@@ -16,6 +16,7 @@
 
 package io.jmix.dataimport.impl;
 
+import com.google.common.collect.Iterables;
 import io.jmix.core.DataManager;
 import io.jmix.core.FetchPlan;
 import io.jmix.core.entity.EntityValues;
@@ -28,11 +29,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Component("datimp_DuplicateEntityManager")
 public class DuplicateEntityManagerImpl implements DuplicateEntityManager {
+    /**
+     * Maximum number of property value maps in the condition of one query.
+     */
+    protected static final int LOAD_ALL_CHUNK_SIZE = 500;
+
     @Autowired
     protected DataManager dataManager;
 
@@ -108,4 +118,49 @@ public class DuplicateEntityManagerImpl implements DuplicateEntityManager {
         });
         return loadByCondition(entityClass, fetchPlan, condition);
     }
+
+    @Override
+    public List<Object> loadAll(Class entityClass, Collection<Map<String, Object>> propertyValuesList, @Nullable FetchPlan fetchPlan) {
+        Set<Map<String, Object>> distinctPropertyValues = new LinkedHashSet<>(propertyValuesList);
+        distinctPropertyValues.removeIf(Map::isEmpty);
+
+        List<Object> entities = new ArrayList<>();
+        for (List<Map<String, Object>> chunk : Iterables.partition(distinctPropertyValues, LOAD_ALL_CHUNK_SIZE)) {
+            List<Object> loadedEntities = dataManager.load(entityClass)
+                    .condition(createLoadAllCondition(chunk))
+                    .fetchPlan(fetchPlan)
+                    .list();
+            loadedEntities.stream()
+                    .filter(entity -> !entities.contains(entity))
+                    .forEach(entities::add);
+        }
+        return entities;
+    }
+
+    protected LogicalCondition createLoadAllCondition(List<Map<String, Object>> propertyValuesList) {
+        Set<String> propertyNames = propertyValuesList.get(0).keySet();
+        boolean singleProperty = propertyNames.size() == 1
+                && propertyValuesList.stream().allMatch(propertyValues -> propertyValues.keySet().equals(propertyNames)
+                && propertyValues.values().iterator().next() != null);
+        if (singleProperty) {
+            String propertyName = propertyNames.iterator().next();
+            List<Object> values = new ArrayList<>();
+            propertyValuesList.forEach(propertyValues -> values.add(propertyValues.get(propertyName)));
+            return LogicalCondition.and(PropertyCondition.inList(propertyName, values));
+        }
+
+        LogicalCondition condition = LogicalCondition.or();
+        propertyValuesList.forEach(propertyValues -> {
+            LogicalCondition valuesCondition = LogicalCondition.and();
+            propertyValues.forEach((propertyName, propertyValue) -> {
+                if (propertyValue != null) {
+                    valuesCondition.add(PropertyCondition.equal(propertyName, propertyValue));
+                } else {
+                    valuesCondition.add(PropertyCondition.isSet(propertyName, false));
+                }
+            });
+            condition.add(valuesCondition);
+        });
+        return condition;
+    }
 }
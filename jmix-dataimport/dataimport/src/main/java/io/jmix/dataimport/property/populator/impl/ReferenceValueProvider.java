@@ -16,16 +16,22 @@
 
 package io.jmix.dataimport.property.populator.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jmix.core.Metadata;
 import io.jmix.core.MetadataTools;
+import io.jmix.core.entity.EntityValues;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.Range;
 import io.jmix.dataimport.DuplicateEntityManager;
+import io.jmix.dataimport.configuration.ImportConfiguration;
 import io.jmix.dataimport.configuration.mapping.PropertyMapping;
 import io.jmix.dataimport.configuration.mapping.ReferenceImportPolicy;
 import io.jmix.dataimport.configuration.mapping.ReferenceMultiFieldPropertyMapping;
 import io.jmix.dataimport.configuration.mapping.ReferencePropertyMapping;
 import io.jmix.dataimport.exception.ImportException;
+import io.jmix.dataimport.extractor.data.RawValuesSource;
 import io.jmix.dataimport.property.populator.PropertyMappingContext;
 import io.jmix.dataimport.property.populator.PropertyMappingUtils;
 import org.slf4j.Logger;
@@ -34,13 +40,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import org.springframework.lang.Nullable;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 @Component("datimp_ReferenceValueProvider")
 public class ReferenceValueProvider {
     public static final Logger log = LoggerFactory.getLogger(ReferenceValueProvider.class);
+
+    /**
+     * Maximum number of existing references kept in the cache of one import.
+     */
+    protected static final int REFERENCE_CACHE_SIZE = 10000;
+
+    @Autowired
+    protected Metadata metadata;
     @Autowired
     protected MetadataTools metadataTools;
     @Autowired
@@ -50,6 +62,141 @@ public class ReferenceValueProvider {
     @Autowired
     protected PropertyMappingUtils propertyMappingUtils;
 
+    /**
+     * Reference cache of the import running in the current thread. The cache is owned by the import
+     * and is only bound to the thread while the import is running, so concurrent imports, even with the same
+     * configuration, don't share cached references.
+     */
+    protected final ThreadLocal<ReferenceCache> currentReferenceCache = new ThreadLocal<>();
+
+    /**
+     * Creates an empty cache of existing references for one import.
+     */
+    public ReferenceCache createReferenceCache() {
+        return new ReferenceCache();
+    }
+
+    /**
+     * Returns the reference cache of the import running in the current thread.
+     */
+    @Nullable
+    public ReferenceCache getCurrentReferenceCache() {
+        return currentReferenceCache.get();
+    }
+
+    /**
+     * Binds the reference cache to the current thread, so existing references loaded by the import running in this
+     * thread are cached in it. The cache should be unbound by passing {@code null} when the import is finished.
+     *
+     * @param referenceCache reference cache created by {@link #createReferenceCache()} or null to unbind the cache
+     */
+    public void setCurrentReferenceCache(@Nullable ReferenceCache referenceCache) {
+        if (referenceCache == null) {
+            currentReferenceCache.remove();
+        } else {
+            currentReferenceCache.set(referenceCache);
+        }
+    }
+
+    /**
+     * Loads the existing references of the specified data items into the reference cache. The references mapped by
+     * one property mapping are loaded by one query. The reference cache should be bound to the current thread
+     * by {@link #setCurrentReferenceCache(ReferenceCache)} before.
+     *
+     * @param importConfiguration import configuration
+     * @param rawValuesSources    data items of the current batch
+     */
+    public void preloadReferences(ImportConfiguration importConfiguration, Collection<? extends RawValuesSource> rawValuesSources) {
+        ReferenceCache referenceCache = currentReferenceCache.get();
+        if (referenceCache == null) {
+            return;
+        }
+        referenceCache.missing.clear();
+
+        MetaClass ownerMetaClass = metadata.getClass(importConfiguration.getEntityClass());
+        importConfiguration.getPropertyMappings().stream()
+                .filter(propertyMapping -> isPreloadSupported(ownerMetaClass, propertyMapping))
+                .forEach(propertyMapping -> preloadReferences(referenceCache, importConfiguration, ownerMetaClass, propertyMapping, rawValuesSources));
+    }
+
+    protected boolean isPreloadSupported(MetaClass ownerMetaClass, PropertyMapping propertyMapping) {
+        if (!(propertyMapping instanceof ReferencePropertyMapping || propertyMapping instanceof ReferenceMultiFieldPropertyMapping)) {
+            return false;
+        }
+        ReferenceImportPolicy referenceImportPolicy = getReferenceImportPolicy(propertyMapping);
+        if (referenceImportPolicy == null || referenceImportPolicy == ReferenceImportPolicy.CREATE) {
+            return false;
+        }
+        MetaProperty metaProperty = ownerMetaClass.getProperty(propertyMapping.getEntityPropertyName());
+        Range.Cardinality cardinality = metaProperty.getRange().getCardinality();
+        return !metadataTools.isEmbedded(metaProperty)
+                && (cardinality == Range.Cardinality.MANY_TO_ONE || cardinality == Range.Cardinality.ONE_TO_ONE);
+    }
+
+    protected void preloadReferences(ReferenceCache referenceCache, ImportConfiguration importConfiguration,
+                                     MetaClass ownerMetaClass, PropertyMapping propertyMapping,
+                                     Collection<? extends RawValuesSource> rawValuesSources) {
+        Class<?> referenceClass = ownerMetaClass.getProperty(propertyMapping.getEntityPropertyName()).getRange().asClass().getJavaClass();
+
+        Set<Map<String, Object>> propertyValuesToLoad = new LinkedHashSet<>();
+        for (RawValuesSource rawValuesSource : rawValuesSources) {
+            PropertyMappingContext context = new PropertyMappingContext(propertyMapping)
+                    .setImportConfiguration(importConfiguration)
+                    .setRawValuesSource(getRawValuesSource(rawValuesSource, propertyMapping))
+                    .setOwnerEntityMetaClass(ownerMetaClass);
+            Map<String, Object> propertyValues;
+            try {
+                propertyValues = propertyMappingUtils.getPropertyValues(context);
+            } catch (Exception e) {
+                // the error is reported when the entity is extracted
+                continue;
+            }
+            if (isPreloadSupported(propertyValues)
+                    && referenceCache.existing.getIfPresent(new ReferenceKey(referenceClass, propertyValues)) == null) {
+                propertyValuesToLoad.add(propertyValues);
+            }
+        }
+        if (propertyValuesToLoad.isEmpty()) {
+            return;
+        }
+
+        List<Object> loadedReferences = duplicateEntityManager.loadAll(referenceClass, propertyValuesToLoad, null);
+        Set<String> propertyNames = propertyValuesToLoad.iterator().next().keySet();
+        Set<Map<String, Object>> notFoundPropertyValues = new HashSet<>(propertyValuesToLoad);
+        boolean allReferencesMatched = true;
+        for (Object loadedReference : loadedReferences) {
+            Map<String, Object> propertyValues = new HashMap<>();
+            propertyNames.forEach(propertyName -> propertyValues.put(propertyName, EntityValues.getValueEx(loadedReference, propertyName)));
+            if (propertyValuesToLoad.contains(propertyValues)) {
+                if (notFoundPropertyValues.remove(propertyValues)) {
+                    referenceCache.existing.put(new ReferenceKey(referenceClass, propertyValues), loadedReference);
+                }
+            } else {
+                allReferencesMatched = false;
+            }
+        }
+        // values loaded from the database may differ from the imported ones (e.g. in case-insensitive collations),
+        // so absence of a reference is trusted only if each loaded reference is matched to imported values
+        if (allReferencesMatched) {
+            notFoundPropertyValues.forEach(propertyValues -> referenceCache.missing.add(new ReferenceKey(referenceClass, propertyValues)));
+        }
+    }
+
+    protected boolean isPreloadSupported(Map<String, Object> propertyValues) {
+        return !propertyValues.isEmpty() && propertyValues.values().stream()
+                .noneMatch(value -> value == null || (value instanceof CharSequence && ((CharSequence) value).length() == 0));
+    }
+
+    protected RawValuesSource getRawValuesSource(RawValuesSource rawValuesSource, PropertyMapping propertyMapping) {
+        if (propertyMapping instanceof ReferenceMultiFieldPropertyMapping && propertyMapping.getDataFieldName() != null) {
+            Object propertyRawValuesSource = rawValuesSource.getRawValue(propertyMapping.getDataFieldName());
+            if (propertyRawValuesSource instanceof RawValuesSource) {
+                return (RawValuesSource) propertyRawValuesSource;
+            }
+        }
+        return rawValuesSource;
+    }
+
     @Nullable
     public Object getSingleEntity(PropertyMappingContext context, @Nullable List<Object> createdReferences) {
         MetaProperty referenceMetaProperty = context.getMetaProperty();
@@ -174,7 +321,20 @@ public class ReferenceValueProvider {
         Map<String, Object> propertyValues = propertyMappingUtils.getPropertyValues(context);
 
         if (!propertyValues.isEmpty()) {
-            return duplicateEntityManager.load(referenceMetaClass.getJavaClass(), propertyValues, null);
+            ReferenceCache referenceCache = currentReferenceCache.get();
+            if (referenceCache == null) {
+                return duplicateEntityManager.load(referenceMetaClass.getJavaClass(), propertyValues, null);
+            }
+
+            ReferenceKey referenceKey = new ReferenceKey(referenceMetaClass.getJavaClass(), propertyValues);
+            Object reference = referenceCache.existing.getIfPresent(referenceKey);
+            if (reference == null && !referenceCache.missing.contains(referenceKey)) {
+                reference = duplicateEntityManager.load(referenceMetaClass.getJavaClass(), propertyValues, null);
+                if (reference != null) {
+                    referenceCache.existing.put(referenceKey, reference);
+                }
+            }
+            return reference;
         }
 
         return null;
@@ -195,4 +355,41 @@ public class ReferenceValueProvider {
         throw new ImportException(String.format("Existing value not found for property [%s] in entity [%s]", context.getPropertyMapping().getEntityPropertyName(),
                 context.getOwnerEntityMetaClass().getName()));
     }
+
+    /**
+     * References cached during one import: existing references are kept until the end of the import,
+     * missing ones only until the next batch, since they can be created by the current batch.
+     */
+    public static class ReferenceCache {
+        protected final Cache<ReferenceKey, Object> existing = CacheBuilder.newBuilder()
+                .maximumSize(REFERENCE_CACHE_SIZE)
+                .build();
+        protected final Set<ReferenceKey> missing = new HashSet<>();
+
+        protected ReferenceCache() {
+        }
+    }
+
+    protected static class ReferenceKey {
+        protected final Class<?> referenceClass;
+        protected final Map<String, Object> propertyValues;
+
+        public ReferenceKey(Class<?> referenceClass, Map<String, Object> propertyValues) {
+            this.referenceClass = referenceClass;
+            this.propertyValues = new HashMap<>(propertyValues);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ReferenceKey that = (ReferenceKey) o;
+            return referenceClass.equals(that.referenceClass) && propertyValues.equals(that.propertyValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(referenceClass, propertyValues);
+        }
+    }
 }
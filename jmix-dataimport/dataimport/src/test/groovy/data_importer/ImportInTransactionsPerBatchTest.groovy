@@ -152,6 +152,43 @@ class ImportInTransactionsPerBatchTest extends DataImportSpec {
         checkCustomer(order3.customer, 'Tom Smith', 't.smith@mail.com', null)
     }
 
+    def 'test import with streaming extraction'() {
+        given:
+        def importConfig = ImportConfiguration.builder(Order, InputDataFormat.CSV)
+                .addSimplePropertyMapping("orderNumber", "Order Num")
+                .addSimplePropertyMapping("date", "Order Date")
+                .addSimplePropertyMapping("amount", "Order Amount")
+                .addPropertyMapping(ReferenceMultiFieldPropertyMapping.builder("customer", ReferenceImportPolicy.CREATE_IF_MISSING)
+                        .addSimplePropertyMapping("name", "Customer Name")
+                        .addSimplePropertyMapping("email", "Customer Email")
+                        .lookupByAllSimpleProperties()
+                        .build())
+                .withDateFormat('dd/MM/yyyy HH:mm')
+                .withTransactionStrategy(ImportTransactionStrategy.TRANSACTION_PER_BATCH)
+                .withImportBatchSize(2)
+                .withStreamingExtraction(true)
+                .build()
+
+        def csvContent = resources.getResourceAsStream("/test_support/input_data_files/csv/orders.csv")
+
+        def customer = dataManager.create(Customer)
+        customer.name = 'John Dow'
+        customer = dataManager.save(customer)
+
+        when: 'data imported'
+        def result = dataImporter.importData(importConfig, csvContent)
+
+        then:
+        result.success
+        result.importedEntityIds.size() == 3
+
+        def order1 = loadEntity(Order, result.importedEntityIds[0], "order-with-customer") as Order
+        order1.customer == customer
+
+        def order3 = loadEntity(Order, result.importedEntityIds[2], "order-with-customer") as Order
+        checkCustomer(order3.customer, 'Tom Smith', 't.smith@mail.com', null)
+    }
+
     def 'test import with one-to-many composition for new entity to import'() {
         given:
         def importConfig = ImportConfiguration.builder(Customer, InputDataFormat.CSV)
@@ -63,6 +63,25 @@ class CsvDataExtractorTest extends DataImportSpec {
         secondProduct.getRawValue('Price') == '5.10'
     }
 
+    def "test data items read incrementally from input stream"() {
+        given:
+        def inputStream = resources.getResourceAsStream("test_support/input_data_files/csv/products.csv")
+
+        ImportConfiguration importConfiguration = new ImportConfiguration(Product, InputDataFormat.CSV)
+        def items = []
+
+        when: 'data items extracted'
+        csvDataExtractor.extract(importConfiguration, inputStream, { item -> items.add(item) })
+
+        then:
+        items.size() == 2
+        items[0].itemIndex == 1
+        items[0].getRawValue('Product Name') == 'Outback Power Nano-Carbon Battery 12V'
+        items[0].getRawValue('Price') == '6.25'
+        items[1].itemIndex == 2
+        items[1].getRawValue('Special') == 'No'
+    }
+
     def "test imported data from byte array"() {
         given:
         def inputBytes = IOUtils.toByteArray(resources.getResourceAsStream("test_support/input_data_files/csv/products.csv"))
@@ -62,6 +62,28 @@ class ExcelDataExtractorTest extends DataImportSpec {
         secondProduct.getRawValue('Price') == '5.10'
     }
 
+    def "test data items read incrementally from input stream"() {
+        given:
+        def inputStream = resources.getResourceAsStream("test_support/input_data_files/xlsx/products.xlsx")
+
+        ImportConfiguration importConfiguration = new ImportConfiguration(Product, InputDataFormat.XLSX)
+        def items = []
+
+        when: 'data items extracted'
+        excelDataExtractor.extract(importConfiguration, inputStream, { item -> items.add(item) })
+
+        then:
+        items.size() == 2
+        items[0].itemIndex == 1
+        items[0].rawValues.size() == 3
+        items[0].getRawValue('Product Name') == 'Outback Power Nano-Carbon Battery 12V'
+        items[0].getRawValue('Special') == 'Yes'
+        items[0].getRawValue('Price') == '6.25'
+        items[1].itemIndex == 2
+        items[1].getRawValue('Product Name') == 'Fullriver Sealed Battery 6V'
+        items[1].getRawValue('Price') == '5.10'
+    }
+
     def "test imported data from byte array"() {
         given:
         def inputBytes = IOUtils.toByteArray(resources.getResourceAsStream("test_support/input_data_files/xlsx/products.xlsx"))
@@ -55,6 +55,21 @@ class JsonDataExtractorTest extends DataImportSpec {
         }
     }
 
+    def "test data items read incrementally from input stream"() {
+        given:
+        def inputStream = resources.getResourceAsStream("test_support/input_data_files/json/customers_and_addresses.json")
+
+        ImportConfiguration importConfiguration = new ImportConfiguration(Customer, InputDataFormat.JSON)
+        def items = []
+
+        when: 'data items extracted'
+        jsonDataExtractor.extract(importConfiguration, inputStream, { item -> items.add(item) })
+
+        then:
+        items.size() == 3
+        items*.itemIndex == [1, 2, 3]
+    }
+
     def "test read imported data from byte array"() {
         given:
         def jsonString = resources.getResourceAsString("test_support/input_data_files/json/customers_and_addresses.json")
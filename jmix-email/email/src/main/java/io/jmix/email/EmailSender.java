@@ -19,6 +19,10 @@ package io.jmix.email;
 import io.jmix.email.entity.SendingMessage;
 
 import jakarta.mail.MessagingException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Adapter to javax.mail email sending API.
  * <br>
@@ -34,4 +38,23 @@ public interface EmailSender {
      * @throws MessagingException if delivery fails
      */
     void sendEmail(SendingMessage sendingMessage) throws MessagingException;
-}
\ No newline at end of file
+
+    /**
+     * Sends several emails. Implementations may reuse one connection to the mail server for all of them.
+     * Message bodies and attachments' content must be loaded from file storage.
+     *
+     * @param sendingMessages messages to send
+     * @return messages which have not been sent, mapped to the delivery exceptions
+     */
+    default Map<SendingMessage, Exception> sendEmails(List<SendingMessage> sendingMessages) {
+        Map<SendingMessage, Exception> failedMessages = new LinkedHashMap<>();
+        for (SendingMessage sendingMessage : sendingMessages) {
+            try {
+                sendEmail(sendingMessage);
+            } catch (Exception e) {
+                failedMessages.put(sendingMessage, e);
+            }
+        }
+        return failedMessages;
+    }
+}
@@ -118,6 +118,18 @@ public class EmailerProperties {
      */
     boolean cleanFileStorage;
 
+    /**
+     * Maximum number of queued messages sent over one connection to the mail server. Value less than 2 (default)
+     * makes the emailer open a new connection for each queued message. Messages with different sender addresses
+     * are never sent over the same connection.
+     */
+    int messagesPerConnection;
+
+    /**
+     * Maximum number of queued messages sent per second. Value == 0 means no limit.
+     */
+    double sendingRateLimit;
+
     public EmailerProperties(@DefaultValue("DoNotReply@localhost") String fromAddress,
                              @DefaultValue("2") int scheduledSendingDelayCallCount,
                              @DefaultValue("100") int messageQueueCapacity,
@@ -131,7 +143,9 @@ public class EmailerProperties {
                              @DefaultValue("0") int maxAgeOfImportantMessages,
                              @DefaultValue("0") int maxAgeOfNonImportantMessages,
                              @DefaultValue("0 0 0 * * ?") String emailCleaningCron,
-                             @DefaultValue("false") boolean cleanFileStorage) {
+                             @DefaultValue("false") boolean cleanFileStorage,
+                             @DefaultValue("1") int messagesPerConnection,
+                             @DefaultValue("0") double sendingRateLimit) {
         this.fromAddress = fromAddress;
         this.scheduledSendingDelayCallCount = scheduledSendingDelayCallCount;
         this.messageQueueCapacity = messageQueueCapacity;
@@ -146,6 +160,8 @@ public class EmailerProperties {
         this.maxAgeOfNonImportantMessages = maxAgeOfNonImportantMessages;
         this.emailCleaningCron = emailCleaningCron;
         this.cleanFileStorage = cleanFileStorage;
+        this.messagesPerConnection = messagesPerConnection;
+        this.sendingRateLimit = sendingRateLimit;
     }
 
     /**
@@ -259,4 +275,18 @@ public class EmailerProperties {
     public boolean getCleanFileStorage() {
         return cleanFileStorage;
     }
+
+    /**
+     * @see #messagesPerConnection
+     */
+    public int getMessagesPerConnection() {
+        return messagesPerConnection;
+    }
+
+    /**
+     * @see #sendingRateLimit
+     */
+    public double getSendingRateLimit() {
+        return sendingRateLimit;
+    }
 }
@@ -16,6 +16,7 @@
 
 package io.jmix.email.impl;
 
+import com.google.common.collect.Lists;
 import io.jmix.core.*;
 import io.jmix.data.PersistenceHints;
 import io.jmix.data.impl.EntityEventManager;
@@ -40,15 +41,14 @@ import jakarta.persistence.PersistenceContext;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Component("email_EmailDataProvider")
 public class EmailDataProviderImpl implements EmailDataProvider {
 
     protected static final String BODY_FILE_EXTENSION = "txt";
+    protected static final int UPDATE_STATUS_BATCH_SIZE = 500;
 
     private static final Logger log = LoggerFactory.getLogger(EmailDataProviderImpl.class);
 
@@ -118,22 +118,61 @@ public class EmailDataProviderImpl implements EmailDataProvider {
         try {
             transaction.executeWithoutResult(transactionStatus -> {
                 SendingMessage msg = entityManager.merge(sendingMessage);
+                applyStatus(msg, status);
+            });
+        } catch (Exception e) {
+            log.error(buildErrorMessage(status), sendingMessage.getAddress(), e);
+        }
+    }
 
-                msg.setAttemptsMade(msg.getAttemptsMade() + 1);
-                msg.setStatus(status);
+    /**
+     * Updates statuses of all messages in one transaction. The messages are loaded into the persistence context
+     * by batches of ids and then merged, so entity listeners, auditing and optimistic locking work the same way
+     * as in {@link #updateStatus(SendingMessage, SendingStatus)}. If the transaction fails, e.g. because one
+     * of the messages has been changed concurrently, statuses are updated one by one.
+     */
+    @Override
+    public void updateStatuses(Map<SendingMessage, SendingStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return;
+        }
 
-                if(status == SendingStatus.QUEUE && shouldMarkNotSent(msg)) {
-                    msg.setStatus(SendingStatus.NOT_SENT);
-                }
-                if (status == SendingStatus.SENT) {
-                    msg.setDateSent(timeSource.currentTimestamp());
-                }
-                if (emailerProperties.isUseFileStorage()) {
-                    msg.setContentText(null);
+        try {
+            transaction.executeWithoutResult(transactionStatus -> {
+                List<UUID> ids = statuses.keySet().stream()
+                        .map(SendingMessage::getId)
+                        .collect(Collectors.toList());
+                for (List<UUID> idsBatch : Lists.partition(ids, UPDATE_STATUS_BATCH_SIZE)) {
+                    entityManager.createQuery("select sm from email_SendingMessage sm where sm.id in :ids",
+                                    SendingMessage.class)
+                            .setParameter("ids", idsBatch)
+                            .getResultList();
                 }
+
+                statuses.forEach((sendingMessage, status) -> {
+                    SendingMessage msg = entityManager.merge(sendingMessage);
+                    applyStatus(msg, status);
+                });
             });
         } catch (Exception e) {
-            log.error(buildErrorMessage(status), sendingMessage.getAddress(), e);
+            log.warn("Error updating status of {} messages in one transaction, updating them one by one",
+                    statuses.size(), e);
+            statuses.forEach(this::updateStatus);
+        }
+    }
+
+    protected void applyStatus(SendingMessage msg, SendingStatus status) {
+        msg.setAttemptsMade(msg.getAttemptsMade() + 1);
+        msg.setStatus(status);
+
+        if(status == SendingStatus.QUEUE && shouldMarkNotSent(msg)) {
+            msg.setStatus(SendingStatus.NOT_SENT);
+        }
+        if (status == SendingStatus.SENT) {
+            msg.setDateSent(timeSource.currentTimestamp());
+        }
+        if (emailerProperties.isUseFileStorage()) {
+            msg.setContentText(null);
         }
     }
 
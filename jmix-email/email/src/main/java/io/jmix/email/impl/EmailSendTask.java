@@ -26,6 +26,8 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component("email_EmailSendTask")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
 public class EmailSendTask implements Runnable {
@@ -42,21 +44,38 @@ public class EmailSendTask implements Runnable {
 
     private SendingMessage sendingMessage;
 
+    private List<SendingMessage> sendingMessages;
+
     public EmailSendTask(SendingMessage sendingMessage) {
         this.sendingMessage = sendingMessage;
     }
 
+    /**
+     * Creates a task sending all given messages over one connection to the mail server.
+     */
+    public EmailSendTask(List<SendingMessage> sendingMessages) {
+        this.sendingMessages = sendingMessages;
+    }
+
     @Override
     public void run() {
         try {
             authenticator.begin(emailerProperties.getAsyncSendingUsername());
             try {
-                emailer.sendSendingMessage(sendingMessage);
+                if (sendingMessages != null) {
+                    emailer.sendSendingMessages(sendingMessages);
+                } else {
+                    emailer.sendSendingMessage(sendingMessage);
+                }
             } finally {
                 authenticator.end();
             }
         } catch (Exception e) {
-            log.error("Exception while sending email to '{}': ", sendingMessage.getAddress(), e);
+            if (sendingMessages != null) {
+                log.error("Exception while sending {} emails: ", sendingMessages.size(), e);
+            } else {
+                log.error("Exception while sending email to '{}': ", sendingMessage.getAddress(), e);
+            }
         }
     }
 }
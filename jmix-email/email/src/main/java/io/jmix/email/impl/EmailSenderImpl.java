@@ -31,6 +31,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Component;
 
@@ -43,6 +45,10 @@ import jakarta.mail.internet.*;
 import java.io.*;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component("email_EmailSender")
 public class EmailSenderImpl implements EmailSender {
@@ -72,6 +78,56 @@ public class EmailSenderImpl implements EmailSender {
         log.info("Email '{}' to '{}' has been sent successfully", msg.getSubject(), sendingMessage.getAddress());
     }
 
+    /**
+     * Sends all messages by one {@link JavaMailSender#send(MimeMessage...)} call, so a single connection
+     * to the mail server is used for them.
+     */
+    @Override
+    public Map<SendingMessage, Exception> sendEmails(List<SendingMessage> sendingMessages) {
+        Map<SendingMessage, Exception> failedMessages = new LinkedHashMap<>();
+        Map<MimeMessage, SendingMessage> mimeMessages = new LinkedHashMap<>();
+        for (SendingMessage sendingMessage : sendingMessages) {
+            try {
+                mimeMessages.put(createMimeMessage(sendingMessage), sendingMessage);
+            } catch (Exception e) {
+                failedMessages.put(sendingMessage, e);
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return failedMessages;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(mimeMessages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                mimeMessages.values().forEach(sendingMessage -> failedMessages.put(sendingMessage, e));
+                mimeMessages.clear();
+            } else {
+                for (Map.Entry<Object, Exception> entry : e.getFailedMessages().entrySet()) {
+                    SendingMessage sendingMessage = mimeMessages.remove(entry.getKey());
+                    if (sendingMessage != null) {
+                        // the same exception as JavaMailSender throws when the message is sent alone,
+                        // so that failures are classified as in sendEmail()
+                        failedMessages.put(sendingMessage,
+                                new MailSendException(Collections.singletonMap(entry.getKey(), entry.getValue())));
+                    }
+                }
+            }
+        } catch (MailException e) {
+            // e.g. authentication failure, nothing has been sent
+            mimeMessages.values().forEach(sendingMessage -> failedMessages.put(sendingMessage, e));
+            mimeMessages.clear();
+        }
+        sample.stop(meterRegistry.timer("jmix.EmailSender.send"));
+
+        for (SendingMessage sendingMessage : mimeMessages.values()) {
+            log.info("Email '{}' to '{}' has been sent successfully", sendingMessage.getSubject(), sendingMessage.getAddress());
+        }
+        return failedMessages;
+    }
+
     protected MimeMessage createMimeMessage(SendingMessage sendingMessage) throws MessagingException {
         MimeMessage msg = mailSender.createMimeMessage();
         assignRecipient(Message.RecipientType.TO, sendingMessage.getAddress(), msg);
@@ -16,6 +16,8 @@
 package io.jmix.email.impl;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
 import io.jmix.core.Metadata;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.security.SystemAuthenticator;
@@ -75,6 +77,8 @@ public class EmailerImpl implements Emailer {
     @Autowired
     protected EmailCleaner emailCleaner;
 
+    protected volatile RateLimiter sendingRateLimiter;
+
     @Override
     public void sendEmail(String address, String subject, String body, String bodyContentType, Boolean important,
                           EmailAttachment... attachment) throws EmailException {
@@ -179,6 +183,7 @@ public class EmailerImpl implements Emailer {
         Objects.requireNonNull(sendingMessage.getSubject(), "sendingMessage.subject is null");
         Objects.requireNonNull(sendingMessage.getContentText(), "sendingMessage.contentText is null");
         Objects.requireNonNull(sendingMessage.getFrom(), "sendingMessage.from is null");
+        acquireSendingPermits(1);
         try {
             emailSender.sendEmail(sendingMessage);
             emailDataProvider.updateStatus(sendingMessage, SendingStatus.SENT);
@@ -189,6 +194,71 @@ public class EmailerImpl implements Emailer {
         }
     }
 
+    /**
+     * Sends queued messages over one connection to the mail server and stores their statuses in a single transaction.
+     */
+    protected void sendSendingMessages(List<SendingMessage> sendingMessages) {
+        List<SendingMessage> messagesToSend = new ArrayList<>(sendingMessages.size());
+        for (SendingMessage sendingMessage : sendingMessages) {
+            try {
+                Objects.requireNonNull(sendingMessage, "sendingMessage is null");
+                Objects.requireNonNull(sendingMessage.getAddress(), "sendingMessage.address is null");
+                Objects.requireNonNull(sendingMessage.getSubject(), "sendingMessage.subject is null");
+                Objects.requireNonNull(sendingMessage.getContentText(), "sendingMessage.contentText is null");
+                Objects.requireNonNull(sendingMessage.getFrom(), "sendingMessage.from is null");
+                messagesToSend.add(sendingMessage);
+            } catch (NullPointerException e) {
+                log.error("Unable to send email: {}", e.getMessage());
+            }
+        }
+        if (messagesToSend.isEmpty()) {
+            return;
+        }
+
+        acquireSendingPermits(messagesToSend.size());
+
+        Map<SendingMessage, Exception> failedMessages;
+        try {
+            failedMessages = emailSender.sendEmails(messagesToSend);
+        } catch (Exception e) {
+            failedMessages = new HashMap<>();
+            for (SendingMessage sendingMessage : messagesToSend) {
+                failedMessages.put(sendingMessage, e);
+            }
+        }
+
+        Map<SendingMessage, SendingStatus> statuses = new LinkedHashMap<>();
+        for (SendingMessage sendingMessage : messagesToSend) {
+            Exception e = failedMessages.get(sendingMessage);
+            if (e == null) {
+                statuses.put(sendingMessage, SendingStatus.SENT);
+            } else {
+                log.warn("Unable to send email to '{}'", sendingMessage.getAddress(), e);
+                statuses.put(sendingMessage, isNeedToRetry(e) ? SendingStatus.QUEUE : SendingStatus.NOT_SENT);
+            }
+        }
+        emailDataProvider.updateStatuses(statuses);
+    }
+
+    protected void acquireSendingPermits(int messagesCount) {
+        double sendingRateLimit = emailerProperties.getSendingRateLimit();
+        if (sendingRateLimit <= 0) {
+            return;
+        }
+
+        RateLimiter rateLimiter = sendingRateLimiter;
+        if (rateLimiter == null) {
+            synchronized (this) {
+                rateLimiter = sendingRateLimiter;
+                if (rateLimiter == null) {
+                    rateLimiter = RateLimiter.create(sendingRateLimit);
+                    sendingRateLimiter = rateLimiter;
+                }
+            }
+        }
+        rateLimiter.acquire(messagesCount);
+    }
+
     protected void persistAndSendEmail(EmailInfo emailInfo) throws EmailException {
         Objects.requireNonNull(emailInfo.getAddresses(), "addresses are null");
         Objects.requireNonNull(emailInfo.getSubject(), "subject is null");
@@ -281,7 +351,16 @@ public class EmailerImpl implements Emailer {
         List<SendingMessage> messagesToSend = emailDataProvider.loadEmailsToSend();
         log.trace("Found {} messages to be sent", messagesToSend.size());
 
-        messagesToSend.forEach(this::submitExecutorTask);
+        int messagesPerConnection = emailerProperties.getMessagesPerConnection();
+        if (messagesPerConnection > 1) {
+            for (List<SendingMessage> group : groupBySender(messagesToSend)) {
+                for (List<SendingMessage> batch : Lists.partition(group, messagesPerConnection)) {
+                    submitBatchExecutorTask(new ArrayList<>(batch));
+                }
+            }
+        } else {
+            messagesToSend.forEach(this::submitExecutorTask);
+        }
 
         if (messagesToSend.isEmpty()) {
             return "";
@@ -290,6 +369,20 @@ public class EmailerImpl implements Emailer {
         return String.format("Processed %d emails", messagesToSend.size());
     }
 
+    /**
+     * Splits queued messages into groups which can be sent over one connection. Messages are grouped by sender
+     * address, as mail servers may accept only some senders for the authenticated connection, and a rejected sender
+     * must not fail messages of other senders in the same batch.
+     */
+    protected Collection<List<SendingMessage>> groupBySender(List<SendingMessage> messages) {
+        return messages.stream()
+                .collect(Collectors.groupingBy(
+                        msg -> Strings.nullToEmpty(msg.getFrom()),
+                        LinkedHashMap::new,
+                        Collectors.toList()))
+                .values();
+    }
+
     protected void submitExecutorTask(SendingMessage msg) {
         try {
             Runnable mailSendTask = applicationContext.getBean(EmailSendTask.class, msg);
@@ -304,6 +397,24 @@ public class EmailerImpl implements Emailer {
         }
     }
 
+    protected void submitBatchExecutorTask(List<SendingMessage> messages) {
+        try {
+            Runnable mailSendTask = applicationContext.getBean(EmailSendTask.class, messages);
+            mailSendTaskExecutor.execute(mailSendTask);
+        } catch (RejectedExecutionException e) {
+            Map<SendingMessage, SendingStatus> statuses = new LinkedHashMap<>();
+            messages.forEach(msg -> statuses.put(msg, SendingStatus.QUEUE));
+            emailDataProvider.updateStatuses(statuses);
+        } catch (Exception e) {
+            log.error("Exception while sending {} emails: ", messages.size(), e);
+
+            SendingStatus newStatus = isNeedToRetry(e) ? SendingStatus.QUEUE : SendingStatus.NOT_SENT;
+            Map<SendingMessage, SendingStatus> statuses = new LinkedHashMap<>();
+            messages.forEach(msg -> statuses.put(msg, newStatus));
+            emailDataProvider.updateStatuses(statuses);
+        }
+    }
+
     protected String getContentBodyType(SendingMessage sendingMessage) {
         String bodyContentType;
         String text = sendingMessage.getContentText();
@@ -43,6 +43,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -439,6 +442,75 @@ public class EmailerTest {
         assertEquals(2, sendingMsg.getAttemptsLimit().intValue());
     }
 
+    @Test
+    public void testBatchSendingWithPartialFailure() {
+        testMailSender.clearBuffer();
+
+        SendingMessage message1 = emailer.sendEmailAsync(
+                EmailInfoBuilder.create("first@example.com", "Test", "Body 1").build(), 2, getDeadlineWhichDoesntMatter());
+        SendingMessage message2 = emailer.sendEmailAsync(
+                EmailInfoBuilder.create("failing@example.com", "Test", "Body 2").build(), 2, getDeadlineWhichDoesntMatter());
+        SendingMessage message3 = emailer.sendEmailAsync(
+                EmailInfoBuilder.create("third@example.com", "Test", "Body 3").build(), 2, getDeadlineWhichDoesntMatter());
+
+        testMailSender.failForAddress("failing@example.com");
+        try {
+            emailer.processQueuedEmails();
+        } finally {
+            testMailSender.workNormallyPlease();
+        }
+
+        assertEquals(2, testMailSender.getBufferSize());
+
+        SendingMessage sentMsg1 = reload(message1);
+        assertEquals(SendingStatus.SENT, sentMsg1.getStatus());
+        assertEquals(1, sentMsg1.getAttemptsMade().intValue());
+        assertNotNull(sentMsg1.getDateSent());
+
+        SendingMessage failedMsg = reload(message2);
+        assertEquals(SendingStatus.QUEUE, failedMsg.getStatus());
+        assertEquals(1, failedMsg.getAttemptsMade().intValue());
+        assertNull(failedMsg.getDateSent());
+
+        SendingMessage sentMsg3 = reload(message3);
+        assertEquals(SendingStatus.SENT, sentMsg3.getStatus());
+        assertEquals(1, sentMsg3.getAttemptsMade().intValue());
+
+        // sent from the second attempt
+        emailer.processQueuedEmails();
+        failedMsg = reload(message2);
+        assertEquals(SendingStatus.SENT, failedMsg.getStatus());
+        assertEquals(2, failedMsg.getAttemptsMade().intValue());
+    }
+
+    @Test
+    public void testBatchStatusUpdateDoesNotOverwriteConcurrentChanges() {
+        SendingMessage message1 = emailer.sendEmailAsync(
+                EmailInfoBuilder.create("first@example.com", "Test", "Body 1").build(), 2, getDeadlineWhichDoesntMatter());
+        SendingMessage message2 = emailer.sendEmailAsync(
+                EmailInfoBuilder.create("second@example.com", "Test", "Body 2").build(), 2, getDeadlineWhichDoesntMatter());
+
+        List<SendingMessage> messages = emailDataProvider.loadEmailsToSend();
+        assertEquals(2, messages.size());
+
+        // the message is changed after it has been taken from the queue
+        SendingMessage changedMsg = reload(message2);
+        changedMsg.setStatus(SendingStatus.NOT_SENT);
+        dataManager.save(changedMsg);
+
+        Map<SendingMessage, SendingStatus> statuses = new LinkedHashMap<>();
+        messages.forEach(msg -> statuses.put(msg, SendingStatus.SENT));
+        emailDataProvider.updateStatuses(statuses);
+
+        SendingMessage sentMsg = reload(message1);
+        assertEquals(SendingStatus.SENT, sentMsg.getStatus());
+        assertEquals(1, sentMsg.getAttemptsMade().intValue());
+
+        changedMsg = reload(message2);
+        assertEquals(SendingStatus.NOT_SENT, changedMsg.getStatus());
+        assertEquals(0, changedMsg.getAttemptsMade().intValue());
+    }
+
     @Test
     public void testSeveralRecipients() throws Exception {
         doTestSeveralRecipients(false);
@@ -23,9 +23,10 @@ import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.stereotype.Component;
 
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * Used by functional tests.
@@ -38,6 +39,8 @@ public class TestMailSender extends JavaMailSenderImpl {
 
     private boolean mustFail;
 
+    private Set<String> failingAddresses = new HashSet<>();
+
     public void clearBuffer() {
         myMessages.clear();
     }
@@ -61,6 +64,34 @@ public class TestMailSender extends JavaMailSenderImpl {
         myMessages.add(mimeMessage);
     }
 
+    @Override
+    public void send(MimeMessage... mimeMessages) throws MailException {
+        if (mustFail) {
+            throw new MailSendException("Smtp server not available");
+        }
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        for (MimeMessage mimeMessage : mimeMessages) {
+            if (isFailing(mimeMessage)) {
+                failedMessages.put(mimeMessage, new MessagingException("Recipient rejected"));
+            } else {
+                myMessages.add(mimeMessage);
+            }
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    private boolean isFailing(MimeMessage mimeMessage) {
+        try {
+            Address[] recipients = mimeMessage.getAllRecipients();
+            return recipients != null && Arrays.stream(recipients)
+                    .anyMatch(address -> failingAddresses.contains(address.toString()));
+        } catch (MessagingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public boolean isEmpty() {
         return myMessages.isEmpty();
     }
@@ -69,7 +100,12 @@ public class TestMailSender extends JavaMailSenderImpl {
         this.mustFail = true;
     }
 
+    public void failForAddress(String address) {
+        failingAddresses.add(address);
+    }
+
     public void workNormallyPlease() {
         this.mustFail = false;
+        failingAddresses.clear();
     }
 }
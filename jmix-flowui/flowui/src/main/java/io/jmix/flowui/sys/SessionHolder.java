@@ -17,38 +17,54 @@
 package io.jmix.flowui.sys;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.MapMaker;
 import com.vaadin.flow.server.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.event.InteractiveAuthenticationSuccessEvent;
+import org.springframework.security.authentication.event.LogoutSuccessEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.session.SessionFixationProtectionEvent;
 import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.stereotype.Component;
 
-import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * Holds vaadin sessions for all users
+ * Holds vaadin sessions for all users.
+ * <p>
+ * Sessions are indexed by username of the authenticated user. The index is updated when a session is
+ * initialized or destroyed, when a user logs in or out, and when the session id is changed on authentication,
+ * so looking up sessions of a user touches only sessions of this user. Sessions are weakly referenced, so sessions
+ * collected by gc are removed automatically.
  */
 @Component("flowui_SessionHolder")
 public class SessionHolder implements VaadinServiceInitListener {
 
     private static final Logger log = LoggerFactory.getLogger(SessionHolder.class);
 
-    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
-    protected final List<WeakReference<VaadinSession>> sessions = new ArrayList<>();
+    protected final ConcurrentMap<String, Set<VaadinSession>> userSessions = new ConcurrentHashMap<>();
+    protected final ConcurrentMap<VaadinSession, String> sessionUsernames = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Guards updates of both {@link #sessionUsernames} and {@link #userSessions}, so a session is never indexed
+     * for two users. Lookups don't acquire it.
+     */
+    protected final Object registrationLock = new Object();
 
     /**
      * Provides active (not collected by gc) vaadin sessions mapped on specified usernames
@@ -58,45 +74,94 @@ public class SessionHolder implements VaadinServiceInitListener {
      * @return active user vaadin sessions
      */
     public Map<String, List<VaadinSession>> getActiveSessionsForUsernames(@Nullable Collection<String> usernames) {
-        Map<String, List<VaadinSession>> userActiveSessions = new HashMap<>();
         Set<String> usernamesSet = usernames != null ? new HashSet<>(usernames) : null;
-        int removed = 0;
-        lock.readLock().lock();
-        try {
-            for (Iterator<WeakReference<VaadinSession>> iterator = sessions.iterator(); iterator.hasNext(); ) {
-                WeakReference<VaadinSession> reference = iterator.next();
-                VaadinSession session = reference.get();
-                if (session != null
-                        && !getVaadinSessionState(session).equals(VaadinSessionState.CLOSED)) {
-                    String sessionUsername = getUsernameFromVaadinSession(session);
-                    if (Strings.isNullOrEmpty(sessionUsername)) {
-                        log.debug("Skip Vaadin session {} as it does not contain security context or" +
-                                " authentication with username", session);
-                    } else if (usernamesSet == null || usernamesSet.contains(sessionUsername)) {
-                        List<VaadinSession> vaadinSessions =
-                                userActiveSessions.computeIfAbsent(sessionUsername, k -> new ArrayList<>());
-                        vaadinSessions.add(session);
-                    }
-                } else {
-                    lock.readLock().unlock();
-                    lock.writeLock().lock();
-                    try {
-                        iterator.remove();
-                        lock.readLock().lock();
-                    } finally {
-                        lock.writeLock().unlock();
-                    }
-                    removed++;
+        Collection<String> targetUsernames = usernamesSet != null ? usernamesSet : new ArrayList<>(userSessions.keySet());
+
+        Map<String, List<VaadinSession>> userActiveSessions = new HashMap<>();
+        Set<VaadinSession> processedSessions = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String username : targetUsernames) {
+            Set<VaadinSession> sessions = userSessions.get(username);
+            if (sessions == null) {
+                continue;
+            }
+
+            for (VaadinSession session : new ArrayList<>(sessions)) {
+                if (!processedSessions.add(session)) {
+                    continue;
+                }
+
+                String sessionUsername;
+                try {
+                    sessionUsername = getUsernameFromVaadinSession(session);
+                } catch (IllegalStateException e) {
+                    // HTTP session is invalidated
+                    sessionUsername = null;
+                }
+                if (!username.equals(sessionUsername)) {
+                    // the user has been changed within the session without an authentication event
+                    registerSession(session, sessionUsername);
+                }
+
+                if (Strings.isNullOrEmpty(sessionUsername)) {
+                    log.debug("Skip Vaadin session {} as it does not contain security context or" +
+                            " authentication with username", session);
+                } else if (usernamesSet == null || usernamesSet.contains(sessionUsername)) {
+                    List<VaadinSession> vaadinSessions =
+                            userActiveSessions.computeIfAbsent(sessionUsername, k -> new ArrayList<>());
+                    vaadinSessions.add(session);
                 }
             }
-        } finally {
-            lock.readLock().unlock();
+            removeUserSessionsIfEmpty(username);
         }
+        return userActiveSessions;
+    }
 
-        if (removed > 0) {
-            log.debug("Removed {} Vaadin sessions", removed);
+    /**
+     * Indexes the session for the given user, or removes it from the index if the username is null.
+     */
+    protected void registerSession(VaadinSession session, @Nullable String username) {
+        if (username == null) {
+            unregisterSession(session);
+            return;
         }
-        return userActiveSessions;
+
+        synchronized (registrationLock) {
+            String previousUsername = sessionUsernames.put(session, username);
+            if (previousUsername != null && !previousUsername.equals(username)) {
+                removeFromUserSessions(previousUsername, session);
+            }
+            userSessions.compute(username, (key, sessions) -> {
+                Set<VaadinSession> result = sessions != null ? sessions : createSessionSet();
+                result.add(session);
+                return result;
+            });
+        }
+        log.trace("Registered session {} of user '{}'", session, username);
+    }
+
+    protected void unregisterSession(VaadinSession session) {
+        synchronized (registrationLock) {
+            String username = sessionUsernames.remove(session);
+            if (username != null) {
+                removeFromUserSessions(username, session);
+            }
+        }
+        log.trace("Removed session: {}", session);
+    }
+
+    protected void removeFromUserSessions(String username, VaadinSession session) {
+        userSessions.computeIfPresent(username, (key, sessions) -> {
+            sessions.remove(session);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    protected void removeUserSessionsIfEmpty(String username) {
+        userSessions.computeIfPresent(username, (key, sessions) -> sessions.isEmpty() ? null : sessions);
+    }
+
+    protected Set<VaadinSession> createSessionSet() {
+        return Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
     }
 
     @Nullable
@@ -107,16 +172,26 @@ public class SessionHolder implements VaadinServiceInitListener {
             return null;
         }
 
+        return getUsernameFromWrappedSession(wrappedSession);
+    }
+
+    @Nullable
+    protected String getUsernameFromWrappedSession(WrappedSession wrappedSession) {
         SecurityContext securityContext = (SecurityContext) wrappedSession.getAttribute(
                 HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
         if (securityContext == null || securityContext.getAuthentication() == null) {
             return null;
         }
-        Authentication authentication = securityContext.getAuthentication();
+        return getUsername(securityContext.getAuthentication());
+    }
+
+    @Nullable
+    protected String getUsername(Authentication authentication) {
         if (!(authentication.getPrincipal() instanceof UserDetails)) {
             return null;
         }
-        return ((UserDetails) authentication.getPrincipal()).getUsername();
+        String username = ((UserDetails) authentication.getPrincipal()).getUsername();
+        return Strings.isNullOrEmpty(username) ? null : username;
     }
 
     protected VaadinSessionState getVaadinSessionState(VaadinSession session) {
@@ -140,15 +215,47 @@ public class SessionHolder implements VaadinServiceInitListener {
     @Override
     public void serviceInit(ServiceInitEvent event) {
         event.getSource().addSessionInitListener(this::onSessionInit);
+        event.getSource().addSessionDestroyListener(this::onSessionDestroy);
     }
 
     protected void onSessionInit(SessionInitEvent event) {
-        lock.writeLock().lock();
-        try {
-            sessions.add(new WeakReference<>(event.getSession()));
-            log.trace("Added session: {}", event.getSession());
-        } finally {
-            lock.writeLock().unlock();
+        VaadinSession session = event.getSession();
+        WrappedSession wrappedSession = session.getSession();
+        registerSession(session, wrappedSession != null ? getUsernameFromWrappedSession(wrappedSession) : null);
+    }
+
+    protected void onSessionDestroy(SessionDestroyEvent event) {
+        unregisterSession(event.getSession());
+    }
+
+    @EventListener
+    public void onInteractiveAuthenticationSuccess(InteractiveAuthenticationSuccessEvent event) {
+        VaadinSession session = VaadinSession.getCurrent();
+        if (session != null) {
+            registerSession(session, getUsername(event.getAuthentication()));
+        }
+    }
+
+    @EventListener
+    public void onSessionFixationProtection(SessionFixationProtectionEvent event) {
+        VaadinSession session = VaadinSession.getCurrent();
+        if (session != null) {
+            registerSession(session, getUsername(event.getAuthentication()));
+        }
+    }
+
+    @EventListener
+    public void onLogoutSuccess(LogoutSuccessEvent event) {
+        VaadinSession session = VaadinSession.getCurrent();
+        if (session != null) {
+            unregisterSession(session);
+            return;
+        }
+
+        // logged out by a request outside of Vaadin, check the sessions of the user
+        String username = getUsername(event.getAuthentication());
+        if (username != null) {
+            getActiveSessionsForUsernames(Collections.singleton(username));
         }
     }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package session_holder
+
+import com.vaadin.flow.server.SessionDestroyEvent
+import com.vaadin.flow.server.SessionInitEvent
+import com.vaadin.flow.server.VaadinService
+import com.vaadin.flow.server.VaadinSession
+import com.vaadin.flow.server.WrappedHttpSession
+import io.jmix.flowui.sys.SessionHolder
+import io.jmix.flowui.testassist.vaadin.TestVaadinSession
+import org.springframework.mock.web.MockHttpSession
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken
+import org.springframework.security.authentication.event.InteractiveAuthenticationSuccessEvent
+import org.springframework.security.authentication.event.LogoutSuccessEvent
+import org.springframework.security.core.Authentication
+import org.springframework.security.core.context.SecurityContextImpl
+import org.springframework.security.core.userdetails.User
+import org.springframework.security.web.authentication.session.SessionFixationProtectionEvent
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository
+import spock.lang.Specification
+
+class SessionHolderTest extends Specification {
+
+    SessionHolder sessionHolder = new SessionHolder()
+    VaadinService service = Mock()
+
+    void cleanup() {
+        VaadinSession.setCurrent(null)
+    }
+
+    def "session initialized for an authenticated user is found by username"() {
+        given:
+        def session = createSession("alice")
+
+        when:
+        sessionHolder.onSessionInit(new SessionInitEvent(service, session, null))
+
+        then:
+        sessionHolder.getActiveSessionsForUsernames(["alice"]) == [alice: [session]]
+        sessionHolder.getActiveSessionsForUsernames(["bob"]).isEmpty()
+    }
+
+    def "session is indexed on login"() {
+        given:
+        def session = createSession(null)
+        sessionHolder.onSessionInit(new SessionInitEvent(service, session, null))
+
+        expect:
+        sessionHolder.getActiveSessionsForUsernames(null).isEmpty()
+
+        when:
+        def authentication = authenticate(session, "alice")
+        VaadinSession.setCurrent(session)
+        sessionHolder.onInteractiveAuthenticationSuccess(
+                new InteractiveAuthenticationSuccessEvent(authentication, getClass()))
+
+        then:
+        sessionHolder.getActiveSessionsForUsernames(["alice"]) == [alice: [session]]
+    }
+
+    def "session is re-indexed when another user logs in with session id change"() {
+        given:
+        def session = createSession("alice")
+        sessionHolder.onSessionInit(new SessionInitEvent(service, session, null))
+
+        when:
+        def authentication = authenticate(session, "bob")
+        VaadinSession.setCurrent(session)
+        sessionHolder.onSessionFixationProtection(
+                new SessionFixationProtectionEvent(authentication, "oldId", "newId"))
+
+        then:
+        sessionHolder.getActiveSessionsForUsernames(["alice", "bob"]) == [bob: [session]]
+        !sessionHolder.userSessions.containsKey("alice")
+    }
+
+    def "session is removed from index on logout"() {
+        given:
+        def session = createSession("alice")
+        sessionHolder.onSessionInit(new SessionInitEvent(service, session, null))
+
+        when:
+        def authentication = getAuthentication(session)
+        session.getSession().removeAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY)
+        VaadinSession.setCurrent(session)
+        sessionHolder.onLogoutSuccess(new LogoutSuccessEvent(authentication))
+
+        then:
+        sessionHolder.userSessions.isEmpty()
+        sessionHolder.getActiveSessionsForUsernames(["alice"]).isEmpty()
+    }
+
+    def "session is removed from index on logout outside of Vaadin request"() {
+        given:
+        def session = createSession("alice")
+        sessionHolder.onSessionInit(new SessionInitEvent(service, session, null))
+
+        when:
+        def authentication = getAuthentication(session)
+        session.getSession().invalidate()
+        sessionHolder.onLogoutSuccess(new LogoutSuccessEvent(authentication))
+
+        then:
+        sessionHolder.userSessions.isEmpty()
+    }
+
+    def "session is removed from index when destroyed"() {
+        given:
+        def session = createSession("alice")
+        def otherSession = createSession("alice")
+        sessionHolder.onSessionInit(new SessionInitEvent(service, session, null))
+        sessionHolder.onSessionInit(new SessionInitEvent(service, otherSession, null))
+
+        when:
+        sessionHolder.onSessionDestroy(new SessionDestroyEvent(service, session))
+
+        then:
+        sessionHolder.getActiveSessionsForUsernames(["alice"]) == [alice: [otherSession]]
+
+        when:
+        sessionHolder.onSessionDestroy(new SessionDestroyEvent(service, otherSession))
+
+        then:
+        sessionHolder.userSessions.isEmpty()
+    }
+
+    def "sessions of several users are looked up"() {
+        given:
+        def aliceSession = createSession("alice")
+        def bobSession = createSession("bob")
+        def otherBobSession = createSession("bob")
+        def carolSession = createSession("carol")
+        [aliceSession, bobSession, otherBobSession, carolSession].each {
+            sessionHolder.onSessionInit(new SessionInitEvent(service, it, null))
+        }
+
+        when:
+        def sessions = sessionHolder.getActiveSessionsForUsernames(["alice", "bob", "dave"])
+
+        then:
+        sessions.keySet() == ["alice", "bob"] as Set
+        sessions.alice == [aliceSession]
+        sessions.bob as Set == [bobSession, otherBobSession] as Set
+
+        when:
+        def allSessions = sessionHolder.getActiveSessionsForUsernames(null)
+
+        then:
+        allSessions.keySet() == ["alice", "bob", "carol"] as Set
+        allSessions.carol == [carolSession]
+    }
+
+    protected VaadinSession createSession(String username) {
+        def session = new TestVaadinSession(service)
+        session.refreshTransients(new WrappedHttpSession(new MockHttpSession()), service)
+        if (username != null) {
+            authenticate(session, username)
+        }
+        return session
+    }
+
+    protected Authentication authenticate(VaadinSession session, String username) {
+        def user = User.withUsername(username).password("{noop}").authorities([]).build()
+        def authentication = new UsernamePasswordAuthenticationToken(user, null, user.authorities)
+        session.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+                new SecurityContextImpl(authentication))
+        return authentication
+    }
+
+    protected Authentication getAuthentication(VaadinSession session) {
+        return ((SecurityContextImpl) session.getSession()
+                .getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY)).authentication
+    }
+}
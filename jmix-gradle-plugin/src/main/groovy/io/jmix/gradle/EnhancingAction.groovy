@@ -19,6 +19,9 @@ package io.jmix.gradle
 import javassist.ClassPool
 import javassist.CtClass
 import javassist.NotFoundException
+import javassist.bytecode.AnnotationsAttribute
+import javassist.bytecode.ClassFile
+import groovy.io.FileType
 import org.gradle.api.Action
 import org.gradle.api.Project
 import org.gradle.api.Task
@@ -44,6 +47,8 @@ class EnhancingAction implements Action<Task> {
     static final String APP_PROPERTIES_FILE = "application.properties"
     static final String ADDITIONAL_STORE_PROPERTY = "jmix.core.additional-stores"
 
+    static final String CLASSES_INDEX_FILE_NAME = "jmix-classes.idx"
+
     private String sourceSetName
 
     EnhancingAction(String sourceSetName) {
@@ -74,6 +79,8 @@ class EnhancingAction implements Action<Task> {
         } else {
             project.logger.lifecycle "Entities enhancing was skipped, because entity classes haven't been changed since the last build"
         }
+
+        constructClassesIndex(project, sourceSet, classesInfo)
     }
 
     /**
@@ -267,6 +274,57 @@ class EnhancingAction implements Action<Task> {
         }
     }
 
+    /**
+     * Generates an index of classes located in module packages. The index is used by {@code JmixModulesClasspathScanner}
+     * at application startup instead of reading all class files of the module.
+     * <p>
+     * Each line describes a class: {@code className|superClassName|flags|interfaces|annotations}, where flags contain
+     * {@code i} for interfaces and {@code a} for abstract classes.
+     */
+    protected void constructClassesIndex(Project project, SourceSet sourceSet, ClassesInfo classesInfo) {
+        for (String modulePath : classesInfo.modulePaths.unique(false)) {
+            List<String> entries = createClassesIndexEntries(sourceSet.output.classesDirs.files, modulePath)
+
+            File indexFile = project.file("$project.buildDir/tmp/entitiesEnhancing/resources/$sourceSetName/$modulePath/$CLASSES_INDEX_FILE_NAME")
+            indexFile.parentFile.mkdirs()
+            indexFile.setText(entries.collect { it + '\n' }.join(''), StandardCharsets.UTF_8.name())
+
+            project.logger.info "Classes index of $modulePath contains ${entries.size()} classes"
+        }
+    }
+
+    /**
+     * Returns sorted index entries of all classes located in the module package and its subpackages.
+     */
+    protected static List<String> createClassesIndexEntries(Collection<File> classesDirs, String modulePath) {
+        List<String> entries = []
+        classesDirs.each { File classesDir ->
+            File packageDir = new File(classesDir, modulePath)
+            if (packageDir.isDirectory()) {
+                packageDir.eachFileRecurse(FileType.FILES) { File file ->
+                    if (file.name.endsWith('.class')) {
+                        entries.add(createClassesIndexEntry(file))
+                    }
+                }
+            }
+        }
+        entries.sort()
+        return entries
+    }
+
+    protected static String createClassesIndexEntry(File classFile) {
+        ClassFile cf = classFile.withDataInputStream { new ClassFile(it) }
+
+        // the same data as provided by Spring ClassMetadata, which has no superclass for interfaces
+        String superClassName = cf.isInterface() ? '' : (cf.getSuperclass() ?: '')
+        String flags = (cf.isInterface() ? 'i' : '') + (cf.isAbstract() ? 'a' : '')
+        String interfaces = cf.getInterfaces().join(',')
+        AnnotationsAttribute attribute = (AnnotationsAttribute) cf.getAttribute(AnnotationsAttribute.visibleTag)
+        String annotations = attribute != null ? attribute.getAnnotations().collect { it.getTypeName() }.join(',') : ''
+
+        return [cf.getName(), superClassName, flags, interfaces, annotations].join('|')
+    }
+
     static void copyGeneratedFiles(Project project, String sourceSetName) {
         project.copy {
             from "$project.buildDir/tmp/entitiesEnhancing/resources/$sourceSetName/"
@@ -398,6 +456,7 @@ class EnhancingAction implements Action<Task> {
                 new JmixEntityEnhancingStep(),
                 new EntityEntryEnhancingStep(),
                 new SettersEnhancingStep(),
+                new IndexedAccessorsEnhancingStep(),
                 new TransientAnnotationEnhancingStep())
     }
 
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.gradle;
+
+import jakarta.annotation.Nullable;
+import javassist.*;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.jmix.gradle.MetaModelUtil.*;
+
+/**
+ * Enhances entity classes: generates methods providing access to attributes by their ordinals.
+ * <p>
+ * Attributes of all enhanceable classes in the hierarchy are ordered from the topmost superclass down to the
+ * enhanced class, so an attribute has the same ordinal in the class declaring it and in all its subclasses.
+ * Only attributes having public getter and setter of a non-primitive type are included.
+ */
+public class IndexedAccessorsEnhancingStep extends BaseEnhancingStep {
+
+    @Override
+    protected boolean isAlreadyEnhanced(CtClass ctClass) throws NotFoundException {
+        return isIndexedAccessorsEnhanced(ctClass);
+    }
+
+    @Override
+    protected String getEnhancingType() {
+        return "Indexed Accessors Enhancer";
+    }
+
+    @Override
+    protected void executeInternal(CtClass ctClass) throws IOException, CannotCompileException, NotFoundException {
+        List<IndexedProperty> properties = collectIndexedProperties(ctClass);
+
+        makeIndexedPropertiesField(ctClass, properties);
+
+        makeGetByIndexMethod(ctClass, properties);
+
+        makeSetByIndexMethod(ctClass, properties);
+
+        ctClass.addInterface(classPool.get(INDEXED_ACCESSORS_ENHANCED_TYPE));
+
+        logger.debug(String.format("Indexed accessors of %s: %s", ctClass.getSimpleName(),
+                properties.stream().map(p -> p.name).collect(Collectors.joining(", "))));
+    }
+
+    protected List<IndexedProperty> collectIndexedProperties(CtClass ctClass) throws NotFoundException {
+        LinkedList<CtClass> hierarchy = new LinkedList<>();
+        CtClass current = ctClass;
+        while (current != null && !Object.class.getName().equals(current.getName())) {
+            if (isEnhancingSupported(current)) {
+                hierarchy.addFirst(current);
+            }
+            current = current.getSuperclass();
+        }
+
+        List<IndexedProperty> properties = new ArrayList<>();
+        for (CtClass declaringClass : hierarchy) {
+            for (CtField field : declaringClass.getDeclaredFields()) {
+                IndexedProperty property = createIndexedProperty(declaringClass, field);
+                if (property != null) {
+                    properties.add(property);
+                }
+            }
+        }
+        return properties;
+    }
+
+    @Nullable
+    protected IndexedProperty createIndexedProperty(CtClass declaringClass, CtField field) throws NotFoundException {
+        if (Modifier.isStatic(field.getModifiers()) || field.getName().startsWith("_")) {
+            return null;
+        }
+
+        CtClass fieldType = field.getType();
+        if (fieldType.isPrimitive()) {
+            return null;
+        }
+
+        String capitalizedName = StringUtils.capitalize(field.getName());
+
+        CtMethod getter = findPublicAccessor(declaringClass, "get" + capitalizedName, null);
+        CtMethod isGetter = findPublicAccessor(declaringClass, "is" + capitalizedName, null);
+        if (getter != null && isGetter != null) {
+            // the choice between getters depends on runtime annotations, leave it to the name-based access
+            return null;
+        }
+        if (getter == null) {
+            getter = isGetter;
+        }
+
+        CtMethod setter = findPublicAccessor(declaringClass, "set" + capitalizedName, fieldType);
+        if (getter == null || setter == null) {
+            return null;
+        }
+
+        return new IndexedProperty(field.getName(), getter.getName(), setter.getName(), fieldType.getName());
+    }
+
+    @Nullable
+    protected CtMethod findPublicAccessor(CtClass ctClass, String name, @Nullable CtClass parameterType)
+            throws NotFoundException {
+        CtClass current = ctClass;
+        while (current != null) {
+            for (CtMethod method : current.getDeclaredMethods()) {
+                if (!method.getName().equals(name)
+                        || !Modifier.isPublic(method.getModifiers())
+                        || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                CtClass[] parameterTypes = method.getParameterTypes();
+                if (parameterType == null && parameterTypes.length == 0
+                        || parameterType != null && parameterTypes.length == 1
+                        && parameterTypes[0].getName().equals(parameterType.getName())) {
+                    return method;
+                }
+            }
+            current = current.getSuperclass();
+        }
+        return null;
+    }
+
+    protected void makeIndexedPropertiesField(CtClass ctClass, List<IndexedProperty> properties)
+            throws CannotCompileException, NotFoundException {
+        CtField ctField = new CtField(classPool.get("java.lang.String[]"), GEN_INDEXED_PROPERTIES_VAR_NAME, ctClass);
+        ctField.setModifiers(Modifier.PUBLIC | Modifier.STATIC | Modifier.FINAL);
+
+        String names = properties.stream()
+                .map(property -> '"' + property.name + '"')
+                .collect(Collectors.joining(", "));
+        ctClass.addField(ctField, CtField.Initializer.byExpr(String.format("new String[]{%s}", names)));
+    }
+
+    protected void makeGetByIndexMethod(CtClass ctClass, List<IndexedProperty> properties)
+            throws CannotCompileException, NotFoundException {
+        StringBuilder body = new StringBuilder("{ switch ($1) {");
+        for (int i = 0; i < properties.size(); i++) {
+            body.append(String.format(" case %d: return ($w) this.%s();", i, properties.get(i).getterName));
+        }
+        body.append(" default: break; }");
+        body.append(String.format(" throw new IndexOutOfBoundsException(\"Property index \" + $1 + \" is out of bounds for %s\"); }",
+                ctClass.getName()));
+
+        CtMethod method = CtNewMethod.make(classPool.get(Object.class.getName()), GET_BY_INDEX_METHOD_NAME,
+                new CtClass[]{CtClass.intType}, null, body.toString(), ctClass);
+        ctClass.addMethod(method);
+    }
+
+    protected void makeSetByIndexMethod(CtClass ctClass, List<IndexedProperty> properties)
+            throws CannotCompileException, NotFoundException {
+        StringBuilder body = new StringBuilder("{ switch ($1) {");
+        for (int i = 0; i < properties.size(); i++) {
+            IndexedProperty property = properties.get(i);
+            body.append(String.format(" case %d: this.%s((%s) $2); return;", i, property.setterName, property.typeName));
+        }
+        body.append(" default: break; }");
+        body.append(String.format(" throw new IndexOutOfBoundsException(\"Property index \" + $1 + \" is out of bounds for %s\"); }",
+                ctClass.getName()));
+
+        CtMethod method = CtNewMethod.make(CtClass.voidType, SET_BY_INDEX_METHOD_NAME,
+                new CtClass[]{CtClass.intType, classPool.get(Object.class.getName())}, null, body.toString(), ctClass);
+        ctClass.addMethod(method);
+    }
+
+    protected static class IndexedProperty {
+        protected final String name;
+        protected final String getterName;
+        protected final String setterName;
+        protected final String typeName;
+
+        protected IndexedProperty(String name, String getterName, String setterName, String typeName) {
+            this.name = name;
+            this.getterName = getterName;
+            this.setterName = setterName;
+            this.typeName = typeName;
+        }
+    }
+}
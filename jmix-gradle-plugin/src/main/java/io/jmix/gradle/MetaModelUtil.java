@@ -37,6 +37,7 @@ public class MetaModelUtil {
 
     public static final String SETTERS_ENHANCED_TYPE = "io.jmix.core.entity.JmixSettersEnhanced";
     public static final String ENTITY_ENTRY_ENHANCED_TYPE = "io.jmix.core.entity.JmixEntityEntryEnhanced";
+    public static final String INDEXED_ACCESSORS_ENHANCED_TYPE = "io.jmix.core.entity.JmixIndexedAccessorsEnhanced";
 
     public static final String TRANSIENT_ANNOTATION_TYPE = "jakarta.persistence.Transient";
     public static final String JMIX_PROPERTY_ANNOTATION_TYPE = "io.jmix.core.metamodel.annotation.JmixProperty";
@@ -56,6 +57,10 @@ public class MetaModelUtil {
     public static final String GEN_ENTITY_ENTRY_VAR_NAME = "_jmixEntityEntry";
     public static final String GEN_ENTITY_ENTRY_CLASS_NAME = "JmixEntityEntry";
 
+    public static final String GET_BY_INDEX_METHOD_NAME = "__getByIndex";
+    public static final String SET_BY_INDEX_METHOD_NAME = "__setByIndex";
+    public static final String GEN_INDEXED_PROPERTIES_VAR_NAME = "__jmixIndexedProperties";
+
     public static boolean isSettersEnhanced(CtClass ctClass) throws NotFoundException {
         for (CtClass ctInterface : ctClass.getInterfaces()) {
             if (Objects.equals(ctInterface.getName(), SETTERS_ENHANCED_TYPE)) {
@@ -74,6 +79,15 @@ public class MetaModelUtil {
         return false;
     }
 
+    public static boolean isIndexedAccessorsEnhanced(CtClass ctClass) throws NotFoundException {
+        for (CtClass ctInterface : ctClass.getInterfaces()) {
+            if (Objects.equals(ctInterface.getName(), INDEXED_ACCESSORS_ENHANCED_TYPE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public static boolean isEnhancingDisabled(CtClass ctClass) {
         AnnotationsAttribute attribute = (AnnotationsAttribute) ctClass.getClassFile().getAttribute(AnnotationsAttribute.visibleTag);
         return attribute != null && attribute.getAnnotation(DISABLE_ENHANCING_ANNOTATION_TYPE) != null;
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.gradle
+
+import javassist.ClassPool
+import javassist.CtClass
+import javassist.Modifier
+import javassist.bytecode.AnnotationsAttribute
+import javassist.bytecode.ConstPool
+import javassist.bytecode.annotation.Annotation
+import spock.lang.Specification
+import spock.lang.TempDir
+
+class ClassesIndexTest extends Specification {
+
+    @TempDir
+    File classesDir
+
+    ClassPool classPool = new ClassPool(true)
+
+    def "index entries describe classes of module package and its subpackages"() {
+        given:
+        CtClass base = writeClass(classPool.makeClass('com.company.app.entity.Base')) {
+            it.modifiers = it.modifiers | Modifier.ABSTRACT
+            it.addInterface(classPool.get('java.io.Serializable'))
+        }
+        writeClass(classPool.makeClass('com.company.app.entity.Customer', base)) {
+            addAnnotation(it, 'io.jmix.core.metamodel.annotation.JmixEntity')
+            addAnnotation(it, 'jakarta.persistence.Entity')
+        }
+        writeClass(classPool.makeInterface('com.company.app.security.FullAccessRole')) {
+            addAnnotation(it, 'io.jmix.security.role.annotation.ResourceRole')
+        }
+        writeClass(classPool.makeClass('com.company.other.Foo')) {}
+
+        when:
+        def entries = EnhancingAction.createClassesIndexEntries([classesDir], 'com/company/app')
+
+        then:
+        entries == [
+                'com.company.app.entity.Base|java.lang.Object|a|java.io.Serializable|',
+                'com.company.app.entity.Customer|com.company.app.entity.Base|||io.jmix.core.metamodel.annotation.JmixEntity,jakarta.persistence.Entity',
+                'com.company.app.security.FullAccessRole||ia||io.jmix.security.role.annotation.ResourceRole'
+        ]
+    }
+
+    def "index of missing package is empty"() {
+        expect:
+        EnhancingAction.createClassesIndexEntries([classesDir], 'com/company/missing').isEmpty()
+    }
+
+    private CtClass writeClass(CtClass ctClass, Closure customizer) {
+        customizer(ctClass)
+        ctClass.writeFile(classesDir.absolutePath)
+        return ctClass
+    }
+
+    private static void addAnnotation(CtClass ctClass, String annotationType) {
+        ConstPool constPool = ctClass.classFile.constPool
+        AnnotationsAttribute attribute = (AnnotationsAttribute) ctClass.classFile.getAttribute(AnnotationsAttribute.visibleTag)
+        if (attribute == null) {
+            attribute = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag)
+            ctClass.classFile.addAttribute(attribute)
+        }
+        attribute.addAnnotation(new Annotation(annotationType, constPool))
+    }
+}
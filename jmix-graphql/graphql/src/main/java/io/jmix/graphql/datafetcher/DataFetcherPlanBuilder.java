@@ -1,5 +1,7 @@
 package io.jmix.graphql.datafetcher;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import graphql.schema.DataFetchingEnvironment;
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.EntityAttributeContext;
@@ -13,12 +15,21 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Builds fetch plans for properties requested in GraphQL selection sets. Fetch plans are cached by entity class
+ * and the set of requested properties permitted for the current user.
+ */
 @Component("gql_DataFetcherPlanBuilder")
 public class DataFetcherPlanBuilder {
 
+    protected static final int FETCH_PLANS_CACHE_SIZE = 1000;
+
     @Autowired
     private ApplicationContext context;
     @Autowired
@@ -34,17 +45,33 @@ public class DataFetcherPlanBuilder {
 
     private final static Logger log = LoggerFactory.getLogger(DataFetcherPlanBuilder.class);
 
+    protected Cache<FetchPlanKey, FetchPlan> fetchPlansCache = CacheBuilder.newBuilder()
+            .maximumSize(FETCH_PLANS_CACHE_SIZE)
+            .build();
+
     public <E extends Entity> FetchPlan buildFetchPlan(Class<E> entityClass, DataFetchingEnvironment environment) {
         MetaClass metaClass = metadata.getClass(entityClass);
         List<String> properties = excludeForbiddenProperties(metaClass, environmentUtils.getEntityProperties(environment));
+        boolean instanceName = environmentUtils.hasInstanceNameProperty(environment);
 
         log.debug("properties {}", properties);
 
+        FetchPlanKey key = new FetchPlanKey(entityClass, properties, instanceName);
+        FetchPlan fetchPlan = fetchPlansCache.getIfPresent(key);
+        if (fetchPlan == null) {
+            fetchPlan = createFetchPlan(entityClass, metaClass, properties, instanceName);
+            fetchPlansCache.put(key, fetchPlan);
+        }
+        return fetchPlan;
+    }
+
+    protected FetchPlan createFetchPlan(Class<? extends Entity> entityClass, MetaClass metaClass,
+                                        List<String> properties, boolean instanceName) {
         // todo inject correctly
         io.jmix.core.FetchPlanBuilder fetchPlanBuilder = fetchPlans.builder(entityClass);
 
         // todo support _instName for nested entities too
-        if (environmentUtils.hasInstanceNameProperty(environment)) {
+        if (instanceName) {
             Collection<String> instanceNameRelatedProperties = metadataTools
                     .getInstanceNameRelatedProperties(metaClass).stream()
                     .map(MetadataObject::getName)
@@ -69,4 +96,33 @@ public class DataFetcherPlanBuilder {
         });
         return result;
     }
+
+    protected static class FetchPlanKey {
+
+        protected final Class<?> entityClass;
+        protected final Set<String> properties;
+        protected final boolean instanceName;
+
+        protected FetchPlanKey(Class<?> entityClass, Collection<String> properties, boolean instanceName) {
+            this.entityClass = entityClass;
+            // the same properties can be requested in a different order
+            this.properties = new HashSet<>(properties);
+            this.instanceName = instanceName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FetchPlanKey that = (FetchPlanKey) o;
+            return instanceName == that.instanceName
+                    && entityClass.equals(that.entityClass)
+                    && properties.equals(that.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityClass, properties, instanceName);
+        }
+    }
 }
@@ -91,9 +91,12 @@ public class EntityQueryDataFetcher {
                 Object bean = queryDataFetcherLoader.getCustomEntityFetcher(metaClass.getJavaClass());
                 Method method = bean.getClass().getDeclaredMethod(GRAPHQL_ENTITY_LOADER_METHOD_NAME,
                         GraphQLEntityDataFetcherContext.class);
-                return responseBuilder.buildResponse((Entity) method.invoke(bean,
-                                new GraphQLEntityDataFetcherContext(metaClass, id, lc, fetchPlan)), fetchPlan, metaClass,
-                        environmentUtils.getDotDelimitedProps(environment));
+                Entity entity = (Entity) method.invoke(bean,
+                        new GraphQLEntityDataFetcherContext(metaClass, id, lc, fetchPlan));
+                if (entity == null) return null;
+                // custom fetcher can return entity not loaded with the fetch plan
+                return responseBuilder.getResponseWriter(fetchPlan, metaClass, environmentUtils.getDotDelimitedProps(environment))
+                        .writeAll(Collections.singletonList(entity)).get(0);
             }
         };
     }
@@ -145,7 +148,8 @@ public class EntityQueryDataFetcher {
                 ctx.setHint("jmix.softDeletion", softDeletion);
             }
             List<Object> objects;
-            if (queryDataFetcherLoader.getCustomEntitiesFetcher(metaClass.getJavaClass()) == null) {
+            boolean customFetcher = queryDataFetcherLoader.getCustomEntitiesFetcher(metaClass.getJavaClass()) != null;
+            if (!customFetcher) {
                 objects = dataManager.loadList(ctx);
             } else {
                 Object bean = queryDataFetcherLoader.getCustomEntitiesFetcher(metaClass.getJavaClass());
@@ -156,9 +160,16 @@ public class EntityQueryDataFetcher {
             }
 
             Set<String> props = environmentUtils.getDotDelimitedProps(environment);
-            List<Map<String, Object>> entitiesAsMap = objects.stream()
-                    .map(e -> responseBuilder.buildResponse((Entity) e, fetchPan, metaClass, props))
-                    .collect(Collectors.toList());
+            ResponseBuilder.EntityResponseWriter responseWriter = responseBuilder.getResponseWriter(fetchPan, metaClass, props);
+            List<Map<String, Object>> entitiesAsMap;
+            if (customFetcher) {
+                // custom fetcher can return entities not loaded with the fetch plan, load them in batches
+                entitiesAsMap = responseWriter.writeAll((List<Entity>) (List<?>) objects);
+            } else {
+                entitiesAsMap = objects.stream()
+                        .map(e -> responseWriter.write((Entity) e))
+                        .collect(Collectors.toList());
+            }
 
             log.debug("loadEntities return {} objects for {}", entitiesAsMap.size(), metaClass.getName());
             return entitiesAsMap;
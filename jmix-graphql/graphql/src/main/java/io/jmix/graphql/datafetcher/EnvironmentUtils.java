@@ -102,9 +102,10 @@ public class EnvironmentUtils {
     }
 
     public Set<String> getNestedProps(Set<String> props, String propName) {
+        String prefix = propName + ".";
         return props.stream()
-                .filter(p -> p.startsWith(propName) && !p.equals(propName))
-                .map(p -> p.replaceFirst("^" + propName + "\\.", ""))
+                .filter(p -> p.startsWith(prefix))
+                .map(p -> p.substring(prefix.length()))
                 .collect(Collectors.toSet());
     }
 
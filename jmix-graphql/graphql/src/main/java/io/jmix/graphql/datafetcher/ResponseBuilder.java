@@ -16,8 +16,14 @@
 
 package io.jmix.graphql.datafetcher;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import io.jmix.core.DataManager;
 import io.jmix.core.Entity;
+import io.jmix.core.EntityStates;
 import io.jmix.core.FetchPlan;
+import io.jmix.core.FetchPlanProperty;
 import io.jmix.core.Metadata;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.entity.EntityValues;
@@ -28,31 +34,46 @@ import io.jmix.graphql.NamingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
 
 import static io.jmix.graphql.NamingUtils.ID_ATTR_NAME;
 
 /**
  * Converts entities to Map&lt;String, Object&gt; response format.
+ * <p>
+ * For each combination of meta class, fetch plan and requested properties an {@link EntityResponseWriter} is built
+ * once and cached, so converting an entity doesn't require analyzing the requested properties again.
+ * <p>
+ * Entities returned by custom data fetchers can be converted with {@link EntityResponseWriter#writeAll(List)}.
+ * Entities that are not loaded with the requested fetch plan are then reloaded in batches by id, instead of loading
+ * missing references lazily for each entity.
  */
 @Component("gql_ResponseBuilder")
 public class ResponseBuilder {
 
     private final Logger log = LoggerFactory.getLogger(getClass());
 
+    protected static final int WRITERS_CACHE_SIZE = 1000;
+
+    protected static final int LOAD_BATCH_SIZE = 500;
+
     @Autowired
     MetadataTools metadataTools;
     @Autowired
     Metadata metadata;
     @Autowired
     protected EnvironmentUtils environmentUtils;
+    @Autowired
+    protected DataManager dataManager;
+    @Autowired
+    protected EntityStates entityStates;
 
+    protected Cache<WriterKey, EntityResponseWriter> writersCache = CacheBuilder.newBuilder()
+            .maximumSize(WRITERS_CACHE_SIZE)
+            .build();
 
     /**
      * Convert loaded entity to data fetcher return format (Map&lt;String, Object&gt;)
@@ -64,63 +85,233 @@ public class ResponseBuilder {
      * @return entity converted to response as Map&lt;String, Object&gt;
      */
     public Map<String, Object> buildResponse(Entity entity, FetchPlan fetchPlan, MetaClass metaClass, Set<String> props) {
-        Map<String, Object> entityAsMap = new HashMap<>();
+        return getResponseWriter(fetchPlan, metaClass, props).write(entity);
+    }
 
-        // check and evaluate _instanceName, if required
-        if (environmentUtils.hasInstanceNameProperty(props)) {
-            entityAsMap.put(NamingUtils.SYS_ATTR_INSTANCE_NAME, metadataTools.getInstanceName(entity));
+    /**
+     * Returns a writer converting entities loaded with the given fetch plan to the response format. Use it to convert
+     * a list of entities instead of calling {@link #buildResponse(Entity, FetchPlan, MetaClass, Set)} for each one.
+     *
+     * @param fetchPlan loaded entity properties
+     * @param metaClass entity meta class
+     * @param props full set of requested properties
+     * @return cached or newly built writer
+     */
+    public EntityResponseWriter getResponseWriter(FetchPlan fetchPlan, MetaClass metaClass, Set<String> props) {
+        WriterKey key = new WriterKey(metaClass, fetchPlan, props);
+        EntityResponseWriter writer = writersCache.getIfPresent(key);
+        if (writer == null) {
+            writer = createResponseWriter(fetchPlan, metaClass, props);
+            writersCache.put(key, writer);
         }
+        return writer;
+    }
 
-        // must include id
-        writeIdField(entity, entityAsMap);
+    protected EntityResponseWriter createResponseWriter(FetchPlan fetchPlan, MetaClass metaClass, Set<String> props) {
+        List<PropertyWriter> propertyWriters = new ArrayList<>();
+        for (FetchPlanProperty prop : fetchPlan.getProperties()) {
+            MetaProperty metaProperty = metaClass.getProperty(prop.getName());
+            Range propertyRange = metaProperty.getRange();
 
-        // compose result object by iterating over fetch plan props
-        fetchPlan.getProperties().forEach(prop -> {
+            EntityResponseWriter nestedWriter = null;
+            if (propertyRange.isClass() && prop.getFetchPlan() != null) {
+                Set<String> nestedProps = environmentUtils.getNestedProps(props, prop.getName());
+                nestedWriter = createResponseWriter(prop.getFetchPlan(), propertyRange.asClass(), nestedProps);
+            }
+            propertyWriters.add(new PropertyWriter(metaClass, metaProperty, nestedWriter));
+        }
+        return new EntityResponseWriter(metaClass, fetchPlan, environmentUtils.hasInstanceNameProperty(props), propertyWriters);
+    }
 
-            String propName = prop.getName();
-            MetaProperty metaProperty = metaClass.getProperty(propName);
-            Object fieldValue = EntityValues.getValue(entity, propName);
-            Range propertyRange = metaProperty.getRange();
+    protected void writeIdField(Entity entity, MetaClass metaClass, Map<String, Object> entityAsMap) {
+        if (metadataTools.hasCompositePrimaryKey(metaClass)) {
+            throw new UnsupportedOperationException("Composite primary keys are not supported now for " + metaClass);
+        }
+        entityAsMap.put(ID_ATTR_NAME, EntityValues.getId(entity));
+    }
 
-            if (fieldValue == null) {
-                entityAsMap.put(propName, null);
-                return;
+    /**
+     * Converts entities of a particular meta class loaded with a particular fetch plan.
+     */
+    public class EntityResponseWriter {
+
+        protected final MetaClass metaClass;
+        protected final FetchPlan fetchPlan;
+        protected final boolean instanceName;
+        protected final List<PropertyWriter> propertyWriters;
+
+        protected EntityResponseWriter(MetaClass metaClass, FetchPlan fetchPlan, boolean instanceName,
+                                       List<PropertyWriter> propertyWriters) {
+            this.metaClass = metaClass;
+            this.fetchPlan = fetchPlan;
+            this.instanceName = instanceName;
+            this.propertyWriters = propertyWriters;
+        }
+
+        /**
+         * @param entity loaded entity
+         * @return entity converted to response as Map&lt;String, Object&gt;
+         */
+        public Map<String, Object> write(Entity entity) {
+            return write(entity, null);
+        }
+
+        /**
+         * Converts entities which are not necessarily loaded with the fetch plan of this writer. Such entities are
+         * reloaded with the fetch plan by one query per batch of ids, and properties missing in the original entities
+         * are taken from the reloaded ones.
+         *
+         * @param entities entities, e.g. returned by a custom data fetcher
+         * @return entities converted to response as Map&lt;String, Object&gt;
+         */
+        public List<Map<String, Object>> writeAll(List<? extends Entity> entities) {
+            Map<Object, Entity> loadedEntities = loadEntities(entities);
+
+            List<Map<String, Object>> result = new ArrayList<>(entities.size());
+            for (Entity entity : entities) {
+                result.add(write(entity, loadedEntities.isEmpty() ? null : loadedEntities.get(EntityValues.getId(entity))));
             }
+            return result;
+        }
 
-            if (propertyRange.isDatatype() || propertyRange.isEnum()) {
-                entityAsMap.put(propName, fieldValue);
-                return;
+        protected Map<Object, Entity> loadEntities(List<? extends Entity> entities) {
+            List<Object> ids = new ArrayList<>();
+            for (Entity entity : entities) {
+                Object id = EntityValues.getId(entity);
+                if (id != null && !entityStates.isNew(entity) && !entityStates.isLoadedWithFetchPlan(entity, fetchPlan)) {
+                    ids.add(id);
+                }
+            }
+            if (ids.isEmpty()) {
+                return Collections.emptyMap();
             }
 
-            if (propertyRange.isClass()) {
-                Set<String> nestedProps = environmentUtils.getNestedProps(props, propName);
+            log.debug("Loading {} instances of {} not loaded with requested fetch plan", ids.size(), metaClass.getName());
 
+            Map<Object, Entity> result = new HashMap<>();
+            for (List<Object> batch : Lists.partition(ids, LOAD_BATCH_SIZE)) {
+                for (Object loadedEntity : dataManager.load(metaClass.getJavaClass()).ids(batch).fetchPlan(fetchPlan).list()) {
+                    result.put(EntityValues.getId(loadedEntity), (Entity) loadedEntity);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @param entity       entity to convert
+         * @param loadedEntity the same entity loaded with the fetch plan of this writer, used for not loaded properties
+         */
+        protected Map<String, Object> write(Entity entity, @Nullable Entity loadedEntity) {
+            Map<String, Object> entityAsMap = new HashMap<>();
+
+            // check and evaluate _instanceName, if required
+            if (instanceName) {
+                entityAsMap.put(NamingUtils.SYS_ATTR_INSTANCE_NAME, metadataTools.getInstanceName(entity));
+            }
+
+            // must include id
+            writeIdField(entity, metaClass, entityAsMap);
+
+            // compose result object by iterating over fetch plan props
+            for (PropertyWriter propertyWriter : propertyWriters) {
+                propertyWriter.write(entity, loadedEntity, entityAsMap);
+            }
+            return entityAsMap;
+        }
+    }
+
+    protected class PropertyWriter {
+
+        protected final MetaClass metaClass;
+        protected final MetaProperty metaProperty;
+        protected final String name;
+        protected final boolean plainValue;
+        protected final EntityResponseWriter nestedWriter;
+
+        protected PropertyWriter(MetaClass metaClass, MetaProperty metaProperty, @Nullable EntityResponseWriter nestedWriter) {
+            this.metaClass = metaClass;
+            this.metaProperty = metaProperty;
+            this.name = metaProperty.getName();
+            this.plainValue = metaProperty.getRange().isDatatype() || metaProperty.getRange().isEnum();
+            this.nestedWriter = nestedWriter;
+        }
+
+        @SuppressWarnings("unchecked")
+        protected void write(Entity entity, @Nullable Entity loadedEntity, Map<String, Object> entityAsMap) {
+            Object fieldValue;
+            Object loadedValue = null;
+            if (loadedEntity != null && !entityStates.isLoaded(entity, name)) {
+                fieldValue = EntityValues.getValue(loadedEntity, metaProperty);
+            } else {
+                fieldValue = EntityValues.getValue(entity, metaProperty);
+                if (loadedEntity != null && nestedWriter != null) {
+                    // nested entities can be partially loaded too
+                    loadedValue = EntityValues.getValue(loadedEntity, metaProperty);
+                }
+            }
+
+            if (fieldValue == null || plainValue) {
+                entityAsMap.put(name, fieldValue);
+                return;
+            }
+
+            if (nestedWriter != null) {
                 if (fieldValue instanceof Entity) {
-                    entityAsMap.put(propName, buildResponse((Entity) fieldValue, prop.getFetchPlan(), propertyRange.asClass(), nestedProps));
+                    Entity loadedReference = loadedValue instanceof Entity
+                            && Objects.equals(EntityValues.getId(fieldValue), EntityValues.getId(loadedValue))
+                            ? (Entity) loadedValue : null;
+                    entityAsMap.put(name, nestedWriter.write((Entity) fieldValue, loadedReference));
                     return;
                 }
 
                 if (fieldValue instanceof Collection) {
-                    Collection<Object> values = ((Collection<Entity>)fieldValue).stream()
-                            .map(e -> buildResponse(e, prop.getFetchPlan(), propertyRange.asClass(), nestedProps))
-                            .collect(Collectors.toList());
-                    entityAsMap.put(propName, values);
+                    Map<Object, Entity> loadedReferences = new HashMap<>();
+                    if (loadedValue instanceof Collection) {
+                        for (Entity e : (Collection<Entity>) loadedValue) {
+                            loadedReferences.put(EntityValues.getId(e), e);
+                        }
+                    }
+
+                    Collection<Entity> entities = (Collection<Entity>) fieldValue;
+                    List<Object> values = new ArrayList<>(entities.size());
+                    for (Entity e : entities) {
+                        values.add(nestedWriter.write(e, loadedReferences.isEmpty() ? null : loadedReferences.get(EntityValues.getId(e))));
+                    }
+                    entityAsMap.put(name, values);
                     return;
                 }
             }
 
-            log.warn("buildResponse: failed for {}.{} unsupported range type ", metaClass.getName(), prop.getName());
-            throw new IllegalStateException("Unsupported range type " + propertyRange);
-        });
-        return entityAsMap;
+            log.warn("buildResponse: failed for {}.{} unsupported range type ", metaClass.getName(), name);
+            throw new IllegalStateException("Unsupported range type " + metaProperty.getRange());
+        }
     }
 
-    protected void writeIdField(Entity entity, Map<String, Object> entityAsMap) {
-        MetaClass metaClass = metadata.getClass(entity);
-        if (metadataTools.hasCompositePrimaryKey(metaClass)) {
-            throw new UnsupportedOperationException("Composite primary keys are not supported now for " + metaClass);
+    protected static class WriterKey {
+
+        protected final MetaClass metaClass;
+        protected final FetchPlan fetchPlan;
+        protected final Set<String> props;
+
+        protected WriterKey(MetaClass metaClass, FetchPlan fetchPlan, Set<String> props) {
+            this.metaClass = metaClass;
+            this.fetchPlan = fetchPlan;
+            this.props = props;
         }
-        entityAsMap.put(ID_ATTR_NAME, EntityValues.getId(entity));
-    }
 
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            WriterKey writerKey = (WriterKey) o;
+            return metaClass.equals(writerKey.metaClass)
+                    && fetchPlan.equals(writerKey.fetchPlan)
+                    && Objects.equals(props, writerKey.props);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metaClass, fetchPlan, props);
+        }
+    }
 }
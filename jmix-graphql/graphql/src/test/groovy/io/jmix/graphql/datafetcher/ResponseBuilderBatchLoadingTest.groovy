@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.datafetcher
+
+import ch.qos.logback.classic.Level
+import ch.qos.logback.classic.Logger
+import ch.qos.logback.classic.LoggerContext
+import ch.qos.logback.classic.spi.ILoggingEvent
+import ch.qos.logback.core.read.ListAppender
+import io.jmix.core.DataManager
+import io.jmix.core.FetchPlan
+import io.jmix.core.FetchPlans
+import io.jmix.core.Metadata
+import io.jmix.core.security.SystemAuthenticator
+import io.jmix.graphql.AbstractGraphQLTest
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.entity.Car
+import test_support.entity.CarType
+import test_support.entity.Garage
+
+class ResponseBuilderBatchLoadingTest extends AbstractGraphQLTest {
+
+    static final int ENTITY_COUNT = 10
+
+    @Autowired
+    SystemAuthenticator authenticator
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    FetchPlans fetchPlans
+    @Autowired
+    Metadata metadata
+    @Autowired
+    ResponseBuilder responseBuilder
+
+    private Logger sqlLogger
+    private Level sqlLoggerLevel
+    private ListAppender<ILoggingEvent> appender
+    private List<Car> cars = []
+    private List<Garage> garages = []
+
+    @SuppressWarnings('unused')
+    void setup() {
+        authenticator.begin()
+
+        for (int i = 0; i < ENTITY_COUNT; i++) {
+            Garage garage = dataManager.create(Garage)
+            garage.name = "garage-$i"
+            garages << dataManager.save(garage)
+
+            Car car = dataManager.create(Car)
+            car.manufacturer = "manufacturer-$i"
+            car.carType = CarType.SEDAN
+            car.garage = garage
+            cars << dataManager.save(car)
+        }
+
+        appender = new ListAppender<>()
+        appender.start()
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory()
+        sqlLogger = context.getLogger("eclipselink.logging.sql")
+        sqlLoggerLevel = sqlLogger.level
+        sqlLogger.setLevel(Level.DEBUG)
+        sqlLogger.addAppender(appender)
+    }
+
+    @SuppressWarnings('unused')
+    void cleanup() {
+        sqlLogger.detachAppender(appender)
+        sqlLogger.setLevel(sqlLoggerLevel)
+
+        cars.each { dataManager.remove(it) }
+        garages.each { dataManager.remove(it) }
+
+        authenticator.end()
+    }
+
+    def "entities not loaded with fetch plan are reloaded by one query per association"() {
+        given:
+        List<Car> localCars = dataManager.load(Car)
+                .ids(cars*.id)
+                .fetchPlan(FetchPlan.LOCAL)
+                .list()
+        FetchPlan fetchPlan = fetchPlans.builder(Car)
+                .addFetchPlan(FetchPlan.LOCAL)
+                .add("garage", FetchPlan.LOCAL)
+                .build()
+
+        when:
+        appender.list.clear()
+        def writer = responseBuilder.getResponseWriter(fetchPlan, metadata.getClass(Car),
+                ["manufacturer", "garage", "garage.name"] as Set)
+        List<Map<String, Object>> result = writer.writeAll(localCars)
+
+        then:
+        result.size() == ENTITY_COUNT
+        result.every { ((Map) it.garage).name == "garage-" + ((String) it.manufacturer).substring("manufacturer-".length()) }
+
+        def selects = appender.list*.formattedMessage.findAll { it.contains('SELECT') }
+        selects.count { it.contains('SCR_CAR') } == 1
+        selects.count { it.contains('SCR_GARAGE') } <= 1
+    }
+}
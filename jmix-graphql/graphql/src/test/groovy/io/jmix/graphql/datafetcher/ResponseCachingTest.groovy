@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.datafetcher
+
+import graphql.schema.DataFetchingEnvironment
+import io.jmix.core.AccessManager
+import io.jmix.core.FetchPlan
+import io.jmix.core.FetchPlans
+import io.jmix.core.Metadata
+import io.jmix.core.MetadataTools
+import io.jmix.core.security.SystemAuthenticator
+import io.jmix.graphql.AbstractGraphQLTest
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.entity.Car
+import test_support.entity.Garage
+
+class ResponseCachingTest extends AbstractGraphQLTest {
+
+    @Autowired
+    SystemAuthenticator authenticator
+    @Autowired
+    Metadata metadata
+    @Autowired
+    MetadataTools metadataTools
+    @Autowired
+    FetchPlans fetchPlans
+    @Autowired
+    AccessManager accessManager
+    @Autowired
+    EnvironmentUtils environmentUtils
+    @Autowired
+    ResponseBuilder responseBuilder
+
+    @SuppressWarnings('unused')
+    void setup() {
+        authenticator.begin()
+    }
+
+    @SuppressWarnings('unused')
+    void cleanup() {
+        authenticator.end()
+    }
+
+    def "nested properties don't include siblings sharing the name prefix"() {
+        given:
+        Set<String> props = ["garage", "garage.name", "garage.address", "garageName", "garages.name", "garage_.name"] as Set
+
+        expect:
+        environmentUtils.getNestedProps(props, "garage") == ["name", "address"] as Set
+        environmentUtils.getNestedProps(props, "garages") == ["name"] as Set
+        environmentUtils.getNestedProps(props, "garageName").isEmpty()
+    }
+
+    def "response writers are cached per selection set"() {
+        given:
+        Car car = createCar()
+        FetchPlan fetchPlan = fetchPlans.builder(Car)
+                .addFetchPlan(FetchPlan.LOCAL)
+                .add("garage", FetchPlan.LOCAL)
+                .build()
+
+        when: "a sibling of the reference sharing its name prefix requests _instanceName"
+        def siblingWriter = responseBuilder.getResponseWriter(fetchPlan, metadata.getClass(Car),
+                ["garage.name", "garageName._instanceName"] as Set)
+        Map<String, Object> siblingResult = siblingWriter.write(car)
+
+        then:
+        !((Map) siblingResult.garage).containsKey("_instanceName")
+        ((Map) siblingResult.garage).name == "garage-1"
+
+        when: "the same entity and fetch plan are requested with a different selection set"
+        def instanceNameWriter = responseBuilder.getResponseWriter(fetchPlan, metadata.getClass(Car),
+                ["garage.name", "garage._instanceName"] as Set)
+        Map<String, Object> instanceNameResult = instanceNameWriter.write(car)
+
+        then:
+        !instanceNameWriter.is(siblingWriter)
+        ((Map) instanceNameResult.garage)._instanceName == "garage-1 address-1"
+
+        when: "the same selection set is requested again"
+        def cachedWriter = responseBuilder.getResponseWriter(fetchPlan, metadata.getClass(Car),
+                ["garage._instanceName", "garage.name"] as Set)
+
+        then:
+        cachedWriter.is(instanceNameWriter)
+    }
+
+    def "fetch plans are cached per selection set"() {
+        given:
+        def planEnvironmentUtils = new TestEnvironmentUtils()
+        def planBuilder = new DataFetcherPlanBuilder()
+        planBuilder.metadataTools = metadataTools
+        planBuilder.metadata = metadata
+        planBuilder.environmentUtils = planEnvironmentUtils
+        planBuilder.accessManager = accessManager
+        planBuilder.fetchPlans = fetchPlans
+
+        when:
+        planEnvironmentUtils.entityProperties = ["model"]
+        FetchPlan modelPlan = planBuilder.buildFetchPlan(Car, null)
+
+        planEnvironmentUtils.entityProperties = ["model", "garage.name"]
+        FetchPlan garagePlan = planBuilder.buildFetchPlan(Car, null)
+
+        planEnvironmentUtils.entityProperties = ["garage.name", "model"]
+        FetchPlan reorderedGaragePlan = planBuilder.buildFetchPlan(Car, null)
+
+        then:
+        !modelPlan.is(garagePlan)
+        modelPlan.containsProperty("model")
+        !modelPlan.containsProperty("garage")
+
+        garagePlan.containsProperty("garage")
+        garagePlan.getProperty("garage").fetchPlan.containsProperty("name")
+
+        reorderedGaragePlan.is(garagePlan)
+        planBuilder.fetchPlansCache.size() == 2
+    }
+
+    protected Car createCar() {
+        Garage garage = metadata.create(Garage)
+        garage.name = "garage-1"
+        garage.address = "address-1"
+
+        Car car = metadata.create(Car)
+        car.manufacturer = "manufacturer-1"
+        car.garage = garage
+        return car
+    }
+
+    static class TestEnvironmentUtils extends EnvironmentUtils {
+
+        List<String> entityProperties = []
+
+        @Override
+        List<String> getEntityProperties(DataFetchingEnvironment environment) {
+            return entityProperties
+        }
+
+        @Override
+        boolean hasInstanceNameProperty(DataFetchingEnvironment environment) {
+            return false
+        }
+    }
+}
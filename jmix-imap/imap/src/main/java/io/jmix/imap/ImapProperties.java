@@ -28,6 +28,28 @@ public class ImapProperties {
     int timeoutSeconds;
     int eventsBatchSize;
 
+    /**
+     * Whether connections to IMAP servers are kept open between synchronizations and reused.
+     */
+    boolean storePoolEnabled;
+
+    /**
+     * Maximum time in seconds a pooled connection is used before it is closed.
+     */
+    int storeMaxLifetimeSeconds;
+
+    /**
+     * Time in seconds after which an unused pooled connection is closed.
+     */
+    int storeIdleTimeoutSeconds;
+
+    /**
+     * Whether processable folders are watched using the IDLE command, so changes reported by the server
+     * trigger synchronization of the changed folders without waiting for the scheduled synchronization.
+     * Each watched folder keeps its own connection open.
+     */
+    boolean idleEnabled;
+
     /**
      * Whether the default Imap Sync quartz scheduling configuration is used.
      */
@@ -45,7 +67,11 @@ public class ImapProperties {
                           @DefaultValue("5") int timeoutSeconds,
                           @DefaultValue("20") int eventsBatchSize,
                           @DefaultValue("0 * * * * ?") String imapSyncCron,
-                          @DefaultValue("true") boolean useDefaultQuartzConfiguration) {
+                          @DefaultValue("true") boolean useDefaultQuartzConfiguration,
+                          @DefaultValue("true") boolean storePoolEnabled,
+                          @DefaultValue("1800") int storeMaxLifetimeSeconds,
+                          @DefaultValue("300") int storeIdleTimeoutSeconds,
+                          @DefaultValue("false") boolean idleEnabled) {
         this.trustAllCertificates = trustAllCertificates;
         this.updateBatchSize = updateBatchSize;
         this.clearCustomFlags = clearCustomFlags;
@@ -54,6 +80,10 @@ public class ImapProperties {
         this.eventsBatchSize = eventsBatchSize;
         this.imapSyncCron = imapSyncCron;
         this.useDefaultQuartzConfiguration = useDefaultQuartzConfiguration;
+        this.storePoolEnabled = storePoolEnabled;
+        this.storeMaxLifetimeSeconds = storeMaxLifetimeSeconds;
+        this.storeIdleTimeoutSeconds = storeIdleTimeoutSeconds;
+        this.idleEnabled = idleEnabled;
     }
 
     public boolean isTrustAllCertificates() {
@@ -93,4 +123,32 @@ public class ImapProperties {
     public String getImapSyncCron() {
         return imapSyncCron;
     }
+
+    /**
+     * @see #storePoolEnabled
+     */
+    public boolean isStorePoolEnabled() {
+        return storePoolEnabled;
+    }
+
+    /**
+     * @see #storeMaxLifetimeSeconds
+     */
+    public int getStoreMaxLifetimeSeconds() {
+        return storeMaxLifetimeSeconds;
+    }
+
+    /**
+     * @see #storeIdleTimeoutSeconds
+     */
+    public int getStoreIdleTimeoutSeconds() {
+        return storeIdleTimeoutSeconds;
+    }
+
+    /**
+     * @see #idleEnabled
+     */
+    public boolean isIdleEnabled() {
+        return idleEnabled;
+    }
 }
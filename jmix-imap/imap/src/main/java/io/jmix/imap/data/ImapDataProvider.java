@@ -16,6 +16,7 @@
 
 package io.jmix.imap.data;
 
+import com.google.common.collect.Lists;
 import io.jmix.core.DataManager;
 import io.jmix.core.FetchPlan;
 import io.jmix.core.FetchPlanRepository;
@@ -24,6 +25,7 @@ import io.jmix.imap.entity.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
@@ -97,6 +99,19 @@ public class ImapDataProvider {
                 .orElse(null);
     }
 
+    public List<ImapMessage> findMessagesByUids(ImapFolder mailFolder, Collection<Long> messageUids) {
+        List<ImapMessage> result = new ArrayList<>(messageUids.size());
+        for (List<Long> partition : Lists.partition(new ArrayList<>(messageUids), 1000)) {
+            result.addAll(dataManager.load(ImapMessage.class)
+                    .query("select m from imap_Message m where m.msgUid in :msgUids and m.folder.id = :mailFolderId")
+                    .parameter("mailFolderId", mailFolder.getId())
+                    .parameter("msgUids", partition)
+                    .fetchPlan("imap-msg-full")
+                    .list());
+        }
+        return result;
+    }
+
     public ImapMessage findMessageByImapMessageId(ImapMessage imapMessage) {
         return dataManager.load(ImapMessage.class)
                 .query("select m from imap_Message m where m.messageId = :imapMessageId and " +
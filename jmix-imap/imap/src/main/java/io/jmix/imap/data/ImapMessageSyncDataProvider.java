@@ -16,6 +16,7 @@
 
 package io.jmix.imap.data;
 
+import com.google.common.collect.Lists;
 import io.jmix.core.DataManager;
 import io.jmix.core.FluentLoader;
 import io.jmix.core.Metadata;
@@ -35,16 +36,16 @@ import org.springframework.util.CollectionUtils;
 import jakarta.mail.Flags;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import java.util.Collection;
-import java.util.Date;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component("imap_ImapMessageSyncDataProvider")
 public class ImapMessageSyncDataProvider {
 
+    protected static final int MAX_IDS_IN_QUERY = 1000;
+
     @PersistenceContext
     protected EntityManager entityManager;
     @Autowired
@@ -126,10 +127,14 @@ public class ImapMessageSyncDataProvider {
     }
 
     public void createSyncForMessages(Collection<ImapMessage> messages, ImapSyncStatus syncStatus) {
+        if (messages.isEmpty()) {
+            return;
+        }
         transaction.executeWithoutResult(transactionStatus -> {
+            Set<UUID> syncedMessageIds = findSyncedMessageIds(
+                    messages.stream().map(ImapMessage::getId).collect(Collectors.toList()));
             messages.forEach(message -> {
-                ImapMessageSync sync = findMessageSync(message);
-                if (sync == null) {
+                if (!syncedMessageIds.contains(message.getId())) {
                     ImapMessageSync messageSync = metadata.create(ImapMessageSync.class);
                     messageSync.setMessage(message);
                     messageSync.setStatus(syncStatus);
@@ -164,6 +169,88 @@ public class ImapMessageSyncDataProvider {
         });
     }
 
+    /**
+     * Changes status of syncs of the given messages in a single transaction.
+     *
+     * @param messageFlags new flags by message id, flags of a sync are not changed if the value is null
+     * @param syncStatus   new status
+     * @param oldStatus    only syncs with this status are updated
+     */
+    public void updateSyncStatuses(Map<UUID, Flags> messageFlags,
+                                   ImapSyncStatus syncStatus,
+                                   ImapSyncStatus oldStatus) {
+        updateSyncStatuses(messageFlags.keySet(), oldStatus, messageSync -> {
+            messageSync.setStatus(syncStatus);
+            Flags flags = messageFlags.get(messageSync.getMessage().getId());
+            if (flags != null) {
+                messageSync.setImapFlags(flags);
+            }
+        });
+    }
+
+    /**
+     * Changes status of syncs of the given messages and sets the folders they were moved from
+     * in a single transaction.
+     *
+     * @param oldFolders previous folders by message id
+     * @param syncStatus new status
+     * @param oldStatus  only syncs with this status are updated
+     */
+    public void updateSyncStatusesWithOldFolders(Map<UUID, ImapFolder> oldFolders,
+                                                 ImapSyncStatus syncStatus,
+                                                 ImapSyncStatus oldStatus) {
+        updateSyncStatuses(oldFolders.keySet(), oldStatus, messageSync -> {
+            messageSync.setStatus(syncStatus);
+            ImapFolder oldFolder = oldFolders.get(messageSync.getMessage().getId());
+            if (oldFolder != null) {
+                messageSync.setOldFolder(oldFolder);
+            }
+        });
+    }
+
+    protected void updateSyncStatuses(Collection<UUID> messageIds,
+                                      ImapSyncStatus oldStatus,
+                                      Consumer<ImapMessageSync> updater) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+        transaction.executeWithoutResult(transactionStatus -> {
+            for (List<UUID> partition : Lists.partition(new ArrayList<>(messageIds), MAX_IDS_IN_QUERY)) {
+                entityManager.createQuery(
+                        "select ms from imap_MessageSync ms join fetch ms.message " +
+                                "where ms.message.id in :msgIds and ms.status = :oldStatus", ImapMessageSync.class)
+                        .setParameter("msgIds", partition)
+                        .setParameter("oldStatus", oldStatus.getId())
+                        .getResultList()
+                        .forEach(updater);
+            }
+        });
+    }
+
+    /**
+     * Changes status of syncs of the given messages in a single transaction.
+     *
+     * @see #updateSyncStatuses(Map, ImapSyncStatus, ImapSyncStatus)
+     */
+    public void updateSyncStatuses(Collection<ImapMessage> messages,
+                                   ImapSyncStatus syncStatus,
+                                   ImapSyncStatus oldStatus) {
+        Map<UUID, Flags> messageFlags = new HashMap<>();
+        messages.forEach(message -> messageFlags.put(message.getId(), null));
+        updateSyncStatuses(messageFlags, syncStatus, oldStatus);
+    }
+
+    protected Set<UUID> findSyncedMessageIds(List<UUID> messageIds) {
+        Set<UUID> result = new HashSet<>();
+        for (List<UUID> partition : Lists.partition(messageIds, MAX_IDS_IN_QUERY)) {
+            result.addAll(entityManager.createQuery(
+                    "select ms.message.id from imap_MessageSync ms where ms.message.id in :msgIds", UUID.class)
+                    .setParameter("msgIds", partition)
+                    .getResultList());
+        }
+        return result;
+    }
+
     public ImapMessageSync findMessageSync(ImapMessage message) {
         List<ImapMessageSync> resultList = entityManager.createQuery(
                 "select ms from imap_MessageSync ms where ms.message.id = :msgId", ImapMessageSync.class)
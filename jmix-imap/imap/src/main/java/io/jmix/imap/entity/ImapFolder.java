@@ -102,6 +102,13 @@ public class ImapFolder {
     @JoinColumn(name = "PARENT_FOLDER_ID")
     protected ImapFolder parent;
 
+    /**
+     * HIGHESTMODSEQ value of the folder on the server at the moment of the last synchronization.
+     * Is used only if the server supports the CONDSTORE extension.
+     */
+    @Column(name = "HIGHEST_MOD_SEQ")
+    protected Long highestModSeq;
+
     @Transient
     @JmixProperty
     protected Boolean unregistered = false;
@@ -241,6 +248,14 @@ public class ImapFolder {
         this.parent = parent;
     }
 
+    public Long getHighestModSeq() {
+        return highestModSeq;
+    }
+
+    public void setHighestModSeq(Long highestModSeq) {
+        this.highestModSeq = highestModSeq;
+    }
+
     public Boolean getUnregistered() {
         return unregistered;
     }
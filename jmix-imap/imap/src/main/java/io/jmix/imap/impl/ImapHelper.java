@@ -18,6 +18,7 @@ package io.jmix.imap.impl;
 
 import io.jmix.imap.data.ImapDataProvider;
 import io.jmix.imap.entity.ImapMailBox;
+import io.jmix.imap.entity.ImapSimpleAuthentication;
 import io.jmix.imap.protocol.ThreadExtension;
 import org.apache.commons.io.IOUtils;
 import org.eclipse.angus.mail.imap.IMAPStore;
@@ -30,6 +31,7 @@ import jakarta.mail.*;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -56,6 +58,29 @@ public class ImapHelper {
                 ? buildStore(box) : buildStore(box, box.getAuthentication().getPassword());
     }
 
+    /**
+     * Connects to the server of the mailbox using the given session.
+     */
+    public IMAPStore getStore(ImapMailBox box, Session session) throws MessagingException {
+        log.debug("Accessing imap store for {}", box);
+
+        String persistedPassword = imapDataProvider.getPersistedPassword(box);
+        boolean decryptPassword = Objects.equals(box.getAuthentication().getPassword(), persistedPassword);
+        IMAPStore store = imapStoreBuilder.build(session, box, box.getAuthentication().getPassword(), decryptPassword);
+
+        supportThreading.put(box.getId(), store.hasCapability(ThreadExtension.CAPABILITY_NAME));
+        return store;
+    }
+
+    /**
+     * @return an object which is equal for mailboxes with the same connection settings
+     */
+    Object getConnectionKey(ImapMailBox box) {
+        ImapSimpleAuthentication authentication = box.getAuthentication();
+        return Arrays.asList(box.getVersion(), box.getHost(), box.getPort(), box.getSecureMode(),
+                authentication.getUsername(), authentication.getPassword());
+    }
+
     public Flags jmixFlags(ImapMailBox mailBox) {
         return new Flags(mailBox.getJmixFlag());
     }
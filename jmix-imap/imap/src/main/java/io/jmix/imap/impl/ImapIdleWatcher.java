@@ -0,0 +1,321 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.imap.impl;
+
+import io.jmix.imap.entity.ImapFolder;
+import io.jmix.imap.entity.ImapMailBox;
+import io.jmix.imap.sync.ImapMailboxSyncActivationEvent;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Folder;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.event.ConnectionAdapter;
+import jakarta.mail.event.ConnectionEvent;
+import jakarta.mail.event.MessageChangedEvent;
+import jakarta.mail.event.MessageCountAdapter;
+import jakarta.mail.event.MessageCountEvent;
+import org.eclipse.angus.mail.imap.IMAPFolder;
+import org.eclipse.angus.mail.imap.IMAPStore;
+import org.eclipse.angus.mail.imap.IdleManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Watches processable folders of mailboxes using the IDLE command and reports folders changed on the server.
+ * <p>
+ * Folders of all mailboxes are watched by a single {@link IdleManager} which uses non-blocking socket channels,
+ * so the number of threads doesn't depend on the number of watched folders. Each watched folder keeps its own
+ * connection open.
+ * Changes reported within {@link #NOTIFICATION_DELAY_MS} are passed to the handler together.
+ */
+@Component("imap_ImapIdleWatcher")
+public class ImapIdleWatcher {
+
+    private final static Logger log = LoggerFactory.getLogger(ImapIdleWatcher.class);
+
+    protected static final String IDLE_CAPABILITY = "IDLE";
+    protected static final long NOTIFICATION_DELAY_MS = 1000;
+
+    @Autowired
+    protected ImapHelper imapHelper;
+
+    @Autowired
+    protected ImapStoreBuilder imapStoreBuilder;
+
+    protected final ConcurrentMap<UUID, MailBoxWatch> watches = new ConcurrentHashMap<>();
+
+    protected IdleManager idleManager;
+
+    protected final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(@Nonnull Runnable r) {
+            Thread thread = new Thread(r, "ImapIdle-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    protected final ScheduledExecutorService notificationExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ImapIdleNotification");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Starts watching processable folders of the mailbox. Does nothing if the mailbox is already watched
+     * and its connection settings and folders have not changed.
+     *
+     * @param changesHandler receives ids of folders changed on the server
+     */
+    public void watch(ImapMailBox mailBox, Consumer<Set<UUID>> changesHandler) {
+        Object watchKey = getWatchKey(mailBox);
+        MailBoxWatch watch = watches.get(mailBox.getId());
+        if (watch != null) {
+            if (watch.watchKey.equals(watchKey) && watch.isValid()) {
+                return;
+            }
+            stop(mailBox.getId());
+        }
+
+        try {
+            watch = startWatch(mailBox, watchKey, changesHandler);
+            MailBoxWatch replaced = watches.put(mailBox.getId(), watch);
+            if (replaced != null) {
+                replaced.close();
+            }
+        } catch (MessagingException e) {
+            log.warn("Unable to watch folders of mailbox {}", mailBox, e);
+        }
+    }
+
+    /**
+     * Stops watching the mailbox and closes its connections.
+     */
+    public void stop(UUID mailBoxId) {
+        MailBoxWatch watch = watches.remove(mailBoxId);
+        if (watch != null) {
+            log.debug("Stop watching mailbox with id={}", mailBoxId);
+            watch.close();
+        }
+    }
+
+    /**
+     * Stops watching mailboxes which are not in the given collection.
+     */
+    public void retain(Collection<ImapMailBox> mailBoxes) {
+        Set<UUID> mailBoxIds = mailBoxes.stream().map(ImapMailBox::getId).collect(Collectors.toSet());
+        for (UUID mailBoxId : new ArrayList<>(watches.keySet())) {
+            if (!mailBoxIds.contains(mailBoxId)) {
+                stop(mailBoxId);
+            }
+        }
+    }
+
+    @EventListener
+    public void onMailBoxActivation(ImapMailboxSyncActivationEvent event) {
+        if (event.getType() == ImapMailboxSyncActivationEvent.Type.DEACTIVATE) {
+            stop(event.getMailBox().getId());
+        }
+    }
+
+    @PreDestroy
+    protected void destroy() {
+        for (UUID mailBoxId : new ArrayList<>(watches.keySet())) {
+            stop(mailBoxId);
+        }
+        synchronized (this) {
+            if (idleManager != null) {
+                idleManager.stop();
+                idleManager = null;
+            }
+        }
+        notificationExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    protected MailBoxWatch startWatch(ImapMailBox mailBox,
+                                      Object watchKey,
+                                      Consumer<Set<UUID>> changesHandler) throws MessagingException {
+        Session session = imapStoreBuilder.buildSession(mailBox, true);
+        IMAPStore store = imapHelper.getStore(mailBox, session);
+        if (!store.hasCapability(IDLE_CAPABILITY)) {
+            log.debug("Server of mailbox {} doesn't support IDLE", mailBox);
+            store.close();
+            // keep the watch to not reconnect on each synchronization
+            return new MailBoxWatch(watchKey, null, null, changesHandler);
+        }
+
+        log.debug("Start watching mailbox {}", mailBox);
+        IdleManager sharedIdleManager;
+        try {
+            sharedIdleManager = getIdleManager();
+        } catch (MessagingException e) {
+            store.close();
+            throw e;
+        }
+
+        MailBoxWatch watch = new MailBoxWatch(watchKey, store, sharedIdleManager, changesHandler);
+        try {
+            for (ImapFolder jmixFolder : mailBox.getProcessableFolders()) {
+                IMAPFolder imapFolder = (IMAPFolder) store.getFolder(jmixFolder.getName());
+                imapFolder.open(Folder.READ_ONLY);
+                watch.folders.add(imapFolder);
+                addListeners(watch, jmixFolder.getId(), imapFolder);
+                sharedIdleManager.watch(imapFolder);
+            }
+        } catch (MessagingException e) {
+            watch.close();
+            throw e;
+        }
+        return watch;
+    }
+
+    /**
+     * Returns the IdleManager shared by all watched folders, creates it if it is not running.
+     */
+    protected synchronized IdleManager getIdleManager() throws MessagingException {
+        if (idleManager == null || !idleManager.isRunning()) {
+            try {
+                // the session is used only for logging of the manager itself
+                idleManager = new IdleManager(Session.getInstance(new Properties()), executor);
+            } catch (IOException e) {
+                throw new MessagingException("Unable to create IdleManager", e);
+            }
+        }
+        return idleManager;
+    }
+
+    protected void addListeners(MailBoxWatch watch, UUID folderId, IMAPFolder imapFolder) {
+        imapFolder.addMessageCountListener(new MessageCountAdapter() {
+            @Override
+            public void messagesAdded(MessageCountEvent e) {
+                onFolderChanged(watch, folderId, imapFolder);
+            }
+
+            @Override
+            public void messagesRemoved(MessageCountEvent e) {
+                onFolderChanged(watch, folderId, imapFolder);
+            }
+        });
+        imapFolder.addMessageChangedListener((MessageChangedEvent e) -> onFolderChanged(watch, folderId, imapFolder));
+        imapFolder.addConnectionListener(new ConnectionAdapter() {
+            @Override
+            public void closed(ConnectionEvent e) {
+                watch.valid = false;
+            }
+        });
+    }
+
+    protected void onFolderChanged(MailBoxWatch watch, UUID folderId, IMAPFolder imapFolder) {
+        watch.changedFolderIds.add(folderId);
+        try {
+            // the folder has to be watched again after each notification
+            watch.idleManager.watch(imapFolder);
+        } catch (MessagingException e) {
+            log.debug("Unable to continue watching folder {}", imapFolder.getFullName(), e);
+            watch.valid = false;
+        }
+
+        if (watch.notificationScheduled.compareAndSet(false, true)) {
+            notificationExecutor.schedule(() -> notifyChanges(watch), NOTIFICATION_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    protected void notifyChanges(MailBoxWatch watch) {
+        watch.notificationScheduled.set(false);
+        Set<UUID> folderIds = new HashSet<>(watch.changedFolderIds);
+        watch.changedFolderIds.removeAll(folderIds);
+        if (!folderIds.isEmpty()) {
+            try {
+                watch.changesHandler.accept(folderIds);
+            } catch (Exception e) {
+                log.error("Unable to handle changes of folders", e);
+            }
+        }
+    }
+
+    protected Object getWatchKey(ImapMailBox mailBox) {
+        List<String> folderNames = mailBox.getProcessableFolders().stream()
+                .map(ImapFolder::getName)
+                .sorted()
+                .collect(Collectors.toList());
+        return Arrays.asList(imapHelper.getConnectionKey(mailBox), folderNames);
+    }
+
+    protected static class MailBoxWatch {
+        protected final Object watchKey;
+        protected final IMAPStore store;
+        protected final IdleManager idleManager;
+        protected final Consumer<Set<UUID>> changesHandler;
+        protected final List<IMAPFolder> folders = new ArrayList<>();
+        protected final Set<UUID> changedFolderIds = ConcurrentHashMap.newKeySet();
+        protected final AtomicBoolean notificationScheduled = new AtomicBoolean();
+        protected volatile boolean valid = true;
+
+        protected MailBoxWatch(Object watchKey,
+                               IMAPStore store,
+                               IdleManager idleManager,
+                               Consumer<Set<UUID>> changesHandler) {
+            this.watchKey = watchKey;
+            this.store = store;
+            this.idleManager = idleManager;
+            this.changesHandler = changesHandler;
+        }
+
+        protected boolean isValid() {
+            return valid;
+        }
+
+        /**
+         * Closes folders of the mailbox, the shared IdleManager stops watching closed folders.
+         */
+        protected void close() {
+            valid = false;
+            for (IMAPFolder folder : folders) {
+                try {
+                    if (folder.isOpen()) {
+                        folder.close(false);
+                    }
+                } catch (MessagingException | IllegalStateException e) {
+                    log.debug("Unable to close folder {}", folder.getFullName(), e);
+                }
+            }
+            if (store != null) {
+                try {
+                    store.close();
+                } catch (MessagingException e) {
+                    log.debug("Unable to close store", e);
+                }
+            }
+        }
+    }
+}
@@ -37,10 +37,7 @@ import jakarta.mail.search.ComparisonTerm;
 import jakarta.mail.search.IntegerComparisonTerm;
 import jakarta.mail.search.SearchTerm;
 import java.io.UnsupportedEncodingException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 @Component("imap_ImapOperations")
 public class ImapOperations {
@@ -51,6 +48,9 @@ public class ImapOperations {
     protected static final String SUBJECT_HEADER = "Subject";
     public static final String MESSAGE_ID_HEADER = "Message-ID";
 
+    protected static final String CONDSTORE_CAPABILITY = "CONDSTORE";
+    protected static final String QRESYNC_CAPABILITY = "QRESYNC";
+
     @Autowired
     protected ImapHelper imapHelper;
     @Autowired
@@ -148,6 +148,71 @@ public class ImapOperations {
         return fetch(folder, fetchProfile, messages);
     }
 
+    /**
+     * Fetches flags of messages with the given UIDs using a single {@code UID FETCH} command.
+     *
+     * @return flags by UID, messages which don't exist in the folder anymore are absent in the result
+     */
+    public Map<Long, Flags> fetchFlagsByUids(IMAPFolder folder, long[] uids) throws MessagingException {
+        log.debug("fetch flags of {} messages in {}", uids.length, folder.getFullName());
+
+        Message[] messages = folder.getMessagesByUID(uids);
+        return fetchFlags(folder, messages);
+    }
+
+    /**
+     * Checks which of the messages with the given UIDs still exist in the folder. Only UIDs are fetched,
+     * using a single {@code UID FETCH} command.
+     *
+     * @return UIDs of existing messages
+     */
+    public Set<Long> fetchExistingUids(IMAPFolder folder, long[] uids) throws MessagingException {
+        log.debug("check existence of {} messages in {}", uids.length, folder.getFullName());
+
+        Message[] messages = folder.getMessagesByUID(uids);
+        Set<Long> result = new HashSet<>(messages.length);
+        for (Message message : messages) {
+            if (message != null && !message.isExpunged()) {
+                result.add(folder.getUID(message));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fetches flags of messages changed since the given modification sequence. Requires the CONDSTORE extension.
+     *
+     * @return flags by UID
+     * @see #supportsCondStore(IMAPFolder)
+     */
+    public Map<Long, Flags> fetchFlagsModifiedSince(IMAPFolder folder, long modSeq) throws MessagingException {
+        log.debug("fetch flags of messages in {} modified since {}", folder.getFullName(), modSeq);
+
+        Message[] messages = folder.getModifiedSince(modSeq);
+        return fetchFlags(folder, messages);
+    }
+
+    /**
+     * @return whether the server of the given folder supports CONDSTORE extension
+     */
+    public boolean supportsCondStore(IMAPFolder folder) throws MessagingException {
+        IMAPStore store = (IMAPStore) folder.getStore();
+        return store.hasCapability(CONDSTORE_CAPABILITY) || store.hasCapability(QRESYNC_CAPABILITY);
+    }
+
+    protected Map<Long, Flags> fetchFlags(IMAPFolder folder, Message[] messages) throws MessagingException {
+        FetchProfile fetchProfile = new FetchProfile();
+        fetchProfile.add(FetchProfile.Item.FLAGS);
+        fetchProfile.add(UIDFolder.FetchProfileItem.UID);
+
+        List<IMAPMessage> fetched = fetch(folder, fetchProfile, messages);
+        Map<Long, Flags> result = new HashMap<>(fetched.size());
+        for (IMAPMessage message : fetched) {
+            result.put(folder.getUID(message), new Flags(message.getFlags()));
+        }
+        return result;
+    }
+
     public ImapMessage map(ImapMessage jmixMessage, IMAPMessage msg, ImapFolder jmixFolder) throws MessagingException {
         long uid = ((IMAPFolder) msg.getFolder()).getUID(msg);
         Flags flags = new Flags(msg.getFlags());
@@ -17,6 +17,7 @@
 package io.jmix.imap.impl;
 
 import io.jmix.core.security.SystemAuthenticator;
+import io.jmix.imap.ImapProperties;
 import io.jmix.imap.ImapScheduler;
 import io.jmix.imap.data.ImapDataProvider;
 import io.jmix.imap.entity.ImapMailBox;
@@ -26,12 +27,12 @@ import io.jmix.imap.sync.events.ImapEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.Nonnull;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -58,6 +59,19 @@ public class ImapSchedulerImpl implements ImapScheduler {
     @Autowired
     protected SystemAuthenticator authenticator;
 
+    @Autowired
+    protected ImapProperties imapProperties;
+
+    @Autowired
+    protected ImapStorePool imapStorePool;
+
+    @Autowired
+    protected ImapIdleWatcher imapIdleWatcher;
+
+    protected final Set<UUID> syncingMailBoxes = ConcurrentHashMap.newKeySet();
+
+    protected final Map<UUID, Set<UUID>> pendingFolderIds = new ConcurrentHashMap<>();
+
     protected final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
         private final AtomicInteger threadNumber = new AtomicInteger(1);
 
@@ -76,12 +90,20 @@ public class ImapSchedulerImpl implements ImapScheduler {
         List<ImapMailBox> mailBoxes = imapDataProvider.findMailBoxes();
         log.trace("IMAP synchronization: found {} mailboxes", mailBoxes.size());
 
+        imapStorePool.evictIdleStores();
+        if (imapProperties.isIdleEnabled()) {
+            imapIdleWatcher.retain(mailBoxes);
+        }
+
         Map<ImapMailBox, Future> tasks = new HashMap<>(mailBoxes.size());
         mailBoxes.forEach(mailBox -> {
             tasks.put(mailBox, executor.submit(() -> {
                 authenticator.begin();
                 try {
                     syncMailBox(mailBox);
+                    if (imapProperties.isIdleEnabled()) {
+                        imapIdleWatcher.watch(mailBox, folderIds -> onFoldersChanged(mailBox, folderIds));
+                    }
                 } finally {
                     authenticator.end();
                 }
@@ -100,8 +122,62 @@ public class ImapSchedulerImpl implements ImapScheduler {
     }
 
     protected void syncMailBox(ImapMailBox mailBox) {
-        getImapSynchronizer(mailBox).synchronize(mailBox);
-        handleFolderMessages(mailBox);
+        syncMailBox(mailBox, null);
+    }
+
+    /**
+     * Synchronizes the given folders of the mailbox.
+     * <p>
+     * If the mailbox is being synchronized already, synchronization of all folders is skipped, while the given
+     * folders are marked as pending and synchronized by the running task after it finishes, so changes reported
+     * by IDLE during synchronization are not lost.
+     *
+     * @param folderIds ids of folders to synchronize, all processable folders are synchronized if null
+     */
+    protected void syncMailBox(ImapMailBox mailBox, @Nullable Collection<UUID> folderIds) {
+        UUID mailBoxId = mailBox.getId();
+        boolean allFolders = folderIds == null;
+        if (!allFolders) {
+            pendingFolderIds.merge(mailBoxId, new HashSet<>(folderIds), (pending, added) -> {
+                Set<UUID> merged = new HashSet<>(pending);
+                merged.addAll(added);
+                return merged;
+            });
+        }
+
+        while (syncingMailBoxes.add(mailBoxId)) {
+            try {
+                Set<UUID> pending = pendingFolderIds.remove(mailBoxId);
+                if (allFolders || pending != null) {
+                    getImapSynchronizer(mailBox).synchronize(mailBox, allFolders ? null : pending);
+                    handleFolderMessages(mailBox);
+                }
+            } finally {
+                syncingMailBoxes.remove(mailBoxId);
+            }
+
+            // folders could be marked as pending by another thread before the guard was released
+            if (!pendingFolderIds.containsKey(mailBoxId)) {
+                return;
+            }
+            allFolders = false;
+        }
+        log.trace("Mailbox with id={} is being synchronized already", mailBoxId);
+    }
+
+    protected void onFoldersChanged(ImapMailBox mailBox, Collection<UUID> folderIds) {
+        log.trace("Folders {} of mailbox with id={} have been changed", folderIds, mailBox.getId());
+        executor.submit(() -> {
+            authenticator.begin();
+            try {
+                syncMailBox(mailBox, folderIds);
+            } catch (Exception e) {
+                log.error(String.format("Error on %s[%s] mailbox sync",
+                        mailBox.getName(), mailBox.getId()), e);
+            } finally {
+                authenticator.end();
+            }
+        });
     }
 
     protected ImapSynchronizer getImapSynchronizer(ImapMailBox mailBox) {
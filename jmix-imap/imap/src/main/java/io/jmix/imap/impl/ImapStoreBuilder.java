@@ -66,7 +66,23 @@ public class ImapStoreBuilder {
     protected Encryptor encryptor;
 
     IMAPStore build(ImapMailBox mailBox, String password, boolean decryptPassword) throws MessagingException {
-        String protocol = mailBox.getSecureMode() == ImapSecureMode.TLS ? "imaps" : "imap";
+        return build(buildSession(mailBox, false), mailBox, password, decryptPassword);
+    }
+
+    IMAPStore build(Session session, ImapMailBox mailBox, String password, boolean decryptPassword) throws MessagingException {
+        IMAPStore store = (IMAPStore) session.getStore(getProtocol(mailBox));
+        String passwordToConnect = decryptPassword ? decryptedPassword(mailBox, password) : password;
+        store.connect(mailBox.getHost(), mailBox.getPort(), mailBox.getAuthentication().getUsername(), passwordToConnect);
+
+        return store;
+    }
+
+    /**
+     * @param useSocketChannels whether connections should use socket channels, it is required for watching
+     *                          folders by {@link org.eclipse.angus.mail.imap.IdleManager}
+     */
+    Session buildSession(ImapMailBox mailBox, boolean useSocketChannels) throws MessagingException {
+        String protocol = getProtocol(mailBox);
 
         Properties props = new Properties(System.getProperties());
         props.setProperty("mail.store.protocol", protocol);
@@ -92,17 +108,18 @@ public class ImapStoreBuilder {
             props.put(String.format("mail.%s.%s.port", protocol, proxyType), proxy.getPort());
         }
 
+        if (useSocketChannels) {
+            props.setProperty(String.format("mail.%s.usesocketchannels", protocol), "true");
+        }
+
         Session session = Session.getInstance(props, null);
         session.setDebug(config.isDebug());
-
-        IMAPStore store = (IMAPStore) session.getStore(protocol);
-        String passwordToConnect = decryptPassword ? decryptedPassword(mailBox, password) : password;
-        store.connect(mailBox.getHost(), mailBox.getPort(), mailBox.getAuthentication().getUsername(), passwordToConnect);
-
-        return store;
+        return session;
     }
 
-
+    protected String getProtocol(ImapMailBox mailBox) {
+        return mailBox.getSecureMode() == ImapSecureMode.TLS ? "imaps" : "imap";
+    }
 
     protected String decryptedPassword(ImapMailBox mailBox, String persistedPassword) {
         String password = mailBox.getAuthentication().getPassword();
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.imap.impl;
+
+import io.jmix.core.TimeSource;
+import io.jmix.imap.ImapProperties;
+import io.jmix.imap.entity.ImapMailBox;
+import io.jmix.imap.sync.ImapMailboxSyncActivationEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import org.eclipse.angus.mail.imap.IMAPStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps connections to IMAP servers open between synchronizations, so every synchronization doesn't require
+ * a new TLS handshake and login. At most one idle connection is kept for each mailbox.
+ * <p>
+ * A pooled connection is checked by the {@code NOOP} command before it is returned by {@link #borrow(ImapMailBox)}.
+ * Connections are closed after {@code jmix.imap.store-max-lifetime-seconds}, after
+ * {@code jmix.imap.store-idle-timeout-seconds} of inactivity and when the mailbox is changed.
+ */
+@Component("imap_ImapStorePool")
+public class ImapStorePool {
+
+    private final static Logger log = LoggerFactory.getLogger(ImapStorePool.class);
+
+    @Autowired
+    protected ImapHelper imapHelper;
+
+    @Autowired
+    protected ImapProperties imapProperties;
+
+    @Autowired
+    protected TimeSource timeSource;
+
+    protected final ConcurrentMap<UUID, PooledStore> idleStores = new ConcurrentHashMap<>();
+
+    protected final Map<IMAPStore, PooledStore> borrowedStores = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Returns a connected store of the mailbox. The store must be returned by {@link #release(ImapMailBox, IMAPStore)}.
+     */
+    public IMAPStore borrow(ImapMailBox mailBox) throws MessagingException {
+        if (!imapProperties.isStorePoolEnabled()) {
+            return imapHelper.getStore(mailBox);
+        }
+
+        Object connectionKey = getConnectionKey(mailBox);
+        PooledStore pooledStore = idleStores.remove(mailBox.getId());
+        if (pooledStore != null) {
+            if (pooledStore.connectionKey.equals(connectionKey) && !isExpired(pooledStore) && isConnected(pooledStore.store)) {
+                log.trace("Reuse pooled store of mailbox {}", mailBox);
+                borrowedStores.put(pooledStore.store, pooledStore);
+                return pooledStore.store;
+            }
+            close(pooledStore.store);
+        }
+
+        IMAPStore store = imapHelper.getStore(mailBox);
+        borrowedStores.put(store, new PooledStore(store, connectionKey, timeSource.currentTimeMillis()));
+        return store;
+    }
+
+    /**
+     * Returns the store to the pool or closes it if it cannot be reused.
+     */
+    public void release(ImapMailBox mailBox, IMAPStore store) {
+        PooledStore pooledStore = borrowedStores.remove(store);
+        if (pooledStore == null || isExpired(pooledStore) || !store.isConnected()) {
+            close(store);
+            return;
+        }
+
+        pooledStore.lastUsedTime = timeSource.currentTimeMillis();
+        PooledStore replaced = idleStores.put(mailBox.getId(), pooledStore);
+        if (replaced != null) {
+            close(replaced.store);
+        }
+    }
+
+    /**
+     * Closes the pooled connection of the mailbox.
+     */
+    public void invalidate(UUID mailBoxId) {
+        PooledStore pooledStore = idleStores.remove(mailBoxId);
+        if (pooledStore != null) {
+            close(pooledStore.store);
+        }
+    }
+
+    @EventListener
+    public void onMailBoxActivation(ImapMailboxSyncActivationEvent event) {
+        invalidate(event.getMailBox().getId());
+    }
+
+    /**
+     * Closes pooled connections which have not been used for {@code jmix.imap.store-idle-timeout-seconds}
+     * or have exceeded their lifetime.
+     */
+    public void evictIdleStores() {
+        long idleTimeout = imapProperties.getStoreIdleTimeoutSeconds() * 1000L;
+        long now = timeSource.currentTimeMillis();
+        for (Map.Entry<UUID, PooledStore> entry : idleStores.entrySet()) {
+            PooledStore pooledStore = entry.getValue();
+            if ((now - pooledStore.lastUsedTime > idleTimeout || isExpired(pooledStore))
+                    && idleStores.remove(entry.getKey(), pooledStore)) {
+                log.trace("Close idle store of mailbox with id={}", entry.getKey());
+                close(pooledStore.store);
+            }
+        }
+    }
+
+    @PreDestroy
+    protected void destroy() {
+        for (UUID mailBoxId : new ArrayList<>(idleStores.keySet())) {
+            invalidate(mailBoxId);
+        }
+    }
+
+    protected Object getConnectionKey(ImapMailBox mailBox) {
+        return imapHelper.getConnectionKey(mailBox);
+    }
+
+    protected boolean isExpired(PooledStore pooledStore) {
+        return timeSource.currentTimeMillis() - pooledStore.creationTime > imapProperties.getStoreMaxLifetimeSeconds() * 1000L;
+    }
+
+    protected boolean isConnected(IMAPStore store) {
+        // sends NOOP to the server
+        return store.isConnected();
+    }
+
+    protected void close(IMAPStore store) {
+        try {
+            store.close();
+        } catch (MessagingException | IllegalStateException e) {
+            log.debug("Unable to close store", e);
+        }
+    }
+
+    protected static class PooledStore {
+        protected final IMAPStore store;
+        protected final Object connectionKey;
+        protected final long creationTime;
+        protected volatile long lastUsedTime;
+
+        protected PooledStore(IMAPStore store, Object connectionKey, long creationTime) {
+            this.store = store;
+            this.connectionKey = connectionKey;
+            this.creationTime = creationTime;
+            this.lastUsedTime = creationTime;
+        }
+    }
+}
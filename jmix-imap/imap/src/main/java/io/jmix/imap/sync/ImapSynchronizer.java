@@ -16,6 +16,7 @@
 
 package io.jmix.imap.sync;
 
+import com.google.common.collect.Lists;
 import io.jmix.core.Metadata;
 import io.jmix.core.TimeSource;
 import io.jmix.core.security.SystemAuthenticator;
@@ -27,16 +28,19 @@ import io.jmix.imap.exception.ImapException;
 import io.jmix.imap.flags.ImapFlag;
 import io.jmix.imap.impl.ImapHelper;
 import io.jmix.imap.impl.ImapOperations;
+import io.jmix.imap.impl.ImapStorePool;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.eclipse.angus.mail.imap.IMAPFolder;
 import org.eclipse.angus.mail.imap.IMAPMessage;
 import org.eclipse.angus.mail.imap.IMAPStore;
+import org.eclipse.angus.mail.imap.ResyncData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
@@ -48,6 +52,8 @@ import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
 import jakarta.mail.search.FlagTerm;
 import jakarta.mail.search.MessageIDTerm;
+import jakarta.mail.search.OrTerm;
+import jakarta.mail.search.SearchTerm;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import java.util.*;
@@ -58,12 +64,18 @@ public class ImapSynchronizer {
 
     private final static Logger log = LoggerFactory.getLogger(ImapSynchronizer.class);
 
+    protected static final int UID_FETCH_BATCH_SIZE = 500;
+    protected static final int MESSAGE_ID_SEARCH_BATCH_SIZE = 100;
+
     @Autowired
     protected ImapHelper imapHelper;
 
     @Autowired
     protected ImapOperations imapOperations;
 
+    @Autowired
+    protected ImapStorePool imapStorePool;
+
     @PersistenceContext
     protected EntityManager entityManager;
 
@@ -94,6 +106,15 @@ public class ImapSynchronizer {
     }
 
     public void synchronize(ImapMailBox imapMailBox) {
+        synchronize(imapMailBox, null);
+    }
+
+    /**
+     * Synchronizes the given folders of the mailbox.
+     *
+     * @param folderIds ids of folders to synchronize, all processable folders are synchronized if null
+     */
+    public void synchronize(ImapMailBox imapMailBox, @Nullable Collection<UUID> folderIds) {
         authenticator.begin();
         try {
             log.trace("Start synchronization of mailbox (id={})", imapMailBox.getId());
@@ -104,12 +125,15 @@ public class ImapSynchronizer {
                 return;
             }
 
-            IMAPStore store = imapHelper.getStore(mailBox);
+            IMAPStore store = imapStorePool.borrow(mailBox);
             try {
                 List<ImapMessage> checkAnswers = new ArrayList<>();
                 List<ImapMessage> missedMessages = new ArrayList<>();
 
                 for (ImapFolder jmixFolder : mailBox.getProcessableFolders()) {
+                    if (folderIds != null && !folderIds.contains(jmixFolder.getId())) {
+                        continue;
+                    }
                     IMAPFolder imapFolder = null;
                     try {
                         log.trace("Synchronize folder '{}' of mailbox '{}'", jmixFolder.getName(), mailBox);
@@ -117,7 +141,7 @@ public class ImapSynchronizer {
                         imapMessageSyncDataProvider.removeOldSyncs(jmixFolder, tenMinutesAgo);
 
                         imapFolder = (IMAPFolder) store.getFolder(jmixFolder.getName());
-                        imapFolder.open(Folder.READ_WRITE);
+                        openFolder(imapFolder, Folder.READ_WRITE);
 
                         //existing
                         handleExistingMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
@@ -139,7 +163,7 @@ public class ImapSynchronizer {
                 handleMissedMessages(mailBox, store, missedMessages);
 
             } finally {
-                store.close();
+                imapStorePool.release(mailBox, store);
             }
         } catch (MessagingException e) {
             throw new ImapException(String.format("synchronization of mailBox#%s failed", imapMailBox.getId()), e);
@@ -168,30 +192,100 @@ public class ImapSynchronizer {
                 folder, ImapSyncStatus.IN_SYNC, tenMinutesAgo, threeMinutesAgo);
         messagesForSync.addAll(oldInSync);
 
-        for (ImapMessage message : messagesForSync) {
-            Message imapMessage = imapFolder.getMessageByUID(message.getMsgUid());
-            if (imapMessage != null) {
-                imapMessageSyncDataProvider.updateSyncStatus(message,
-                        ImapSyncStatus.REMAIN, ImapSyncStatus.IN_SYNC,
-                        imapMessage.getFlags(), null);
-                if (message.getReferenceId() != null) {
-                    checkAnswers.add(message);
+        Long highestModSeq = getHighestModSeq(imapFolder);
+        Long storedModSeq = folder.getHighestModSeq();
+        // flag changes since the stored modification sequence are fetched by CHANGEDSINCE, so messages picked
+        // for synchronization are only checked for existence
+        boolean modSeqValid = highestModSeq != null && storedModSeq != null && storedModSeq <= highestModSeq;
+
+        Map<UUID, Flags> remainMessages = new HashMap<>();
+        List<ImapMessage> newMissedMessages = new ArrayList<>();
+        for (List<ImapMessage> batch : Lists.partition(new ArrayList<>(messagesForSync), UID_FETCH_BATCH_SIZE)) {
+            long[] uids = batch.stream().mapToLong(ImapMessage::getMsgUid).toArray();
+            Map<Long, Flags> flagsByUid = modSeqValid ? null : imapOperations.fetchFlagsByUids(imapFolder, uids);
+            Set<Long> existingUids = modSeqValid ? imapOperations.fetchExistingUids(imapFolder, uids) : flagsByUid.keySet();
+            for (ImapMessage message : batch) {
+                if (existingUids.contains(message.getMsgUid())) {
+                    // unchanged flags are kept, flags of modified messages are updated by handleModifiedMessages
+                    remainMessages.put(message.getId(),
+                            modSeqValid ? message.getImapFlags() : flagsByUid.get(message.getMsgUid()));
+                    if (message.getReferenceId() != null) {
+                        checkAnswers.add(message);
+                    }
+                } else {
+                    newMissedMessages.add(message);
                 }
-            } else {
-                missedMessages.add(message);
-                imapMessageSyncDataProvider.updateSyncStatus(
-                        message,
-                        ImapSyncStatus.MISSED, ImapSyncStatus.IN_SYNC,
-                        null, null);
             }
         }
+        missedMessages.addAll(newMissedMessages);
+        imapMessageSyncDataProvider.updateSyncStatuses(remainMessages, ImapSyncStatus.REMAIN, ImapSyncStatus.IN_SYNC);
+        imapMessageSyncDataProvider.updateSyncStatuses(newMissedMessages, ImapSyncStatus.MISSED, ImapSyncStatus.IN_SYNC);
 
+        if (highestModSeq != null) {
+            if (modSeqValid && storedModSeq < highestModSeq) {
+                handleModifiedMessages(folder, imapFolder, storedModSeq, Collections.emptyList());
+            }
+            if (!highestModSeq.equals(storedModSeq)) {
+                saveHighestModSeq(folder, highestModSeq);
+            }
+        }
 
         Collection<ImapMessage> missed = new ArrayList<>(imapMessageSyncDataProvider.findMessagesWithSyncStatus(folder, ImapSyncStatus.MISSED,
                 tenMinutesAgo, threeMinutesAgo));
         missedMessages.addAll(missed);
     }
 
+    /**
+     * Creates syncs with new flags for messages changed on the server since the given modification sequence,
+     * so flag changes are detected without waiting for the messages to be picked for synchronization.
+     */
+    protected void handleModifiedMessages(ImapFolder folder,
+                                          IMAPFolder imapFolder,
+                                          long modSeq,
+                                          Collection<ImapMessage> checkedMessages) throws MessagingException {
+        Map<Long, Flags> flagsByUid = imapOperations.fetchFlagsModifiedSince(imapFolder, modSeq);
+        checkedMessages.forEach(message -> flagsByUid.remove(message.getMsgUid()));
+        if (flagsByUid.isEmpty()) {
+            return;
+        }
+        log.trace("Found {} messages modified since {} in folder '{}'", flagsByUid.size(), modSeq, folder.getName());
+
+        List<ImapMessage> modifiedMessages = imapDataProvider.findMessagesByUids(folder, flagsByUid.keySet());
+        imapMessageSyncDataProvider.createSyncForMessages(modifiedMessages, ImapSyncStatus.IN_SYNC);
+
+        Map<UUID, Flags> messageFlags = new HashMap<>();
+        modifiedMessages.forEach(message -> messageFlags.put(message.getId(), flagsByUid.get(message.getMsgUid())));
+        imapMessageSyncDataProvider.updateSyncStatuses(messageFlags, ImapSyncStatus.REMAIN, ImapSyncStatus.IN_SYNC);
+        // the message could be modified again before its previous changes are processed
+        imapMessageSyncDataProvider.updateSyncStatuses(messageFlags, ImapSyncStatus.REMAIN, ImapSyncStatus.REMAIN);
+    }
+
+    protected void openFolder(IMAPFolder imapFolder, int mode) throws MessagingException {
+        if (imapOperations.supportsCondStore(imapFolder)) {
+            imapFolder.open(mode, ResyncData.CONDSTORE);
+        } else {
+            imapFolder.open(mode);
+        }
+    }
+
+    @Nullable
+    protected Long getHighestModSeq(IMAPFolder imapFolder) throws MessagingException {
+        if (!imapOperations.supportsCondStore(imapFolder)) {
+            return null;
+        }
+        long highestModSeq = imapFolder.getHighestModSeq();
+        return highestModSeq > 0 ? highestModSeq : null;
+    }
+
+    protected void saveHighestModSeq(ImapFolder folder, long highestModSeq) {
+        transaction.executeWithoutResult(transactionStatus ->
+                entityManager.createQuery("update imap_Folder f set f.highestModSeq = :highestModSeq where f.id = :folderId")
+                        .setParameter("highestModSeq", highestModSeq)
+                        .setParameter("folderId", folder.getId())
+                        .executeUpdate());
+        folder.setHighestModSeq(highestModSeq);
+    }
+
     protected void handleNewMessages(List<ImapMessage> checkAnswers,
                                      List<ImapMessage> missedMessages,
                                      ImapFolder jmixFolder,
@@ -222,65 +316,141 @@ public class ImapSynchronizer {
     }
 
     protected void handleMissedMessages(ImapMailBox mailBox, IMAPStore store, List<ImapMessage> missedMessages) throws MessagingException {
-        List<ImapMessage> foundMessages = new ArrayList<>();
+        List<ImapMessage> removedMessages = new ArrayList<>();
+        Map<String, Deque<ImapMessage>> notFoundMessages = new LinkedHashMap<>();
+        for (ImapMessage jmixMessage : missedMessages) {
+            if (jmixMessage.getMessageId() == null) {
+                removedMessages.add(jmixMessage);
+            } else {
+                notFoundMessages.computeIfAbsent(normalizeMessageId(jmixMessage.getMessageId()), messageId -> new ArrayDeque<>())
+                        .add(jmixMessage);
+            }
+        }
+
         for (ImapFolder jmixFolder : mailBox.getProcessableFolders()) {
+            if (notFoundMessages.isEmpty()) {
+                break;
+            }
             log.trace("Handle missed messages for folder '{}'", jmixFolder.getName());
             IMAPFolder imapFolder = null;
             try {
                 imapFolder = (IMAPFolder) store.getFolder(jmixFolder.getName());
                 imapFolder.open(Folder.READ_ONLY);
 
-                for (ImapMessage jmixMessage : missedMessages) {
-                    if (foundMessages.contains(jmixMessage)) {
-                        continue;
-                    }
+                Map<ImapMessage, IMAPMessage> foundMessages = findMissedMessages(mailBox, imapFolder, notFoundMessages);
+                if (foundMessages.isEmpty()) {
+                    continue;
+                }
+
+                Map<UUID, ImapFolder> oldFolders = new HashMap<>();
+                foundMessages.keySet().forEach(jmixMessage -> oldFolders.put(jmixMessage.getId(), jmixMessage.getFolder()));
 
-                    if (jmixMessage.getMessageId() == null) {
-                        foundMessages.add(jmixMessage);
-                        imapMessageSyncDataProvider.updateSyncStatus(jmixMessage,
-                                ImapSyncStatus.REMOVED, ImapSyncStatus.MISSED,
-                                null, null);
+                updateJmixMessages(foundMessages, jmixFolder);
+                if (StringUtils.equals(jmixFolder.getName(), mailBox.getTrashFolderName())) {
+                    imapMessageSyncDataProvider.updateSyncStatuses(foundMessages.keySet(),
+                            ImapSyncStatus.REMOVED, ImapSyncStatus.MISSED);
+                } else {
+                    imapMessageSyncDataProvider.updateSyncStatusesWithOldFolders(oldFolders,
+                            ImapSyncStatus.MOVED, ImapSyncStatus.MISSED);
+                }
+            } finally {
+                close(mailBox, imapFolder);
+            }
+        }
+
+        notFoundMessages.values().forEach(removedMessages::addAll);
+        imapMessageSyncDataProvider.updateSyncStatuses(removedMessages, ImapSyncStatus.REMOVED, ImapSyncStatus.MISSED);
+    }
+
+    /**
+     * Searches the folder for messages with the given Message-IDs using OR-combined {@code SEARCH} commands.
+     * Found messages are removed from {@code notFoundMessages}.
+     * <p>
+     * {@code SEARCH} matches substrings, so the Message-ID headers of results are compared with the pending ids.
+     * If some results don't match any id, e.g. because of header formatting, the pending ids of the batch are
+     * searched one by one and the first result is taken.
+     *
+     * @param notFoundMessages Jmix messages by normalized Message-ID, see {@link #normalizeMessageId(String)}
+     * @return found Jmix messages with the corresponding messages in the folder
+     */
+    protected Map<ImapMessage, IMAPMessage> findMissedMessages(ImapMailBox mailBox,
+                                                               IMAPFolder imapFolder,
+                                                               Map<String, Deque<ImapMessage>> notFoundMessages) throws MessagingException {
+        Map<ImapMessage, IMAPMessage> result = new LinkedHashMap<>();
+        List<String> messageIds = new ArrayList<>(notFoundMessages.keySet());
+        for (List<String> batch : Lists.partition(messageIds, MESSAGE_ID_SEARCH_BATCH_SIZE)) {
+            SearchTerm searchTerm = batch.size() == 1
+                    ? createMessageIdTerm(notFoundMessages, batch.get(0))
+                    : new OrTerm(batch.stream()
+                    .map(messageId -> createMessageIdTerm(notFoundMessages, messageId))
+                    .toArray(SearchTerm[]::new));
+
+            boolean unmatchedResults = false;
+            for (IMAPMessage imapMessage : imapOperations.search(imapFolder, searchTerm, mailBox)) {
+                String messageId = imapMessage.getHeader(ImapOperations.MESSAGE_ID_HEADER, null);
+                if (messageId == null || !resolveMissedMessage(notFoundMessages, normalizeMessageId(messageId), imapMessage, result)) {
+                    unmatchedResults = true;
+                }
+            }
+
+            if (unmatchedResults) {
+                for (String messageId : batch) {
+                    if (!notFoundMessages.containsKey(messageId)) {
                         continue;
                     }
-
-                    List<IMAPMessage> imapMessages = imapOperations.searchMessageIds(
-                            imapFolder,
-                            new MessageIDTerm(jmixMessage.getMessageId())
-                    );
+                    List<IMAPMessage> imapMessages = imapOperations.search(imapFolder,
+                            createMessageIdTerm(notFoundMessages, messageId), mailBox);
                     if (CollectionUtils.isNotEmpty(imapMessages)) {
-                        foundMessages.add(jmixMessage);
-                        ImapFolder oldFolder = jmixMessage.getFolder();
-                        updateJmixMessage(jmixMessage, imapMessages.get(0), jmixFolder);
-                        if (StringUtils.equals(jmixFolder.getName(), mailBox.getTrashFolderName())) {
-                            imapMessageSyncDataProvider.updateSyncStatus(jmixMessage,
-                                    ImapSyncStatus.REMOVED, ImapSyncStatus.MISSED,
-                                    null, null);
-                        } else {
-                            imapMessageSyncDataProvider.updateSyncStatus(jmixMessage,
-                                    ImapSyncStatus.MOVED, ImapSyncStatus.MISSED,
-                                    null, oldFolder);
-                        }
+                        resolveMissedMessage(notFoundMessages, messageId, imapMessages.get(0), result);
                     }
                 }
-
-            } finally {
-                close(mailBox, imapFolder);
             }
         }
-        missedMessages.removeAll(foundMessages);
-        missedMessages.forEach(jmixMessage -> imapMessageSyncDataProvider.updateSyncStatus(jmixMessage, ImapSyncStatus.REMOVED, ImapSyncStatus.MISSED,
-                null, null));
+        return result;
+    }
+
+    protected SearchTerm createMessageIdTerm(Map<String, Deque<ImapMessage>> notFoundMessages, String messageId) {
+        ImapMessage jmixMessage = notFoundMessages.get(messageId).peek();
+        return new MessageIDTerm(jmixMessage != null ? jmixMessage.getMessageId() : messageId);
+    }
+
+    protected boolean resolveMissedMessage(Map<String, Deque<ImapMessage>> notFoundMessages,
+                                           String messageId,
+                                           IMAPMessage imapMessage,
+                                           Map<ImapMessage, IMAPMessage> result) {
+        Deque<ImapMessage> jmixMessages = notFoundMessages.get(messageId);
+        if (jmixMessages == null) {
+            return false;
+        }
+        result.put(jmixMessages.poll(), imapMessage);
+        if (jmixMessages.isEmpty()) {
+            notFoundMessages.remove(messageId);
+        }
+        return true;
     }
 
-    private void updateJmixMessage(ImapMessage jmixMessage, IMAPMessage imapMessage, ImapFolder jmixFolder) {
+    /**
+     * Returns the Message-ID in a form suitable for comparison: without whitespace of folded headers
+     * and in lower case, as {@code SEARCH} is case-insensitive.
+     */
+    protected String normalizeMessageId(String messageId) {
+        return StringUtils.deleteWhitespace(messageId).toLowerCase(Locale.ROOT);
+    }
+
+    protected void updateJmixMessages(Map<ImapMessage, IMAPMessage> messages, ImapFolder jmixFolder) {
         transaction.executeWithoutResult(transactionStatus -> {
-            ImapMessage found = entityManager.find(ImapMessage.class, jmixMessage.getId());
-            try {
-                found = imapOperations.map(found, imapMessage, jmixFolder);
-            } catch (MessagingException e) {
-                throw new ImapException(e);
+            for (Map.Entry<ImapMessage, IMAPMessage> entry : messages.entrySet()) {
+                ImapMessage found = entityManager.find(ImapMessage.class, entry.getKey().getId());
+                if (found == null) {
+                    continue;
+                }
+                try {
+                    found = imapOperations.map(found, entry.getValue(), jmixFolder);
+                } catch (MessagingException e) {
+                    throw new ImapException(e);
+                }
+                entityManager.merge(found);
             }
-            entityManager.merge(found);
         });
     }
 
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package idle
+
+import com.icegreen.greenmail.user.GreenMailUser
+import com.icegreen.greenmail.util.GreenMail
+import com.icegreen.greenmail.util.ServerSetup
+import io.jmix.core.DataManager
+import io.jmix.core.Metadata
+import io.jmix.imap.entity.*
+import io.jmix.imap.impl.ImapIdleWatcher
+import io.jmix.imap.impl.ImapSchedulerImpl
+import io.jmix.imap.sync.ImapSynchronizer
+import jakarta.mail.Message
+import jakarta.mail.Session
+import jakarta.mail.internet.InternetAddress
+import jakarta.mail.internet.MimeMessage
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.ApplicationContext
+import org.springframework.test.context.ContextConfiguration
+import spock.lang.Specification
+import test_support.ImapTestConfiguration
+
+import java.util.concurrent.BlockingQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@ContextConfiguration(classes = [ImapTestConfiguration])
+class ImapIdleTest extends Specification {
+
+    private static final String USER_PASSWORD = "abcdef123"
+    private static final String LOCALHOST = "127.0.0.1"
+
+    private static final AtomicInteger counter = new AtomicInteger(0)
+
+    @Autowired
+    ApplicationContext applicationContext
+    @Autowired
+    ImapIdleWatcher imapIdleWatcher
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    Metadata metadata
+
+    GreenMail mailServer
+
+    void setup() {
+        mailServer = new GreenMail(new ServerSetup(9343 + counter.incrementAndGet(), null, ServerSetup.PROTOCOL_IMAP))
+        mailServer.start()
+    }
+
+    void cleanup() {
+        mailServer.stop()
+    }
+
+    def "folders of several mailboxes are watched by shared IdleManager"() {
+        given: "2 mailboxes of different users"
+        GreenMailUser user1 = mailServer.setUser("idle-user1@localhost", "idle-user1", USER_PASSWORD)
+        GreenMailUser user2 = mailServer.setUser("idle-user2@localhost", "idle-user2", USER_PASSWORD)
+        ImapMailBox mailBox1 = createMailBox(user1)
+        ImapMailBox mailBox2 = createMailBox(user2)
+
+        and: "both mailboxes are watched"
+        BlockingQueue<Set<UUID>> changes1 = new LinkedBlockingQueue<>()
+        BlockingQueue<Set<UUID>> changes2 = new LinkedBlockingQueue<>()
+        imapIdleWatcher.watch(mailBox1, { changes1.add(it) })
+        imapIdleWatcher.watch(mailBox2, { changes2.add(it) })
+
+        when: "a message is delivered to the 1st mailbox"
+        deliverMessage(user1)
+
+        then: "changed folder of the 1st mailbox is reported"
+        changes1.poll(10, TimeUnit.SECONDS) == [mailBox1.folders[0].id] as Set
+        changes2.isEmpty()
+
+        and: "the same IdleManager watches folders of both mailboxes"
+        imapIdleWatcher.watches[mailBox1.id].idleManager.is(imapIdleWatcher.watches[mailBox2.id].idleManager)
+
+        when: "the 1st mailbox is not watched anymore and a message is delivered to the 2nd mailbox"
+        imapIdleWatcher.stop(mailBox1.id)
+        deliverMessage(user2)
+
+        then: "changes of the 2nd mailbox are still reported"
+        changes2.poll(10, TimeUnit.SECONDS) == [mailBox2.folders[0].id] as Set
+        imapIdleWatcher.idleManager.isRunning()
+
+        cleanup:
+        imapIdleWatcher.stop(mailBox1.id)
+        imapIdleWatcher.stop(mailBox2.id)
+    }
+
+    def "folders changed during synchronization are synchronized after it"() {
+        given:
+        BlockingSynchronizer synchronizer = new BlockingSynchronizer()
+        TestImapScheduler scheduler = applicationContext.autowireCapableBeanFactory.createBean(TestImapScheduler)
+        scheduler.synchronizer = synchronizer
+
+        ImapMailBox mailBox = metadata.create(ImapMailBox)
+        UUID folder1 = UUID.randomUUID()
+        UUID folder2 = UUID.randomUUID()
+        UUID folder3 = UUID.randomUUID()
+
+        when: "changes are reported while the mailbox is being synchronized"
+        Thread thread = Thread.start { scheduler.syncMailBox(mailBox, [folder1]) }
+        synchronizer.started.await(10, TimeUnit.SECONDS)
+
+        scheduler.syncMailBox(mailBox, [folder2])
+        scheduler.syncMailBox(mailBox, [folder3])
+        scheduler.syncMailBox(mailBox, null)
+
+        synchronizer.released.countDown()
+        thread.join(10000)
+
+        then: "changed folders are synchronized together after the running synchronization"
+        synchronizer.calls == [[folder1] as Set, [folder2, folder3] as Set]
+        scheduler.pendingFolderIds.isEmpty()
+        scheduler.syncingMailBoxes.isEmpty()
+    }
+
+    static class TestImapScheduler extends ImapSchedulerImpl {
+
+        ImapSynchronizer synchronizer
+
+        @Override
+        protected ImapSynchronizer getImapSynchronizer(ImapMailBox mailBox) {
+            return synchronizer
+        }
+
+        @Override
+        protected void handleFolderMessages(ImapMailBox imapMailBox) {
+        }
+    }
+
+    static class BlockingSynchronizer extends ImapSynchronizer {
+
+        List<Set<UUID>> calls = Collections.synchronizedList([])
+        CountDownLatch started = new CountDownLatch(1)
+        CountDownLatch released = new CountDownLatch(1)
+
+        @Override
+        void synchronize(ImapMailBox imapMailBox, Collection<UUID> folderIds) {
+            calls.add(folderIds != null ? new HashSet<>(folderIds) : null)
+            started.countDown()
+            released.await(10, TimeUnit.SECONDS)
+        }
+    }
+
+    protected void deliverMessage(GreenMailUser user) {
+        MimeMessage message = new MimeMessage((Session) null)
+        message.from = new InternetAddress("someone@localhost.com")
+        message.addRecipient(Message.RecipientType.TO, new InternetAddress(user.email))
+        message.subject = "Subject"
+        message.text = "Text"
+        user.deliver(message)
+    }
+
+    protected ImapMailBox createMailBox(GreenMailUser user) {
+        ImapMailBox mailBox = metadata.create(ImapMailBox)
+        mailBox.host = LOCALHOST
+        mailBox.port = mailServer.imap.port
+        mailBox.authenticationMethod = ImapAuthenticationMethod.SIMPLE
+        mailBox.authentication = metadata.create(ImapSimpleAuthentication)
+        mailBox.authentication.username = user.login
+        mailBox.authentication.password = user.password
+        mailBox.jmixFlag = "jmix-flag"
+        mailBox.name = "${user.login}@$LOCALHOST:${mailBox.port}"
+        mailBox.flagsSupported = true
+
+        ImapFolder inbox = metadata.create(ImapFolder)
+        inbox.name = "INBOX"
+        inbox.mailBox = mailBox
+        inbox.enabled = true
+        inbox.deleted = false
+        mailBox.folders = [inbox]
+
+        dataManager.save(mailBox.authentication, mailBox, inbox)
+        return mailBox
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package store_pool
+
+import com.icegreen.greenmail.user.GreenMailUser
+import com.icegreen.greenmail.util.GreenMail
+import com.icegreen.greenmail.util.ServerSetup
+import io.jmix.core.DataManager
+import io.jmix.core.Metadata
+import io.jmix.core.TimeSource
+import io.jmix.imap.ImapProperties
+import io.jmix.imap.entity.ImapAuthenticationMethod
+import io.jmix.imap.entity.ImapMailBox
+import io.jmix.imap.entity.ImapSimpleAuthentication
+import io.jmix.imap.impl.ImapStorePool
+import org.eclipse.angus.mail.imap.IMAPStore
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.ApplicationContext
+import org.springframework.test.context.ContextConfiguration
+import spock.lang.Specification
+import test_support.ImapTestConfiguration
+
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZonedDateTime
+import java.util.concurrent.atomic.AtomicInteger
+
+@ContextConfiguration(classes = [ImapTestConfiguration])
+class ImapStorePoolTest extends Specification {
+
+    private static final String USER_PASSWORD = "abcdef123"
+    private static final String USER_NAME = "pool-user"
+    private static final String EMAIL_USER_ADDRESS = "pool-user@localhost"
+    private static final String LOCALHOST = "127.0.0.1"
+
+    private static final AtomicInteger counter = new AtomicInteger(0)
+
+    @Autowired
+    ApplicationContext applicationContext
+    @Autowired
+    ImapProperties imapProperties
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    Metadata metadata
+
+    GreenMail mailServer
+    GreenMailUser user
+    ImapMailBox mailBox
+
+    TestTimeSource timeSource = new TestTimeSource(time: System.currentTimeMillis())
+    TestImapStorePool storePool
+
+    void setup() {
+        mailServer = new GreenMail(new ServerSetup(9443 + counter.incrementAndGet(), null, ServerSetup.PROTOCOL_IMAP))
+        mailServer.start()
+        user = mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD)
+
+        mailBox = createMailBox()
+
+        storePool = applicationContext.autowireCapableBeanFactory.createBean(TestImapStorePool)
+        storePool.timeSource = timeSource
+    }
+
+    void cleanup() {
+        storePool.destroy()
+        mailServer.stop()
+    }
+
+    def "released store is reused after NOOP check"() {
+        given:
+        IMAPStore store = storePool.borrow(mailBox)
+        storePool.release(mailBox, store)
+
+        when:
+        IMAPStore reusedStore = storePool.borrow(mailBox)
+
+        then:
+        reusedStore.is(store)
+        reusedStore.isConnected()
+        storePool.connectionChecks == 1
+    }
+
+    def "borrowed store is not shared"() {
+        given:
+        IMAPStore store = storePool.borrow(mailBox)
+
+        when:
+        IMAPStore otherStore = storePool.borrow(mailBox)
+
+        then:
+        !otherStore.is(store)
+
+        when: "both stores are released"
+        storePool.release(mailBox, store)
+        storePool.release(mailBox, otherStore)
+
+        then: "only one idle store is kept for the mailbox"
+        !store.isConnected()
+        otherStore.isConnected()
+        storePool.idleStores.size() == 1
+    }
+
+    def "dead pooled connection is replaced with a new one"() {
+        given:
+        IMAPStore store = storePool.borrow(mailBox)
+        storePool.release(mailBox, store)
+
+        and: "the server drops connections"
+        mailServer.reset()
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD)
+
+        when:
+        IMAPStore newStore = storePool.borrow(mailBox)
+
+        then:
+        storePool.connectionChecks == 1
+        !newStore.is(store)
+        newStore.isConnected()
+        !store.isConnected()
+    }
+
+    def "invalidated store is closed"() {
+        given:
+        IMAPStore store = storePool.borrow(mailBox)
+        storePool.release(mailBox, store)
+
+        when:
+        storePool.invalidate(mailBox.id)
+
+        then:
+        !store.isConnected()
+        storePool.idleStores.isEmpty()
+
+        when:
+        IMAPStore newStore = storePool.borrow(mailBox)
+
+        then:
+        !newStore.is(store)
+        storePool.connectionChecks == 0
+    }
+
+    def "store is evicted after idle timeout"() {
+        given:
+        IMAPStore store = storePool.borrow(mailBox)
+        storePool.release(mailBox, store)
+
+        when: "the idle timeout is not elapsed"
+        timeSource.time += imapProperties.storeIdleTimeoutSeconds * 1000L
+        storePool.evictIdleStores()
+
+        then:
+        storePool.idleStores.size() == 1
+        store.isConnected()
+
+        when:
+        timeSource.time += 1
+        storePool.evictIdleStores()
+
+        then:
+        storePool.idleStores.isEmpty()
+        !store.isConnected()
+    }
+
+    def "store exceeding max lifetime is not reused"() {
+        given:
+        IMAPStore store = storePool.borrow(mailBox)
+
+        when: "the store is released after its lifetime"
+        timeSource.time += imapProperties.storeMaxLifetimeSeconds * 1000L + 1
+        storePool.release(mailBox, store)
+
+        then:
+        storePool.idleStores.isEmpty()
+        !store.isConnected()
+
+        when: "an idle store exceeds its lifetime"
+        IMAPStore otherStore = storePool.borrow(mailBox)
+        storePool.release(mailBox, otherStore)
+        timeSource.time += imapProperties.storeMaxLifetimeSeconds * 1000L + 1
+        IMAPStore newStore = storePool.borrow(mailBox)
+
+        then:
+        !newStore.is(otherStore)
+        !otherStore.isConnected()
+        storePool.connectionChecks == 0
+    }
+
+    protected ImapMailBox createMailBox() {
+        ImapMailBox mailBox = metadata.create(ImapMailBox)
+        mailBox.host = LOCALHOST
+        mailBox.port = mailServer.imap.port
+        mailBox.authenticationMethod = ImapAuthenticationMethod.SIMPLE
+        mailBox.authentication = metadata.create(ImapSimpleAuthentication)
+        mailBox.authentication.username = user.login
+        mailBox.authentication.password = user.password
+        mailBox.name = "$LOCALHOST:${mailBox.port}"
+        mailBox.folders = []
+
+        dataManager.save(mailBox.authentication, mailBox)
+        return mailBox
+    }
+
+    static class TestImapStorePool extends ImapStorePool {
+
+        int connectionChecks
+
+        @Override
+        protected boolean isConnected(IMAPStore store) {
+            connectionChecks++
+            return super.isConnected(store)
+        }
+    }
+
+    static class TestTimeSource implements TimeSource {
+
+        long time
+
+        @Override
+        Date currentTimestamp() {
+            return new Date(time)
+        }
+
+        @Override
+        long currentTimeMillis() {
+            return time
+        }
+
+        @Override
+        ZonedDateTime now() {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault())
+        }
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sync
+
+import com.icegreen.greenmail.store.MailFolder
+import com.icegreen.greenmail.store.StoredMessage
+import com.icegreen.greenmail.user.GreenMailUser
+import com.icegreen.greenmail.util.GreenMail
+import com.icegreen.greenmail.util.ServerSetup
+import io.jmix.core.DataManager
+import io.jmix.core.FetchPlan
+import io.jmix.core.Metadata
+import io.jmix.imap.data.ImapMessageSyncDataProvider
+import io.jmix.imap.entity.*
+import io.jmix.imap.impl.ImapOperations
+import io.jmix.imap.sync.ImapSynchronizer
+import jakarta.mail.Flags
+import jakarta.mail.Message
+import jakarta.mail.Session
+import jakarta.mail.internet.InternetAddress
+import jakarta.mail.internet.MimeMessage
+import org.eclipse.angus.mail.imap.IMAPFolder
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.ApplicationContext
+import org.springframework.test.context.ContextConfiguration
+import spock.lang.Specification
+import test_support.ImapTestConfiguration
+
+import java.util.concurrent.atomic.AtomicInteger
+
+@ContextConfiguration(classes = [ImapTestConfiguration])
+class ImapSynchronizerTest extends Specification {
+
+    private static final String USER_PASSWORD = "abcdef123"
+    private static final String USER_NAME = "sync-user"
+    private static final String EMAIL_USER_ADDRESS = "sync-user@localhost"
+    private static final String EMAIL_FROM = "someone@localhost.com"
+    private static final String LOCALHOST = "127.0.0.1"
+    private static final String JMIX_FLAG = "jmix-flag"
+
+    private static final AtomicInteger counter = new AtomicInteger(0)
+
+    @Autowired
+    ApplicationContext applicationContext
+    @Autowired
+    ImapSynchronizer imapSynchronizer
+    @Autowired
+    ImapMessageSyncDataProvider imapMessageSyncDataProvider
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    Metadata metadata
+
+    GreenMail mailServer
+    GreenMailUser user
+    ImapMailBox mailBox
+    ImapFolder inbox
+
+    void setup() {
+        mailServer = new GreenMail(new ServerSetup(9243 + counter.incrementAndGet(), null, ServerSetup.PROTOCOL_IMAP))
+        mailServer.start()
+        user = mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD)
+
+        mailBox = createMailBox()
+        inbox = createFolder("INBOX")
+    }
+
+    void cleanup() {
+        mailServer.stop()
+    }
+
+    def "flag changes of existing messages are synchronized without CONDSTORE"() {
+        given: "2 messages on the server, the 1st one has been seen"
+        deliverMessage(1L, flags(Flags.Flag.SEEN))
+        deliverMessage(2L, flags())
+
+        and: "3 messages in database, the 3rd one is absent on the server"
+        ImapMessage message1 = createMessage(1L)
+        ImapMessage message2 = createMessage(2L)
+        ImapMessage message3 = createMessage(3L)
+
+        when:
+        imapSynchronizer.synchronize(mailBox)
+
+        then: "flags of existing messages are taken from the server"
+        ImapMessageSync sync1 = imapMessageSyncDataProvider.findSync(message1)
+        sync1.status == ImapSyncStatus.REMAIN
+        sync1.imapFlags.contains(Flags.Flag.SEEN)
+
+        ImapMessageSync sync2 = imapMessageSyncDataProvider.findSync(message2)
+        sync2.status == ImapSyncStatus.REMAIN
+        !sync2.imapFlags.contains(Flags.Flag.SEEN)
+
+        and: "missing message without Message-ID is removed"
+        imapMessageSyncDataProvider.findSync(message3).status == ImapSyncStatus.REMOVED
+
+        and: "modification sequence is not stored"
+        reloadFolder(inbox).highestModSeq == null
+    }
+
+    def "messages modified since the stored modification sequence are synchronized with CONDSTORE"() {
+        given: "2 messages on the server, the 2nd one has been seen"
+        deliverMessage(1L, flags())
+        deliverMessage(2L, flags(Flags.Flag.SEEN))
+
+        and: "the 1st message is to be checked, the 2nd one has been checked before it was seen"
+        ImapMessage message1 = createMessage(1L)
+        ImapMessage message2 = createMessage(2L)
+        createSync(message2, ImapSyncStatus.REMAIN, flags())
+
+        and: "the server reports the 2nd message as modified since the stored modification sequence"
+        saveHighestModSeq(inbox, 10L)
+        ImapSynchronizer synchronizer = createCondStoreSynchronizer(20L, [2L] as Set)
+
+        when:
+        synchronizer.synchronize(mailBox)
+
+        then: "both messages have flags from the server"
+        ImapMessageSync sync1 = imapMessageSyncDataProvider.findSync(message1)
+        sync1.status == ImapSyncStatus.REMAIN
+        !sync1.imapFlags.contains(Flags.Flag.SEEN)
+
+        ImapMessageSync sync2 = imapMessageSyncDataProvider.findSync(message2)
+        sync2.status == ImapSyncStatus.REMAIN
+        sync2.imapFlags.contains(Flags.Flag.SEEN)
+
+        and: "the new modification sequence is stored"
+        reloadFolder(inbox).highestModSeq == 20L
+    }
+
+    def "flags of existing messages are not fetched with CONDSTORE if modification sequence is stored"() {
+        given: "the 1st message is on the server, the 2nd one is absent"
+        deliverMessage(1L, flags())
+
+        ImapMessage message1 = createMessage(1L)
+        ImapMessage message2 = createMessage(2L)
+
+        and: "nothing has been modified since the stored modification sequence"
+        saveHighestModSeq(inbox, 20L)
+        ImapSynchronizer synchronizer = createCondStoreSynchronizer(20L, [] as Set)
+
+        when:
+        synchronizer.synchronize(mailBox)
+
+        then: "the existing message keeps its flags"
+        ImapMessageSync sync1 = imapMessageSyncDataProvider.findSync(message1)
+        sync1.status == ImapSyncStatus.REMAIN
+        sync1.imapFlags == message1.imapFlags
+
+        and: "the absent message is detected"
+        imapMessageSyncDataProvider.findSync(message2).status == ImapSyncStatus.REMOVED
+
+        and: "flags are not fetched"
+        ((CondStoreImapOperations) synchronizer.imapOperations).flagsFetchedUids.isEmpty()
+    }
+
+    def "only regular check is performed with CONDSTORE if modification sequence is not stored"() {
+        given: "the 2nd message has been seen on the server"
+        deliverMessage(1L, flags())
+        deliverMessage(2L, flags(Flags.Flag.SEEN))
+
+        and: "the 2nd message has been checked before it was seen"
+        ImapMessage message1 = createMessage(1L)
+        ImapMessage message2 = createMessage(2L)
+        createSync(message2, ImapSyncStatus.REMAIN, flags())
+
+        and: "the folder has not been synchronized with CONDSTORE yet"
+        ImapSynchronizer synchronizer = createCondStoreSynchronizer(20L, [2L] as Set)
+
+        when:
+        synchronizer.synchronize(mailBox)
+
+        then: "the 1st message is checked by the regular batch"
+        imapMessageSyncDataProvider.findSync(message1).status == ImapSyncStatus.REMAIN
+
+        and: "changes of the 2nd message are not requested by modification sequence"
+        !imapMessageSyncDataProvider.findSync(message2).imapFlags.contains(Flags.Flag.SEEN)
+
+        and: "the modification sequence is stored for the next synchronization"
+        reloadFolder(inbox).highestModSeq == 20L
+    }
+
+    def "missed messages are found in other folders by batched Message-ID search"() {
+        given: "other and trash folders"
+        ImapFolder otherFolder = createFolder("other-folder")
+        ImapFolder trashFolder = createFolder("trash-folder")
+        mailBox.trashFolderName = trashFolder.name
+        dataManager.save(mailBox)
+
+        and: "messages have been moved from INBOX on the server, one of them has Message-ID in other case"
+        MailFolder otherMailFolder = mailServer.managers.imapHostManager.createMailbox(user, otherFolder.name)
+        MailFolder trashMailFolder = mailServer.managers.imapHostManager.createMailbox(user, trashFolder.name)
+        appendMessage(otherMailFolder, "<moved-1@test.example>")
+        appendMessage(otherMailFolder, "<moved-2@TEST.example>")
+        appendMessage(trashMailFolder, "<deleted-3@test.example>")
+
+        and: "INBOX messages in database"
+        ImapMessage moved1 = createMessage(1L, inbox, "<moved-1@test.example>")
+        ImapMessage moved2 = createMessage(2L, inbox, "<moved-2@test.example>")
+        ImapMessage deleted3 = createMessage(3L, inbox, "<deleted-3@test.example>")
+        ImapMessage gone4 = createMessage(4L, inbox, "<gone-4@test.example>")
+
+        when:
+        imapSynchronizer.synchronize(mailBox)
+
+        then: "messages found in other folder are moved"
+        [moved1, moved2].every {
+            ImapMessageSync sync = findSyncWithOldFolder(it)
+            sync.status == ImapSyncStatus.MOVED && sync.oldFolder == inbox && reloadMessage(it).folder == otherFolder
+        }
+
+        and: "message found in trash folder is removed"
+        imapMessageSyncDataProvider.findSync(deleted3).status == ImapSyncStatus.REMOVED
+        reloadMessage(deleted3).folder == trashFolder
+
+        and: "message not found anywhere is removed"
+        imapMessageSyncDataProvider.findSync(gone4).status == ImapSyncStatus.REMOVED
+        reloadMessage(gone4).folder == inbox
+    }
+
+    def "missed message with differently formatted Message-ID is found by separate search"() {
+        given: "other folder"
+        ImapFolder otherFolder = createFolder("other-folder")
+
+        and: "messages have been moved from INBOX on the server, one of them has a comment in Message-ID header"
+        MailFolder otherMailFolder = mailServer.managers.imapHostManager.createMailbox(user, otherFolder.name)
+        appendMessage(otherMailFolder, "<moved-1@test.example>")
+        appendMessage(otherMailFolder, "<moved-2@test.example> (comment)")
+
+        and: "INBOX messages in database"
+        ImapMessage moved1 = createMessage(1L, inbox, "<moved-1@test.example>")
+        ImapMessage moved2 = createMessage(2L, inbox, "<moved-2@test.example>")
+
+        when:
+        imapSynchronizer.synchronize(mailBox)
+
+        then:
+        [moved1, moved2].every {
+            imapMessageSyncDataProvider.findSync(it).status == ImapSyncStatus.MOVED && reloadMessage(it).folder == otherFolder
+        }
+    }
+
+    /**
+     * Creates a synchronizer which treats the server as supporting CONDSTORE. GreenMail doesn't support
+     * the extension, so the folder is opened as usual and the given messages are reported as modified.
+     */
+    protected ImapSynchronizer createCondStoreSynchronizer(long serverModSeq, Set<Long> modifiedUids) {
+        def beanFactory = applicationContext.autowireCapableBeanFactory
+        CondStoreImapOperations operations = beanFactory.createBean(CondStoreImapOperations)
+        operations.modifiedUids = modifiedUids
+
+        CondStoreImapSynchronizer synchronizer = beanFactory.createBean(CondStoreImapSynchronizer)
+        synchronizer.imapOperations = operations
+        synchronizer.serverModSeq = serverModSeq
+        return synchronizer
+    }
+
+    static class CondStoreImapSynchronizer extends ImapSynchronizer {
+
+        long serverModSeq
+
+        @Override
+        protected void openFolder(IMAPFolder imapFolder, int mode) {
+            imapFolder.open(mode)
+        }
+
+        @Override
+        protected Long getHighestModSeq(IMAPFolder imapFolder) {
+            return serverModSeq
+        }
+    }
+
+    static class CondStoreImapOperations extends ImapOperations {
+
+        Set<Long> modifiedUids = []
+        List<Long> flagsFetchedUids = []
+
+        @Override
+        boolean supportsCondStore(IMAPFolder folder) {
+            return true
+        }
+
+        @Override
+        Map<Long, Flags> fetchFlagsByUids(IMAPFolder folder, long[] uids) {
+            flagsFetchedUids.addAll(uids as List<Long>)
+            return super.fetchFlagsByUids(folder, uids)
+        }
+
+        @Override
+        Map<Long, Flags> fetchFlagsModifiedSince(IMAPFolder folder, long modSeq) {
+            return fetchFlagsByUids(folder, modifiedUids as long[])
+        }
+    }
+
+    protected Flags flags(Flags.Flag... systemFlags) {
+        Flags flags = new Flags(JMIX_FLAG)
+        systemFlags.each { flags.add(it) }
+        return flags
+    }
+
+    protected void deliverMessage(long uid, Flags flags, String messageId = null) {
+        MimeMessage message = new MimeMessage((Session) null)
+        message.from = new InternetAddress(EMAIL_FROM)
+        message.addRecipient(Message.RecipientType.TO, new InternetAddress(EMAIL_USER_ADDRESS))
+        message.subject = "Message $uid"
+        message.text = "Text of message $uid"
+        message.setFlags(flags, true)
+        if (messageId != null) {
+            message.setHeader(ImapOperations.MESSAGE_ID_HEADER, messageId)
+        }
+        user.deliver(new StoredMessage.UidAwareMimeMessage(message, uid, new Date()))
+    }
+
+    protected void appendMessage(MailFolder folder, String messageId) {
+        MimeMessage message = new MimeMessage((Session) null)
+        message.from = new InternetAddress(EMAIL_FROM)
+        message.addRecipient(Message.RecipientType.TO, new InternetAddress(EMAIL_USER_ADDRESS))
+        message.subject = "Message $messageId"
+        message.text = "Text of message $messageId"
+        message.setHeader(ImapOperations.MESSAGE_ID_HEADER, messageId)
+        folder.appendMessage(message, flags(), new Date())
+    }
+
+    protected ImapMessage createMessage(long uid, ImapFolder folder = inbox, String messageId = null) {
+        ImapMessage message = metadata.create(ImapMessage)
+        message.msgUid = uid
+        message.msgNum = (int) uid
+        message.caption = "Message $uid"
+        message.folder = folder
+        message.messageId = messageId
+        message.imapFlags = flags()
+        return dataManager.save(message)
+    }
+
+    protected ImapMessageSync createSync(ImapMessage message, ImapSyncStatus status, Flags flags) {
+        ImapMessageSync sync = metadata.create(ImapMessageSync)
+        sync.message = message
+        sync.folder = message.folder
+        sync.status = status
+        sync.imapFlags = flags
+        return dataManager.save(sync)
+    }
+
+    protected void saveHighestModSeq(ImapFolder folder, long modSeq) {
+        folder.highestModSeq = modSeq
+        dataManager.save(folder)
+    }
+
+    protected ImapMessageSync findSyncWithOldFolder(ImapMessage message) {
+        return dataManager.load(ImapMessageSync)
+                .query("select ms from imap_MessageSync ms where ms.message.id = :msgId")
+                .parameter("msgId", message.id)
+                .fetchPlan { it.addFetchPlan(FetchPlan.BASE).add("oldFolder") }
+                .one()
+    }
+
+    protected ImapMessage reloadMessage(ImapMessage message) {
+        return dataManager.load(ImapMessage).id(message.id).fetchPlan("imap-msg-full").one()
+    }
+
+    protected ImapFolder reloadFolder(ImapFolder folder) {
+        return dataManager.load(ImapFolder).id(folder.id).one()
+    }
+
+    protected ImapMailBox createMailBox() {
+        ImapMailBox mailBox = metadata.create(ImapMailBox)
+        mailBox.host = LOCALHOST
+        mailBox.port = mailServer.imap.port
+        mailBox.authenticationMethod = ImapAuthenticationMethod.SIMPLE
+        mailBox.authentication = metadata.create(ImapSimpleAuthentication)
+        mailBox.authentication.username = user.login
+        mailBox.authentication.password = user.password
+        mailBox.jmixFlag = JMIX_FLAG
+        mailBox.name = "$LOCALHOST:${mailBox.port}"
+        mailBox.flagsSupported = true
+        mailBox.folders = []
+
+        dataManager.save(mailBox.authentication, mailBox)
+        return mailBox
+    }
+
+    protected ImapFolder createFolder(String name) {
+        ImapFolder folder = metadata.create(ImapFolder)
+        folder.name = name
+        folder.mailBox = mailBox
+        folder.enabled = true
+        folder.deleted = false
+        folder = dataManager.save(folder)
+
+        mailBox.folders.add(folder)
+        return folder
+    }
+}
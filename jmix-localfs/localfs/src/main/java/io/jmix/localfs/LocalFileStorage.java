@@ -24,22 +24,29 @@ import jakarta.annotation.PreDestroy;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -225,20 +232,87 @@ public class LocalFileStorage implements FileStorage {
 
     @Override
     public InputStream openStream(FileRef reference) {
+        Path path = findFile(reference);
+        if (path == null) {
+            throw new FileStorageException(FileStorageException.Type.FILE_NOT_FOUND, reference.toString());
+        }
+
+        try {
+            return Files.newInputStream(path);
+        } catch (IOException e) {
+            log.error("Error opening input stream for " + path, e);
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, path.toAbsolutePath().toString(), e);
+        }
+    }
+
+    @Override
+    public InputStream openStream(FileRef reference, long offset, @Nullable Long length) {
+        if (offset < 0 || (length != null && length < 0)) {
+            throw new IllegalArgumentException("Invalid range: offset " + offset + ", length " + length);
+        }
+
+        Path path = findFile(reference);
+        if (path == null) {
+            throw new FileStorageException(FileStorageException.Type.FILE_NOT_FOUND, reference.toString());
+        }
+
+        try {
+            SeekableByteChannel channel = Files.newByteChannel(path);
+            try {
+                channel.position(offset);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            InputStream inputStream = Channels.newInputStream(channel);
+            if (length == null) {
+                return inputStream;
+            }
+            return BoundedInputStream.builder()
+                    .setInputStream(inputStream)
+                    .setMaxCount(length)
+                    .get();
+        } catch (IOException e) {
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, path.toAbsolutePath().toString(), e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public FileAttributes getFileAttributes(FileRef reference) {
+        Path path = findFile(reference);
+        if (path == null) {
+            return null;
+        }
+
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileAttributes(attributes.size(), new Date(attributes.lastModifiedTime().toMillis()), path);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, path.toAbsolutePath().toString(), e);
+        }
+    }
+
+    /**
+     * Returns the file of the first storage root containing it, or null if the file is not found. Files outside
+     * of the storage root are ignored unless the path check is disabled.
+     */
+    @Nullable
+    protected Path findFile(FileRef reference) {
         Path relativePath = getRelativePath(reference.getPath());
 
         Path[] roots = getStorageRoots();
         if (roots.length == 0) {
             log.error("No storage directories available");
-            throw new FileStorageException(FileStorageException.Type.FILE_NOT_FOUND, reference.toString());
+            return null;
         }
 
-        InputStream inputStream = null;
         for (Path root : roots) {
             Path path = root.resolve(relativePath);
-
             if (!path.toFile().exists()) {
-                log.error("File " + path + " not found");
+                log.debug("File {} not found", path);
                 continue;
             }
 
@@ -247,18 +321,13 @@ public class LocalFileStorage implements FileStorage {
                     log.error("File '{}' is outside of root dir '{}': ", path, root);
                     continue;
                 }
-
-                inputStream = Files.newInputStream(path);
             } catch (IOException e) {
-                log.error("Error opening input stream for " + path, e);
+                log.error("Error resolving path " + path, e);
+                continue;
             }
+            return path;
         }
-
-        if (inputStream != null) {
-            return inputStream;
-        } else {
-            throw new FileStorageException(FileStorageException.Type.FILE_NOT_FOUND, reference.toString());
-        }
+        return null;
     }
 
     @Override
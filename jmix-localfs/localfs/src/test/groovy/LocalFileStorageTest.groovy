@@ -47,6 +47,30 @@ class LocalFileStorageTest extends Specification {
         fileStorage.removeFile(fileRef)
     }
 
+    def "load range of file and file attributes"() {
+        byte[] a = 'Test output'.getBytes()
+        FileRef fileRef = fileStorage.saveStream("test.txt", new ByteArrayInputStream(a))
+
+        when:
+        def attributes = fileStorage.getFileAttributes(fileRef)
+
+        then:
+        attributes.size == a.length
+        attributes.lastModified != null
+        attributes.localFile != null
+
+        when:
+        def range = fileStorage.openStream(fileRef, 5, 3).withCloseable { IOUtils.toByteArray(it) }
+        def tail = fileStorage.openStream(fileRef, 5, null).withCloseable { IOUtils.toByteArray(it) }
+
+        then:
+        new String(range) == 'out'
+        new String(tail) == 'output'
+
+        cleanup:
+        fileStorage.removeFile(fileRef)
+    }
+
     def "FileRef format"() {
         when: "FileRef as URI string"
         def fileRefString = 'fs://2021/01/25/60680137-5d4a-69a0-999e-526acf141308.png?name=1.txt&testParam=foo'
@@ -21,6 +21,7 @@ import io.jmix.core.SaveContext
 import io.jmix.core.UnconstrainedDataManager
 import io.jmix.core.metamodel.model.MetaProperty
 import io.jmix.core.security.InMemoryUserRepository
+import io.jmix.core.security.SystemAuthenticator
 import io.jmix.data.PersistenceHints
 import io.jmix.eclipselink.EclipselinkConfiguration
 import io.jmix.multitenancy.MultitenancyConfiguration
@@ -33,6 +34,8 @@ import org.springframework.security.authentication.AuthenticationManager
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken
 import org.springframework.security.core.Authentication
 import org.springframework.test.context.ContextConfiguration
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
 import spock.lang.Specification
 import test_support.MultitenancyFlowuiTestConfiguration
 import test_support.entity.SimpleUser
@@ -63,6 +66,12 @@ class TenantTest extends Specification {
     @Autowired
     private TenantEntityOperation tenantEntityOperation
 
+    @Autowired
+    private SystemAuthenticator authenticator
+
+    @Autowired
+    private PlatformTransactionManager transactionManager
+
     User admin
     User tenantAdminA
     User tenantAdminB
@@ -222,4 +231,47 @@ class TenantTest extends Specification {
         then:
         TenantProvider.NO_TENANT == tenantUserB.getTenantId()
     }
+
+    def "tenant user query returns only entities of the tenant"() {
+        when:
+        def tenantNames = authenticator.withUser("tenantA", { loadTestTenantEntityNames() })
+        def adminNames = authenticator.withUser("admin", { loadTestTenantEntityNames() })
+
+        then:
+        tenantNames == ["A"] as Set
+        adminNames == ["A", "B", "without tenant"] as Set
+    }
+
+    def "query parameter with the name of tenant criteria parameter doesn't affect tenant filtering"() {
+        when:
+        def names = authenticator.withUser("tenantA", {
+            unconstrainedDataManager.load(TestTenantEntity)
+                    .query("select e from src_TestTenantEntity e where e.idForTenant = :tenantId")
+                    .parameter("tenantId", "tenantB")
+                    .list()*.name
+        })
+
+        then:
+        names.isEmpty()
+    }
+
+    def "tenant criteria of a query is based on the entity manager context"() {
+        when: "entity manager is created in the admin context and then used by a tenant user"
+        def names = authenticator.withUser("admin", {
+            new TransactionTemplate(transactionManager).execute {
+                loadTestTenantEntityNames()
+                authenticator.withUser("tenantA", { loadTestTenantEntityNames() })
+            }
+        })
+
+        then: "the query sees the same entities as the entity manager context"
+        names == ["A", "B", "without tenant"] as Set
+    }
+
+    private Set<String> loadTestTenantEntityNames() {
+        unconstrainedDataManager.load(TestTenantEntity)
+                .query("select e from src_TestTenantEntity e where e.name in :names")
+                .parameter("names", ["A", "B", "without tenant"])
+                .list()*.name as Set
+    }
 }
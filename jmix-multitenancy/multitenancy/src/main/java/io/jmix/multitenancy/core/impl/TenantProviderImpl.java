@@ -17,7 +17,6 @@
 package io.jmix.multitenancy.core.impl;
 
 import io.jmix.core.annotation.TenantId;
-import io.jmix.core.common.util.ReflectionHelper;
 import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.core.usersubstitution.CurrentUserSubstitution;
 import io.jmix.multitenancy.core.TenantProvider;
@@ -26,7 +25,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Field;
-import java.util.WeakHashMap;
+import java.util.Optional;
 
 /**
  * Implementation of {@link TenantProvider} based on {@link CurrentAuthentication}.
@@ -34,7 +33,16 @@ import java.util.WeakHashMap;
 @Component("mten_TenantProvider")
 public class TenantProviderImpl implements TenantProvider {
 
-    protected WeakHashMap<Class<?>, String> fieldsCache = new WeakHashMap<>();
+    /**
+     * Accessible {@link TenantId} fields of user classes. {@link ClassValue} is thread-safe and doesn't prevent
+     * unloading of the user classes.
+     */
+    protected final ClassValue<Optional<Field>> tenantIdFields = new ClassValue<>() {
+        @Override
+        protected Optional<Field> computeValue(Class<?> type) {
+            return Optional.ofNullable(findTenantIdField(type));
+        }
+    };
 
     private final CurrentAuthentication currentAuthentication;
     private final CurrentUserSubstitution currentUserSubstitution;
@@ -61,30 +69,35 @@ public class TenantProviderImpl implements TenantProvider {
         }
 
         UserDetails userDetails = currentUserSubstitution.getEffectiveUser();
-        String tenantIdFieldName = getTenantIdFieldName(userDetails.getClass());
+        Field tenantIdField = tenantIdFields.get(userDetails.getClass()).orElse(null);
 
-        if (tenantIdFieldName == null) {
+        if (tenantIdField == null) {
             return TenantProvider.NO_TENANT;
         }
 
-        String tenantId = (String) ReflectionHelper.getFieldValue(userDetails, tenantIdFieldName);
+        String tenantId;
+        try {
+            tenantId = (String) tenantIdField.get(userDetails);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Unable to read tenant id of " + userDetails, e);
+        }
         //noinspection ConstantValue
         return tenantId != null ? tenantId : TenantProvider.NO_TENANT;
     }
 
     @Nullable
     protected String getTenantIdFieldName(Class<?> clazz) {
-        String tenantField = fieldsCache.get(clazz);
-        if (tenantField != null) {
-            return tenantField;
-        }
+        return tenantIdFields.get(clazz).map(Field::getName).orElse(null);
+    }
 
+    @Nullable
+    protected Field findTenantIdField(Class<?> clazz) {
         for (Class<?> type = clazz; type != null; type = type.getSuperclass()) {
             Field[] declaredFields = type.getDeclaredFields();
             for (Field field : declaredFields) {
                 if (field.isAnnotationPresent(TenantId.class)) {
-                    fieldsCache.put(clazz, field.getName());
-                    return field.getName();
+                    field.setAccessible(true);
+                    return field;
                 }
             }
         }
@@ -30,6 +30,11 @@ import java.util.Map;
 
 /**
  * The implementation of additional criteria for multi tenants.
+ * <p>
+ * The additional criteria of the entity descriptor is shared by all users, so it also admits the global admin context
+ * ({@link TenantProvider#NO_TENANT}). For tenant users, JPQL queries additionally get a plain equality condition
+ * on the tenant property, which allows the database to use an index on the tenant column. No condition is added
+ * for the global admin context.
  */
 @Component("mten_HasTenantAdditionalCriteriaProvider")
 public class HasTenantAdditionalCriteriaProvider implements AdditionalCriteriaProvider {
@@ -64,6 +69,21 @@ public class HasTenantAdditionalCriteriaProvider implements AdditionalCriteriaPr
         return String.format("(:tenantId = '%s' or this.%s = :tenantId)", TenantProvider.NO_TENANT, metaProperty.getName());
     }
 
+    @Nullable
+    @Override
+    public String getQueryCriteria(Class<?> entityClass, Map<String, Object> criteriaParameters) {
+        // the tenant is taken from the parameters, so the condition and the descriptor criteria use the same value
+        Object tenantId = criteriaParameters.get(TENANT_ID);
+        if (tenantId == null || TenantProvider.NO_TENANT.equals(tenantId)) {
+            return null;
+        }
+        MetaProperty metaProperty = tenantEntityOperation.findTenantProperty(entityClass);
+        if (metaProperty == null) {
+            return null;
+        }
+        return String.format("{E}.%s = :%s", metaProperty.getName(), TENANT_ID);
+    }
+
     @Nullable
     @Override
     public Map<String, Object> getCriteriaParameters() {
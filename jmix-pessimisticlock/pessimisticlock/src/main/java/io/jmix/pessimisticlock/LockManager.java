@@ -20,7 +20,9 @@ import io.jmix.pessimisticlock.entity.LockInfo;
 import io.jmix.pessimisticlock.entity.LockNotSupported;
 import org.springframework.lang.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public interface LockManager {
 
@@ -49,6 +51,35 @@ public interface LockManager {
     @Nullable
     LockInfo lock(Object entity);
 
+    /**
+     * Try to lock a collection of entities. Either all entities are locked or none of them.
+     * Entities for which locking is not configured are skipped.
+     * <p>
+     * The default implementation locks entities one by one and releases the taken locks if some entity
+     * is already locked.
+     *
+     * @param entities entity instances
+     * @return - empty collection in case of successful lock,<br>
+     * - {@link LockInfo} instances of the entities which are already locked by someone, in this case
+     * none of the entities is locked
+     */
+    default Collection<LockInfo> lock(Collection<?> entities) {
+        List<Object> lockedEntities = new ArrayList<>();
+        List<LockInfo> existingLocks = new ArrayList<>();
+        for (Object entity : entities) {
+            LockInfo lockInfo = lock(entity);
+            if (lockInfo == null) {
+                lockedEntities.add(entity);
+            } else if (!(lockInfo instanceof LockNotSupported)) {
+                existingLocks.add(lockInfo);
+            }
+        }
+        if (!existingLocks.isEmpty()) {
+            lockedEntities.forEach(this::unlock);
+        }
+        return existingLocks;
+    }
+
     /**
      * Unlock an arbitrary object.
      *
@@ -64,6 +95,17 @@ public interface LockManager {
      */
     void unlock(Object entity);
 
+    /**
+     * Unlock a collection of entities.
+     *
+     * @param entities entity instances
+     */
+    default void unlock(Collection<?> entities) {
+        for (Object entity : entities) {
+            unlock(entity);
+        }
+    }
+
     /**
      * Get locking status for particular object
      *
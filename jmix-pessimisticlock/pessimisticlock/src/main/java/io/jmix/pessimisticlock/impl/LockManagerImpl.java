@@ -16,6 +16,7 @@
 
 package io.jmix.pessimisticlock.impl;
 
+import com.google.common.util.concurrent.Striped;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.entity.EntityValues;
@@ -31,6 +32,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -38,12 +40,25 @@ import org.springframework.stereotype.Component;
 import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
 
 @Component("pslock_LockManagerImpl")
 public class LockManagerImpl implements LockManager {
 
     protected static final Logger log = LoggerFactory.getLogger(LockManagerImpl.class);
 
+    protected static final int STRIPES_COUNT = 64;
+
+    /**
+     * Interval of full scans of the locks cache. They are needed to expire locks acquired by other cluster nodes
+     * or before the application restart, because the expiration index contains only locks acquired by this instance.
+     */
+    protected static final long FULL_SCAN_INTERVAL_MS = 10 * 60 * 1000L;
+
+    // compared by name, because spring-context-support is an optional dependency
+    protected static final String CAFFEINE_CACHE_CLASS_NAME = "org.springframework.cache.caffeine.CaffeineCache";
+
     protected final ExtendedEntities extendedEntities;
     protected final Metadata metadata;
     protected final MetadataTools metadataTools;
@@ -57,6 +72,20 @@ public class LockManagerImpl implements LockManager {
 
     protected Cache locks;
 
+    /**
+     * Serializes lock operations on the same keys within this instance, so a batch lock is not interleaved
+     * with other operations on the same objects.
+     */
+    protected final Striped<Lock> stripes = Striped.lock(STRIPES_COUNT);
+
+    /**
+     * Locks having a timeout ordered by expiration time, so expiring touches only expired locks.
+     */
+    protected final NavigableSet<LockExpiration> expirationIndex = new ConcurrentSkipListSet<>();
+
+    protected volatile boolean fullScanRequired = true;
+    protected volatile long nextFullScanTime;
+
     public LockManagerImpl(ExtendedEntities extendedEntities,
                            Metadata metadata,
                            MetadataTools metadataTools,
@@ -110,14 +139,21 @@ public class LockManagerImpl implements LockManager {
         UserDetails user = currentAuthentication.getUser();
         LockInfo lockInfo = new LockInfo(user.getUsername(), name, id, timeSource.currentTimestamp());
 
-        Cache.ValueWrapper lockInfoWrapper = locks.putIfAbsent(key, lockInfo);
-        if (lockInfoWrapper == null) {
-            log.debug("Locked {}/{}", name, id);
-            return null;
-        } else {
-            LockInfo existingLockInfo = (LockInfo) lockInfoWrapper.get();
-            log.debug("Already locked: {}", existingLockInfo);
-            return existingLockInfo;
+        Lock stripe = stripes.get(key);
+        stripe.lock();
+        try {
+            Cache.ValueWrapper lockInfoWrapper = locks.putIfAbsent(key, lockInfo);
+            if (lockInfoWrapper == null) {
+                addToExpirationIndex(key, lockInfo, ld);
+                log.debug("Locked {}/{}", name, id);
+                return null;
+            } else {
+                LockInfo existingLockInfo = (LockInfo) lockInfoWrapper.get();
+                log.debug("Already locked: {}", existingLockInfo);
+                return existingLockInfo;
+            }
+        } finally {
+            stripe.unlock();
         }
     }
 
@@ -126,16 +162,92 @@ public class LockManagerImpl implements LockManager {
     public LockInfo lock(Object entity) {
         Preconditions.checkNotNullArgument(entity, "entity is null");
 
-        MetaClass metaClass = metadata.getClass(entity);
-        MetaClass originalMetaClass = extendedEntities.getOriginalOrThisMetaClass(metaClass);
+        LockKey key = getLockKey(entity);
+        return lock(key.name, key.id);
+    }
+
+    @Override
+    public Collection<LockInfo> lock(Collection<?> entities) {
+        Preconditions.checkNotNullArgument(entities, "entities is null");
+
+        Map<LockKey, LockDescriptor> keys = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            LockKey key = getLockKey(entity);
+            LockDescriptor ld = getConfig().get(key.name);
+            if (ld != null) {
+                keys.putIfAbsent(key, ld);
+            }
+        }
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        UserDetails user = currentAuthentication.getUser();
+        Date since = timeSource.currentTimestamp();
+
+        // Striped returns locks in a consistent order, so batches of intersecting keys cannot deadlock
+        List<Lock> batchStripes = new ArrayList<>();
+        stripes.bulkGet(keys.keySet()).forEach(batchStripes::add);
+        List<Lock> acquiredStripes = new ArrayList<>(batchStripes.size());
+        try {
+            for (Lock stripe : batchStripes) {
+                stripe.lock();
+                acquiredStripes.add(stripe);
+            }
+
+            List<LockInfo> existingLocks = new ArrayList<>();
+            for (LockKey key : keys.keySet()) {
+                LockInfo existingLockInfo = locks.get(key, LockInfo.class);
+                if (existingLockInfo != null) {
+                    existingLocks.add(existingLockInfo);
+                }
+            }
+            if (!existingLocks.isEmpty()) {
+                log.debug("Unable to lock {} objects, already locked: {}", keys.size(), existingLocks);
+                return existingLocks;
+            }
+
+            Map<LockKey, LockInfo> acquiredLocks = new LinkedHashMap<>();
+            for (LockKey key : keys.keySet()) {
+                LockInfo lockInfo = new LockInfo(user.getUsername(), key.name, key.id, since);
+                Cache.ValueWrapper lockInfoWrapper = locks.putIfAbsent(key, lockInfo);
+                if (lockInfoWrapper == null) {
+                    acquiredLocks.put(key, lockInfo);
+                } else {
+                    // locked concurrently by another cluster node, release the locks acquired so far
+                    LockInfo existingLockInfo = (LockInfo) lockInfoWrapper.get();
+                    log.debug("Unable to lock {} objects, already locked: {}", keys.size(), existingLockInfo);
+                    acquiredLocks.keySet().forEach(locks::evict);
+                    return Collections.singletonList(existingLockInfo);
+                }
+            }
 
-        return lock(originalMetaClass.getName(), EntityValues.getId(entity).toString());
+            acquiredLocks.forEach((key, lockInfo) -> addToExpirationIndex(key, lockInfo, keys.get(key)));
+            log.debug("Locked {} objects", acquiredLocks.size());
+            return Collections.emptyList();
+        } finally {
+            for (int i = acquiredStripes.size() - 1; i >= 0; i--) {
+                acquiredStripes.get(i).unlock();
+            }
+        }
     }
 
     @Override
     public void unlock(String name, String id) {
-        if (locks.evictIfPresent(new LockKey(name, id))) {
-            log.debug("Unlocked {}/{}", name, id);
+        LockKey key = new LockKey(name, id);
+
+        Lock stripe = stripes.get(key);
+        stripe.lock();
+        try {
+            LockInfo lockInfo = locks.get(key, LockInfo.class);
+            if (locks.evictIfPresent(key)) {
+                if (lockInfo != null) {
+                    removeFromExpirationIndex(key, lockInfo);
+                }
+                log.debug("Unlocked {}/{}", name, id);
+            }
+        } finally {
+            stripe.unlock();
         }
     }
 
@@ -143,10 +255,26 @@ public class LockManagerImpl implements LockManager {
     public void unlock(Object entity) {
         Preconditions.checkNotNullArgument(entity, "entity is null");
 
+        LockKey key = getLockKey(entity);
+        unlock(key.name, key.id);
+    }
+
+    @Override
+    public void unlock(Collection<?> entities) {
+        Preconditions.checkNotNullArgument(entities, "entities is null");
+
+        for (Object entity : entities) {
+            unlock(entity);
+        }
+    }
+
+    protected LockKey getLockKey(Object entity) {
+        Preconditions.checkNotNullArgument(entity, "entity is null");
+
         MetaClass metaClass = metadata.getClass(entity);
         MetaClass originalMetaClass = extendedEntities.getOriginalOrThisMetaClass(metaClass);
 
-        unlock(originalMetaClass.getName(), EntityValues.getId(entity).toString());
+        return new LockKey(originalMetaClass.getName(), EntityValues.getId(entity).toString());
     }
 
     @Override
@@ -171,10 +299,73 @@ public class LockManagerImpl implements LockManager {
 
     @Override
     public void expireLocks() {
-        if (cacheOperations.isIterableCache(locks)) {
-            log.trace("Start expiring locks operation");
-            Collection<LockKey> keys = cacheOperations.getKeys(locks);
-            for (LockKey key : keys) {
+        long currentTime = timeSource.currentTimeMillis();
+        if (cacheOperations.isIterableCache(locks)
+                && (fullScanRequired || !isLocalCache() && currentTime >= nextFullScanTime)) {
+            expireLocksByFullScan(currentTime);
+        } else {
+            expireLocksByIndex(currentTime);
+        }
+    }
+
+    /**
+     * Removes expired locks registered in the expiration index. Locks released or re-acquired after
+     * registration are skipped.
+     */
+    protected void expireLocksByIndex(long currentTime) {
+        log.trace("Start expiring locks using expiration index");
+        LockExpiration expiration;
+        while ((expiration = expirationIndex.pollFirst()) != null) {
+            if (expiration.expirationTime >= currentTime) {
+                expirationIndex.add(expiration);
+                break;
+            }
+
+            LockKey key = expiration.key;
+            Lock stripe = stripes.get(key);
+            stripe.lock();
+            try {
+                LockInfo lockInfo = locks.get(key, LockInfo.class);
+                if (lockInfo == null || lockInfo.getSince().getTime() != expiration.since) {
+                    continue;
+                }
+                LockDescriptor ld = getConfig().get(key.name);
+                if (ld == null) {
+                    log.debug("Lock {}/{} configuration not found, remove it", key.name, key.id);
+                    locks.evict(key);
+                    continue;
+                }
+                // the timeout could be changed after the lock was registered
+                LockExpiration actualExpiration = createLockExpiration(key, lockInfo, ld);
+                if (actualExpiration == null) {
+                    continue;
+                }
+                if (actualExpiration.expirationTime < currentTime) {
+                    log.debug("Lock {}/{} expired", key.name, key.id);
+                    locks.evict(key);
+                } else {
+                    expirationIndex.add(actualExpiration);
+                }
+            } finally {
+                stripe.unlock();
+            }
+        }
+    }
+
+    /**
+     * Checks all locks in the cache and rebuilds the expiration index from the remaining ones.
+     */
+    protected void expireLocksByFullScan(long currentTime) {
+        log.trace("Start expiring locks operation");
+        fullScanRequired = false;
+        nextFullScanTime = currentTime + FULL_SCAN_INTERVAL_MS;
+
+        Set<LockExpiration> expirations = new HashSet<>();
+        Collection<LockKey> keys = cacheOperations.getKeys(locks);
+        for (LockKey key : keys) {
+            Lock stripe = stripes.get(key);
+            stripe.lock();
+            try {
                 LockInfo lockInfo = locks.get(key, LockInfo.class);
                 if (lockInfo != null) {
                     LockDescriptor ld = getConfig().get(key.name);
@@ -182,27 +373,70 @@ public class LockManagerImpl implements LockManager {
                         log.debug("Lock {}/{} configuration not found, remove it", key.name, key.id);
                         locks.evict(key);
                     } else {
-                        Integer timeoutSec = ld.getTimeoutSec();
-                        if (timeoutSec != null && timeoutSec > 0) {
-                            Date since = lockInfo.getSince();
-                            if (since.getTime() + timeoutSec * 1000 < timeSource.currentTimestamp().getTime()) {
+                        LockExpiration expiration = createLockExpiration(key, lockInfo, ld);
+                        if (expiration != null) {
+                            if (expiration.expirationTime < currentTime) {
                                 log.debug("Lock {}/{} expired", key.name, key.id);
                                 locks.evict(key);
+                            } else {
+                                expirations.add(expiration);
                             }
                         }
                     }
                 } else {
                     log.trace("Lock info not found for key '{}'", key);
                 }
+            } finally {
+                stripe.unlock();
             }
-        } else {
-            log.debug("Expiring locks operation is unsupported by cache provider");
         }
+
+        // outdated entries are kept, they are checked against the cache and current configuration on expiration
+        expirationIndex.addAll(expirations);
+    }
+
+    /**
+     * @return true if the locks cache is an in-memory cache of this instance, so all its locks are registered
+     * in the expiration index. Distributed caches like Hazelcast or Infinispan can implement {@code ConcurrentMap}
+     * as well, so only known local cache implementations are taken into account.
+     */
+    protected boolean isLocalCache() {
+        return locks instanceof ConcurrentMapCache
+                || CAFFEINE_CACHE_CLASS_NAME.equals(locks.getClass().getName());
+    }
+
+    protected void addToExpirationIndex(LockKey key, LockInfo lockInfo, LockDescriptor ld) {
+        LockExpiration expiration = createLockExpiration(key, lockInfo, ld);
+        if (expiration != null) {
+            expirationIndex.add(expiration);
+        }
+    }
+
+    protected void removeFromExpirationIndex(LockKey key, LockInfo lockInfo) {
+        LockDescriptor ld = getConfig().get(key.name);
+        if (ld != null) {
+            LockExpiration expiration = createLockExpiration(key, lockInfo, ld);
+            if (expiration != null) {
+                expirationIndex.remove(expiration);
+            }
+        }
+    }
+
+    @Nullable
+    protected LockExpiration createLockExpiration(LockKey key, LockInfo lockInfo, LockDescriptor ld) {
+        Integer timeoutSec = ld.getTimeoutSec();
+        if (timeoutSec == null || timeoutSec <= 0) {
+            return null;
+        }
+        long since = lockInfo.getSince().getTime();
+        return new LockExpiration(key, since, since + timeoutSec * 1000L);
     }
 
     @Override
     public void reloadConfiguration() {
         config = null;
+        // lock timeouts may have changed
+        fullScanRequired = true;
     }
 
     public static class LockKey implements Serializable {
@@ -239,4 +473,47 @@ public class LockManagerImpl implements LockManager {
             return String.format("%s[%s]", name, id);
         }
     }
+
+    /**
+     * Entry of the expiration index. Entries are ordered by expiration time.
+     */
+    protected static class LockExpiration implements Comparable<LockExpiration> {
+
+        private static final Comparator<LockExpiration> COMPARATOR =
+                Comparator.<LockExpiration>comparingLong(expiration -> expiration.expirationTime)
+                        .thenComparingLong(expiration -> expiration.since)
+                        .thenComparing(expiration -> expiration.key.name)
+                        .thenComparing(expiration -> expiration.key.id, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        private final LockKey key;
+        private final long since;
+        private final long expirationTime;
+
+        protected LockExpiration(LockKey key, long since, long expirationTime) {
+            this.key = key;
+            this.since = since;
+            this.expirationTime = expirationTime;
+        }
+
+        @Override
+        public int compareTo(LockExpiration o) {
+            return COMPARATOR.compare(this, o);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            LockExpiration that = (LockExpiration) o;
+            return since == that.since
+                    && expirationTime == that.expirationTime
+                    && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, since, expirationTime);
+        }
+    }
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pessimisticlock
+
+import io.jmix.core.*
+import io.jmix.core.security.CurrentAuthentication
+import io.jmix.core.security.SystemAuthenticator
+import io.jmix.pessimisticlock.LockDescriptorProvider
+import io.jmix.pessimisticlock.entity.LockDescriptor
+import io.jmix.pessimisticlock.impl.LockManagerImpl
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager
+import org.springframework.test.context.ContextConfiguration
+import spock.lang.Specification
+import test_support.PessimisticLockTestConfiguration
+
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZonedDateTime
+
+@ContextConfiguration(classes = [CoreConfiguration, PessimisticLockTestConfiguration])
+class LockExpirationTest extends Specification {
+
+    static final String LOCK_NAME = "test_ExpiringLock"
+    static final int TIMEOUT_SEC = 10
+    static final long START_TIME = 1_000_000L
+
+    @Autowired
+    ExtendedEntities extendedEntities
+    @Autowired
+    Metadata metadata
+    @Autowired
+    MetadataTools metadataTools
+    @Autowired
+    CurrentAuthentication currentAuthentication
+    @Autowired
+    CacheOperations cacheOperations
+    @Autowired
+    SystemAuthenticator authenticator
+
+    TestTimeSource timeSource = new TestTimeSource(time: START_TIME)
+
+    void setup() {
+        authenticator.begin()
+    }
+
+    void cleanup() {
+        authenticator.end()
+    }
+
+    def "timed out lock is released through the expiration index"() {
+        given:
+        def lockManager = createLockManager(true)
+        lockManager.lock(LOCK_NAME, "1")
+
+        when:
+        timeSource.time = START_TIME + TIMEOUT_SEC * 1000L - 1
+        lockManager.expireLocks()
+
+        then:
+        lockManager.getLockInfo(LOCK_NAME, "1") != null
+        lockManager.expirationIndex.size() == 1
+
+        when:
+        timeSource.time = START_TIME + TIMEOUT_SEC * 1000L + 1
+        lockManager.expireLocks()
+
+        then:
+        lockManager.getLockInfo(LOCK_NAME, "1") == null
+        lockManager.expirationIndex.isEmpty()
+        lockManager.fullScans == 0
+        lockManager.indexScans == 2
+    }
+
+    def "re-locking replaces the expiration index entry"() {
+        given:
+        def lockManager = createLockManager(true)
+        lockManager.lock(LOCK_NAME, "1")
+
+        when: "the object is unlocked and locked again later"
+        lockManager.unlock(LOCK_NAME, "1")
+        timeSource.time = START_TIME + 8000
+        lockManager.lock(LOCK_NAME, "1")
+
+        then:
+        lockManager.expirationIndex.size() == 1
+        lockManager.expirationIndex.first().since == START_TIME + 8000
+
+        when: "the timeout of the first lock is elapsed"
+        timeSource.time = START_TIME + TIMEOUT_SEC * 1000L + 1
+        lockManager.expireLocks()
+
+        then: "the second lock is kept"
+        lockManager.getLockInfo(LOCK_NAME, "1") != null
+        lockManager.expirationIndex.size() == 1
+
+        when: "the timeout of the second lock is elapsed"
+        timeSource.time = START_TIME + 8000 + TIMEOUT_SEC * 1000L + 1
+        lockManager.expireLocks()
+
+        then:
+        lockManager.getLockInfo(LOCK_NAME, "1") == null
+        lockManager.expirationIndex.isEmpty()
+    }
+
+    def "locks missing in the index are expired by full scan of a non-local cache"() {
+        given: "a lock which is not in the index, as if acquired by another cluster node"
+        def lockManager = createLockManager(false)
+        lockManager.lock(LOCK_NAME, "1")
+        lockManager.expirationIndex.clear()
+
+        when:
+        timeSource.time = START_TIME + TIMEOUT_SEC * 1000L + 1
+        lockManager.expireLocks()
+
+        then: "the index is used until the full scan interval elapses"
+        lockManager.getLockInfo(LOCK_NAME, "1") != null
+        lockManager.indexScans == 1
+        lockManager.fullScans == 0
+
+        when:
+        timeSource.time = START_TIME + LockManagerImpl.FULL_SCAN_INTERVAL_MS
+        lockManager.expireLocks()
+
+        then:
+        lockManager.getLockInfo(LOCK_NAME, "1") == null
+        lockManager.fullScans == 1
+    }
+
+    def "local cache is never scanned after the initial full scan"() {
+        given:
+        def lockManager = createLockManager(true)
+        lockManager.lock(LOCK_NAME, "1")
+        lockManager.expirationIndex.clear()
+
+        when:
+        timeSource.time = START_TIME + LockManagerImpl.FULL_SCAN_INTERVAL_MS
+        lockManager.expireLocks()
+
+        then:
+        lockManager.getLockInfo(LOCK_NAME, "1") != null
+        lockManager.fullScans == 0
+        lockManager.indexScans == 1
+    }
+
+    protected TestLockManager createLockManager(boolean localCache) {
+        LockDescriptorProvider descriptorProvider = { [new LockDescriptor(LOCK_NAME, TIMEOUT_SEC)] }
+        def lockManager = new TestLockManager(extendedEntities, metadata, metadataTools, timeSource,
+                currentAuthentication, new ConcurrentMapCacheManager(), cacheOperations, [descriptorProvider])
+        lockManager.init()
+        lockManager.localCache = localCache
+
+        // the initial full scan rebuilding the index after start
+        lockManager.expireLocks()
+        lockManager.fullScans = 0
+        return lockManager
+    }
+
+    static class TestLockManager extends LockManagerImpl {
+
+        boolean localCache
+        int fullScans
+        int indexScans
+
+        TestLockManager(ExtendedEntities extendedEntities, Metadata metadata, MetadataTools metadataTools,
+                        TimeSource timeSource, CurrentAuthentication currentAuthentication,
+                        ConcurrentMapCacheManager cacheManager, CacheOperations cacheOperations,
+                        List<LockDescriptorProvider> lockDescriptorProviders) {
+            super(extendedEntities, metadata, metadataTools, timeSource, currentAuthentication, cacheManager,
+                    cacheOperations, lockDescriptorProviders)
+        }
+
+        @Override
+        protected boolean isLocalCache() {
+            return localCache
+        }
+
+        @Override
+        protected void expireLocksByIndex(long currentTime) {
+            indexScans++
+            super.expireLocksByIndex(currentTime)
+        }
+
+        @Override
+        protected void expireLocksByFullScan(long currentTime) {
+            fullScans++
+            super.expireLocksByFullScan(currentTime)
+        }
+    }
+
+    static class TestTimeSource implements TimeSource {
+
+        long time
+
+        @Override
+        Date currentTimestamp() {
+            return new Date(time)
+        }
+
+        @Override
+        long currentTimeMillis() {
+            return time
+        }
+
+        @Override
+        ZonedDateTime now() {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault())
+        }
+    }
+}
@@ -92,4 +92,32 @@ class LockManagerTest extends Specification {
         then:
         assertNull(lockInfo)
     }
+
+    def "Test batch lock of entities"() {
+        List<LockableParentEntity> entities = (1..3).collect {
+            LockableParentEntity entity = metadata.create(LockableParentEntity.class)
+            entity.setName("Test name " + it)
+            entity
+        }
+
+        when:
+        Collection<LockInfo> lockInfos = lockManager.lock(entities)
+        then:
+        lockInfos.isEmpty()
+        entities.every { lockManager.getLockInfo("pslock_LockableParentEntity", it.getId().toString()) != null }
+
+        when:
+        lockManager.unlock(entities.subList(0, 2))
+        lockInfos = lockManager.lock(entities)
+        then: "nothing is locked if one of the entities is already locked"
+        lockInfos.size() == 1
+        lockInfos[0].objectId == entities[2].getId().toString()
+        lockManager.getLockInfo("pslock_LockableParentEntity", entities[0].getId().toString()) == null
+        lockManager.getLockInfo("pslock_LockableParentEntity", entities[1].getId().toString()) == null
+
+        when:
+        lockManager.unlock(entities)
+        then:
+        entities.every { lockManager.getLockInfo("pslock_LockableParentEntity", it.getId().toString()) == null }
+    }
 }
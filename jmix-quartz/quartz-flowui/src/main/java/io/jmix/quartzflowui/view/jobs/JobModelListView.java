@@ -16,7 +16,6 @@
 
 package io.jmix.quartzflowui.view.jobs;
 
-import com.google.common.base.Strings;
 import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableMap;
 import com.vaadin.flow.component.Component;
@@ -28,6 +27,7 @@ import com.vaadin.flow.data.renderer.Renderer;
 import com.vaadin.flow.data.renderer.TextRenderer;
 import com.vaadin.flow.router.QueryParameters;
 import com.vaadin.flow.router.Route;
+import io.jmix.core.DataLoadContext;
 import io.jmix.core.LoadContext;
 import io.jmix.core.MessageTools;
 import io.jmix.core.Metadata;
@@ -56,16 +56,16 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.quartz.JobKey;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static java.util.Comparator.*;
-import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
 
 @Route(value = "quartz/jobmodels", layout = DefaultMainViewParent.class)
 @ViewController("quartz_JobModel.list")
@@ -111,6 +111,11 @@ public class JobModelListView extends StandardListView<JobModel> {
     @ViewComponent
     private UrlQueryParametersFacet urlQueryParameters;
 
+    /**
+     * Number of jobs matching the filters, if models of all of them were created by the last load.
+     */
+    protected Integer filteredJobsCount;
+
     @Subscribe
     protected void onInit(InitEvent event) {
         initUrlParameters();
@@ -139,7 +144,20 @@ public class JobModelListView extends StandardListView<JobModel> {
 
     @Install(to = "jobModelsDl", target = Target.DATA_LOADER)
     private List<JobModel> jobModelsDlLoadDelegate(final LoadContext<JobModel> loadContext) {
-        return loadJobsData();
+        LoadContext.Query query = loadContext.getQuery();
+        int firstResult = query != null ? query.getFirstResult() : 0;
+        int maxResults = query != null && query.getMaxResults() > 0 ? query.getMaxResults() : Integer.MAX_VALUE;
+        return loadJobsData(firstResult, maxResults);
+    }
+
+    @Install(to = "pagination", subject = "totalCountDelegate")
+    private Integer paginationTotalCountDelegate(final DataLoadContext dataLoadContext) {
+        if (filteredJobsCount != null) {
+            return filteredJobsCount;
+        }
+        // without filtering by state jobs are counted by their keys
+        return quartzService.getJobsCount(nameFilter.getTypedValue(), groupFilter.getTypedValue(),
+                classFilter.getTypedValue(), null);
     }
 
     @Install(to = "jobModelsTable.jobState", subject = "partNameGenerator")
@@ -160,34 +178,39 @@ public class JobModelListView extends StandardListView<JobModel> {
         classFilter.addTypedValueChangeListener(this::onFilterFieldValueChange);
         groupFilter.addTypedValueChangeListener(this::onFilterFieldValueChange);
         jobStateFilter.addValueChangeListener(this::onFilterFieldValueChange);
+        // the page depends on sorting
+        jobModelsTable.addSortListener(event -> jobModelsDl.load());
     }
 
-    protected List<JobModel> loadJobsData() {
+    /**
+     * Loads a page of jobs. Filters and sorting are applied by {@link QuartzService}. Without sorting and filtering
+     * by state, jobs are ordered by group and name, and triggers are fetched only for jobs of the page. Otherwise
+     * models of all matching jobs are created once, and both the page and the total count are taken from them.
+     */
+    protected List<JobModel> loadJobsData(int firstResult, int maxResults) {
         List<GridSortOrder<JobModel>> sorting = jobModelsTable.getSortOrder();
 
         Comparator<JobModel> jobModelComparator = createJobModelComparator(sorting);
-        List<JobModel> jobs = quartzService.getAllJobs().stream()
-                .filter(jobModel -> (Strings.isNullOrEmpty(nameFilter.getTypedValue())
-                        || containsIgnoreCase(jobModel.getJobName(), nameFilter.getTypedValue()))
-                        && (Strings.isNullOrEmpty(classFilter.getTypedValue())
-                        || containsIgnoreCase(jobModel.getJobClass(), classFilter.getTypedValue()))
-                        && (Strings.isNullOrEmpty(groupFilter.getTypedValue())
-                        || containsIgnoreCase(jobModel.getJobGroup(), groupFilter.getTypedValue()))
-                        && (jobStateFilter.getValue() == null
-                        || jobStateFilter.getValue().equals(jobModel.getJobState())))
-                .sorted(jobModelComparator)
-                .collect(Collectors.toList());
-        jobModelsDc.setItems(jobs);
-        return jobs;
+        JobState jobState = jobStateFilter.getValue();
+        if (jobState == null && jobModelComparator == null) {
+            filteredJobsCount = null;
+            return quartzService.getJobs(nameFilter.getTypedValue(), groupFilter.getTypedValue(),
+                    classFilter.getTypedValue(), null, null, firstResult, maxResults);
+        }
+
+        List<JobModel> jobModels = quartzService.getJobs(nameFilter.getTypedValue(), groupFilter.getTypedValue(),
+                classFilter.getTypedValue(), jobState, jobModelComparator, 0, Integer.MAX_VALUE);
+        filteredJobsCount = jobModels.size();
+
+        int fromIndex = Math.min(Math.max(firstResult, 0), jobModels.size());
+        int toIndex = (int) Math.min((long) fromIndex + maxResults, jobModels.size());
+        return new ArrayList<>(jobModels.subList(fromIndex, toIndex));
     }
 
+    @Nullable
     protected Comparator<JobModel> createJobModelComparator(List<GridSortOrder<JobModel>> sorting) {
         Comparator<JobModel> jobModelComparator = null;
-        if (sorting.isEmpty()) {
-            // Default sorting
-            jobModelComparator = comparing(JobModel::getJobState, nullsLast(naturalOrder()))
-                    .thenComparing(JobModel::getJobName, String.CASE_INSENSITIVE_ORDER);
-        } else {
+        if (!sorting.isEmpty()) {
             // Keep user sorting
             MetaClass jobModelMetaClass = metadata.getClass(JobModel.class);
             for (GridSortOrder<JobModel> sortOrder : sorting) {
@@ -264,8 +287,8 @@ public class JobModelListView extends StandardListView<JobModel> {
     }
 
     protected void updateDataWithSelection(JobModel selectedJobModel) {
-        List<JobModel> newJobs = loadJobsData();
-        jobModelsTable.sort(jobModelsTable.getSortOrder());
+        jobModelsDl.load();
+        List<JobModel> newJobs = jobModelsDc.getItems();
         JobKey newJobKey = JobKey.jobKey(selectedJobModel.getJobName(), selectedJobModel.getJobGroup());
         newJobs.stream()
                 .filter(j -> JobKey.jobKey(j.getJobName(), j.getJobGroup()).equals(newJobKey))
@@ -53,87 +53,220 @@ public class QuartzService {
      * Returns information about all configured quartz jobs with related triggers
      */
     public List<JobModel> getAllJobs() {
-        List<JobModel> result = new ArrayList<>();
+        return getJobs(null, null, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns information about quartz jobs with related triggers. Jobs are filtered and paged by their keys,
+     * so details and triggers are fetched only for jobs of the requested page.
+     *
+     * @param nameFilter  string that job name should contain ignoring case, or null
+     * @param groupFilter string that job group should contain ignoring case, or null
+     * @param firstResult index of the first job to return, jobs are ordered by group and name
+     * @param maxResults  maximum number of jobs to return
+     * @return jobs of the requested page
+     */
+    public List<JobModel> getJobs(@Nullable String nameFilter, @Nullable String groupFilter,
+                                  int firstResult, int maxResults) {
+        return getJobs(nameFilter, groupFilter, null, null, null, firstResult, maxResults);
+    }
+
+    /**
+     * Returns information about quartz jobs with related triggers.
+     * <p>
+     * Jobs are filtered by name and group using their keys only. The class filter requires job details, but not
+     * triggers. If jobs are filtered by state or sorted by a comparator, models are created for all jobs matching
+     * other filters. Otherwise jobs are paged by their keys, and triggers are fetched only for jobs of the
+     * requested page.
+     *
+     * @param nameFilter  string that job name should contain ignoring case, or null
+     * @param groupFilter string that job group should contain ignoring case, or null
+     * @param classFilter string that job class name should contain ignoring case, or null
+     * @param stateFilter state of jobs to return, or null
+     * @param comparator  comparator to sort jobs, or null to order them by group and name
+     * @param firstResult index of the first job to return
+     * @param maxResults  maximum number of jobs to return
+     * @return jobs of the requested page
+     */
+    public List<JobModel> getJobs(@Nullable String nameFilter, @Nullable String groupFilter,
+                                  @Nullable String classFilter, @Nullable JobState stateFilter,
+                                  @Nullable Comparator<JobModel> comparator, int firstResult, int maxResults) {
         try {
-            List<JobKey> jobDetailsKeys = jobDetailsFinder.getJobDetailBeanKeys();
-            for (JobKey jobKey : scheduler.getJobKeys(GroupMatcher.anyJobGroup())) {
-                JobDetail jobDetail;
-                try {
-                    jobDetail = scheduler.getJobDetail(jobKey);
-                } catch (JobPersistenceException e) {
-                    if (e.getCause() instanceof ClassNotFoundException) {
-                        jobDetail = new InvalidJobDetail(jobKey, e.getCause().getMessage(),
-                                messages.formatMessage(QuartzService.class,
-                                        "jobClassNotFound", e.getCause().getMessage()));
-                    } else {
-                        log.error("Unable to fetch information about the job: {}", jobKey, e);
-                        continue;
-                    }
-                } catch (SchedulerException e) {
-                    log.error("Unable to fetch information about the job: {}", jobKey, e);
-                    continue;
+            Map<JobKey, JobDetail> jobDetails = new HashMap<>();
+            List<JobKey> jobKeys = getFilteredJobKeys(nameFilter, groupFilter, classFilter, jobDetails);
+            if (stateFilter == null && comparator == null) {
+                return createJobModels(getPage(jobKeys, firstResult, maxResults), jobDetails);
+            }
+
+            List<JobModel> jobModels = new ArrayList<>();
+            for (JobModel jobModel : createJobModels(jobKeys, jobDetails)) {
+                if (stateFilter == null || stateFilter == jobModel.getJobState()) {
+                    jobModels.add(jobModel);
                 }
-                JobModel jobModel = dataManager.create(JobModel.class);
-                jobModel.setJobName(jobKey.getName());
-                jobModel.setJobGroup(jobKey.getGroup());
-                jobModel.setJobDataParameters(getDataParamsOfJob(jobKey));
-
-                jobModel.setDescription(jobDetail.getDescription());
-
-                jobModel.setJobClass(getDisplayedClassName(jobDetail));
-                jobModel.setJobSource(jobDetailsKeys.contains(jobKey) ? JobSource.PREDEFINED : JobSource.USER_DEFINED);
-
-                List<TriggerModel> triggerModels = new ArrayList<>();
-                List<? extends Trigger> jobTriggers = scheduler.getTriggersOfJob(jobKey);
-                if (!CollectionUtils.isEmpty(jobTriggers)) {
-                    boolean isActive = false;
-                    boolean hasBlockedTrigger = false;
-                    for (Trigger trigger : scheduler.getTriggersOfJob(jobKey)) {
-                        TriggerModel triggerModel = dataManager.create(TriggerModel.class);
-                        triggerModel.setTriggerName(trigger.getKey().getName());
-                        triggerModel.setTriggerGroup(trigger.getKey().getGroup());
-                        triggerModel.setScheduleType(trigger instanceof SimpleTrigger ? ScheduleType.SIMPLE : ScheduleType.CRON_EXPRESSION);
-                            /*
-                            Ignore startTime if it's in the past - during saving empty startTime will be set as 'now'.
-                            This in combination with validation prevents case when scheduler reproduces all executions
-                            from the startTime to the current moment after trigger is recreated (all triggers
-                            a created with startTime not earlier than 'now')
-                            */
-                        Date startTime = trigger.getStartTime();
-                        if (startTime.after(new Date())) {
-                            triggerModel.setStartDate(startTime);
-                        }
-                        triggerModel.setEndDate(trigger.getEndTime());
-                        triggerModel.setLastFireDate(trigger.getPreviousFireTime());
-                        triggerModel.setNextFireDate(trigger.getNextFireTime());
-                        triggerModel.setMisfireInstructionId(resolveMisfireInstructionId(trigger));
-
-                        if (trigger instanceof CronTrigger) {
-                            triggerModel.setCronExpression(((CronTrigger) trigger).getCronExpression());
-                        } else if (trigger instanceof SimpleTrigger simpleTrigger) {
-                            triggerModel.setRepeatCount(simpleTrigger.getRepeatCount());
-                            triggerModel.setRepeatInterval(simpleTrigger.getRepeatInterval());
-                        }
+            }
+            if (comparator != null) {
+                jobModels.sort(comparator);
+            }
+            return new ArrayList<>(getPage(jobModels, firstResult, maxResults));
+        } catch (SchedulerException e) {
+            log.error("Unable to fetch information about active jobs", e);
+            return new ArrayList<>();
+        }
+    }
+
+    private <T> List<T> getPage(List<T> list, int firstResult, int maxResults) {
+        int fromIndex = Math.min(Math.max(firstResult, 0), list.size());
+        int toIndex = (int) Math.min((long) fromIndex + Math.max(maxResults, 0), list.size());
+        return list.subList(fromIndex, toIndex);
+    }
 
-                        triggerModels.add(triggerModel);
+    /**
+     * Returns the number of quartz jobs matching the given filters.
+     *
+     * @param nameFilter  string that job name should contain ignoring case, or null
+     * @param groupFilter string that job group should contain ignoring case, or null
+     * @return number of jobs
+     */
+    public int getJobsCount(@Nullable String nameFilter, @Nullable String groupFilter) {
+        return getJobsCount(nameFilter, groupFilter, null, null);
+    }
+
+    /**
+     * Returns the number of quartz jobs matching the given filters. Triggers of jobs are fetched only if jobs are
+     * filtered by state.
+     *
+     * @param nameFilter  string that job name should contain ignoring case, or null
+     * @param groupFilter string that job group should contain ignoring case, or null
+     * @param classFilter string that job class name should contain ignoring case, or null
+     * @param stateFilter state of jobs to count, or null
+     * @return number of jobs
+     */
+    public int getJobsCount(@Nullable String nameFilter, @Nullable String groupFilter,
+                            @Nullable String classFilter, @Nullable JobState stateFilter) {
+        try {
+            Map<JobKey, JobDetail> jobDetails = new HashMap<>();
+            List<JobKey> jobKeys = getFilteredJobKeys(nameFilter, groupFilter, classFilter, jobDetails);
+            if (stateFilter == null) {
+                return jobKeys.size();
+            }
+            return (int) createJobModels(jobKeys, jobDetails).stream()
+                    .filter(jobModel -> stateFilter == jobModel.getJobState())
+                    .count();
+        } catch (SchedulerException e) {
+            log.error("Unable to fetch information about active jobs", e);
+            return 0;
+        }
+    }
+
+    protected List<JobKey> getFilteredJobKeys(@Nullable String nameFilter, @Nullable String groupFilter)
+            throws SchedulerException {
+        List<JobKey> jobKeys = new ArrayList<>();
+        for (JobKey jobKey : scheduler.getJobKeys(GroupMatcher.anyJobGroup())) {
+            if (containsIgnoreCase(jobKey.getName(), nameFilter) && containsIgnoreCase(jobKey.getGroup(), groupFilter)) {
+                jobKeys.add(jobKey);
+            }
+        }
+        jobKeys.sort(Comparator.naturalOrder());
+        return jobKeys;
+    }
+
+    /**
+     * Returns sorted keys of jobs matching the given filters. Job details fetched to check the class filter are
+     * put to the {@code jobDetails} map to be reused.
+     */
+    protected List<JobKey> getFilteredJobKeys(@Nullable String nameFilter, @Nullable String groupFilter,
+                                              @Nullable String classFilter, Map<JobKey, JobDetail> jobDetails)
+            throws SchedulerException {
+        List<JobKey> jobKeys = getFilteredJobKeys(nameFilter, groupFilter);
+        if (Strings.isNullOrEmpty(classFilter)) {
+            return jobKeys;
+        }
+
+        List<JobKey> result = new ArrayList<>();
+        for (JobKey jobKey : jobKeys) {
+            JobDetail jobDetail = fetchJobDetail(jobKey);
+            if (jobDetail != null && containsIgnoreCase(getDisplayedClassName(jobDetail), classFilter)) {
+                jobDetails.put(jobKey, jobDetail);
+                result.add(jobKey);
+            }
+        }
+        return result;
+    }
+
+    private boolean containsIgnoreCase(String value, @Nullable String filter) {
+        return Strings.isNullOrEmpty(filter) || value.toLowerCase().contains(filter.toLowerCase());
+    }
+
+    /**
+     * Creates models of the given jobs. Scheduler state, job detail bean keys and running jobs are fetched once
+     * for all jobs, job details and triggers are fetched once per job.
+     */
+    protected List<JobModel> createJobModels(Collection<JobKey> jobKeys) throws SchedulerException {
+        return createJobModels(jobKeys, Collections.emptyMap());
+    }
+
+    /**
+     * Creates models of the given jobs reusing already fetched job details.
+     */
+    protected List<JobModel> createJobModels(Collection<JobKey> jobKeys, Map<JobKey, JobDetail> jobDetails)
+            throws SchedulerException {
+        List<JobModel> result = new ArrayList<>();
+        if (jobKeys.isEmpty()) {
+            return result;
+        }
+
+        Set<JobKey> jobDetailsKeys = new HashSet<>(jobDetailsFinder.getJobDetailBeanKeys());
+        boolean schedulerActive = scheduler.isStarted() && !scheduler.isInStandbyMode();
+        Set<JobKey> executingJobKeys = null;
+
+        for (JobKey jobKey : jobKeys) {
+            JobDetail jobDetail = jobDetails.get(jobKey);
+            if (jobDetail == null) {
+                jobDetail = fetchJobDetail(jobKey);
+            }
+            if (jobDetail == null) {
+                continue;
+            }
+
+            JobModel jobModel = dataManager.create(JobModel.class);
+            jobModel.setJobName(jobKey.getName());
+            jobModel.setJobGroup(jobKey.getGroup());
+            jobModel.setJobDataParameters(getDataParamsOfJob(jobDetail));
+
+            jobModel.setDescription(jobDetail.getDescription());
+
+            jobModel.setJobClass(getDisplayedClassName(jobDetail));
+            jobModel.setJobSource(jobDetailsKeys.contains(jobKey) ? JobSource.PREDEFINED : JobSource.USER_DEFINED);
+
+            List<TriggerModel> triggerModels = new ArrayList<>();
+            List<? extends Trigger> jobTriggers = scheduler.getTriggersOfJob(jobKey);
+            if (!CollectionUtils.isEmpty(jobTriggers)) {
+                boolean isActive = false;
+                boolean hasBlockedTrigger = false;
+                for (Trigger trigger : jobTriggers) {
+                    triggerModels.add(createTriggerModel(trigger));
+                    if (schedulerActive) {
                         Trigger.TriggerState triggerState = scheduler.getTriggerState(trigger.getKey());
-                        if ((triggerState == Trigger.TriggerState.NORMAL || triggerState == Trigger.TriggerState.BLOCKED)
-                                && scheduler.isStarted()
-                                && !scheduler.isInStandbyMode()) {
+                        if (triggerState == Trigger.TriggerState.NORMAL || triggerState == Trigger.TriggerState.BLOCKED) {
                             isActive = true;
                             if (triggerState == Trigger.TriggerState.BLOCKED) {
                                 hasBlockedTrigger = true;
                             }
                         }
                     }
-                    jobModel.setTriggers(triggerModels);
-                    if (jobDetail instanceof InvalidJobDetail) {
-                        jobModel.setJobState(JobState.INVALID);
+                }
+                jobModel.setTriggers(triggerModels);
+                if (jobDetail instanceof InvalidJobDetail) {
+                    jobModel.setJobState(JobState.INVALID);
+                } else {
+                    if (hasBlockedTrigger) {
+                        // Some trigger is currently running in blocked mode (job class has @DisallowConcurrentExecution)
+                        jobModel.setJobState(JobState.RUNNING);
                     } else {
-                        if (hasBlockedTrigger) {
-                            // Some trigger is currently running in blocked mode (job class has @DisallowConcurrentExecution)
-                            jobModel.setJobState(JobState.RUNNING);
-                        } else if (isJobRunning(jobKey)) {
+                        if (executingJobKeys == null) {
+                            executingJobKeys = getJobKeysExecutingWithinCurrentScheduler();
+                        }
+                        if (isJobRunning(jobKey, executingJobKeys)) {
                             // Job is running according to Scheduler/Cache
                             jobModel.setJobState(JobState.RUNNING);
                         } else {
@@ -141,14 +274,64 @@ public class QuartzService {
                         }
                     }
                 }
+            }
+
+            result.add(jobModel);
+        }
+
+        return result;
+    }
 
-                result.add(jobModel);
+    /**
+     * Returns the job detail, or {@link InvalidJobDetail} if the job class is not found, or null if the job is
+     * deleted or can't be fetched.
+     */
+    @Nullable
+    protected JobDetail fetchJobDetail(JobKey jobKey) {
+        try {
+            // null if job has been deleted after its key was fetched
+            return scheduler.getJobDetail(jobKey);
+        } catch (JobPersistenceException e) {
+            if (e.getCause() instanceof ClassNotFoundException) {
+                return new InvalidJobDetail(jobKey, e.getCause().getMessage(),
+                        messages.formatMessage(QuartzService.class,
+                                "jobClassNotFound", e.getCause().getMessage()));
             }
+            log.error("Unable to fetch information about the job: {}", jobKey, e);
+            return null;
         } catch (SchedulerException e) {
-            log.error("Unable to fetch information about active jobs", e);
+            log.error("Unable to fetch information about the job: {}", jobKey, e);
+            return null;
         }
+    }
 
-        return result;
+    protected TriggerModel createTriggerModel(Trigger trigger) {
+        TriggerModel triggerModel = dataManager.create(TriggerModel.class);
+        triggerModel.setTriggerName(trigger.getKey().getName());
+        triggerModel.setTriggerGroup(trigger.getKey().getGroup());
+        triggerModel.setScheduleType(trigger instanceof SimpleTrigger ? ScheduleType.SIMPLE : ScheduleType.CRON_EXPRESSION);
+        /*
+        Ignore startTime if it's in the past - during saving empty startTime will be set as 'now'.
+        This in combination with validation prevents case when scheduler reproduces all executions
+        from the startTime to the current moment after trigger is recreated (all triggers
+        a created with startTime not earlier than 'now')
+        */
+        Date startTime = trigger.getStartTime();
+        if (startTime.after(new Date())) {
+            triggerModel.setStartDate(startTime);
+        }
+        triggerModel.setEndDate(trigger.getEndTime());
+        triggerModel.setLastFireDate(trigger.getPreviousFireTime());
+        triggerModel.setNextFireDate(trigger.getNextFireTime());
+        triggerModel.setMisfireInstructionId(resolveMisfireInstructionId(trigger));
+
+        if (trigger instanceof CronTrigger) {
+            triggerModel.setCronExpression(((CronTrigger) trigger).getCronExpression());
+        } else if (trigger instanceof SimpleTrigger simpleTrigger) {
+            triggerModel.setRepeatCount(simpleTrigger.getRepeatCount());
+            triggerModel.setRepeatInterval(simpleTrigger.getRepeatInterval());
+        }
+        return triggerModel;
     }
 
     /**
@@ -179,12 +362,23 @@ public class QuartzService {
     }
 
     protected boolean isJobRunningWithinCurrentScheduler(JobKey jobKey) {
+        return getJobKeysExecutingWithinCurrentScheduler().contains(jobKey);
+    }
+
+    protected boolean isJobRunning(JobKey jobKey, Set<JobKey> executingJobKeys) {
+        if (quartzProperties.isRunningJobsCacheUsageEnabled() && runningJobsCache.isJobRunning(jobKey)) {
+            return true;
+        }
+        return executingJobKeys.contains(jobKey);
+    }
+
+    protected Set<JobKey> getJobKeysExecutingWithinCurrentScheduler() {
         try {
-            List<JobExecutionContext> currentlyExecutingJobs = scheduler.getCurrentlyExecutingJobs();
-            return currentlyExecutingJobs.stream()
-                    .map(JobExecutionContext::getJobDetail)
-                    .map(JobDetail::getKey)
-                    .anyMatch(runningJobKey -> runningJobKey.equals(jobKey));
+            Set<JobKey> result = new HashSet<>();
+            for (JobExecutionContext jobExecutionContext : scheduler.getCurrentlyExecutingJobs()) {
+                result.add(jobExecutionContext.getJobDetail().getKey());
+            }
+            return result;
         } catch (SchedulerException e) {
             throw new RuntimeException("Unable to get currently executing jobs", e);
         }
@@ -211,24 +405,21 @@ public class QuartzService {
     /**
      * Returns given job's parameters
      *
-     * @param jobKey key of job
+     * @param jobDetail job
      * @return parameters of given job
      */
-    private List<JobDataParameterModel> getDataParamsOfJob(JobKey jobKey) {
+    private List<JobDataParameterModel> getDataParamsOfJob(JobDetail jobDetail) {
         List<JobDataParameterModel> result = new ArrayList<>();
 
-        try {
-            scheduler.getJobDetail(jobKey)
-                    .getJobDataMap()
-                    .getWrappedMap()
+        JobDataMap jobDataMap = jobDetail.getJobDataMap();
+        if (jobDataMap != null) {
+            jobDataMap.getWrappedMap()
                     .forEach((k, v) -> {
                         JobDataParameterModel dataParameterModel = dataManager.create(JobDataParameterModel.class);
                         dataParameterModel.setKey(k);
                         dataParameterModel.setValue(v == null ? "" : v.toString());
                         result.add(dataParameterModel);
                     });
-        } catch (SchedulerException e) {
-            log.warn("Unable to fetch information about parameters for job {}", jobKey, e);
         }
 
         return result;
@@ -1,6 +1,7 @@
 package io.jmix.quartz.util;
 
 import io.jmix.core.impl.scanning.ClasspathScanCandidateDetector;
+import io.jmix.core.impl.scanning.IndexedClass;
 import io.jmix.core.impl.scanning.JmixModulesClasspathScanner;
 import org.apache.commons.collections4.CollectionUtils;
 import org.quartz.Job;
@@ -39,10 +40,26 @@ public class QuartzJobClassFinder {
     private static class QuartzJobDetector implements ClasspathScanCandidateDetector {
         @Override
         public boolean isCandidate(MetadataReader metadataReader) {
+            return !metadataReader.getClassMetadata().isInterface()
+                    && !metadataReader.getClassMetadata().isAbstract()
+                    && isJobClass(metadataReader.getClassMetadata().getClassName());
+        }
+
+        @Override
+        public boolean isClassesIndexSupported() {
+            return true;
+        }
+
+        @Override
+        public boolean isCandidate(IndexedClass indexedClass) {
+            return !indexedClass.isInterface()
+                    && !indexedClass.isAbstract()
+                    && isJobClass(indexedClass.getClassName());
+        }
+
+        private boolean isJobClass(String className) {
             try {
-                return !metadataReader.getClassMetadata().isInterface()
-                        && !metadataReader.getClassMetadata().isAbstract()
-                        && Job.class.isAssignableFrom(Class.forName(metadataReader.getClassMetadata().getClassName()));
+                return Job.class.isAssignableFrom(Class.forName(className));
             } catch (ClassNotFoundException | NoClassDefFoundError e) {
                 log.trace("Class not found", e);
                 return false;
@@ -21,6 +21,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 
@@ -124,6 +125,78 @@ public class QuartzTest {
         scheduler.deleteJob(JobKey.jobKey(jobModel.getJobName(), jobModel.getJobGroup()));
     }
 
+    @Test
+    public void testGetJobsWithFilterAndPaging() throws Exception {
+        List<JobKey> jobKeys = new ArrayList<>();
+        for (String jobName : List.of("pagingJobC", "pagingJobA", "pagingJobB")) {
+            JobDetail jobDetail = JobBuilder.newJob()
+                    .withIdentity(jobName, "pagingJobGroup")
+                    .ofType(QuartTestApplication.MyQuartzJob.class)
+                    .storeDurably()
+                    .build();
+            scheduler.addJob(jobDetail, true);
+            jobKeys.add(jobDetail.getKey());
+        }
+
+        try {
+            Assertions.assertEquals(3, quartzService.getJobsCount(null, "PAGINGJOBGROUP"));
+            Assertions.assertEquals(1, quartzService.getJobsCount("jobB", "pagingJobGroup"));
+
+            List<JobModel> firstPage = quartzService.getJobs(null, "pagingJobGroup", 0, 2);
+            Assertions.assertEquals(2, firstPage.size());
+            Assertions.assertEquals("pagingJobA", firstPage.get(0).getJobName());
+            Assertions.assertEquals("pagingJobB", firstPage.get(1).getJobName());
+
+            List<JobModel> secondPage = quartzService.getJobs(null, "pagingJobGroup", 2, 2);
+            Assertions.assertEquals(1, secondPage.size());
+            Assertions.assertEquals("pagingJobC", secondPage.get(0).getJobName());
+            Assertions.assertEquals(JobSource.USER_DEFINED, secondPage.get(0).getJobSource());
+        } finally {
+            scheduler.deleteJobs(jobKeys);
+        }
+    }
+
+    @Test
+    public void testGetJobsWithClassAndStateFiltersAndSorting() throws Exception {
+        List<JobKey> jobKeys = new ArrayList<>();
+        for (String jobName : List.of("filteredJobC", "filteredJobA", "filteredJobB")) {
+            JobDetail jobDetail = JobBuilder.newJob()
+                    .withIdentity(jobName, "filteredJobGroup")
+                    .ofType(QuartTestApplication.MyQuartzJob.class)
+                    .storeDurably()
+                    .build();
+            scheduler.addJob(jobDetail, true);
+            jobKeys.add(jobDetail.getKey());
+        }
+        JobKey pausedJobKey = JobKey.jobKey("filteredJobB", "filteredJobGroup");
+        scheduler.scheduleJob(TriggerBuilder.newTrigger()
+                .forJob(pausedJobKey)
+                .withSchedule(SimpleScheduleBuilder.repeatHourlyForever())
+                .startAt(new Date(System.currentTimeMillis() + 3_600_000))
+                .build());
+        scheduler.pauseJob(pausedJobKey);
+
+        try {
+            Assertions.assertEquals(3, quartzService.getJobsCount(null, "filteredJobGroup", "myquartzjob", null));
+            Assertions.assertEquals(0, quartzService.getJobsCount(null, "filteredJobGroup", "UnknownJob", null));
+            Assertions.assertEquals(1, quartzService.getJobsCount(null, "filteredJobGroup", null, JobState.PAUSED));
+
+            List<JobModel> pausedJobs = quartzService.getJobs(null, "filteredJobGroup", "MyQuartzJob",
+                    JobState.PAUSED, null, 0, 10);
+            Assertions.assertEquals(1, pausedJobs.size());
+            Assertions.assertEquals("filteredJobB", pausedJobs.get(0).getJobName());
+            Assertions.assertEquals(1, pausedJobs.get(0).getTriggers().size());
+
+            List<JobModel> sortedPage = quartzService.getJobs(null, "filteredJobGroup", null, null,
+                    Comparator.comparing(JobModel::getJobName).reversed(), 0, 2);
+            Assertions.assertEquals(2, sortedPage.size());
+            Assertions.assertEquals("filteredJobC", sortedPage.get(0).getJobName());
+            Assertions.assertEquals("filteredJobB", sortedPage.get(1).getJobName());
+        } finally {
+            scheduler.deleteJobs(jobKeys);
+        }
+    }
+
     @Test
     public void testJobsLifeCycle() throws Exception {
         JobModel jobModel = dataManager.create(JobModel.class);
@@ -148,6 +148,8 @@ public class ReportDetailView extends StandardDetailView<Report> {
     @ViewComponent
     protected JmixSelect<String> dataStoreField;
     @ViewComponent
+    protected TypedTextField<String> batchLinkFieldField;
+    @ViewComponent
     protected JmixCheckbox isProcessTemplateField;
     @ViewComponent
     protected VerticalLayout commonEntityGrid;
@@ -1177,6 +1179,7 @@ public class ReportDetailView extends StandardDetailView<Report> {
                 case SQL:
                 case JPQL:
                     dataStoreField.setVisible(true);
+                    batchLinkFieldField.setVisible(true);
                     isProcessTemplateField.setVisible(true);
                     dataSetScriptBox.setVisible(true);
                     break;
@@ -1233,6 +1236,7 @@ public class ReportDetailView extends StandardDetailView<Report> {
 
     protected void hideAllDataSetEditComponents() {
         dataStoreField.setVisible(false);
+        batchLinkFieldField.setVisible(false);
         isProcessTemplateField.setVisible(false);
         dataSetScriptBox.setVisible(false);
         commonEntityGrid.setVisible(false);
@@ -29,6 +29,7 @@ import io.jmix.reports.yarg.reporting.extraction.DefaultExtractionControllerFact
 import io.jmix.reports.yarg.reporting.extraction.DefaultPreprocessorFactory;
 import io.jmix.reports.yarg.reporting.extraction.ExtractionController;
 import io.jmix.reports.yarg.reporting.extraction.controller.CrossTabExtractionController;
+import io.jmix.reports.yarg.reporting.extraction.controller.DefaultExtractionController;
 import io.jmix.reports.yarg.reporting.extraction.preprocessor.SqlCrosstabPreprocessor;
 import io.jmix.reports.yarg.structure.BandOrientation;
 import io.jmix.reports.yarg.util.groovy.Scripting;
@@ -60,8 +61,8 @@ public class ReportsConfiguration {
     protected CoreProperties coreProperties;
 
     @Bean("report_Scripting")
-    public Scripting scripting() {
-        return new JmixReportingScripting();
+    public JmixReportingScripting scripting() {
+        return new JmixReportingScripting(reportsProperties.getScriptCacheSize());
     }
 
     @Bean("report_Reporting")
@@ -181,7 +182,13 @@ public class ReportsConfiguration {
     public DefaultExtractionControllerFactory extractionControllerFactory(ReportLoaderFactory loaderFactory,
                                                                           ApplicationContext applicationContext,
                                                                           DefaultPreprocessorFactory defaultPreprocessorFactory) {
-        DefaultExtractionControllerFactory extractionControllerFactory = new DefaultExtractionControllerFactory(loaderFactory);
+        DefaultExtractionControllerFactory extractionControllerFactory = new DefaultExtractionControllerFactory(loaderFactory,
+                (controllerFactory, reportLoaderFactory) -> {
+                    DefaultExtractionController extractionController =
+                            new DefaultExtractionController(controllerFactory, reportLoaderFactory);
+                    extractionController.setBatchSize(reportsProperties.getExtractionBatchSize());
+                    return extractionController;
+                });
         Map<BandOrientation, ExtractionController> extractionControllers = new HashMap<>();
         extractionControllers.put(BandOrientation.CROSS, applicationContext.getBean(CrossTabExtractionController.class, extractionControllerFactory,
                 loaderFactory, defaultPreprocessorFactory));
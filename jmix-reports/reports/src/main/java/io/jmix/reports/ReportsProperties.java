@@ -144,6 +144,18 @@ public class ReportsProperties {
      */
     boolean formulasPostProcessingEvaluationEnabled;
 
+    /**
+     * Maximum number of parent band rows for which data of a child band is loaded by one query. SQL and JPQL data sets
+     * with the batch link field specified are loaded in batches. Value less than 2 disables batched loading.
+     */
+    int extractionBatchSize;
+
+    /**
+     * Maximum number of compiled Groovy scripts of reports kept in memory. Value == 0 disables caching, so scripts
+     * are compiled on each evaluation.
+     */
+    int scriptCacheSize;
+
     public ReportsProperties(@DefaultValue("/") String officePath,
                              @DefaultValue({"8100", "8101", "8102", "8103"}) List<Integer> officePorts,
                              @DefaultValue("20") int docFormatterTimeout,
@@ -166,7 +178,9 @@ public class ReportsProperties {
                              @DefaultValue("1000") int historyCleanupMaxItemsPerReport,
                              @DefaultValue("3") int countOfRetry,
                              @DefaultValue("false") boolean useOfficeForDocumentConversion,
-                             @DefaultValue("false") boolean formulasPostProcessingEvaluationEnabled) {
+                             @DefaultValue("false") boolean formulasPostProcessingEvaluationEnabled,
+                             @DefaultValue("0") int extractionBatchSize,
+                             @DefaultValue("500") int scriptCacheSize) {
         this.officePath = officePath;
         this.officePorts = officePorts;
         this.docFormatterTimeout = docFormatterTimeout;
@@ -190,6 +204,8 @@ public class ReportsProperties {
         this.countOfRetry = countOfRetry;
         this.useOfficeForDocumentConversion = useOfficeForDocumentConversion;
         this.formulasPostProcessingEvaluationEnabled = formulasPostProcessingEvaluationEnabled;
+        this.extractionBatchSize = extractionBatchSize;
+        this.scriptCacheSize = scriptCacheSize;
     }
 
     /**
@@ -343,4 +359,18 @@ public class ReportsProperties {
     public boolean isFormulasPostProcessingEvaluationEnabled() {
         return formulasPostProcessingEvaluationEnabled;
     }
+
+    /**
+     * @see #extractionBatchSize
+     */
+    public int getExtractionBatchSize() {
+        return extractionBatchSize;
+    }
+
+    /**
+     * @see #scriptCacheSize
+     */
+    public int getScriptCacheSize() {
+        return scriptCacheSize;
+    }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@
  */
 package io.jmix.reports.entity;
 
+import io.jmix.reports.yarg.loaders.BatchReportDataLoader;
 import io.jmix.reports.yarg.structure.ReportQuery;
 import io.jmix.core.CopyingSystemState;
 import io.jmix.core.FetchPlan;
@@ -39,6 +40,7 @@ public class DataSet implements ReportQuery, CopyingSystemState<DataSet> {
     public static final String JSON_SOURCE_TEXT = "jsonSourceText";
     public static final String JSON_PATH_QUERY = "jsonPathQuery";
     public static final String JSON_INPUT_PARAMETER = "jsonSourceInputParameter";
+    public static final String BATCH_LINK_FIELD = BatchReportDataLoader.BATCH_LINK_FIELD_PARAM;
 
     private static final long serialVersionUID = -3706206933129963303L;
 
@@ -77,6 +79,8 @@ public class DataSet implements ReportQuery, CopyingSystemState<DataSet> {
     protected String dataStore;
     @JmixProperty
     protected Boolean processTemplate;
+    @JmixProperty
+    protected String batchLinkField;
 
     public UUID getId() {
         return id;
@@ -185,6 +189,14 @@ public class DataSet implements ReportQuery, CopyingSystemState<DataSet> {
         this.processTemplate = processTemplate;
     }
 
+    public String getBatchLinkField() {
+        return batchLinkField;
+    }
+
+    public void setBatchLinkField(String batchLinkField) {
+        this.batchLinkField = batchLinkField;
+    }
+
     @Override
     public String getScript() {
         return text;
@@ -237,6 +249,7 @@ public class DataSet implements ReportQuery, CopyingSystemState<DataSet> {
         params.put(JSON_SOURCE_TEXT, jsonSourceText);
         params.put(JSON_PATH_QUERY, jsonPathQuery);
         params.put(JSON_INPUT_PARAMETER, jsonSourceInputParameter);
+        params.put(BATCH_LINK_FIELD, batchLinkField);
 
         return params;
     }
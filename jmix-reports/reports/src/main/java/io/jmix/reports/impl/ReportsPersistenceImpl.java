@@ -23,9 +23,11 @@ import io.jmix.data.PersistenceHints;
 import io.jmix.dynattr.DynAttrQueryHints;
 import io.jmix.reports.ReportsPersistence;
 import io.jmix.reports.entity.*;
+import io.jmix.reports.libintegration.JmixReportingScripting;
 import io.jmix.security.constraint.PolicyStore;
 import io.jmix.security.constraint.SecureOperations;
 import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -60,13 +62,20 @@ public class ReportsPersistenceImpl implements ReportsPersistence {
     protected FetchPlanRepository fetchPlanRepository;
     @Autowired
     private MetadataTools metadataTools;
+    @Autowired
+    protected ObjectProvider<JmixReportingScripting> reportingScriptingProvider;
 
     @Override
     public Report save(Report report) {
         checkPermission(report);
 
         Report savedReport = transaction.execute(action -> saveReport(report));
+        reportingScriptingProvider.ifAvailable(JmixReportingScripting::invalidateCache);
+
+        return reloadReport(savedReport);
+    }
 
+    protected Report reloadReport(Report savedReport) {
         FetchPlan reportEditFetchPlan = fetchPlanRepository.getFetchPlan(metadata.getClass(savedReport), REPORT_EDIT_FETCH_PLAN_NAME);
         return dataManager.load(Id.of(savedReport))
                 .fetchPlan(reportEditFetchPlan)
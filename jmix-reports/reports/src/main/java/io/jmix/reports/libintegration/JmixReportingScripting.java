@@ -16,22 +16,100 @@
 
 package io.jmix.reports.libintegration;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyRuntimeException;
+import groovy.lang.Script;
 import io.jmix.reports.yarg.util.groovy.Scripting;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scripting.ScriptCompilationException;
 import org.springframework.scripting.ScriptEvaluator;
+import org.springframework.scripting.groovy.GroovyScriptEvaluator;
 import org.springframework.scripting.support.StaticScriptSource;
+import org.springframework.util.ClassUtils;
 
 import org.springframework.lang.Nullable;
 import java.util.Map;
 
-public class JmixReportingScripting implements Scripting {
+/**
+ * Evaluates report Groovy scripts: Groovy data sets, scripted field formats, validation scripts, etc.
+ * <p>
+ * Compiled script classes are cached by script text, so a script executed for each report run or for each row
+ * is compiled only once. Each evaluation creates a new script instance bound to the passed variables.
+ */
+public class JmixReportingScripting implements Scripting, BeanClassLoaderAware {
 
     @Autowired
     private ScriptEvaluator scriptEvaluator;
 
+    protected Cache<String, Class<? extends Script>> scriptClassCache;
+
+    protected ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+    public JmixReportingScripting() {
+        this(0);
+    }
+
+    /**
+     * @param scriptCacheSize maximum number of compiled scripts kept in the cache, 0 disables caching
+     */
+    public JmixReportingScripting(int scriptCacheSize) {
+        if (scriptCacheSize > 0) {
+            scriptClassCache = CacheBuilder.newBuilder()
+                    .maximumSize(scriptCacheSize)
+                    .build();
+        }
+    }
+
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
     @Override
     @Nullable
     public <T> T evaluateGroovy(String s, Map<String, Object> stringObjectMap) {
-        return (T) scriptEvaluator.evaluate(new StaticScriptSource(s), stringObjectMap);
+        if (scriptClassCache == null || !(scriptEvaluator instanceof GroovyScriptEvaluator)) {
+            return (T) scriptEvaluator.evaluate(new StaticScriptSource(s), stringObjectMap);
+        }
+
+        try {
+            Class<? extends Script> scriptClass = scriptClassCache.getIfPresent(s);
+            if (scriptClass == null) {
+                scriptClass = compileScript(s);
+                scriptClassCache.put(s, scriptClass);
+            }
+
+            // the caller's map is bound directly, as GroovyScriptEvaluator does, so variables assigned by the script
+            // are visible to the caller
+            Binding binding = stringObjectMap != null ? new Binding(stringObjectMap) : new Binding();
+            return (T) InvokerHelper.createScript(scriptClass, binding).run();
+        } catch (GroovyRuntimeException e) {
+            throw new ScriptCompilationException(new StaticScriptSource(s), "Evaluation failure", e);
+        }
+    }
+
+    /**
+     * Removes all compiled scripts from the cache. Is invoked when a report is saved, so scripts
+     * which are not used anymore don't occupy memory.
+     */
+    public void invalidateCache() {
+        if (scriptClassCache != null) {
+            scriptClassCache.invalidateAll();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Class<? extends Script> compileScript(String script) {
+        CompilerConfiguration compilerConfiguration = ((GroovyScriptEvaluator) scriptEvaluator).getCompilerConfiguration();
+        // every script gets its own class loader, so the class can be unloaded after eviction from the cache
+        GroovyClassLoader groovyClassLoader = new GroovyClassLoader(classLoader, compilerConfiguration);
+        return (Class<? extends Script>) groovyClassLoader.parseClass(script,
+                "ReportScript" + Integer.toHexString(script.hashCode()) + ".groovy");
     }
-}
\ No newline at end of file
+}
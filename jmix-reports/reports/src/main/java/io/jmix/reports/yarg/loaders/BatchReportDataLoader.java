@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 Haulmont
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.jmix.reports.yarg.loaders;
+
+import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.ReportQuery;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This interface describes a loader which is able to load rows for several parent band rows by one query.
+ * <p>
+ * The query should reference a field of the parent band inside of the IN clause, e.g.
+ * {@code select ... from order_line where order_id in (${Orders.id})}. Instead of running the query for each
+ * parent row, the extraction controller passes the values of this field for a chunk of parent rows as a list.
+ * Loaded rows are bound back to parent rows by the query output field named in
+ * the {@link #BATCH_LINK_FIELD_PARAM} additional parameter of the report query.
+ */
+public interface BatchReportDataLoader extends ReportDataLoader {
+
+    /**
+     * Additional parameter of the report query which contains the output field holding the parent band value.
+     */
+    String BATCH_LINK_FIELD_PARAM = "batchLinkField";
+
+    /**
+     * This method MUST return list of mutable maps, the same as {@link #loadData(ReportQuery, BandData, Map)}.
+     *
+     * @param reportQuery    report query
+     * @param ancestorBand   band data which is the parent for all rows of the chunk
+     * @param params         report params
+     * @param batchParamName name of the parent band field parameter, e.g. {@code Orders.id}
+     * @param batchValues    values of the parent band field for the rows of the chunk
+     */
+    List<Map<String, Object>> loadBatchData(ReportQuery reportQuery, BandData ancestorBand, Map<String, Object> params,
+                                            String batchParamName, List<Object> batchValues);
+}
@@ -17,7 +17,9 @@
 package io.jmix.reports.yarg.loaders.impl;
 
 import io.jmix.reports.yarg.exception.DataLoadingException;
+import io.jmix.reports.yarg.loaders.BatchReportDataLoader;
 import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.ReportQuery;
 import groovy.text.GStringTemplateEngine;
 import org.apache.commons.lang3.StringUtils;
 
@@ -26,10 +28,27 @@ import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public abstract class AbstractDbDataLoader extends AbstractDataLoader {
+public abstract class AbstractDbDataLoader extends AbstractDataLoader implements BatchReportDataLoader {
 
     public static final Pattern COMMON_PARAM_PATTERN = Pattern.compile("\\$\\{(.+?)\\}");
 
+    @Override
+    public List<Map<String, Object>> loadBatchData(ReportQuery reportQuery, BandData ancestorBand, Map<String, Object> params,
+                                                   String batchParamName, List<Object> batchValues) {
+        //values are converted one by one, the same way as a single parent band value would be
+        List<Object> convertedValues = new ArrayList<>(batchValues.size());
+        for (Object batchValue : batchValues) {
+            convertedValues.add(convertParameter(batchValue));
+        }
+
+        Map<String, Object> batchParams = new HashMap<>();
+        if (params != null) {
+            batchParams.putAll(params);
+        }
+        batchParams.put(batchParamName, convertedValues);
+        return loadData(reportQuery, ancestorBand, batchParams);
+    }
+
     protected List<Map<String, Object>> fillOutputData(List resList, List<OutputValue> parametersNames) {
         List<Map<String, Object>> outputData = new ArrayList<>();
 
@@ -21,7 +21,9 @@ import io.jmix.reports.yarg.reporting.extraction.*;
 import io.jmix.reports.yarg.exception.DataLoadingException;
 import io.jmix.reports.yarg.exception.ReportingInterruptedException;
 import io.jmix.reports.yarg.exception.ValidationException;
+import io.jmix.reports.yarg.loaders.BatchReportDataLoader;
 import io.jmix.reports.yarg.loaders.ReportDataLoader;
+import io.jmix.reports.yarg.loaders.impl.AbstractDbDataLoader;
 import io.jmix.reports.yarg.loaders.factory.ReportLoaderFactory;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportBand;
@@ -29,7 +31,10 @@ import io.jmix.reports.yarg.structure.ReportQuery;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.math.BigDecimal;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -43,6 +48,7 @@ public class DefaultExtractionController implements ExtractionController {
     protected ReportLoaderFactory loaderFactory;
     protected ExtractionControllerFactory controllerRegistry;
     protected PreprocessorFactory preprocessorFactory;
+    protected int batchSize;
 
     public DefaultExtractionController(ExtractionControllerFactory controllerRegistry, ReportLoaderFactory loaderFactory) {
         checkNotNull(controllerRegistry);
@@ -113,10 +119,196 @@ public class DefaultExtractionController implements ExtractionController {
         return preprocessorFactory;
     }
 
+    /**
+     * Sets the maximum number of parent rows for which child band data is loaded by one query.
+     * Values less than 2 disable batched extraction, so child bands are loaded for each parent row separately.
+     *
+     * @see BatchReportDataLoader
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
     protected List<BandData> traverseData(ExtractionContext context, List<Map<String, Object>> outputData) {
-        return outputData.stream()
-                .map(data-> wrapData(context, data))
-                .collect(Collectors.toList());
+        if (batchSize < 2 || CollectionUtils.isEmpty(context.getBand().getChildren())) {
+            return outputData.stream()
+                    .map(data-> wrapData(context, data))
+                    .collect(Collectors.toList());
+        }
+
+        List<BandData> bands = new ArrayList<>(outputData.size());
+        for (Map<String, Object> data : outputData) {
+            BandData band = new BandData(context.getBand().getName(),
+                    context.getParentBandData(), context.getBand().getBandOrientation());
+            band.setData(data);
+            bands.add(band);
+        }
+
+        for (ReportBand childDefinition : context.getBand().getChildren()) {
+            BatchQuery batchQuery = getBatchQuery(context.getBand(), childDefinition);
+            if (batchQuery != null) {
+                extractBatched(context, childDefinition, batchQuery, bands);
+            } else {
+                ExtractionController childController = controllerRegistry.controllerBy(childDefinition.getBandOrientation());
+                for (BandData band : bands) {
+                    band.addChildren(childController.extract(context.withBand(childDefinition, band)));
+                }
+            }
+        }
+        return bands;
+    }
+
+    /**
+     * @return description of the batched query of the child band or null if the child band
+     * can't be loaded in batches
+     */
+    protected BatchQuery getBatchQuery(ReportBand parentDefinition, ReportBand childDefinition) {
+        if (controllerRegistry.controllerBy(childDefinition.getBandOrientation()) != this
+                || childDefinition.getReportQueries() == null
+                || childDefinition.getReportQueries().size() != 1) {
+            return null;
+        }
+
+        ReportQuery reportQuery = childDefinition.getReportQueries().get(0);
+        Map<String, Object> additionalParams = reportQuery.getAdditionalParams();
+        Object linkField = additionalParams != null ? additionalParams.get(BatchReportDataLoader.BATCH_LINK_FIELD_PARAM) : null;
+        if (!(linkField instanceof String) || StringUtils.isBlank((String) linkField)
+                || StringUtils.isBlank(reportQuery.getScript())
+                || Boolean.TRUE.equals(reportQuery.getProcessTemplate())) {
+            return null;
+        }
+
+        //the query must reference exactly one field of the parent band and only inside of the IN clause
+        String parentPrefix = parentDefinition.getName() + ".";
+        Set<String> parentParamNames = new HashSet<>();
+        Matcher matcher = AbstractDbDataLoader.COMMON_PARAM_PATTERN.matcher(reportQuery.getScript());
+        while (matcher.find()) {
+            if (matcher.group(1).startsWith(parentPrefix)) {
+                parentParamNames.add(matcher.group(1));
+            }
+        }
+        if (parentParamNames.size() != 1) {
+            return null;
+        }
+        String paramName = parentParamNames.iterator().next();
+        String paramRegexp = "\\$\\{" + Pattern.quote(paramName) + "\\}";
+        Pattern inClausePattern = Pattern.compile("(?i)\\sin\\s*\\(\\s*" + paramRegexp + "\\s*\\)");
+        if (inClausePattern.matcher(reportQuery.getScript()).results().count()
+                != Pattern.compile(paramRegexp).matcher(reportQuery.getScript()).results().count()) {
+            return null;
+        }
+
+        ReportDataLoader dataLoader = loaderFactory.createDataLoader(reportQuery.getLoaderType());
+        if (!(dataLoader instanceof BatchReportDataLoader)) {
+            return null;
+        }
+
+        return new BatchQuery(reportQuery, (BatchReportDataLoader) dataLoader, paramName,
+                paramName.substring(parentPrefix.length()), (String) linkField);
+    }
+
+    protected void extractBatched(ExtractionContext context, ReportBand childDefinition, BatchQuery batchQuery,
+                                  List<BandData> parentBands) {
+        List<BandData> chunk = new ArrayList<>(batchSize);
+        for (BandData parentBand : parentBands) {
+            if (isEmptyBand(parentBand) || parentBand.getData().get(batchQuery.parentField) == null) {
+                //nothing to batch, such rows are processed as usual
+                parentBand.addChildren(extract(context.withBand(childDefinition, parentBand)));
+                continue;
+            }
+
+            chunk.add(parentBand);
+            if (chunk.size() == batchSize) {
+                extractBatchedChunk(context, childDefinition, batchQuery, chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            extractBatchedChunk(context, childDefinition, batchQuery, chunk);
+        }
+    }
+
+    protected void extractBatchedChunk(ExtractionContext context, ReportBand childDefinition, BatchQuery batchQuery,
+                                       List<BandData> chunk) {
+        if (Thread.interrupted()) {
+            throw new ReportingInterruptedException("Data extraction interrupted");
+        }
+
+        Set<Object> batchValues = new LinkedHashSet<>();
+        for (BandData parentBand : chunk) {
+            batchValues.add(parentBand.getData().get(batchQuery.parentField));
+        }
+
+        List<Map<String, Object>> rows = getBatchQueryData(context.withBand(childDefinition, context.getParentBandData()),
+                batchQuery, new ArrayList<>(batchValues));
+
+        Map<Object, List<Map<String, Object>>> rowsByLink = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            Object linkObj = row.get(batchQuery.linkField);
+            if (linkObj == null) {
+                throw new DataLoadingException(String.format("An error occurred while loading data for band [%s]." +
+                                " Query defines batch link field [%s] but result does not contain such field. Query [%s].",
+                        childDefinition.getName(), batchQuery.linkField, batchQuery.reportQuery.getName()));
+            }
+            rowsByLink.computeIfAbsent(normalizeLinkValue(linkObj), key -> new ArrayList<>()).add(row);
+        }
+
+        Set<Object> usedLinks = new HashSet<>();
+        for (BandData parentBand : chunk) {
+            Object link = normalizeLinkValue(parentBand.getData().get(batchQuery.parentField));
+            List<Map<String, Object>> childRows = rowsByLink.getOrDefault(link, Collections.emptyList());
+            if (!usedLinks.add(link)) {
+                //several parent rows share the same value, each of them gets its own copy of mutable rows
+                childRows = childRows.stream()
+                        .map(row -> (Map<String, Object>) new HashMap<>(row))
+                        .collect(Collectors.toList());
+            }
+
+            ExtractionContext childContext = context.withBand(childDefinition, parentBand);
+            if (childContext.putEmptyRowIfNoDataSelected() && CollectionUtils.isEmpty(childRows)) {
+                childRows = new ArrayList<>();
+                childRows.add(Collections.emptyMap());
+            }
+            parentBand.addChildren(traverseData(childContext, childRows));
+        }
+    }
+
+    protected List<Map<String, Object>> getBatchQueryData(ExtractionContext context, BatchQuery batchQuery,
+                                                          List<Object> batchValues) {
+        ReportQuery reportQuery = batchQuery.reportQuery;
+        try {
+            return preprocessorFactory.processorBy(reportQuery.getLoaderType())
+                    .preprocess(reportQuery, new HashMap<>(context.getParams()), (processedQuery, processedParams) -> {
+                        List<Map<String, Object>> result = batchQuery.dataLoader.loadBatchData(processedQuery,
+                                context.getParentBandData(), processedParams, batchQuery.paramName, batchValues);
+                        context.extendParams(processedParams);
+                        return result;
+                    });
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DataLoadingException(String.format("An error occurred while loading data for band [%s] and query [%s].",
+                    context.getBand().getName(), reportQuery.getName()), e);
+        }
+    }
+
+    /**
+     * Brings values of parent band field and child query link field to the comparable form,
+     * e.g. numbers of different types returned by different queries.
+     */
+    protected Object normalizeLinkValue(Object value) {
+        if (value instanceof Number) {
+            try {
+                return new BigDecimal(value.toString()).stripTrailingZeros();
+            } catch (NumberFormatException e) {
+                return value;
+            }
+        }
+        return value;
     }
 
     protected BandData wrapData(ExtractionContext context, Map<String, Object> data) {
@@ -219,4 +411,21 @@ public class DefaultExtractionController implements ExtractionController {
     protected boolean isEmptyBand(BandData parentBand) {
         return parentBand != null && parentBand.getData() == Collections.EMPTY_MAP;
     }
+
+    protected static class BatchQuery {
+        protected final ReportQuery reportQuery;
+        protected final BatchReportDataLoader dataLoader;
+        protected final String paramName;
+        protected final String parentField;
+        protected final String linkField;
+
+        public BatchQuery(ReportQuery reportQuery, BatchReportDataLoader dataLoader,
+                          String paramName, String parentField, String linkField) {
+            this.reportQuery = reportQuery;
+            this.dataLoader = dataLoader;
+            this.paramName = paramName;
+            this.parentField = parentField;
+            this.linkField = linkField;
+        }
+    }
 }
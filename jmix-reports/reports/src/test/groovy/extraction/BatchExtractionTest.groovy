@@ -0,0 +1,151 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package extraction
+
+import io.jmix.reports.yarg.loaders.BatchReportDataLoader
+import io.jmix.reports.yarg.loaders.ReportDataLoader
+import io.jmix.reports.yarg.loaders.factory.ReportLoaderFactory
+import io.jmix.reports.yarg.reporting.DataExtractorImpl
+import io.jmix.reports.yarg.reporting.extraction.DefaultExtractionControllerFactory
+import io.jmix.reports.yarg.reporting.extraction.ExtractionContextImpl
+import io.jmix.reports.yarg.reporting.extraction.controller.DefaultExtractionController
+import io.jmix.reports.yarg.structure.BandData
+import io.jmix.reports.yarg.structure.BandOrientation
+import io.jmix.reports.yarg.structure.ReportBand
+import io.jmix.reports.yarg.structure.ReportQuery
+import spock.lang.Specification
+
+class BatchExtractionTest extends Specification {
+
+    static final List<Map<String, Object>> ORDERS = (1..5).collect { [id: it, number: "Order $it".toString()] }
+
+    static final List<Map<String, Object>> LINES = [
+            [orderId: 1L, product: 'Apple'],
+            [orderId: 1L, product: 'Pear'],
+            [orderId: 2L, product: 'Plum'],
+            [orderId: 4L, product: 'Cherry'],
+            [orderId: 5L, product: 'Lemon'],
+            [orderId: 5L, product: 'Lime'],
+            [orderId: 5L, product: 'Orange'],
+    ]
+
+    TestDataLoader dataLoader = new TestDataLoader()
+
+    def "batched extraction produces the same band data as extraction for each parent row"() {
+        when:
+        def unbatched = extract(0)
+        def unbatchedQueries = dataLoader.queryCount
+        dataLoader.queryCount = 0
+
+        def batched = extract(2)
+        def batchedQueries = dataLoader.queryCount
+
+        then:
+        batched == unbatched
+        unbatched.size() == 5
+        unbatched[0].children*.data*.product == ['Apple', 'Pear']
+        unbatched[2].children*.data == [[:]]
+
+        // orders + one query for each order
+        unbatchedQueries == 1 + 5
+        // orders + one query for each chunk of two orders
+        batchedQueries == 1 + 3
+    }
+
+    def "child band is not batched when the query uses parent field outside of IN"() {
+        when:
+        def batched = extract(2, 'select * from line where order_id = ${Orders.id}')
+
+        then:
+        batched == extract(0, 'select * from line where order_id = ${Orders.id}')
+        dataLoader.batchQueryCount == 0
+    }
+
+    protected List<Map<String, Object>> extract(int batchSize,
+                                                String linesScript = 'select * from line where order_id in (${Orders.id})') {
+        ReportLoaderFactory loaderFactory = { String type -> dataLoader } as ReportLoaderFactory
+        DataExtractorImpl extractor = new DataExtractorImpl(loaderFactory)
+        DefaultExtractionControllerFactory controllerFactory = new DefaultExtractionControllerFactory(loaderFactory,
+                { factory, loaders ->
+                    DefaultExtractionController controller = new DefaultExtractionController(factory, loaders)
+                    controller.setBatchSize(batchSize)
+                    controller
+                })
+
+        TestBand orders = new TestBand(name: 'Orders',
+                reportQueries: [new TestQuery(name: 'orders', script: 'select * from orders')])
+        TestBand lines = new TestBand(name: 'Lines', parent: orders,
+                reportQueries: [new TestQuery(name: 'lines', script: linesScript,
+                        additionalParams: [(BatchReportDataLoader.BATCH_LINK_FIELD_PARAM): 'orderId'])])
+        orders.children = [lines]
+
+        BandData root = new BandData(BandData.ROOT_BAND_NAME)
+        root.setData([:])
+        def context = new ExtractionContextImpl(extractor, orders, root, [:])
+        List<BandData> bands = controllerFactory.defaultController().extract(context)
+        return bands.collect { toMap(it) }
+    }
+
+    protected Map<String, Object> toMap(BandData band) {
+        [name    : band.name,
+         data    : new HashMap<>(band.data),
+         children: band.childrenList.collect { toMap(it) }]
+    }
+
+    static class TestDataLoader implements BatchReportDataLoader {
+        int queryCount
+        int batchQueryCount
+
+        @Override
+        List<Map<String, Object>> loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params) {
+            queryCount++
+            if (reportQuery.name == 'orders') {
+                return ORDERS.collect { new HashMap<>(it) }
+            }
+            def orderId = parentBand.data.id as Long
+            return LINES.findAll { it.orderId == orderId }.collect { new HashMap<>(it) }
+        }
+
+        @Override
+        List<Map<String, Object>> loadBatchData(ReportQuery reportQuery, BandData ancestorBand, Map<String, Object> params,
+                                                String batchParamName, List<Object> batchValues) {
+            queryCount++
+            batchQueryCount++
+            assert batchParamName == 'Orders.id'
+            def orderIds = batchValues.collect { it as Long }
+            return LINES.findAll { it.orderId in orderIds }.collect { new HashMap<>(it) }
+        }
+    }
+
+    static class TestBand implements ReportBand {
+        String name
+        ReportBand parent
+        Integer position = 0
+        List<ReportBand> children = []
+        List<ReportQuery> reportQueries = []
+        BandOrientation bandOrientation = BandOrientation.HORIZONTAL
+    }
+
+    static class TestQuery implements ReportQuery {
+        String name
+        String script
+        String linkParameterName
+        String loaderType = 'test'
+        Boolean processTemplate = false
+        Map<String, Object> additionalParams = [:]
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package scripting
+
+import io.jmix.reports.entity.Report
+import io.jmix.reports.impl.ReportsPersistenceImpl
+import io.jmix.reports.libintegration.JmixReportingScripting
+import org.springframework.beans.factory.support.StaticListableBeanFactory
+import org.springframework.scripting.groovy.GroovyScriptEvaluator
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.SimpleTransactionStatus
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.Specification
+
+class JmixReportingScriptingTest extends Specification {
+
+    static final String SCRIPT = "result = value * 2; return binding.variables.keySet().sort()"
+
+    JmixReportingScripting scripting
+
+    void setup() {
+        scripting = new JmixReportingScripting(10)
+        scripting.scriptEvaluator = new GroovyScriptEvaluator()
+    }
+
+    def "cached script sees only variables of its own evaluation"() {
+        given:
+        Map<String, Object> firstParams = [value: 1, other: 'a']
+        Map<String, Object> secondParams = [value: 2]
+
+        when:
+        List<String> firstVariables = scripting.evaluateGroovy(SCRIPT, firstParams)
+        List<String> secondVariables = scripting.evaluateGroovy(SCRIPT, secondParams)
+
+        then:
+        scripting.scriptClassCache.size() == 1
+
+        firstVariables == ['other', 'result', 'value']
+        firstParams.result == 2
+
+        secondVariables == ['result', 'value']
+        secondParams.result == 4
+    }
+
+    def "script cache is invalidated when report is saved"() {
+        given:
+        scripting.evaluateGroovy(SCRIPT, [value: 1])
+
+        def persistence = new TestReportsPersistence()
+        persistence.transaction = new TransactionTemplate([
+                getTransaction: { new SimpleTransactionStatus() },
+                commit        : {},
+                rollback      : {}
+        ] as PlatformTransactionManager)
+        persistence.reportingScriptingProvider = new StaticListableBeanFactory([report_Scripting: scripting])
+                .getBeanProvider(JmixReportingScripting)
+
+        expect:
+        scripting.scriptClassCache.size() == 1
+
+        when:
+        persistence.save(new Report())
+
+        then:
+        scripting.scriptClassCache.size() == 0
+    }
+
+    static class TestReportsPersistence extends ReportsPersistenceImpl {
+
+        @Override
+        protected void checkPermission(Report report) {
+        }
+
+        @Override
+        protected Report saveReport(Report report) {
+            return report
+        }
+
+        @Override
+        protected Report reloadReport(Report savedReport) {
+            return savedReport
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package io.jmix.rest.impl.scanning;
 
 import io.jmix.core.impl.scanning.ClasspathScanCandidateDetector;
+import io.jmix.core.impl.scanning.IndexedClass;
 import io.jmix.rest.annotation.RestService;
 import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.stereotype.Component;
@@ -27,4 +28,14 @@ public class RestServicesDetector implements ClasspathScanCandidateDetector {
     public boolean isCandidate(MetadataReader metadataReader) {
         return metadataReader.getAnnotationMetadata().hasAnnotation(RestService.class.getName());
     }
+
+    @Override
+    public boolean isClassesIndexSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isCandidate(IndexedClass indexedClass) {
+        return indexedClass.hasAnnotation(RestService.class.getName());
+    }
 }
@@ -17,6 +17,7 @@
 package io.jmix.search.index.mapping.processor.impl;
 
 import io.jmix.core.impl.scanning.ClasspathScanCandidateDetector;
+import io.jmix.core.impl.scanning.IndexedClass;
 import io.jmix.search.index.annotation.JmixEntitySearchIndex;
 import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.stereotype.Component;
@@ -28,4 +29,14 @@ public class IndexDefinitionDetector implements ClasspathScanCandidateDetector {
     public boolean isCandidate(MetadataReader metadataReader) {
         return metadataReader.getAnnotationMetadata().hasAnnotation(JmixEntitySearchIndex.class.getName());
     }
+
+    @Override
+    public boolean isClassesIndexSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isCandidate(IndexedClass indexedClass) {
+        return indexedClass.hasAnnotation(JmixEntitySearchIndex.class.getName());
+    }
 }
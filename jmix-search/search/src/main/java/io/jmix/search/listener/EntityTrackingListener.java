@@ -24,6 +24,7 @@ import io.jmix.core.datastore.DataStoreBeforeEntitySaveEvent;
 import io.jmix.core.datastore.DataStoreCustomizer;
 import io.jmix.core.datastore.DataStoreEventListener;
 import io.jmix.core.event.AttributeChanges;
+import io.jmix.core.event.BulkEntityChangedEvent;
 import io.jmix.core.event.EntityChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
@@ -127,6 +128,18 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
         }
     }
 
+    @EventListener
+    public void onBulkEntityChangedBeforeCommit(BulkEntityChangedEvent<?> event) {
+        if (isBulkEntityChangedEventProcessingRequired(event)) {
+            try {
+                log.trace("Process event: {}", event);
+                processBulkEntityChangedEvent(event);
+            } catch (Exception e) {
+                log.error("Failed to process event {}", event, e);
+            }
+        }
+    }
+
     protected void processRemovedEntity(Object removedEntity) {
         Id<?> removedEntityId = Id.of(removedEntity);
         MetaClass metaClass = metadata.getClass(removedEntity);
@@ -178,12 +191,62 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
         }
     }
 
+    protected void processBulkEntityChangedEvent(BulkEntityChangedEvent<?> event) {
+        List<Id<?>> entityIds = new ArrayList<>(event.getEntityIds());
+        Class<?> entityClass = entityIds.get(0).getEntityClass();
+        MetaClass metaClass = metadata.getClass(entityClass);
+        EntityChangedEvent.Type eventType = event.getType();
+        Set<String> changedAttributes = event.getChangedAttributes();
+
+        if (indexConfigurationManager.isDirectlyIndexed(metaClass.getName())) {
+            log.debug("{} is directly indexed", metaClass.getName());
+
+            if (EntityChangedEvent.Type.DELETED.equals(eventType)) {
+                indexingQueueManager.enqueueDeleteCollectionByEntityIds(entityIds);
+            } else if (isUpdateRequired(entityClass, changedAttributes)) {
+                indexingQueueManager.enqueueIndexCollectionByEntityIds(entityIds);
+            }
+        }
+
+        Map<MetaClass, Set<MetaPropertyPath>> dependenciesMetaData;
+        if (EntityChangedEvent.Type.UPDATED.equals(eventType)) {
+            dependenciesMetaData = indexConfigurationManager.getDependenciesMetaDataForUpdate(entityClass, changedAttributes);
+        } else {
+            dependenciesMetaData = indexConfigurationManager.getDependenciesMetaDataForDelete(entityClass);
+            if (changedAttributes.isEmpty() && hasDependencies(dependenciesMetaData)) {
+                // hard deleted instances cannot be joined anymore to find the dependent ones
+                log.warn("Entities dependent on {} instances of {} deleted by bulk operation are not reindexed",
+                        entityIds.size(), metaClass.getName());
+                return;
+            }
+        }
+        if (!hasDependencies(dependenciesMetaData)) {
+            return;
+        }
+
+        Set<Id<?>> dependentEntityIds = new HashSet<>();
+        for (Id<?> entityId : entityIds) {
+            dependentEntityIds.addAll(loadDependentEntityIds(entityId, metaClass, dependenciesMetaData));
+        }
+        if (!dependentEntityIds.isEmpty()) {
+            indexingQueueManager.enqueueIndexCollectionByEntityIds(dependentEntityIds);
+        }
+    }
+
+    protected boolean hasDependencies(Map<MetaClass, Set<MetaPropertyPath>> dependenciesMetaData) {
+        return dependenciesMetaData.values().stream().anyMatch(properties -> !properties.isEmpty());
+    }
+
     protected boolean isUpdateRequired(Class<?> entityClass, AttributeChanges changes) {
+        return isUpdateRequired(entityClass, changes.getAttributes());
+    }
+
+    protected boolean isUpdateRequired(Class<?> entityClass, Set<String> changedAttributes) {
         Set<String> affectedLocalPropertyNames = new HashSet<>(indexConfigurationManager.getLocalPropertyNamesAffectedByUpdate(entityClass));
         if(metadataTools.isSoftDeletable(entityClass)) {
             affectedLocalPropertyNames.add(metadataTools.findDeletedDateProperty(entityClass));
         }
-        return changes.getAttributes()
+        return changedAttributes
                 .stream()
                 .anyMatch(affectedLocalPropertyNames::contains);
     }
@@ -206,6 +269,14 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
         return isEntityClassCanBeProcessed(entityClass);
     }
 
+    protected boolean isBulkEntityChangedEventProcessingRequired(BulkEntityChangedEvent<?> event) {
+        if (!isChangeTrackingEnabled() || event.getEntityIds().isEmpty()) {
+            return false;
+        }
+        Class<?> entityClass = event.getEntityIds().get(0).getEntityClass();
+        return isEntityClassCanBeProcessed(entityClass);
+    }
+
     protected boolean isEntityClassCanBeProcessed(Class<?> entityClass) {
         return !IndexingQueueItem.class.equals(entityClass) && indexConfigurationManager.isAffectedEntityClass(entityClass);
     }
@@ -16,9 +16,11 @@
 
 package change_tracking;
 
+import io.jmix.core.BulkOperationContext;
 import io.jmix.core.DataManager;
 import io.jmix.core.Id;
 import io.jmix.core.Metadata;
+import io.jmix.core.querycondition.PropertyCondition;
 import io.jmix.search.index.queue.impl.IndexingOperation;
 import org.junit.Assert;
 import org.junit.jupiter.api.BeforeEach;
@@ -426,6 +428,47 @@ public class EntityChangeTrackingTest {
         Assert.assertTrue(enqueued);
     }
 
+    @Test
+    @DisplayName("Bulk update of indexed local property leads to queue item enqueueing")
+    public void bulkUpdateLocalPropertyOfIndexedEntity() {
+        TestRootEntity entity = ewm.createTestRootEntity().save();
+        indexingQueueItemsTracker.clear();
+
+        dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(TestRootEntity.class), BulkOperationContext.Type.UPDATE)
+                .setValue("textValue", "Some text value")
+                .setCondition(PropertyCondition.equal("id", entity.getId())));
+        boolean enqueued = indexingQueueItemsTracker.containsQueueItemsForEntityAndOperation(entity, IndexingOperation.INDEX, 1);
+        Assert.assertTrue(enqueued);
+    }
+
+    @Test
+    @DisplayName("Bulk update of indexed local property of one-to-one reference leads to queue item enqueueing")
+    public void bulkUpdateIndexedLocalPropertyOfOneToOneReference() {
+        TestReferenceEntity reference = ewm.createTestReferenceEntity().save();
+        TestRootEntity rootEntity = ewm.createTestRootEntity().setOneToOneAssociation(reference).save();
+        indexingQueueItemsTracker.clear();
+
+        dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(TestReferenceEntity.class), BulkOperationContext.Type.UPDATE)
+                .setValue("textValue", "Some text value")
+                .setCondition(PropertyCondition.equal("id", reference.getId())));
+        boolean enqueued = indexingQueueItemsTracker.containsQueueItemsForEntityAndOperation(rootEntity, IndexingOperation.INDEX, 1);
+        Assert.assertTrue(enqueued);
+    }
+
+    @Test
+    @DisplayName("Bulk update of not-indexed local property of one-to-one reference doesn't lead to queue item enqueueing")
+    public void bulkUpdateNotIndexedLocalPropertyOfOneToOneReference() {
+        TestReferenceEntity reference = ewm.createTestReferenceEntity().save();
+        TestRootEntity rootEntity = ewm.createTestRootEntity().setOneToOneAssociation(reference).save();
+        indexingQueueItemsTracker.clear();
+
+        dataManager.executeBulkOperation(new BulkOperationContext(metadata.getClass(TestReferenceEntity.class), BulkOperationContext.Type.UPDATE)
+                .setValue("name", "New Name")
+                .setCondition(PropertyCondition.equal("id", reference.getId())));
+        boolean enqueued = indexingQueueItemsTracker.containsQueueItemsForEntityAndOperation(rootEntity, IndexingOperation.INDEX, 0);
+        Assert.assertTrue(enqueued);
+    }
+
     @Test
     @DisplayName("Update of not-indexed local property of one-to-one reference doesn't lead to queue item enqueueing (Soft Delete)")
     public void updateNotIndexedLocalPropertyOfOneToOneReference() {
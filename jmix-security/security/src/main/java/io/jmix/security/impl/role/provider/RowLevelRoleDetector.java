@@ -17,6 +17,7 @@
 package io.jmix.security.impl.role.provider;
 
 import io.jmix.core.impl.scanning.ClasspathScanCandidateDetector;
+import io.jmix.core.impl.scanning.IndexedClass;
 import io.jmix.security.role.annotation.RowLevelRole;
 import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.stereotype.Component;
@@ -28,4 +29,14 @@ public class RowLevelRoleDetector implements ClasspathScanCandidateDetector {
     public boolean isCandidate(MetadataReader metadataReader) {
         return (metadataReader.getAnnotationMetadata().hasAnnotation(RowLevelRole.class.getName()));
     }
+
+    @Override
+    public boolean isClassesIndexSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isCandidate(IndexedClass indexedClass) {
+        return indexedClass.hasAnnotation(RowLevelRole.class.getName());
+    }
 }
@@ -34,13 +34,25 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * Wraps a {@link SessionRepository} and keeps attributes that cannot be persisted in memory of the current node.
+ * <p>
+ * Non-persistent attributes of a session are kept until the session is deleted or its max inactive interval
+ * elapses since the last save. Expired entries are removed by {@link #removeExpiredNonPersistentAttributes()},
+ * which is invoked periodically by a scheduled task, after checking that the session doesn't exist in the delegate
+ * repository anymore.
+ */
 @Internal
 public class SessionRepositoryWrapper<S extends Session> implements FindByIndexNameSessionRepository<SessionRepositoryWrapper<S>.SessionWrapper> {
 
     private List<SessionAttributePersistenceValidator> attributePersistenceValidators = new ArrayList<>();
 
+    public static final Duration EXPIRED_ATTRIBUTES_REMOVAL_INTERVAL = Duration.ofMinutes(1);
+
     protected Map<String, Map<String, Object>> nonPersistentSessionAttributesMap = new ConcurrentHashMap<>();
 
+    protected Map<String, Instant> nonPersistentAttributesExpirationTimes = new ConcurrentHashMap<>();
+
     protected SessionRepository<S> delegate;
 
     protected SessionRegistry sessionRegistry;
@@ -91,6 +103,38 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
         Map<String, Object> nonPersistentAttributes = session.getNonPersistentAttributes();
         if (!nonPersistentAttributes.isEmpty()) {
             nonPersistentSessionAttributesMap.put(session.getId(), nonPersistentAttributes);
+            nonPersistentAttributesExpirationTimes.put(session.getId(), getExpirationTime(session));
+        }
+    }
+
+    private Instant getExpirationTime(Session session) {
+        Duration maxInactiveInterval = session.getMaxInactiveInterval();
+        if (maxInactiveInterval.isNegative()) {
+            return Instant.MAX;
+        }
+        return session.getLastAccessedTime().plus(maxInactiveInterval);
+    }
+
+    /**
+     * Removes non-persistent attributes of sessions which max inactive interval is elapsed. Is invoked by a scheduled
+     * task every {@link #EXPIRED_ATTRIBUTES_REMOVAL_INTERVAL}, so request threads saving sessions don't query
+     * the delegate repository. As the session could be accessed on another node, its attributes are removed only
+     * if it's expired or missing in the delegate repository.
+     */
+    public void removeExpiredNonPersistentAttributes() {
+        Instant now = Instant.now();
+        for (Map.Entry<String, Instant> entry : nonPersistentAttributesExpirationTimes.entrySet()) {
+            if (entry.getValue().isAfter(now)) {
+                continue;
+            }
+            String id = entry.getKey();
+            S session = delegate.findById(id);
+            if (session == null || session.isExpired()) {
+                nonPersistentAttributesExpirationTimes.remove(id);
+                nonPersistentSessionAttributesMap.remove(id);
+            } else {
+                nonPersistentAttributesExpirationTimes.replace(id, entry.getValue(), getExpirationTime(session));
+            }
         }
     }
 
@@ -109,9 +153,15 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
             }
             return sessionWrapper;
         }
+        removeNonPersistentAttributes(id);
         return null;
     }
 
+    private void removeNonPersistentAttributes(String id) {
+        nonPersistentSessionAttributesMap.remove(id);
+        nonPersistentAttributesExpirationTimes.remove(id);
+    }
+
     @Override
     public void deleteById(String id) {
         SessionWrapper session = findById(id);
@@ -119,7 +169,7 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
             applicationEventPublisher.publishEvent(new JmixSessionDestroyedEvent<>(session));
             delegate.deleteById(id);
         }
-        nonPersistentSessionAttributesMap.remove(id);
+        removeNonPersistentAttributes(id);
     }
 
     @Override
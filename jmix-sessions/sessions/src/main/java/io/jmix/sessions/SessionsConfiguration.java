@@ -20,11 +20,16 @@ import io.jmix.core.CoreConfiguration;
 import io.jmix.core.annotation.JmixModule;
 import io.jmix.sessions.validators.VaadinSessionAttributesValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.core.session.SessionRegistryImpl;
 import org.springframework.session.Session;
@@ -32,6 +37,8 @@ import org.springframework.session.SessionRepository;
 import org.springframework.session.web.http.HttpSessionIdResolver;
 import org.springframework.session.web.http.SessionRepositoryFilter;
 
+import java.util.concurrent.ScheduledFuture;
+
 @Configuration
 @ComponentScan
 @JmixModule(dependsOn = CoreConfiguration.class)
@@ -43,13 +50,39 @@ public class SessionsConfiguration<S extends Session> {
     @Autowired
     protected ApplicationEventPublisher applicationEventPublisher;
 
+    @Autowired
+    @Qualifier("core_ThreadPoolTaskScheduler")
+    protected TaskScheduler taskScheduler;
+
+    protected SessionRepositoryWrapper<S> sessionRepositoryWrapper;
+
+    protected ScheduledFuture<?> expiredAttributesRemovalTask;
+
     public SessionRepositoryWrapper<S> sessionRepositoryWrapper(SessionRepository<S> sessionRepository) {
         SessionRepositoryWrapper<S> sessionRepositoryWrapper = new SessionRepositoryWrapper<>(
                 sessionRegistry(), applicationEventPublisher, sessionRepository);
         sessionRepositoryWrapper.addAttributePersistenceValidators(new VaadinSessionAttributesValidator());
+        this.sessionRepositoryWrapper = sessionRepositoryWrapper;
         return sessionRepositoryWrapper;
     }
 
+    @EventListener
+    protected void onContextRefreshedEvent(ContextRefreshedEvent event) {
+        if (sessionRepositoryWrapper != null && expiredAttributesRemovalTask == null) {
+            expiredAttributesRemovalTask = taskScheduler.scheduleWithFixedDelay(
+                    sessionRepositoryWrapper::removeExpiredNonPersistentAttributes,
+                    SessionRepositoryWrapper.EXPIRED_ATTRIBUTES_REMOVAL_INTERVAL);
+        }
+    }
+
+    @EventListener
+    protected void onContextClosedEvent(ContextClosedEvent event) {
+        if (expiredAttributesRemovalTask != null) {
+            expiredAttributesRemovalTask.cancel(false);
+            expiredAttributesRemovalTask = null;
+        }
+    }
+
     @Bean
     @Primary
     protected SessionRegistry sessionRegistry() {
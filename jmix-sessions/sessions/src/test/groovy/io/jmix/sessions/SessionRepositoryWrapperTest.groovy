@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.sessions
+
+import io.jmix.sessions.validators.SessionAttributePersistenceValidator
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.security.core.session.SessionRegistryImpl
+import org.springframework.session.MapSession
+import org.springframework.session.MapSessionRepository
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.ConcurrentHashMap
+
+class SessionRepositoryWrapperTest extends Specification {
+
+    static final String NON_PERSISTENT_ATTRIBUTE = "nonPersistent"
+
+    MapSessionRepository delegate
+    SessionRepositoryWrapper<MapSession> wrapper
+
+    void setup() {
+        delegate = new MapSessionRepository(new ConcurrentHashMap<>())
+        wrapper = new SessionRepositoryWrapper<>(new SessionRegistryImpl(),
+                { event -> } as ApplicationEventPublisher, delegate)
+        wrapper.addAttributePersistenceValidators(
+                { name, value -> name != NON_PERSISTENT_ATTRIBUTE } as SessionAttributePersistenceValidator)
+    }
+
+    def "saving a session doesn't sweep expired attributes"() {
+        def expired = saveSession(Instant.now() - Duration.ofMinutes(10))
+
+        when:
+        saveSession(Instant.now())
+
+        then:
+        wrapper.nonPersistentSessionAttributesMap.containsKey(expired.id)
+    }
+
+    def "sweep removes attributes of sessions expired in the delegate repository"() {
+        def expired = saveSession(Instant.now() - Duration.ofMinutes(10))
+        def active = saveSession(Instant.now())
+
+        when:
+        wrapper.removeExpiredNonPersistentAttributes()
+
+        then:
+        !wrapper.nonPersistentSessionAttributesMap.containsKey(expired.id)
+        !wrapper.nonPersistentAttributesExpirationTimes.containsKey(expired.id)
+        wrapper.nonPersistentSessionAttributesMap[active.id][NON_PERSISTENT_ATTRIBUTE] == "value"
+    }
+
+    def "sweep keeps attributes of sessions accessed on another node"() {
+        def session = saveSession(Instant.now() - Duration.ofMinutes(10))
+
+        // the session is accessed and saved to the shared repository by another node
+        MapSession storedSession = new MapSession(session.session)
+        storedSession.lastAccessedTime = Instant.now()
+        delegate.save(storedSession)
+
+        when:
+        wrapper.removeExpiredNonPersistentAttributes()
+
+        then:
+        wrapper.nonPersistentSessionAttributesMap[session.id][NON_PERSISTENT_ATTRIBUTE] == "value"
+        wrapper.nonPersistentAttributesExpirationTimes[session.id].isAfter(Instant.now())
+    }
+
+    private SessionRepositoryWrapper<MapSession>.SessionWrapper saveSession(Instant lastAccessedTime) {
+        def session = wrapper.createSession()
+        session.maxInactiveInterval = Duration.ofMinutes(1)
+        session.setAttribute(NON_PERSISTENT_ATTRIBUTE, "value")
+        session.lastAccessedTime = lastAccessedTime
+        wrapper.save(session)
+        return session
+    }
+}